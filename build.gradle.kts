@@ -32,6 +32,12 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    testOptions {
+        unitTests {
+            // Robolectric tests need the merged manifest and resources
+            isIncludeAndroidResources = true
+        }
+    }
 }
 
 dependencies {
@@ -41,7 +47,13 @@ dependencies {
     implementation(libs.constraintlayout)
     implementation(libs.navigation.fragment)
     implementation(libs.navigation.ui)
+    implementation(libs.paging.runtime)
+    implementation(libs.paging.guava)
+    implementation(libs.guava)
+    implementation(libs.lifecycle.livedata)
+    implementation(libs.recyclerview)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
@@ -0,0 +1,313 @@
+package com.example.myreminder.backup;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.database.InvalidationTracker;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/*
+ * Writes full and incremental snapshots, restores them and checks the rows, the checksums and the caches
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseSnapshotsTest {
+
+    private static final String TAG = "DatabaseSnapshots";
+    private static final String DB_NAME = "snapshot_task_notes.db";
+    private static final int BENCHMARK_TASKS = 300_000;
+    private static final int BENCHMARK_NOTES = 100_000;
+    private static final int BENCHMARK_REMINDERS = 100_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final long MAX_RESTORE_MILLIS = 30_000;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DatabaseSnapshots snapshots;
+    private File directory;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        snapshots = new DatabaseSnapshots(helper);
+        directory = new File(context.getCacheDir(), "snapshot-test");
+        deleteFiles();
+        directory.mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+        deleteFiles();
+    }
+
+    // ===== FULL =====
+
+    @Test
+    public void testFullSnapshot_RestoresEveryRowAsItWas() throws IOException {
+        // Arrange
+        long taskId = helper.addTask(new Task("Buy milk, bread", "line one\nline two", 3, "2025-10-27 15:00:00"));
+        helper.addTask(new Task("إنهاء التقرير", null, 1, null));
+        helper.addNote(new Note("", null));
+        helper.addReminder(new Reminder((int) taskId, "2025-10-27 14:30:00"));
+        List<Task> tasks = helper.getAllTasks();
+        List<Note> notes = helper.getAllNotes();
+        List<Reminder> reminders = helper.getRemindersForTask(taskId);
+        File full = new File(directory, "full.snap");
+        SnapshotInfo written = snapshots.writeFull(full);
+
+        helper.deleteTask(taskId);
+        helper.addNote(new Note("written after the snapshot", "later"));
+
+        // Act
+        SnapshotInfo restored = snapshots.restore(full);
+
+        // Assert
+        assertFalse(written.isIncremental());
+        assertEquals(tasks.size() + notes.size() + reminderCount(tasks), written.getRecords());
+        assertEquals(written.getRecords(), restored.getRecords());
+        assertEquals(tasks, helper.getAllTasks());
+        assertEquals(notes, helper.getAllNotes());
+        assertEquals(reminders, helper.getRemindersForTask(taskId));
+        assertEquals("Counters should follow the restored rows", tasks.size(), helper.getTaskStats().getTotalCount());
+        assertEquals("The search index should follow the restored rows", taskId,
+                helper.searchTasks("milk").get(0).getId());
+        SnapshotInfo info = DatabaseSnapshots.readInfo(full);
+        assertEquals(written.getId(), info.getId());
+        assertEquals(written.getRecords(), info.getRecords());
+    }
+
+    // ===== INCREMENTAL =====
+
+    @Test
+    public void testIncrementalSnapshot_HoldsOnlyChangedRows() throws IOException {
+        // Arrange
+        long kept = helper.addTask(new Task("kept", null, 1, null));
+        long removed = helper.addTask(new Task("removed", null, 1, null));
+        helper.addReminder(new Reminder((int) removed, "2025-10-27 14:30:00"));
+        File full = new File(directory, "full.snap");
+        File incremental = new File(directory, "incremental.snap");
+        SnapshotInfo base = snapshots.writeFull(full);
+
+        Task changed = helper.getTask(kept);
+        changed.setTitle("kept and renamed");
+        helper.updateTask(changed);
+        changed.setDone(true);
+        helper.updateTask(changed);
+        helper.addNote(new Note("new note", null));
+        helper.deleteTask(removed);
+        List<Task> tasks = helper.getAllTasks();
+        List<Note> notes = helper.getAllNotes();
+
+        // Act
+        SnapshotInfo info = snapshots.writeIncremental(incremental);
+        helper.addTask(new Task("never snapshotted", null, 1, null));
+        snapshots.restore(full, incremental);
+
+        // Assert - the renamed task once, the new note, the deleted task and its cascaded reminder
+        assertTrue(info.isIncremental());
+        assertEquals(base.getId(), info.getBaseId());
+        assertEquals(4, info.getRecords());
+        assertEquals(tasks, helper.getAllTasks());
+        assertEquals(notes, helper.getAllNotes());
+        assertTrue(helper.getRemindersForTask(removed).isEmpty());
+    }
+
+    @Test
+    public void testIncrementalSnapshot_FollowsTheLastOne() throws IOException {
+        // Arrange
+        File full = new File(directory, "full.snap");
+        File first = new File(directory, "first.snap");
+        File second = new File(directory, "second.snap");
+        snapshots.writeFull(full);
+        helper.addTask(new Task("one", null, 1, null));
+        snapshots.writeIncremental(first);
+        helper.addTask(new Task("two", null, 1, null));
+        SnapshotInfo last = snapshots.writeIncremental(second);
+        List<Task> tasks = helper.getAllTasks();
+
+        // Act
+        SnapshotInfo restored = snapshots.restore(full, first, second);
+
+        // Assert
+        assertEquals("Each incremental snapshot should hold only its own change", 1, last.getRecords());
+        assertEquals(last.getId(), restored.getId());
+        assertEquals(tasks, helper.getAllTasks());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIncrementalSnapshot_NeedsAFullOneFirst() throws IOException {
+        snapshots.writeIncremental(new File(directory, "incremental.snap"));
+    }
+
+    @Test
+    public void testRestore_ChainMustBeInOrder() throws IOException {
+        // Arrange
+        File full = new File(directory, "full.snap");
+        File first = new File(directory, "first.snap");
+        File second = new File(directory, "second.snap");
+        snapshots.writeFull(full);
+        snapshots.writeIncremental(first);
+        snapshots.writeIncremental(second);
+
+        // Act & Assert
+        for (File[] chain : new File[][]{{first}, {full, second}, {full, second, first}}) {
+            try {
+                snapshots.restore(chain);
+                fail("A broken chain should be refused");
+            } catch (IOException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("snap"));
+            }
+        }
+    }
+
+    // ===== INTEGRITY =====
+
+    @Test
+    public void testRestore_CorruptBlockLeavesTheDatabaseAlone() throws IOException {
+        // Arrange
+        addRows(5_000, 0, 0);
+        File full = new File(directory, "full.snap");
+        snapshots.writeFull(full);
+        helper.addTask(new Task("after the snapshot", null, 1, null));
+        List<Task> tasks = helper.getAllTasks();
+        try (RandomAccessFile raf = new RandomAccessFile(full, "rw")) {
+            raf.seek(raf.length() - 100);
+            int value = raf.read();
+            raf.seek(raf.length() - 100);
+            raf.write(value ^ 0xFF);
+        }
+
+        // Act
+        try {
+            snapshots.restore(full);
+            fail("A corrupt snapshot should be refused");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("corrupt"));
+        }
+
+        // Assert - the first blocks were fine and applied, but rolled back with the rest
+        assertEquals(tasks, helper.getAllTasks());
+    }
+
+    @Test
+    public void testRestore_ClearsCachesAndNotifiesObservers() throws IOException {
+        // Arrange
+        long taskId = helper.addTask(new Task("before", null, 1, null));
+        File full = new File(directory, "full.snap");
+        snapshots.writeFull(full);
+        Task task = helper.getTask(taskId);
+        task.setTitle("after");
+        helper.updateTask(task);
+        assertEquals("after", helper.getTask(taskId).getTitle());
+        Set<String> invalidated = new HashSet<>();
+        helper.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(
+                DatabaseHelper.TABLE_TASKS, DatabaseHelper.TABLE_NOTES, DatabaseHelper.TABLE_REMINDERS) {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                invalidated.addAll(tables);
+            }
+        });
+
+        // Act
+        snapshots.restore(full);
+
+        // Assert
+        assertEquals("The cached row should be gone", "before", helper.getTask(taskId).getTitle());
+        assertEquals(3, invalidated.size());
+        assertEquals("A restore is not a change to snapshot", 0, DatabaseUtils.queryNumEntries(
+                helper.getReadableDatabase(), DatabaseHelper.TABLE_CHANGE_LOG));
+        assertEquals(0, helper.getSnapshotId());
+    }
+
+    // ===== THROUGHPUT =====
+
+    @Test
+    public void benchmarkSnapshot_HalfAMillionRows() throws IOException {
+        // Arrange
+        addRows(BENCHMARK_TASKS, BENCHMARK_NOTES, BENCHMARK_REMINDERS);
+        File full = new File(directory, "full.snap");
+
+        // Act
+        SnapshotInfo written = snapshots.writeFull(full);
+        SnapshotInfo restored = snapshots.restore(full);
+
+        // Assert
+        Log.i(TAG, "write: " + written);
+        Log.i(TAG, "restore: " + restored);
+        assertEquals(written.getRecords(), restored.getRecords());
+        assertTrue("Restore took " + restored.getElapsedMillis() + " ms",
+                restored.getElapsedMillis() <= MAX_RESTORE_MILLIS);
+    }
+
+    private void addRows(int tasks, int notes, int reminders) {
+        List<Task> taskBatch = new ArrayList<>(INSERT_BATCH);
+        long firstTaskId = 0;
+        for (int i = 0; i < tasks; i++) {
+            taskBatch.add(new Task("task " + i, "description for task " + i, 1 + i % 3, "2025-10-27 15:00:00"));
+            if (taskBatch.size() == INSERT_BATCH || i == tasks - 1) {
+                long[] ids = helper.addTasks(taskBatch);
+                firstTaskId = firstTaskId == 0 ? ids[0] : firstTaskId;
+                taskBatch.clear();
+            }
+        }
+        List<Note> noteBatch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < notes; i++) {
+            noteBatch.add(new Note("note " + i, i % 2 == 0 ? null : "tag"));
+            if (noteBatch.size() == INSERT_BATCH || i == notes - 1) {
+                helper.addNotes(noteBatch);
+                noteBatch.clear();
+            }
+        }
+        List<Reminder> reminderBatch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < reminders; i++) {
+            reminderBatch.add(new Reminder((int) (firstTaskId + i % tasks), "2025-10-27 14:30:00"));
+            if (reminderBatch.size() == INSERT_BATCH || i == reminders - 1) {
+                helper.addReminders(reminderBatch);
+                reminderBatch.clear();
+            }
+        }
+    }
+
+    private int reminderCount(List<Task> tasks) {
+        int count = 0;
+        for (Task task : tasks) {
+            count += helper.getRemindersForTask(task.getId()).size();
+        }
+        return count;
+    }
+
+    private void deleteFiles() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Set-based "mark done" and "mark triggered" updates, their cache coherence and their cost
+ */
+@RunWith(AndroidJUnit4.class)
+public class BulkUpdateTest {
+
+    private static final String TAG = "BulkUpdate";
+    private static final String DB_NAME = "bulk_task_notes.db";
+    private static final int SELECTION = 1_000;
+    // before the sample task's due date, so only the tasks added here are overdue
+    private static final long NOW = 1_760_000_000_000L;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== TASKS =====
+
+    @Test
+    public void testSetTasksDone_ChangesOnlyTheSelection() {
+        // Arrange
+        long[] ids = addTasks(SELECTION);
+        long untouched = helper.addTask(new Task("Not selected", null, 1, null));
+        long version = helper.getInvalidationTracker().getVersion(DatabaseHelper.TABLE_TASKS);
+
+        // Act
+        int changed = helper.setTasksDone(ids, true);
+
+        // Assert
+        assertEquals(SELECTION, changed);
+        assertEquals("Observers should hear about the batch once",
+                version + 1, helper.getInvalidationTracker().getVersion(DatabaseHelper.TABLE_TASKS));
+        for (long id : ids) {
+            assertTrue(helper.getTask(id).isDone());
+        }
+        assertFalse("Tasks outside the selection should not change", helper.getTask(untouched).isDone());
+    }
+
+    @Test
+    public void testSetTasksDone_KeepsOtherColumnsAndCache() {
+        // Arrange
+        long id = helper.addTask(new Task("Pay rent", "by transfer", 3, "2030-01-01 09:00:00"));
+        Task before = helper.getTask(id);
+
+        // Act
+        helper.setTasksDone(new long[]{id}, true);
+
+        // Assert
+        Task cached = helper.getTask(id);
+        helper.getTaskCache().clear();
+        Task stored = helper.getTask(id);
+        assertEquals("The cache should match the database", stored, cached);
+        before.setDone(true);
+        assertEquals("Only is_done should change", before, stored);
+    }
+
+    @Test
+    public void testSetTasksDone_SkipsTasksAlreadyInThatState() {
+        // Arrange
+        long[] ids = addTasks(10);
+        helper.setTasksDone(new long[]{ids[0], ids[1]}, true);
+
+        // Act & Assert
+        assertEquals("Only the pending tasks should count", 8, helper.setTasksDone(ids, true));
+        assertEquals("Nothing is left to change", 0, helper.setTasksDone(ids, true));
+        assertEquals(0, helper.setTasksDone(new long[0], true));
+    }
+
+    @Test
+    public void testCompleteAllOverdue_OnlyTouchesPendingTasksDueBeforeNow() {
+        // Arrange
+        long overdue = helper.addTask(new Task(0, "Overdue", null, 1, NOW - DAY, false, NOW - 2 * DAY));
+        long future = helper.addTask(new Task(0, "Future", null, 1, NOW + DAY, false, NOW - 2 * DAY));
+        long undated = helper.addTask(new Task(0, "No due date", null, 1, 0, false, NOW - 2 * DAY));
+        long done = helper.addTask(new Task(0, "Already done", null, 1, NOW - DAY, true, NOW - 2 * DAY));
+        helper.getTask(overdue);
+
+        // Act
+        int completed = helper.completeAllOverdue(NOW);
+
+        // Assert
+        assertEquals(1, completed);
+        assertTrue("The cached overdue task should follow", helper.getTask(overdue).isDone());
+        assertFalse(helper.getTask(future).isDone());
+        assertFalse(helper.getTask(undated).isDone());
+        assertTrue(helper.getTask(done).isDone());
+    }
+
+    // ===== REMINDERS =====
+
+    @Test
+    public void testMarkRemindersTriggered_SpansSeveralStatements() {
+        // Arrange - more ids than fit in one statement's bound variables
+        long taskId = helper.addTask(new Task("Many reminders", null, 1, null));
+        List<Reminder> reminders = new ArrayList<>();
+        for (int i = 0; i < 2 * InClause.MAX_VARIABLES + 10; i++) {
+            Reminder reminder = new Reminder();
+            reminder.setTaskId((int) taskId);
+            reminder.setTimeInMillis(NOW + i * 60_000L);
+            reminders.add(reminder);
+        }
+        long[] ids = helper.addReminders(reminders);
+        helper.getReminder(ids[0]);
+
+        // Act
+        int triggered = helper.markRemindersTriggered(ids);
+
+        // Assert
+        assertEquals(ids.length, triggered);
+        assertTrue("The cached reminder should follow", helper.getReminder(ids[0]).isTriggered());
+        for (Reminder reminder : helper.getRemindersForTask(taskId)) {
+            assertTrue("Every chunk should have been applied", reminder.isTriggered());
+        }
+        assertEquals("Triggered reminders are not marked twice", 0, helper.markRemindersTriggered(ids));
+    }
+
+    // ===== LATENCY =====
+
+    @Test
+    public void benchmarkMarkDone_SetBasedVsPerRow() {
+        long[] ids = addTasks(SELECTION);
+
+        // Before: one full-row updateTask per selected task
+        List<Task> selected = new ArrayList<>(SELECTION);
+        for (long id : ids) {
+            selected.add(helper.getTask(id));
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (Task task : selected) {
+            task.setDone(true);
+            helper.updateTask(task);
+        }
+        double perRowMillis = (SystemClock.elapsedRealtimeNanos() - start) / 1_000_000.0;
+
+        // After: one set-based UPDATE for the whole selection
+        helper.setTasksDone(ids, false);
+        start = SystemClock.elapsedRealtimeNanos();
+        helper.setTasksDone(ids, true);
+        double setBasedMillis = (SystemClock.elapsedRealtimeNanos() - start) / 1_000_000.0;
+
+        Log.i(TAG, String.format("mark %d tasks done: per row=%.1f ms, set-based=%.1f ms",
+                SELECTION, perRowMillis, setBasedMillis));
+        assertTrue("The set-based update should beat per-row updates", setBasedMillis < perRowMillis);
+    }
+
+    private long[] addTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task("task " + i, "description " + i, 1 + i % 3, null));
+        }
+        return helper.addTasks(tasks);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Throughput benchmarks for DatabaseHelper, run on a device against a scratch database
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseBenchmarkTest {
+
+    private static final String TAG = "DatabaseBenchmark";
+    private static final String DB_NAME = "benchmark_task_notes.db";
+    private static final int BULK_ROWS = 5_000;
+    private static final int LATENCY_CALLS = 2_000;
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== BULK IMPORT =====
+
+    @Test
+    public void benchmarkBulkInsert_SingleTransactionVsPerRow() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < BULK_ROWS; i++) {
+            tasks.add(new Task("import " + i, "imported description " + i, 1 + i % 3, "2025-10-27 15:00:00"));
+        }
+
+        int pendingBefore = helper.getTasksCountByStatus(false);
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (Task task : tasks) {
+            helper.addTask(task);
+        }
+        long perRowNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        start = SystemClock.elapsedRealtimeNanos();
+        long[] ids = helper.addTasks(tasks);
+        long batchNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        // the target is 50x; well under 10x means the batch is not sharing one transaction
+        double speedup = (double) perRowNanos / batchNanos;
+        Log.i(TAG, String.format("bulk insert of %d tasks: per-row=%d ms, batch=%d ms, speedup=%.1fx",
+                BULK_ROWS, perRowNanos / 1_000_000, batchNanos / 1_000_000, speedup));
+
+        assertEquals("Every task should get an id", BULK_ROWS, ids.length);
+        assertEquals("Both passes should be stored",
+                pendingBefore + 2 * BULK_ROWS, helper.getTasksCountByStatus(false));
+    }
+
+    @Test
+    public void bulkUpdateAndDelete_TouchEveryRow() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < BULK_ROWS; i++) {
+            tasks.add(new Task("task " + i, null, 1, null));
+        }
+        int doneBefore = helper.getTasksCountByStatus(true);
+        long[] ids = helper.addTasks(tasks);
+        for (int i = 0; i < ids.length; i++) {
+            tasks.get(i).setId((int) ids[i]);
+            tasks.get(i).setDone(true);
+        }
+
+        assertEquals("Every row should be updated", BULK_ROWS, helper.updateTasks(tasks));
+        assertEquals("Every row should be done", doneBefore + BULK_ROWS, helper.getTasksCountByStatus(true));
+        assertEquals("Every row should be deleted", BULK_ROWS, helper.deleteTasks(ids));
+    }
+
+    // ===== PER-CALL LATENCY =====
+
+    @Test
+    public void benchmarkCountByStatus_CompiledVsCursor() {
+        SQLiteDatabase db = helper.getReadableDatabase();
+        // the same SQL getTasksCountByStatus runs, so only the way it is executed differs
+        String sql = DatabaseHelper.COUNT_TASKS_BY_STATUS;
+        long cursorCount = 0;
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < LATENCY_CALLS; i++) {
+            Cursor cursor = db.rawQuery(sql, new String[]{i % 2 == 0 ? "1" : "0"});
+            cursor.moveToFirst();
+            cursorCount += cursor.getInt(0);
+            cursor.close();
+        }
+        long cursorNanos = (SystemClock.elapsedRealtimeNanos() - start) / LATENCY_CALLS;
+
+        long compiledCount = 0;
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < LATENCY_CALLS; i++) {
+            compiledCount += helper.getTasksCountByStatus(i % 2 == 0);
+        }
+        long compiledNanos = (SystemClock.elapsedRealtimeNanos() - start) / LATENCY_CALLS;
+
+        Log.i(TAG, String.format("count by status: cursor=%d ns/call, compiled=%d ns/call",
+                cursorNanos, compiledNanos));
+        assertEquals("Both ways should count the same rows", cursorCount, compiledCount);
+    }
+
+    @Test
+    public void benchmarkGetTaskLatency() {
+        long id = helper.addTask(new Task("lookup", "lookup", 2, "2025-10-27 15:00:00"));
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < LATENCY_CALLS; i++) {
+            helper.getTask(id);
+        }
+        long nanosPerCall = (SystemClock.elapsedRealtimeNanos() - start) / LATENCY_CALLS;
+
+        Log.i(TAG, String.format("getTask: %d ns/call", nanosPerCall));
+        assertEquals("Lookup should return the inserted task", id, helper.getTask(id).getId());
+    }
+}
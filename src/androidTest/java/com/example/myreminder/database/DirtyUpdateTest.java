@@ -0,0 +1,127 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/*
+ * Updates write only the fields changed since a row was read, and skip the database when none were
+ */
+@RunWith(AndroidJUnit4.class)
+public class DirtyUpdateTest {
+
+    private static final String DB_NAME = "dirty_task_notes.db";
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void testUpdateTask_LeavesCleanColumnsAlone() {
+        // Arrange - two screens read the same task
+        long id = helper.addTask(new Task("Book flights", "window seat", 1, null));
+        Task titleEditor = helper.getTask(id);
+        Task priorityEditor = helper.getTask(id);
+
+        // Act - each saves its own change
+        priorityEditor.setPriority(3);
+        helper.updateTask(priorityEditor);
+        titleEditor.setTitle("Book flights and hotel");
+        helper.updateTask(titleEditor);
+
+        // Assert
+        Task cached = helper.getTask(id);
+        helper.getTaskCache().clear();
+        Task stored = helper.getTask(id);
+        assertEquals("The stale priority should not overwrite the saved one", 3, stored.getPriority());
+        assertEquals("Book flights and hotel", stored.getTitle());
+        assertEquals("The cache should merge both changes", stored, cached);
+        assertFalse("A saved task should be clean", titleEditor.isDirty());
+    }
+
+    @Test
+    public void testUpdateTask_NoChangeSkipsTheDatabase() {
+        // Arrange
+        long id = helper.addTask(new Task("Unchanged", null, 1, null));
+        Task task = helper.getTask(id);
+        task.setTitle("Unchanged");
+        long version = helper.getInvalidationTracker().getVersion(DatabaseHelper.TABLE_TASKS);
+
+        // Act
+        int updated = helper.updateTask(task);
+
+        // Assert
+        assertEquals("Nothing should be written", 0, updated);
+        assertEquals("Observers should not hear about a no-op",
+                version, helper.getInvalidationTracker().getVersion(DatabaseHelper.TABLE_TASKS));
+    }
+
+    @Test
+    public void testUpdateNote_StampsUpdatedAtAsEpochMillis() {
+        // Arrange
+        Note note = new Note("Pack charger", "travel");
+        note.setCreatedAtMillis(1_700_000_000_000L);
+        note.setUpdatedAtMillis(1_700_000_000_000L);
+        long id = helper.addNote(note);
+        Note stored = helper.getNote(id);
+
+        // Act
+        stored.setTag("trip");
+        helper.updateNote(stored);
+
+        // Assert
+        Cursor cursor = helper.getReadableDatabase().rawQuery(
+                "SELECT typeof(updated_at), updated_at, note_text FROM notes WHERE id = ?", new String[]{String.valueOf(id)});
+        try {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("updated_at should be a number, not SQL text", "integer", cursor.getString(0));
+            assertTrue("updated_at should move forward", cursor.getLong(1) > 1_700_000_000_000L);
+            assertEquals("Pack charger", cursor.getString(2));
+        } finally {
+            cursor.close();
+        }
+        assertEquals("trip", helper.getNote(id).getTag());
+    }
+
+    @Test
+    public void testUpdateReminders_SkipsCleanReminders() {
+        // Arrange
+        long taskId = helper.addTask(new Task("Dentist", null, 2, null));
+        long id = helper.addReminder(new Reminder((int) taskId, "2030-01-01 08:00:00"));
+        Reminder clean = helper.getReminder(id);
+        Reminder moved = helper.getReminder(id);
+        moved.setTimeInMillis(moved.getTimeInMillis() + 60_000L);
+
+        // Act & Assert
+        assertEquals(0, helper.updateReminders(Collections.singletonList(clean)));
+        assertEquals(1, helper.updateReminders(Collections.singletonList(moved)));
+        assertEquals(moved.getTimeInMillis(), helper.getReminder(id).getTimeInMillis());
+    }
+}
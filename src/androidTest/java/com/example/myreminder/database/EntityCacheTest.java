@@ -0,0 +1,282 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Checks that the by-id entity caches in DatabaseHelper always agree with the database
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntityCacheTest {
+
+    private static final String TAG = "EntityCache";
+    private static final String DB_NAME = "cache_task_notes.db";
+    private static final int LOOKUPS = 2_000;
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== READS =====
+
+    @Test
+    public void testGetTask_RepeatedReadsHitTheCache() {
+        // Arrange
+        long id = helper.addTask(new Task("Renew passport", "before june", 2, "2030-06-01 09:00:00"));
+        EntityCache<Task> cache = helper.getTaskCache();
+        int hits = cache.hitCount();
+
+        // Act
+        Task first = helper.getTask(id);
+        Task second = helper.getTask(id);
+
+        // Assert
+        assertEquals("Both reads should see the same row", first, second);
+        assertEquals("The inserted task should already be cached", hits + 2, cache.hitCount());
+        assertNotSame("Every read should get its own copy", first, second);
+    }
+
+    @Test
+    public void testGetTask_ChangingTheResultDoesNotChangeTheCache() {
+        // Arrange
+        long id = helper.addTask(new Task("Water plants", null, 1, null));
+
+        // Act
+        helper.getTask(id).setTitle("Changed without saving");
+
+        // Assert
+        assertEquals("Water plants", helper.getTask(id).getTitle());
+    }
+
+    @Test
+    public void testGetTask_MissIsReadFromDatabaseThenCached() {
+        // Arrange
+        long id = helper.addTask(new Task("Call the bank", null, 1, null));
+        EntityCache<Task> cache = helper.getTaskCache();
+        cache.clear();
+        int misses = cache.missCount();
+        int hits = cache.hitCount();
+
+        // Act
+        Task fromDatabase = helper.getTask(id);
+        Task fromCache = helper.getTask(id);
+
+        // Assert
+        assertEquals("The first read should miss", misses + 1, cache.missCount());
+        assertEquals("The second read should hit", hits + 1, cache.hitCount());
+        assertEquals(fromDatabase, fromCache);
+    }
+
+    @Test
+    public void testGetTask_MissingIdReturnsNullAndIsNotCached() {
+        // Arrange
+        long id = helper.addTask(new Task("Book a table", null, 1, null));
+        helper.deleteTask(id);
+        EntityCache<Task> cache = helper.getTaskCache();
+        int misses = cache.missCount();
+
+        // Act
+        Task first = helper.getTask(id);
+        Task second = helper.getTask(id);
+
+        // Assert
+        assertNull("A missing id should read as null", first);
+        assertNull(second);
+        assertEquals("A missing id should never be cached", misses + 2, cache.missCount());
+        assertNull(helper.getNote(Long.MAX_VALUE));
+        assertNull(helper.getReminder(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testCache_EvictsLeastRecentlyUsed() {
+        // Arrange
+        EntityCache<Note> cache = helper.getNoteCache();
+        long first = helper.addNote(new Note("note 0", null));
+        for (int i = 1; i <= cache.maxSize(); i++) {
+            helper.addNote(new Note("note " + i, null));
+        }
+
+        // Assert
+        assertEquals("The cache should stay within its bound", cache.maxSize(), cache.size());
+        assertEquals("The oldest note should have been evicted", 1, cache.evictionCount());
+        int misses = cache.missCount();
+        assertEquals("note 0", helper.getNote(first).getNoteText());
+        assertEquals("The evicted note should be read from the database", misses + 1, cache.missCount());
+    }
+
+    // ===== WRITES =====
+
+    @Test
+    public void testUpdateTask_CachedRowFollows() {
+        // Arrange
+        long id = helper.addTask(new Task("Draft", null, 1, null));
+        Task task = helper.getTask(id);
+
+        // Act
+        task.setTitle("Final");
+        task.setDone(true);
+        helper.updateTask(task);
+
+        // Assert
+        assertEquals("The cache should match the database", readFromDatabase(id), helper.getTask(id));
+        assertEquals("Final", helper.getTask(id).getTitle());
+    }
+
+    @Test
+    public void testUpdateNote_CachedRowGetsNewUpdatedAt() {
+        // Arrange
+        Note note = new Note("Groceries", "home");
+        note.setCreatedAtMillis(1_700_000_000_000L);
+        note.setUpdatedAtMillis(1_700_000_000_000L);
+        long id = helper.addNote(note);
+        Note stored = helper.getNote(id);
+
+        // Act
+        stored.setNoteText("Groceries and bread");
+        helper.updateNote(stored);
+        Note cached = helper.getNote(id);
+
+        // Assert
+        assertEquals("Groceries and bread", cached.getNoteText());
+        assertEquals("created_at should not change", 1_700_000_000_000L, cached.getCreatedAtMillis());
+        assertTrue("updated_at should move forward", cached.getUpdatedAtMillis() > 1_700_000_000_000L);
+        helper.getNoteCache().clear();
+        assertEquals("The cache should match the database", cached, helper.getNote(id));
+    }
+
+    @Test
+    public void testDeleteTask_CascadesToCachedReminders() {
+        // Arrange
+        long taskId = helper.addTask(new Task("Dentist", null, 3, null));
+        long otherTaskId = helper.addTask(new Task("Gym", null, 1, null));
+        long reminderId = helper.addReminder(new Reminder((int) taskId, "2030-01-01 08:00:00"));
+        long otherReminderId = helper.addReminder(new Reminder((int) otherTaskId, "2030-01-01 08:00:00"));
+        helper.getReminder(reminderId);
+        int size = helper.getReminderCache().size();
+
+        // Act
+        helper.deleteTask(taskId);
+
+        // Assert
+        assertEquals("Only the deleted task's reminder should leave the cache", size - 1, helper.getReminderCache().size());
+        assertEquals(otherTaskId, helper.getReminder(otherReminderId).getTaskId());
+        assertTrue("The task's reminders should be gone", helper.getRemindersForTask(taskId).isEmpty());
+    }
+
+    @Test
+    public void testBulkWrites_KeepCacheCoherent() {
+        // Arrange
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(new Task("task " + i, null, 1, null));
+        }
+        long[] ids = helper.addTasks(tasks);
+        List<Task> stored = new ArrayList<>();
+        for (long id : ids) {
+            stored.add(helper.getTask(id));
+        }
+
+        // Act
+        for (Task task : stored) {
+            task.setDone(true);
+        }
+        helper.updateTasks(stored);
+        helper.deleteTasks(new long[]{ids[0]});
+
+        // Assert
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue("Bulk updates should reach the cache", helper.getTask(ids[i]).isDone());
+            assertEquals(readFromDatabase(ids[i]), helper.getTask(ids[i]));
+        }
+        assertNull("The deleted task should leave the database", readFromDatabase(ids[0]));
+        assertNull("The deleted task should leave the cache", helper.getTaskCache().get(ids[0]));
+    }
+
+    @Test
+    public void testRolledBackTransaction_LeavesCacheUntouched() {
+        // Arrange
+        long id = helper.addTask(new Task("Keep me", null, 1, null));
+        Task task = helper.getTask(id);
+
+        // Act
+        try {
+            helper.runInTransaction(() -> {
+                task.setTitle("Rolled back");
+                helper.updateTask(task);
+                throw new IllegalStateException("abort");
+            });
+            fail("The transaction should have thrown");
+        } catch (IllegalStateException expected) {
+            // rolled back
+        }
+
+        // Assert
+        assertEquals("The cache should not keep the rolled-back title", "Keep me", helper.getTask(id).getTitle());
+    }
+
+    // ===== LATENCY =====
+
+    @Test
+    public void benchmarkGetTask_CachedVsDatabase() {
+        long id = helper.addTask(new Task("Open me often", "detail view", 2, null));
+
+        // Before: every open goes to SQLite
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < LOOKUPS; i++) {
+            helper.getTaskCache().clear();
+            helper.getTask(id);
+        }
+        double databaseMicros = (SystemClock.elapsedRealtimeNanos() - start) / 1000.0 / LOOKUPS;
+
+        // After: the cache
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < LOOKUPS; i++) {
+            helper.getTask(id);
+        }
+        double cachedMicros = (SystemClock.elapsedRealtimeNanos() - start) / 1000.0 / LOOKUPS;
+
+        Log.i(TAG, String.format("getTask: database=%.1f us, cached=%.1f us, %d hits / %d misses",
+                databaseMicros, cachedMicros, helper.getTaskCache().hitCount(), helper.getTaskCache().missCount()));
+        assertTrue("Cached reads should beat the database", cachedMicros < databaseMicros);
+    }
+
+    /** Reads {@code id} past the cache, straight from SQLite. */
+    private Task readFromDatabase(long id) {
+        for (Task task : helper.getAllTasks()) {
+            if (task.getId() == id) {
+                return task;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+import com.example.myreminder.models.TaskStats;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Upgrades a seeded version 1 database through the migration chain and checks nothing is lost
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TAG = "MigrationTest";
+    private static final String DB_NAME = "migration_task_notes.db";
+    private static final int SEED_ROWS = 100_000;
+
+    // schema exactly as shipped in version 1
+    private static final String[] V1_SCHEMA = {
+            "CREATE TABLE tasks(id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, description TEXT, " +
+                    "priority INTEGER DEFAULT 1, due_date TEXT, is_done INTEGER DEFAULT 0, " +
+                    "created_at TEXT DEFAULT (datetime('now')))",
+            "CREATE TABLE notes(id INTEGER PRIMARY KEY AUTOINCREMENT, note_text TEXT NOT NULL, tag TEXT, " +
+                    "created_at TEXT DEFAULT (datetime('now')), updated_at TEXT DEFAULT (datetime('now')))",
+            "CREATE TABLE reminders(id INTEGER PRIMARY KEY AUTOINCREMENT, task_id INTEGER NOT NULL, " +
+                    "reminder_time TEXT NOT NULL, is_triggered INTEGER DEFAULT 0, " +
+                    "FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE)"
+    };
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        seedVersion1Database();
+    }
+
+    @After
+    public void tearDown() {
+        if (helper != null) {
+            helper.close();
+        }
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void testUpgradeFromVersion1_PreservesData() {
+        // Act
+        helper = new DatabaseHelper(context, DB_NAME);
+        long start = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = helper.getWritableDatabase();
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        // reported, not asserted; onUpgrade logs the time of each step
+        Log.i(TAG, "migrated " + SEED_ROWS + " rows per table in " + elapsed + " ms");
+
+        // Assert - schema
+        assertEquals("Database should be at the current version", DatabaseHelper.DATABASE_VERSION, db.getVersion());
+        assertEquals("Migration indexes should exist", 1, DatabaseUtils.longForQuery(db,
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = ?",
+                new String[]{"idx_reminders_task_id"}));
+        assertEquals("The scheduler index should exist", 1, DatabaseUtils.longForQuery(db,
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = ?",
+                new String[]{"idx_reminders_pending"}));
+        assertEquals("Import progress should start empty", 0, helper.getImportedRecords("any file"));
+        assertEquals("No snapshot should be marked yet", 0, helper.getSnapshotId());
+
+        // Assert - data
+        assertEquals("Every task should survive", SEED_ROWS, DatabaseUtils.queryNumEntries(db, DatabaseHelper.TABLE_TASKS));
+        assertEquals("Every note should survive", SEED_ROWS, DatabaseUtils.queryNumEntries(db, DatabaseHelper.TABLE_NOTES));
+        assertEquals("Every reminder should survive", SEED_ROWS,
+                DatabaseUtils.queryNumEntries(db, DatabaseHelper.TABLE_REMINDERS));
+
+        Task task = helper.getTask(42);
+        assertEquals("Task title should be unchanged", "task 42", task.getTitle());
+        assertEquals("Task due date should be unchanged", "2025-10-27 15:00:00", task.getDueDate());
+        assertTrue("Even ids were seeded as done", task.isDone());
+
+        List<Reminder> reminders = helper.getRemindersForTask(42);
+        assertEquals("Reminder should still belong to its task", 1, reminders.size());
+        assertEquals("Reminder time should be unchanged", "2025-10-27 14:30:00", reminders.get(0).getReminderTime());
+
+        Note note = helper.getAllNotes().get(0);
+        assertTrue("Note text should be unchanged", note.getNoteText().startsWith("note "));
+
+        // Assert - counters seeded from the existing rows
+        TaskStats stats = helper.getTaskStats();
+        assertEquals("Every task should be counted", SEED_ROWS, stats.getTotalCount());
+        assertEquals("Even ids were seeded as done", SEED_ROWS / 2, stats.getDoneCount());
+        assertEquals("Every reminder was seeded pending", SEED_ROWS, stats.getPendingReminderCount());
+
+        // Assert - search index
+        assertEquals("Existing notes should be searchable", SEED_ROWS, helper.searchNotes("note").size());
+        assertEquals("Existing tasks should be searchable", 42, helper.searchTasks("task 42").get(0).getId());
+    }
+
+    private void seedVersion1Database() {
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(DB_NAME), null);
+        try {
+            db.beginTransaction();
+            try {
+                for (String ddl : V1_SCHEMA) {
+                    db.execSQL(ddl);
+                }
+                SQLiteStatement task = db.compileStatement(
+                        "INSERT INTO tasks (title, description, priority, due_date, is_done) VALUES (?, ?, ?, ?, ?)");
+                SQLiteStatement note = db.compileStatement("INSERT INTO notes (note_text, tag) VALUES (?, ?)");
+                SQLiteStatement reminder = db.compileStatement(
+                        "INSERT INTO reminders (task_id, reminder_time, is_triggered) VALUES (?, ?, 0)");
+                for (int i = 1; i <= SEED_ROWS; i++) {
+                    task.bindString(1, "task " + i);
+                    task.bindString(2, "description " + i);
+                    task.bindLong(3, 1 + i % 3);
+                    task.bindString(4, "2025-10-27 15:00:00");
+                    task.bindLong(5, i % 2 == 0 ? 1 : 0);
+                    task.executeInsert();
+
+                    note.bindString(1, "note " + i);
+                    note.bindString(2, "tag " + i % 10);
+                    note.executeInsert();
+
+                    reminder.bindLong(1, i);
+                    reminder.bindString(2, "2025-10-27 14:30:00");
+                    reminder.executeInsert();
+                }
+                db.setVersion(1);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            db.close();
+        }
+    }
+}
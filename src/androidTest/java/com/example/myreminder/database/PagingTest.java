@@ -0,0 +1,238 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingSource.LoadParams;
+import androidx.paging.PagingSource.LoadResult;
+import androidx.paging.PagingState;
+
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Task;
+import com.example.myreminder.paging.PageKey;
+import com.example.myreminder.paging.TaskPagingSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/*
+ * Walks the keyset-paginated task and note queries, and the paging source over them, and
+ * compares them with the full lists
+ */
+@RunWith(AndroidJUnit4.class)
+public class PagingTest {
+
+    private static final String DB_NAME = "paging_task_notes.db";
+    private static final int ROWS = 1_000;
+    private static final int PAGE_SIZE = 37;
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void testTaskPages_MatchFullListIncludingTies() {
+        // Arrange - many rows share a created_at, so the id tie-breaker matters
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Task task = new Task("task " + i, null, 1, null);
+            task.setCreatedAtMillis(1_700_000_000_000L + (i / 10) * 1000L);
+            tasks.add(task);
+        }
+        helper.addTasks(tasks);
+
+        // Act
+        List<Task> paged = new ArrayList<>();
+        List<Task> page = helper.getTasksPage(PAGE_SIZE);
+        while (!page.isEmpty()) {
+            assertTrue("Pages should never exceed the limit", page.size() <= PAGE_SIZE);
+            paged.addAll(page);
+            Task last = page.get(page.size() - 1);
+            page = helper.getTasksPage(last.getCreatedAtMillis(), last.getId(), PAGE_SIZE);
+        }
+
+        // Assert
+        List<Task> all = helper.getAllTasks();
+        assertEquals("Pages should cover every task", all.size(), paged.size());
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals("Pages should keep the full list order", all.get(i).getId(), paged.get(i).getId());
+            assertTrue("No task should appear twice", ids.add(paged.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void testNotePages_MatchFullList() {
+        // Arrange
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Note note = new Note("note " + i, null);
+            note.setCreatedAtMillis(1_700_000_000_000L + (i % 100) * 1000L);
+            notes.add(note);
+        }
+        helper.addNotes(notes);
+
+        // Act
+        List<Note> paged = new ArrayList<>();
+        List<Note> page = helper.getNotesPage(PAGE_SIZE);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            Note last = page.get(page.size() - 1);
+            page = helper.getNotesPage(last.getCreatedAtMillis(), last.getId(), PAGE_SIZE);
+        }
+
+        // Assert
+        List<Note> all = helper.getAllNotes();
+        assertEquals("Pages should cover every note", all.size(), paged.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals("Pages should keep the full list order", all.get(i).getId(), paged.get(i).getId());
+        }
+    }
+
+    // ===== PAGING SOURCE =====
+
+    @Test
+    public void testTaskPagingSource_ScrollsDownAndBackUpWithMaxSize() throws Exception {
+        // Arrange - the window holds three pages, so scrolling down drops pages off the top
+        addTasksSharingCreatedAt();
+        PagingConfig config = new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, PAGE_SIZE, 3 * PAGE_SIZE);
+        TaskPagingSource source = new TaskPagingSource(helper, Runnable::run);
+        LinkedList<LoadResult.Page<PageKey, Task>> window = new LinkedList<>();
+        window.add(load(source, new LoadParams.Refresh<>(null, PAGE_SIZE, false)));
+        assertNull("The first page has nothing above it", window.getFirst().getPrevKey());
+
+        // Act - down to the last row, dropping the top page whenever the window is over maxSize
+        while (window.getLast().getNextKey() != null) {
+            window.addLast(load(source, new LoadParams.Append<>(window.getLast().getNextKey(), PAGE_SIZE, false)));
+            while (size(window) > config.maxSize) {
+                window.removeFirst();
+            }
+        }
+        List<Integer> bottom = ids(window);
+
+        // Act - back up to the newest row, reloading the dropped pages from the prev keys
+        List<Integer> reloaded = new ArrayList<>();
+        while (window.getFirst().getPrevKey() != null) {
+            LoadResult.Page<PageKey, Task> page =
+                    load(source, new LoadParams.Prepend<>(window.getFirst().getPrevKey(), PAGE_SIZE, false));
+            window.addFirst(page);
+            reloaded.addAll(0, ids(Collections.singletonList(page)));
+            while (size(window) > config.maxSize) {
+                window.removeLast();
+            }
+        }
+
+        // Assert
+        List<Integer> all = new ArrayList<>();
+        for (Task task : helper.getAllTasks()) {
+            all.add(task.getId());
+        }
+        List<Integer> scrolled = new ArrayList<>(reloaded);
+        scrolled.addAll(bottom);
+        assertEquals("Scrolling back up should reload every dropped row once, in order", all, scrolled);
+        assertEquals("The window should end at the newest row", all.get(0), ids(window).get(0));
+    }
+
+    @Test
+    public void testTaskPagingSource_RefreshStartsAtTheAnchor() throws Exception {
+        // Arrange
+        addTasksSharingCreatedAt();
+        TaskPagingSource source = new TaskPagingSource(helper, Runnable::run);
+        LoadResult.Page<PageKey, Task> first = load(source, new LoadParams.Refresh<>(null, PAGE_SIZE, false));
+        LoadResult.Page<PageKey, Task> second = load(source, new LoadParams.Append<>(first.getNextKey(), PAGE_SIZE, false));
+        int anchorPosition = PAGE_SIZE + 5;
+        PagingState<PageKey, Task> state = new PagingState<>(Arrays.asList(first, second), anchorPosition,
+                new PagingConfig(PAGE_SIZE), 0);
+
+        // Act
+        LoadResult.Page<PageKey, Task> refreshed =
+                load(source, new LoadParams.Refresh<>(source.getRefreshKey(state), PAGE_SIZE, false));
+
+        // Assert
+        assertEquals("The refresh should start at the anchored row",
+                second.getData().get(5).getId(), refreshed.getData().get(0).getId());
+        assertNotNull("Rows above the anchor should still be reachable", refreshed.getPrevKey());
+        LoadResult.Page<PageKey, Task> above =
+                load(source, new LoadParams.Prepend<>(refreshed.getPrevKey(), PAGE_SIZE, false));
+        assertEquals(second.getData().get(4).getId(), above.getData().get(above.getData().size() - 1).getId());
+    }
+
+    @Test
+    public void testTaskPagingSource_InvalidatedByTaskWritesOnly() throws Exception {
+        // Arrange
+        addTasksSharingCreatedAt();
+        TaskPagingSource source = new TaskPagingSource(helper, Runnable::run);
+        load(source, new LoadParams.Refresh<>(null, PAGE_SIZE, false));
+
+        // Act
+        helper.addNote(new Note("unrelated", null));
+        boolean afterNote = source.getInvalid();
+        helper.addTask(new Task("new task", null, 1, null));
+
+        // Assert
+        assertFalse("A note write should leave the task source valid", afterNote);
+        assertTrue("A task write should invalidate the task source", source.getInvalid());
+    }
+
+    // many rows share a created_at, so the id tie-breaker matters
+    private void addTasksSharingCreatedAt() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Task task = new Task("task " + i, null, 1, null);
+            task.setCreatedAtMillis(1_700_000_000_000L + (i / 10) * 1000L);
+            tasks.add(task);
+        }
+        helper.addTasks(tasks);
+    }
+
+    private static LoadResult.Page<PageKey, Task> load(TaskPagingSource source, LoadParams<PageKey> params) throws Exception {
+        LoadResult<PageKey, Task> result = source.loadFuture(params).get();
+        assertTrue("The load should not fail: " + result, result instanceof LoadResult.Page);
+        return (LoadResult.Page<PageKey, Task>) result;
+    }
+
+    private static int size(List<LoadResult.Page<PageKey, Task>> pages) {
+        int size = 0;
+        for (LoadResult.Page<PageKey, Task> page : pages) {
+            size += page.getData().size();
+        }
+        return size;
+    }
+
+    private static List<Integer> ids(List<LoadResult.Page<PageKey, Task>> pages) {
+        List<Integer> ids = new ArrayList<>();
+        for (LoadResult.Page<PageKey, Task> page : pages) {
+            for (Task task : page.getData()) {
+                ids.add(task.getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Runs EXPLAIN QUERY PLAN for every DatabaseHelper query and fails on full table scans
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    private static final String DB_NAME = "query_plan_task_notes.db";
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== TASKS =====
+
+    @Test
+    public void testGetTask_UsesPrimaryKey() {
+        assertIndexed(DatabaseHelper.SELECT_TASK_BY_ID, "1");
+    }
+
+    @Test
+    public void testGetAllTasks_UsesCreatedAtIndex() {
+        assertIndexed(new TaskQuery());
+        assertIndexed(new TaskQuery().limit(50));
+    }
+
+    @Test
+    public void testGetTasksPage_UsesCreatedAtIndex() {
+        assertIndexed(DatabaseHelper.SELECT_TASKS_PAGE, "1761955199000", "1761955199000", "42", "50");
+    }
+
+    @Test
+    public void testGetTasksByStatus_UsesIsDoneIndex() {
+        assertIndexed(new TaskQuery().done(true).orderBy(TaskQuery.Order.UNORDERED));
+    }
+
+    @Test
+    public void testGetTasksCountByStatus_ReadsOnlyTheCounters() {
+        // the counter table holds a row per priority and status, so walking it is the right plan
+        for (String detail : explain(DatabaseHelper.COUNT_TASKS_BY_STATUS, "0")) {
+            assertTrue("Only the counters should be read, got '" + detail + "'",
+                    detail.contains(DatabaseHelper.TABLE_TASK_COUNTERS));
+        }
+    }
+
+    @Test
+    public void testGetTasksByPriority_UsesPriorityIndex() {
+        assertIndexed(new TaskQuery().priorities(2).orderBy(TaskQuery.Order.UNORDERED));
+    }
+
+    @Test
+    public void testGetUrgentTasksByDate_UsesPriorityDueDateIndex() {
+        assertIndexed(new TaskQuery().priorities(3).dueBetween(1759276800000L, 1761955199000L)
+                .orderBy(TaskQuery.Order.DUE_DATE));
+    }
+
+    @Test
+    public void testTaskQuery_NoFilterCombinationScansTheTable() {
+        int[][] priorities = {{}, {3}, {2, 3}};
+        Boolean[] done = {null, false};
+        TaskQuery.Order[] orders = {TaskQuery.Order.NEWEST_FIRST, TaskQuery.Order.DUE_DATE, TaskQuery.Order.UNORDERED};
+        for (int[] priority : priorities) {
+            for (Boolean isDone : done) {
+                for (boolean dueRange : new boolean[]{false, true}) {
+                    for (TaskQuery.Order order : orders) {
+                        if (priority.length == 0 && isDone == null && !dueRange && order == TaskQuery.Order.UNORDERED) {
+                            continue;  // every task, in no order: a scan is the right plan
+                        }
+                        TaskQuery query = new TaskQuery().priorities(priority).orderBy(order).limit(20);
+                        if (isDone != null) {
+                            query.done(isDone);
+                        }
+                        if (dueRange) {
+                            query.dueBetween(1759276800000L, 1761955199000L);
+                        }
+                        // filters that no single index covers may still need a sort
+                        for (String detail : explain(query.sql(), query.args())) {
+                            assertFalse("Full table scan in plan '" + detail + "' for " + query.sql(),
+                                    detail.startsWith("SCAN") && !detail.contains("USING"));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSetTasksDone_UsesPrimaryKey() {
+        assertUsesPrimaryKey(DatabaseHelper.SET_TASKS_DONE + InClause.placeholders(3), "1", "1", "4", "5", "6");
+    }
+
+    @Test
+    public void testGetTaskStats_ReadsCountersAndDueDateRanges() {
+        List<String> plan = explain(DatabaseHelper.SELECT_TASK_STATS, "1761955199000", "1761868800000", "1761955200000");
+        int ranges = 0;
+        for (String detail : plan) {
+            if (detail.startsWith("SCAN")) {
+                // the counter tables hold a row per (priority, state), however many tasks there are
+                assertTrue("Full table scan in plan '" + detail + "'",
+                        detail.contains(DatabaseHelper.TABLE_TASK_COUNTERS) || detail.contains(DatabaseHelper.TABLE_REMINDER_COUNTERS));
+            }
+            if (detail.contains("idx_tasks_done_due_date")) {
+                ranges++;
+            }
+        }
+        assertEquals("Overdue and due-today should both be index ranges", 2, ranges);
+    }
+
+    @Test
+    public void testCompleteAllOverdue_UsesIsDoneIndex() {
+        assertIndexed(DatabaseHelper.COMPLETE_OVERDUE_TASKS, "1761955199000");
+    }
+
+    // ===== NOTES AND REMINDERS =====
+
+    @Test
+    public void testGetAllNotes_UsesCreatedAtIndex() {
+        assertIndexed(DatabaseHelper.SELECT_ALL_NOTES);
+    }
+
+    @Test
+    public void testGetNotesPage_UsesCreatedAtIndex() {
+        assertIndexed(DatabaseHelper.SELECT_NOTES_PAGE, "1761955199000", "1761955199000", "42", "50");
+    }
+
+    @Test
+    public void testGetRemindersForTask_UsesTaskIdIndex() {
+        assertIndexed(DatabaseHelper.SELECT_REMINDERS_FOR_TASK, "1");
+    }
+
+    @Test
+    public void testGetUpcomingReminders_UsesPendingIndex() {
+        assertIndexed(DatabaseHelper.SELECT_PENDING_REMINDERS);
+        assertIndexed(DatabaseHelper.SELECT_UPCOMING_REMINDERS, "10");
+        assertIndexed(DatabaseHelper.SELECT_UPCOMING_REMINDERS_AFTER, "1761575400000", "1761575400000", "42", "10");
+    }
+
+    @Test
+    public void testMarkRemindersTriggered_UsesPrimaryKey() {
+        assertUsesPrimaryKey(DatabaseHelper.MARK_REMINDERS_TRIGGERED + InClause.placeholders(3), "4", "5", "6");
+    }
+
+    // ===== FULL-TEXT SEARCH =====
+
+    @Test
+    public void testSearch_UsesFullTextIndexAndPrimaryKey() {
+        assertSearchIndexed(new TaskQuery().matching("report").orderBy(TaskQuery.Order.RELEVANCE).sql());
+        assertSearchIndexed(DatabaseHelper.SEARCH_TASKS_WITH_SNIPPETS);
+        assertSearchIndexed(DatabaseHelper.SEARCH_NOTES);
+        assertSearchIndexed(DatabaseHelper.SEARCH_NOTES_WITH_SNIPPETS);
+    }
+
+    // ===== HELPERS =====
+
+    private void assertIndexed(String sql, String... args) {
+        List<String> plan = explain(sql, args);
+        assertFalse("Query plan should not be empty for " + sql, plan.isEmpty());
+        for (String detail : plan) {
+            // a SCAN is only acceptable when it walks an index, e.g. to satisfy ORDER BY
+            boolean fullScan = detail.startsWith("SCAN") && !detail.contains("USING");
+            assertFalse("Full table scan in plan '" + detail + "' for " + sql, fullScan);
+            assertFalse("Temporary sort in plan '" + detail + "' for " + sql, detail.contains("TEMP B-TREE"));
+        }
+    }
+
+    private void assertIndexed(TaskQuery query) {
+        assertIndexed(query.sql(), query.args());
+    }
+
+    private void assertUsesPrimaryKey(String sql, String... args) {
+        List<String> plan = explain(sql, args);
+        assertEquals("Expected a single step for " + sql, 1, plan.size());
+        assertTrue("Expected rowid lookups, got '" + plan.get(0) + "' for " + sql,
+                plan.get(0).contains("INTEGER PRIMARY KEY"));
+    }
+
+    private void assertSearchIndexed(String sql) {
+        List<String> plan = explain(sql, "\"report*\"");
+        assertFalse("Query plan should not be empty for " + sql, plan.isEmpty());
+        for (String detail : plan) {
+            // the FTS table is always walked through its own index; the content table by rowid
+            boolean fullScan = detail.startsWith("SCAN") && !detail.contains("VIRTUAL TABLE");
+            assertFalse("Full table scan in plan '" + detail + "' for " + sql, fullScan);
+        }
+    }
+
+    private List<String> explain(String sql, String... args) {
+        SQLiteDatabase db = helper.getReadableDatabase();
+        List<String> details = new ArrayList<>();
+        Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args);
+        try {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailIndex));
+            }
+        } finally {
+            cursor.close();
+        }
+        return details;
+    }
+}
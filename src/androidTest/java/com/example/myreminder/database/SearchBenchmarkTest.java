@@ -0,0 +1,157 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.SearchResult;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Full-text search behaviour and latency against a 100k-note corpus, run on a device
+ */
+@RunWith(AndroidJUnit4.class)
+public class SearchBenchmarkTest {
+
+    private static final String TAG = "SearchBenchmark";
+    private static final String DB_NAME = "search_task_notes.db";
+    private static final int CORPUS_NOTES = 100_000;
+    private static final int SEARCH_CALLS = 50;
+    private static final long TARGET_SEARCH_MILLIS = 10;
+
+    private static final String[] WORDS = {
+            "meeting", "client", "invoice", "project", "holiday", "doctor", "groceries", "review",
+            "deadline", "birthday", "report", "budget", "travel", "garden", "library", "contract"
+    };
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== BEHAVIOUR =====
+
+    @Test
+    public void testSearch_FollowsInsertUpdateAndDelete() {
+        // Arrange
+        Task task = new Task("Prepare quarterly report", "numbers for the board", 2, null);
+        long id = helper.addTask(task);
+        task.setId((int) id);
+
+        // Act & Assert - insert
+        assertEquals("Prefix search should find the new task", id, helper.searchTasks("quart").get(0).getId());
+
+        // Act & Assert - update
+        task.setTitle("Prepare annual report");
+        helper.updateTask(task);
+        assertTrue("Old words should leave the index", helper.searchTasks("quarterly").isEmpty());
+        assertEquals("New words should be indexed", id, helper.searchTasks("annual").get(0).getId());
+
+        // Act & Assert - delete
+        helper.deleteTask(id);
+        assertTrue("Deleted tasks should leave the index", helper.searchTasks("annual").isEmpty());
+    }
+
+    @Test
+    public void testSearch_RanksAndHighlights() {
+        // Arrange
+        helper.addNote(new Note("budget meeting with the client", "work"));
+        helper.addNote(new Note("budget budget budget review", "budget"));
+
+        // Act
+        List<SearchResult<Note>> results = helper.searchNotesWithSnippets("budget");
+
+        // Assert
+        assertEquals("Both notes should match", 2, results.size());
+        assertTrue("The note with more hits should come first",
+                results.get(0).getItem().getNoteText().startsWith("budget budget"));
+        assertTrue("Snippets should highlight the match",
+                results.get(1).getSnippet().contains(SearchResult.HIGHLIGHT_START + "budget" + SearchResult.HIGHLIGHT_END));
+    }
+
+    @Test
+    public void testSearch_UserOperatorsAreLiteral() {
+        helper.addNote(new Note("call mom", null));
+
+        assertTrue("An unbalanced quote should not throw", helper.searchNotes("\"call").size() >= 1);
+        assertTrue("OR should be a plain word", helper.searchNotes("call OR").isEmpty());
+    }
+
+    // ===== LATENCY =====
+
+    @Test
+    public void benchmarkSearchNotes_FullTextVsLike() {
+        seedCorpus();
+        SQLiteDatabase db = helper.getReadableDatabase();
+        String likeSql = "SELECT id, note_text, tag, created_at, updated_at FROM notes" +
+                " WHERE note_text LIKE ? OR tag LIKE ?";
+
+        // Before: LIKE '%q%' scans the text of every row
+        long start = SystemClock.elapsedRealtimeNanos();
+        int likeHits = 0;
+        for (int i = 0; i < SEARCH_CALLS; i++) {
+            String pattern = "%" + rareWord(i) + "%";
+            Cursor cursor = db.rawQuery(likeSql, new String[]{pattern, pattern});
+            likeHits += cursor.getCount();
+            cursor.close();
+        }
+        double likeMillis = (SystemClock.elapsedRealtimeNanos() - start) / 1_000_000.0 / SEARCH_CALLS;
+
+        // After: the FTS index
+        start = SystemClock.elapsedRealtimeNanos();
+        int ftsHits = 0;
+        for (int i = 0; i < SEARCH_CALLS; i++) {
+            ftsHits += helper.searchNotes(rareWord(i)).size();
+        }
+        double ftsMillis = (SystemClock.elapsedRealtimeNanos() - start) / 1_000_000.0 / SEARCH_CALLS;
+
+        // the timings depend on the device and what else it is doing, so they are reported, not asserted
+        Log.i(TAG, String.format("search over %d notes: LIKE=%.1f ms, FTS=%.1f ms (target %d ms)",
+                CORPUS_NOTES, likeMillis, ftsMillis, TARGET_SEARCH_MILLIS));
+        assertEquals("Both searches should find the same notes", likeHits, ftsHits);
+    }
+
+    private void seedCorpus() {
+        List<Note> notes = new ArrayList<>(CORPUS_NOTES);
+        for (int i = 0; i < CORPUS_NOTES; i++) {
+            // every note has common words; one in a thousand also gets a rare, searchable one
+            String text = WORDS[i % WORDS.length] + " " + WORDS[(i / 7) % WORDS.length] + " notes " + i;
+            if (i % 1000 == 0) {
+                text += " " + rareWord(i / 1000);
+            }
+            notes.add(new Note(text, WORDS[(i / 3) % WORDS.length]));
+        }
+        helper.addNotes(notes);
+    }
+
+    private static String rareWord(int i) {
+        return "zephyr" + (char) ('a' + i % 26) + (char) ('a' + i / 26 % 26);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+import com.example.myreminder.models.TaskStats;
+import com.example.myreminder.utils.DateCodec;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/*
+ * The trigger-kept dashboard counters against a count over every row, and their cost
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskStatsTest {
+
+    private static final String TAG = "TaskStats";
+    private static final String DB_NAME = "stats_task_notes.db";
+    private static final int CORPUS_TASKS = 50_000;
+    private static final int STATS_CALLS = 100;
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private long now;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = new DatabaseHelper(context, DB_NAME);
+        // midday, so "earlier today" and "later today" both exist
+        now = DateCodec.startOfDay(System.currentTimeMillis(), 0) + 12 * HOUR;
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== COUNTERS =====
+
+    @Test
+    public void testStats_FollowEveryKindOfWrite() {
+        // Arrange
+        int sampleReminders = helper.getTaskStats(now).getPendingReminderCount();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            tasks.add(new Task(0, "task " + i, null, 1 + i % 3, now + (i - 15) * HOUR, i % 5 == 0, now));
+        }
+        long[] ids = helper.addTasks(tasks);
+        helper.addReminder(new Reminder((int) ids[0], "2030-01-01 08:00:00"));
+        helper.addReminder(new Reminder((int) ids[1], "2030-01-01 08:00:00"));
+
+        // Act - single, partial, set-based and cascading writes
+        Task edited = helper.getTask(ids[2]);
+        edited.setPriority(3);
+        helper.updateTask(edited);
+        helper.setTasksDone(new long[]{ids[3], ids[4], ids[5]}, true);
+        helper.completeAllOverdue(now - 10 * HOUR);
+        helper.deleteTasks(new long[]{ids[1], ids[6]});
+
+        // Assert
+        TaskStats scanned = countByScanning();
+        assertEquals(scanned, helper.getTaskStats(now));
+        assertEquals(scanned.getPendingCount(), helper.getTasksCountByStatus(false));
+        assertEquals(scanned.getDoneCount(), helper.getTasksCountByStatus(true));
+        assertEquals("The deleted task's reminder should leave the count",
+                sampleReminders + 1, helper.getTaskStats(now).getPendingReminderCount());
+    }
+
+    @Test
+    public void testStats_OverdueAndDueToday() {
+        // Arrange - on top of the sample data
+        TaskStats before = helper.getTaskStats(now);
+        helper.addTask(new Task(0, "yesterday", null, 1, now - 24 * HOUR, false, now));
+        helper.addTask(new Task(0, "this morning", null, 1, now - 2 * HOUR, false, now));
+        helper.addTask(new Task(0, "this evening", null, 2, now + 6 * HOUR, false, now));
+        helper.addTask(new Task(0, "done this evening", null, 2, now + 6 * HOUR, true, now));
+        helper.addTask(new Task(0, "tomorrow", null, 3, now + 24 * HOUR, false, now));
+
+        // Act
+        TaskStats stats = helper.getTaskStats(now);
+
+        // Assert
+        assertEquals("Yesterday's and this morning's tasks are overdue",
+                before.getOverdueCount() + 2, stats.getOverdueCount());
+        assertEquals("This morning's and this evening's pending tasks are due today",
+                before.getDueTodayCount() + 2, stats.getDueTodayCount());
+        assertEquals(before.getDoneCount(2) + 1, stats.getDoneCount(2));
+        assertEquals(before.getCount(2) + 2, stats.getCount(2));
+        assertEquals(before.getTotalCount() + 5, stats.getTotalCount());
+    }
+
+    // ===== LATENCY =====
+
+    @Test
+    public void benchmarkStats_CountersVsLoadingEveryTask() {
+        List<Task> tasks = new ArrayList<>(CORPUS_TASKS);
+        for (int i = 0; i < CORPUS_TASKS; i++) {
+            tasks.add(new Task(0, "task " + i, null, 1 + i % 3, now + (i % 96 - 48) * HOUR, i % 4 == 0, now));
+        }
+        helper.addTasks(tasks);
+
+        // Before: load every task and count in Java
+        long start = SystemClock.elapsedRealtimeNanos();
+        TaskStats scanned = countByScanning();
+        double scanMillis = (SystemClock.elapsedRealtimeNanos() - start) / 1_000_000.0;
+
+        // After: the counters
+        start = SystemClock.elapsedRealtimeNanos();
+        TaskStats stats = null;
+        for (int i = 0; i < STATS_CALLS; i++) {
+            stats = helper.getTaskStats(now);
+        }
+        double statsMillis = (SystemClock.elapsedRealtimeNanos() - start) / 1_000_000.0 / STATS_CALLS;
+
+        Log.i(TAG, String.format("stats over %d tasks: load all=%.1f ms, counters=%.2f ms",
+                CORPUS_TASKS, scanMillis, statsMillis));
+        assertEquals(scanned, stats);
+        assertTrue("Counters should beat loading every task", statsMillis < scanMillis);
+    }
+
+    /** The same counters, the slow way. */
+    private TaskStats countByScanning() {
+        Map<Integer, Integer> pending = new TreeMap<>();
+        Map<Integer, Integer> done = new TreeMap<>();
+        long todayStart = DateCodec.startOfDay(now, 0);
+        long todayEnd = DateCodec.startOfDay(now, 1);
+        int overdue = 0;
+        int dueToday = 0;
+        int pendingReminders = 0;
+        for (Task task : helper.getAllTasks()) {
+            (task.isDone() ? done : pending).merge(task.getPriority(), 1, Integer::sum);
+            long due = task.getDueDateMillis();
+            if (!task.isDone() && due != 0) {
+                if (due < now) {
+                    overdue++;
+                }
+                if (due >= todayStart && due < todayEnd) {
+                    dueToday++;
+                }
+            }
+            for (Reminder reminder : helper.getRemindersForTask(task.getId())) {
+                if (!reminder.isTriggered()) {
+                    pendingReminders++;
+                }
+            }
+        }
+        return new TaskStats(pending, done, overdue, dueToday, pendingReminders);
+    }
+}
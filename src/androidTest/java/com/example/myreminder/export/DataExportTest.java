@@ -0,0 +1,220 @@
+package com.example.myreminder.export;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+/*
+ * Streams every table to CSV and JSON Lines files and checks the output, the progress reports and the heap
+ */
+@RunWith(AndroidJUnit4.class)
+public class DataExportTest {
+
+    private static final String TAG = "DataExporter";
+    private static final String DB_NAME = "export_task_notes.db";
+    private static final int SMALL_EXPORT = 20_000;
+    private static final int LARGE_EXPORT = 4 * SMALL_EXPORT;
+    private static final int BENCHMARK_ROWS = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+    // sampling the heap after a GC on every chunk would make the export crawl
+    private static final int CHUNKS_PER_HEAP_SAMPLE = 10;
+    private static final long HEAP_GROWTH_ALLOWANCE = 2 * 1024 * 1024;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private File directory;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        directory = new File(context.getCacheDir(), "export-test");
+        deleteExport();
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+        deleteExport();
+    }
+
+    // ===== OUTPUT =====
+
+    @Test
+    public void testExportCsv_QuotesAndKeepsEveryRow() throws IOException {
+        // Arrange
+        helper.addTask(new Task("Buy milk, bread", "the \"good\" bread\nfrom the corner", 2, null));
+        helper.addNote(new Note("", null));
+        int tasks = helper.getAllTasks().size();
+
+        // Act
+        ExportProgress result = new DataExporter(helper).export(directory, DataExporter.Format.CSV, false, null);
+
+        // Assert
+        String csv = read(DataExporter.fileFor(directory, DatabaseHelper.TABLE_TASKS, DataExporter.Format.CSV, false));
+        assertTrue(csv.startsWith("id,title,description,priority,due_date,is_done,created_at\r\n"));
+        assertTrue(csv.contains(",\"Buy milk, bread\",\"the \"\"good\"\" bread\nfrom the corner\",2,,0,"));
+        assertEquals("One record per task after the header", tasks + 1, csv.split("\r\n", -1).length - 1);
+        String notes = read(DataExporter.fileFor(directory, DatabaseHelper.TABLE_NOTES, DataExporter.Format.CSV, false));
+        assertTrue("An empty note is not a missing one", notes.contains(",\"\",,"));
+        assertEquals(result.getTotalRows(), result.getRows());
+        assertEquals(1f, result.getFraction(), 0f);
+    }
+
+    @Test
+    public void testExportJsonLines_GzipReadsBackLineByLine() throws IOException {
+        // Arrange
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2 * DataExporter.ROWS_PER_CHUNK + 10; i++) {
+            tasks.add(new Task("task " + i, i % 2 == 0 ? null : "tab\there", 1 + i % 3, null));
+        }
+        helper.addTasks(tasks);
+        int expected = helper.getAllTasks().size();
+        List<ExportProgress> reports = new ArrayList<>();
+
+        // Act
+        new DataExporter(helper).export(directory, DataExporter.Format.JSON_LINES, true, reports::add);
+
+        // Assert
+        File file = DataExporter.fileFor(directory, DatabaseHelper.TABLE_TASKS, DataExporter.Format.JSON_LINES, true);
+        long lastId = 0;
+        int lines = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                assertTrue(line, line.startsWith("{\"id\":") && line.endsWith("}"));
+                long id = Long.parseLong(line.substring(6, line.indexOf(',')));
+                assertTrue("Rows should follow the primary key across chunks", id > lastId);
+                lastId = id;
+                lines++;
+            }
+        }
+        assertEquals(expected, lines);
+        assertTrue("Every chunk should be reported", reports.size() >= 3);
+        assertFalse("No temporary file should be left", new File(directory, "tasks.jsonl.tmp").exists());
+    }
+
+    @Test
+    public void testExport_InterruptedLeavesNoFiles() {
+        // Arrange
+        DataExporter exporter = new DataExporter(helper);
+        Thread.currentThread().interrupt();
+
+        // Act
+        try {
+            exporter.export(directory, DataExporter.Format.CSV, false, null);
+            fail("An interrupted export should throw");
+        } catch (IOException expected) {
+            assertTrue(expected instanceof InterruptedIOException);
+        } finally {
+            Thread.interrupted();
+        }
+
+        // Assert
+        String[] left = directory.list();
+        assertTrue("Partial files should be removed", left == null || left.length == 0);
+    }
+
+    // ===== MEMORY AND THROUGHPUT =====
+
+    @Test
+    public void testExport_HeapStaysFlatAsRowsGrow() throws IOException {
+        // Arrange
+        addTasks(SMALL_EXPORT);
+        long smallPeak = peakHeapDuringExport();
+        addTasks(LARGE_EXPORT - SMALL_EXPORT);
+
+        // Act
+        long largePeak = peakHeapDuringExport();
+
+        // Assert
+        Log.i(TAG, String.format("peak heap: %d rows=%d KB, %d rows=%d KB",
+                SMALL_EXPORT, smallPeak / 1024, LARGE_EXPORT, largePeak / 1024));
+        assertTrue("Four times the rows should not need more heap", largePeak - smallPeak < HEAP_GROWTH_ALLOWANCE);
+    }
+
+    @Test
+    public void benchmarkExport_OneMillionRows() throws IOException {
+        addTasks(BENCHMARK_ROWS);
+
+        for (DataExporter.Format format : DataExporter.Format.values()) {
+            for (boolean gzip : new boolean[]{false, true}) {
+                ExportProgress result = new DataExporter(helper).export(directory, format, gzip, null);
+                Log.i(TAG, String.format("%s%s: %s", format, gzip ? " + gzip" : "", result));
+                assertEquals(result.getTotalRows(), result.getRows());
+            }
+        }
+    }
+
+    private long peakHeapDuringExport() throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        long[] peak = {0};
+        int[] chunks = {0};
+        new DataExporter(helper).export(directory, DataExporter.Format.JSON_LINES, true, progress -> {
+            if (chunks[0]++ % CHUNKS_PER_HEAP_SAMPLE == 0) {
+                runtime.gc();
+                peak[0] = Math.max(peak[0], runtime.totalMemory() - runtime.freeMemory());
+            }
+        });
+        return peak[0];
+    }
+
+    private void addTasks(int count) {
+        List<Task> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Task("task " + i, "description for task " + i, 1 + i % 3, null));
+            if (batch.size() == INSERT_BATCH || i == count - 1) {
+                helper.addTasks(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        try (InputStream input = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                read += input.read(bytes, read, bytes.length - read);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void deleteExport() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
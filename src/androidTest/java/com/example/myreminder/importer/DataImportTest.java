@@ -0,0 +1,302 @@
+package com.example.myreminder.importer;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.export.DataExporter;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Imports CSV and JSON Lines files through the parse/write pipeline and checks the rows, the rejects, resuming and the heap
+ */
+@RunWith(AndroidJUnit4.class)
+public class DataImportTest {
+
+    private static final String TAG = "DataImporter";
+    private static final String DB_NAME = "import_task_notes.db";
+    private static final String EXPORT_DB_NAME = "import_source_task_notes.db";
+    private static final int RESUME_RECORDS = 50_000;
+    private static final int SMALL_IMPORT = 20_000;
+    private static final int LARGE_IMPORT = 4 * SMALL_IMPORT;
+    private static final int[] BENCHMARK_RECORDS = {100_000, 1_000_000};
+    private static final int[] BENCHMARK_BATCH_SIZES = {100, DataImporter.DEFAULT_BATCH_SIZE, 10_000};
+    private static final int BATCHES_PER_HEAP_SAMPLE = 10;
+    private static final long HEAP_GROWTH_ALLOWANCE = 2 * 1024 * 1024;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private File directory;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        context.deleteDatabase(EXPORT_DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        directory = new File(context.getCacheDir(), "import-test");
+        deleteFiles();
+        directory.mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+        context.deleteDatabase(EXPORT_DB_NAME);
+        deleteFiles();
+    }
+
+    // ===== ROUND TRIP =====
+
+    @Test
+    public void testImportCsv_ReadsBackAnExport() throws IOException {
+        // Arrange
+        DatabaseHelper source = DatabaseHelper.newInstanceForTesting(context, EXPORT_DB_NAME);
+        Task tricky = new Task("Buy milk, bread", "the \"good\" bread\r\nfrom the corner", 3, "2025-10-27 15:00:00");
+        tricky.setDone(true);
+        source.addTask(tricky);
+        source.addTask(new Task("إنهاء التقرير", null, 2, null));
+        int exported = source.getAllTasks().size();
+        new DataExporter(source).export(directory, DataExporter.Format.CSV, false, null);
+        source.close();
+        int before = helper.getAllTasks().size();
+
+        // Act
+        ImportProgress result = new DataImporter(helper, DataImporter.DEFAULT_BATCH_SIZE).importFile(
+                DataExporter.fileFor(directory, DatabaseHelper.TABLE_TASKS, DataExporter.Format.CSV, false),
+                DataImporter.Target.TASKS, null);
+
+        // Assert
+        assertEquals(exported, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals(before + exported, helper.getAllTasks().size());
+        Task imported = find(helper.getAllTasks(), "Buy milk, bread");
+        assertEquals("the \"good\" bread\r\nfrom the corner", imported.getDescription());
+        assertEquals(3, imported.getPriority());
+        assertEquals("2025-10-27 15:00:00", imported.getDueDate());
+        assertTrue(imported.isDone());
+        assertNull(find(helper.getAllTasks(), "إنهاء التقرير").getDescription());
+    }
+
+    @Test
+    public void testImportJsonLines_GzippedNotes() throws IOException {
+        // Arrange
+        DatabaseHelper source = DatabaseHelper.newInstanceForTesting(context, EXPORT_DB_NAME);
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < 1_234; i++) {
+            notes.add(new Note("note " + i + "\ttabbed", i % 2 == 0 ? null : "tag " + i));
+        }
+        source.addNotes(notes);
+        int exported = source.getAllNotes().size();
+        new DataExporter(source).export(directory, DataExporter.Format.JSON_LINES, true, null);
+        source.close();
+        int before = helper.getAllNotes().size();
+        List<ImportProgress> reports = new ArrayList<>();
+
+        // Act
+        ImportProgress result = new DataImporter(helper, 100).importFile(
+                DataExporter.fileFor(directory, DatabaseHelper.TABLE_NOTES, DataExporter.Format.JSON_LINES, true),
+                DataImporter.Target.NOTES, reports::add);
+
+        // Assert
+        assertEquals(exported, result.getImported());
+        assertEquals(before + exported, helper.getAllNotes().size());
+        assertEquals("Every batch should be reported", (exported + 99) / 100, reports.size());
+        assertEquals(exported, reports.get(reports.size() - 1).getImported());
+    }
+
+    // ===== VALIDATION =====
+
+    @Test
+    public void testImport_InvalidRecordsAreCountedAndSkipped() throws IOException {
+        // Arrange
+        File file = new File(directory, "mixed.csv");
+        write(file, "title,priority,due_date\n" +
+                "good one,urgent,2025-10-27T09:30\n" +
+                ",1,2025-10-27\n" +
+                "bad priority,7,\n" +
+                "bad date,1,next week\n" +
+                "\"good two\",,1761570000\n");
+        int before = helper.getAllTasks().size();
+
+        // Act
+        ImportProgress result = new DataImporter(helper, DataImporter.DEFAULT_BATCH_SIZE)
+                .importFile(file, DataImporter.Target.TASKS, null);
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertTrue(result.getFirstError(), result.getFirstError().startsWith("Record 2: Missing title"));
+        assertEquals(before + 2, helper.getAllTasks().size());
+        assertEquals("2025-10-27 09:30:00", find(helper.getAllTasks(), "good one").getDueDate());
+    }
+
+    @Test(expected = IOException.class)
+    public void testImport_UnknownExtensionIsRejected() throws IOException {
+        File file = new File(directory, "tasks.xml");
+        write(file, "<tasks/>");
+        new DataImporter(helper, DataImporter.DEFAULT_BATCH_SIZE).importFile(file, DataImporter.Target.TASKS, null);
+    }
+
+    // ===== BATCHES =====
+
+    @Test
+    public void testImport_BatchesEndAtTheBatchSizeNotAtAChunk() throws IOException {
+        // Arrange - 750 is not a multiple of the 500-record chunks
+        File file = new File(directory, "batches.csv");
+        writeTasksCsv(file, 2_000);
+        List<Long> committed = new ArrayList<>();
+
+        // Act
+        new DataImporter(helper, 750).importFile(file, DataImporter.Target.TASKS,
+                progress -> committed.add(progress.getImported()));
+
+        // Assert
+        assertEquals("Each batch should hold exactly 750 records, then the rest",
+                Arrays.asList(750L, 1_500L, 2_000L), committed);
+    }
+
+    // ===== RESUMING =====
+
+    @Test
+    public void testImport_ResumesAfterTheLastCommittedBatch() throws IOException {
+        // Arrange - stop the import from its first batch
+        File file = new File(directory, "resume.csv");
+        writeTasksCsv(file, RESUME_RECORDS);
+        int before = helper.getTaskStats().getTotalCount();
+        DataImporter importer = new DataImporter(helper, 250);
+        Thread caller = Thread.currentThread();
+        try {
+            importer.importFile(file, DataImporter.Target.TASKS, progress -> caller.interrupt());
+            fail("An interrupted import should throw");
+        } catch (InterruptedIOException expected) {
+            assertTrue(Thread.interrupted());
+        }
+        int afterStop = helper.getTaskStats().getTotalCount() - before;
+        assertTrue("Some batches should have gone in", afterStop > 0);
+        assertTrue("The import should have stopped early", afterStop < RESUME_RECORDS);
+
+        // Act
+        ImportProgress resumed = importer.importFile(file, DataImporter.Target.TASKS, null);
+        ImportProgress again = importer.importFile(file, DataImporter.Target.TASKS, null);
+
+        // Assert
+        assertEquals("Committed records should be skipped", afterStop, resumed.getSkipped());
+        assertEquals(RESUME_RECORDS - afterStop, resumed.getImported());
+        assertEquals("Every record should be in once", before + RESUME_RECORDS, helper.getTaskStats().getTotalCount());
+        assertEquals("A finished file should import nothing", 0, again.getImported());
+
+        importer.forget(file, DataImporter.Target.TASKS);
+        assertEquals("A forgotten file should import from the top",
+                RESUME_RECORDS, importer.importFile(file, DataImporter.Target.TASKS, null).getImported());
+    }
+
+    // ===== MEMORY AND THROUGHPUT =====
+
+    @Test
+    public void testImport_HeapStaysFlatAsRecordsGrow() throws IOException {
+        // Arrange
+        File small = new File(directory, "small.csv");
+        File large = new File(directory, "large.csv");
+        writeTasksCsv(small, SMALL_IMPORT);
+        writeTasksCsv(large, LARGE_IMPORT);
+        long smallPeak = peakHeapDuringImport(small);
+
+        // Act
+        long largePeak = peakHeapDuringImport(large);
+
+        // Assert
+        Log.i(TAG, String.format("peak heap: %d records=%d KB, %d records=%d KB",
+                SMALL_IMPORT, smallPeak / 1024, LARGE_IMPORT, largePeak / 1024));
+        assertTrue("Four times the records should not need more heap", largePeak - smallPeak < HEAP_GROWTH_ALLOWANCE);
+    }
+
+    @Test
+    public void benchmarkImport_100kAnd1MRecords() throws IOException {
+        for (int records : BENCHMARK_RECORDS) {
+            File file = new File(directory, "benchmark.csv");
+            writeTasksCsv(file, records);
+            for (int batchSize : BENCHMARK_BATCH_SIZES) {
+                DataImporter importer = new DataImporter(helper, batchSize);
+                importer.forget(file, DataImporter.Target.TASKS);
+                ImportProgress result = importer.importFile(file, DataImporter.Target.TASKS, null);
+                Log.i(TAG, String.format("%d records, batches of %d: %s", records, batchSize, result));
+                assertEquals(records, result.getImported());
+            }
+            file.delete();
+        }
+    }
+
+    private long peakHeapDuringImport(File file) throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        long[] peak = {0};
+        int[] batches = {0};
+        new DataImporter(helper, DataImporter.DEFAULT_BATCH_SIZE).importFile(file, DataImporter.Target.TASKS,
+                progress -> {
+                    if (batches[0]++ % BATCHES_PER_HEAP_SAMPLE == 0) {
+                        runtime.gc();
+                        peak[0] = Math.max(peak[0], runtime.totalMemory() - runtime.freeMemory());
+                    }
+                });
+        return peak[0];
+    }
+
+    private static void writeTasksCsv(File file, int records) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("title,description,priority,due_date,is_done\r\n");
+            for (int i = 0; i < records; i++) {
+                writer.write("task " + i + ",\"description, for task " + i + "\"," + (1 + i % 3) +
+                        ",2025-10-27 15:00:00," + (i % 2) + "\r\n");
+            }
+        }
+    }
+
+    private static void write(File file, String text) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(text);
+        }
+    }
+
+    private static Task find(List<Task> tasks, String title) {
+        for (Task task : tasks) {
+            if (title.equals(task.getTitle())) {
+                return task;
+            }
+        }
+        throw new AssertionError("No task titled " + title);
+    }
+
+    private void deleteFiles() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.myreminder.repository;
+
+import android.content.Context;
+
+import androidx.lifecycle.Observer;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/*
+ * Checks that live queries re-run only for their own tables and coalesce write bursts
+ */
+@RunWith(AndroidJUnit4.class)
+public class LiveQueryTest {
+
+    private static final String DB_NAME = "live_query_task_notes.db";
+    private static final int BURST_WRITES = 200;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DatabaseExecutors executors;
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        executors = new DatabaseExecutors();
+    }
+
+    @After
+    public void tearDown() {
+        executors.shutdown();
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void testBurstOfWrites_CoalescedIntoFewQueries() throws Exception {
+        // Arrange
+        LiveQuery<List<Task>> live = countingTaskQuery();
+        CountDownLatch sawAll = new CountDownLatch(1);
+        int expected = helper.getAllTasks().size() + BURST_WRITES;
+        Observer<List<Task>> observer = tasks -> {
+            if (tasks.size() == expected) {
+                sawAll.countDown();
+            }
+        };
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> live.observeForever(observer));
+
+        // Act - one write per call, each committed on its own
+        for (int i = 0; i < BURST_WRITES; i++) {
+            helper.addTask(new Task("burst " + i, null, 1, null));
+        }
+
+        // Assert
+        assertTrue("Observer should see every write", sawAll.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> live.removeObserver(observer));
+        assertTrue("Expected far fewer queries than writes, got " + queries.get(),
+                queries.get() < BURST_WRITES / 4);
+    }
+
+    @Test
+    public void testUnrelatedTable_DoesNotRequery() throws Exception {
+        // Arrange
+        LiveQuery<List<Task>> live = countingTaskQuery();
+        CountDownLatch loaded = new CountDownLatch(1);
+        Observer<List<Task>> observer = tasks -> loaded.countDown();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> live.observeForever(observer));
+        assertTrue("Initial load should arrive", loaded.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        int before = queries.get();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            helper.addNote(new Note("note " + i, null));
+        }
+        Thread.sleep(200);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        // Assert
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> live.removeObserver(observer));
+        assertEquals("Note writes should not re-run a task query", before, queries.get());
+    }
+
+    private LiveQuery<List<Task>> countingTaskQuery() {
+        return new LiveQuery<>(helper.getInvalidationTracker(), executors.readers(), () -> {
+            queries.incrementAndGet();
+            return helper.getAllTasks();
+        }, DatabaseHelper.TABLE_TASKS);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.myreminder.repository;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.StrictMode;
+import android.os.strictmode.Violation;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * Drives the repositories from the main thread under a StrictMode disk policy and checks
+ * that no disk read or write ever happens on the main looper
+ */
+@RunWith(AndroidJUnit4.class)
+public class RepositoryStrictModeTest {
+
+    private static final String DB_NAME = "strict_mode_task_notes.db";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DatabaseExecutors executors;
+    private TaskRepository tasks;
+    private NoteRepository notes;
+    private ReminderRepository reminders;
+    private final List<Violation> violations = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        // penaltyListener needs API 28
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.P);
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        executors = new DatabaseExecutors();
+        tasks = new TaskRepository(helper, executors);
+        notes = new NoteRepository(helper, executors);
+        reminders = new ReminderRepository(helper, executors);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> StrictMode.setThreadPolicy(
+                new StrictMode.ThreadPolicy.Builder()
+                        .detectDiskReads()
+                        .detectDiskWrites()
+                        .penaltyListener(Runnable::run, violations::add)
+                        .build()));
+    }
+
+    @After
+    public void tearDown() {
+        if (helper == null) {
+            return;
+        }
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(
+                () -> StrictMode.setThreadPolicy(StrictMode.ThreadPolicy.LAX));
+        executors.shutdown();
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void testRepositories_NeverTouchDiskOnMainThread() throws Exception {
+        List<ListenableFuture<?>> futures = new ArrayList<>();
+
+        // Act - every call is issued from the main thread
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            futures.add(tasks.addTask(new Task("strict", "mode", 2, "2025-10-27 15:00:00")));
+            futures.add(tasks.getAllTasks());
+            futures.add(tasks.searchTasks("strict"));
+            futures.add(tasks.getTasksCountByStatus(false));
+            futures.add(notes.addNote(new Note("strict mode note", "test")));
+            futures.add(notes.getNotesPage(Long.MAX_VALUE, Long.MAX_VALUE, 20));
+            futures.add(reminders.addReminder(new Reminder(1, "2025-10-27 14:30:00")));
+            futures.add(reminders.getRemindersForTask(1));
+        });
+        for (ListenableFuture<?> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertTrue("Main thread touched the disk: " + violations, violations.isEmpty());
+    }
+
+    @Test
+    public void testCallbacks_AreDeliveredOnMainThread() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+        boolean[] onMain = new boolean[1];
+
+        // Act
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() ->
+                tasks.getAllTasks(new RepositoryCallback<List<Task>>() {
+                    @Override
+                    public void onSuccess(List<Task> result) {
+                        onMain[0] = android.os.Looper.getMainLooper().isCurrentThread();
+                        delivered.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        delivered.countDown();
+                    }
+                }));
+
+        // Assert
+        assertTrue("Callback should arrive", delivered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue("Callback should run on the main thread", onMain[0]);
+        assertTrue("Main thread touched the disk: " + violations, violations.isEmpty());
+    }
+
+    @Test
+    public void testPolicy_CatchesDirectHelperCalls() {
+        // Act - the synchronous helper on the main thread is exactly what the policy must catch
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> helper.getAllTasks());
+
+        // Assert
+        assertFalse("StrictMode should report the direct call", violations.isEmpty());
+    }
+}
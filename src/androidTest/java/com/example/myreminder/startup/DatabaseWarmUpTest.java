@@ -0,0 +1,157 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Time to the first task list on a freshly opened database, with and without the warm-up, and its cancellation
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseWarmUpTest {
+
+    private static final String TAG = "DatabaseWarmUp";
+    private static final String DB_NAME = "warm_up_task_notes.db";
+    private static final int BENCHMARK_TASKS = 20_000;
+    private static final int FIRST_PAGE = 20;
+    private static final int ROUNDS = 7;
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== CANCELLATION =====
+
+    @Test(expected = OperationCanceledException.class)
+    public void testWarmUp_CancelledSignalStopsIt() {
+        CancellationSignal signal = new CancellationSignal();
+        signal.cancel();
+        helper.warmUp(signal);
+    }
+
+    @Test
+    public void testDatabaseWarmUp_CancelledBeforeItRuns() {
+        // Arrange
+        DatabaseWarmUp warmUp = new DatabaseWarmUp();
+
+        // Act
+        warmUp.cancel();
+        warmUp.cancel();
+
+        // Assert
+        assertFalse("A cancelled warm-up should report it did not finish", warmUp.create(context));
+    }
+
+    @Test
+    public void testWarmUp_LeavesTheListsAsTheyWere() {
+        // Arrange
+        addTasks(100);
+        List<Task> all = helper.getAllTasks();
+        List<Task> pending = helper.getPendingTasks();
+
+        // Act
+        helper.warmUp(new CancellationSignal());
+
+        // Assert
+        assertEquals(all, helper.getAllTasks());
+        assertEquals(pending, helper.getPendingTasks());
+    }
+
+    // ===== TIME TO FIRST LIST =====
+
+    @Test
+    public void benchmarkFirstList_WithAndWithoutWarmUp() {
+        // Arrange
+        addTasks(BENCHMARK_TASKS);
+        helper.close();
+        long[] coldPage = new long[ROUNDS];
+        long[] warmPage = new long[ROUNDS];
+        long[] coldPending = new long[ROUNDS];
+        long[] warmPending = new long[ROUNDS];
+        long[] warmUp = new long[ROUNDS];
+
+        // Act - every round reopens the file, so each first list pays for the open again
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] cold = firstLists(false);
+            coldPage[round] = cold[0];
+            coldPending[round] = cold[1];
+
+            long[] warm = firstLists(true);
+            warmUp[round] = warm[2];
+            warmPage[round] = warm[0];
+            warmPending[round] = warm[1];
+        }
+
+        // Report - the lists themselves are checked in firstLists; the times depend on the device
+        Log.i(TAG, String.format("first page of %d: cold=%d us, warm=%d us; pending tasks: cold=%d us, warm=%d us; " +
+                        "warm-up itself=%d us (medians of %d rounds over %d tasks)",
+                FIRST_PAGE, median(coldPage), median(warmPage), median(coldPending), median(warmPending),
+                median(warmUp), ROUNDS, BENCHMARK_TASKS));
+    }
+
+    // micros to the first page and then the pending list, and to warm up first when asked
+    private long[] firstLists(boolean warm) {
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        long warmUpMicros = 0;
+        if (warm) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            helper.warmUp(new CancellationSignal());
+            warmUpMicros = (SystemClock.elapsedRealtimeNanos() - start) / 1_000;
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        assertEquals(FIRST_PAGE, helper.getTasksPage(FIRST_PAGE).size());
+        long pageMicros = (SystemClock.elapsedRealtimeNanos() - start) / 1_000;
+        start = SystemClock.elapsedRealtimeNanos();
+        assertFalse(helper.getPendingTasks().isEmpty());
+        long pendingMicros = (SystemClock.elapsedRealtimeNanos() - start) / 1_000;
+        helper.close();
+        return new long[]{pageMicros, pendingMicros, warmUpMicros};
+    }
+
+    private void addTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("task " + i, "description for task " + i, 1 + i % 3, "2025-10-27 15:00:00");
+            task.setDone(i % 2 == 0);
+            tasks.add(task);
+        }
+        helper.addTasks(tasks);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
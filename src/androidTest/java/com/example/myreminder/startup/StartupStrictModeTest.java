@@ -0,0 +1,111 @@
+package com.example.myreminder.startup;
+
+import android.os.Build;
+import android.os.StrictMode;
+import android.os.SystemClock;
+import android.os.strictmode.Violation;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.myreminder.MainActivity;
+import com.example.myreminder.database.DatabaseHelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * Launches MainActivity under a StrictMode disk policy and checks the main thread reaches its
+ * first frame without touching the disk, while the database is opened by the startup thread
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupStrictModeTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final long POLL_MILLIS = 20;
+
+    private final List<Violation> violations = Collections.synchronizedList(new ArrayList<>());
+    private boolean policySet;
+
+    @Before
+    public void setUp() {
+        // penaltyListener needs API 28
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.P);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> StrictMode.setThreadPolicy(
+                new StrictMode.ThreadPolicy.Builder()
+                        .detectDiskReads()
+                        .detectDiskWrites()
+                        .penaltyListener(Runnable::run, violations::add)
+                        .build()));
+        policySet = true;
+    }
+
+    @After
+    public void tearDown() {
+        if (policySet) {
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(
+                    () -> StrictMode.setThreadPolicy(StrictMode.ThreadPolicy.LAX));
+        }
+    }
+
+    @Test
+    public void testLaunch_NoDiskWorkOnMainThreadBeforeFirstFrame() {
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            // Act
+            awaitFirstFrame();
+
+            // Assert
+            assertTrue("Main thread touched the disk before the first frame: " + violations, violations.isEmpty());
+        }
+    }
+
+    @Test
+    public void testLaunch_ReportsEveryPhaseInOrder() throws Exception {
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            // Act
+            awaitFirstFrame();
+            DatabaseHelper helper = AppStartup.getInstance().result(DatabaseInitializer.class)
+                    .get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+            // Assert - phases
+            StartupReport report = StartupReport.getInstance();
+            long previous = 0;
+            for (StartupReport.Phase phase : StartupReport.Phase.values()) {
+                StartupReport.Step step = report.getPhase(phase);
+                assertNotNull(phase + " should be reported", step);
+                assertTrue(phase + " came before an earlier phase", step.getStartMillis() >= previous);
+                assertEquals(phase + " should be reached on the main thread", "main", step.getThread());
+                previous = step.getStartMillis();
+            }
+
+            // Assert - the database was opened and seeded off the main thread
+            StartupReport.Step database = report.getInitializer(DatabaseInitializer.class.getSimpleName());
+            assertNotNull("The database initializer should be reported", database);
+            assertNotEquals("main", database.getThread());
+            assertTrue(database.getEndMillis() >= database.getStartMillis());
+            assertSame(DatabaseHelper.getInstance(InstrumentationRegistry.getInstrumentation().getTargetContext()), helper);
+            assertTrue(report.toJson(), report.toJson().contains("\"DatabaseInitializer\""));
+        }
+    }
+
+    // the phase is kept from the first launch in this process, so also let this launch draw
+    private static void awaitFirstFrame() {
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        long deadline = SystemClock.elapsedRealtime() + TIMEOUT_MILLIS;
+        while (StartupReport.getInstance().getPhase(StartupReport.Phase.FIRST_FRAME) == null) {
+            assertTrue("The first frame was never drawn", SystemClock.elapsedRealtime() < deadline);
+            SystemClock.sleep(POLL_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.myreminder.utils;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/*
+ * DateCodec against a new SimpleDateFormat per call, as the models used to parse and format, run on a device;
+ * the timings are logged, not compared, as they depend on how busy the device is
+ */
+@RunWith(AndroidJUnit4.class)
+public class DateCodecBenchmarkTest {
+
+    private static final String TAG = "DateCodecBenchmark";
+    private static final int WARM_UP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    @Test
+    public void benchmarkParse_CodecVsSimpleDateFormat() {
+        String[] texts = sampleTexts();
+
+        // Before: a new SimpleDateFormat per call, as the models used to do
+        long legacyNanos = measure(() -> {
+            long sum = 0;
+            for (String text : texts) {
+                try {
+                    sum += new SimpleDateFormat(DateCodec.STORAGE_PATTERN, Locale.getDefault()).parse(text).getTime();
+                } catch (ParseException e) {
+                    sum--;
+                }
+            }
+            return sum;
+        }, texts.length);
+        long codecNanos = measure(() -> {
+            long sum = 0;
+            for (String text : texts) {
+                sum += DateCodec.parse(text);
+            }
+            return sum;
+        }, texts.length);
+
+        Log.i(TAG, String.format(Locale.US, "parse: SimpleDateFormat=%d ns/op, DateCodec=%d ns/op", legacyNanos, codecNanos));
+    }
+
+    @Test
+    public void benchmarkFormat_CodecVsSimpleDateFormat() {
+        long[] values = new long[1_000];
+        String[] texts = sampleTexts();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = DateCodec.parse(texts[i]);
+        }
+
+        long legacyNanos = measure(() -> {
+            long sum = 0;
+            for (long value : values) {
+                sum += new SimpleDateFormat(DateCodec.STORAGE_PATTERN, Locale.getDefault())
+                        .format(new Date(value)).length();
+            }
+            return sum;
+        }, values.length);
+        long codecNanos = measure(() -> {
+            long sum = 0;
+            for (long value : values) {
+                sum += DateCodec.format(value).length();
+            }
+            return sum;
+        }, values.length);
+
+        Log.i(TAG, String.format(Locale.US, "format: SimpleDateFormat=%d ns/op, DateCodec=%d ns/op", legacyNanos, codecNanos));
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    /** Warms up, then returns the mean nanoseconds per operation. */
+    private static long measure(Workload workload, int opsPerRun) {
+        long sink = 0;
+        for (int i = 0; i < WARM_UP_ITERATIONS / opsPerRun + 1; i++) {
+            sink += workload.run();
+        }
+        int runs = MEASURED_ITERATIONS / opsPerRun + 1;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            sink += workload.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        // keep the results observable so the loops are not optimised away
+        assertNotEquals(Long.MIN_VALUE, sink);
+        return elapsed / ((long) runs * opsPerRun);
+    }
+
+    private static String[] sampleTexts() {
+        String[] texts = new String[1_000];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = String.format(Locale.US, "20%02d-%02d-%02d %02d:%02d:%02d",
+                    20 + i % 10, 1 + i % 12, 1 + i % 28, i % 24, i % 60, (i * 7) % 60);
+        }
+        return texts;
+    }
+}
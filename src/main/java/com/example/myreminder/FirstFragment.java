@@ -10,6 +10,7 @@ import androidx.fragment.app.Fragment;
 import androidx.navigation.fragment.NavHostFragment;
 
 import com.example.myreminder.databinding.FragmentFirstBinding;
+import com.example.myreminder.startup.StartupReport;
 
 public class FirstFragment extends Fragment {
 
@@ -28,6 +29,7 @@ public class FirstFragment extends Fragment {
 
     public void onViewCreated(@NonNull View view, Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        StartupReport.getInstance().mark(StartupReport.Phase.FIRST_VIEW_CREATED);
 
         binding.buttonFirst.setOnClickListener(v ->
                 NavHostFragment.findNavController(FirstFragment.this)
@@ -14,9 +14,11 @@ import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
 
 import com.example.myreminder.databinding.ActivityMainBinding;
+import com.example.myreminder.startup.StartupReport;
 
 import android.view.Menu;
 import android.view.MenuItem;
+import android.view.ViewTreeObserver;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -26,9 +28,11 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupReport.getInstance().mark(StartupReport.Phase.ACTIVITY_CREATED);
 
         binding = ActivityMainBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
+        markFirstFrame(binding.getRoot());
 
         setSupportActionBar(binding.toolbar);
 
@@ -46,6 +50,18 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
+    private void markFirstFrame(View root) {
+        root.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                root.getViewTreeObserver().removeOnPreDrawListener(this);
+                // posted from the pre-draw pass, this runs once the frame has been drawn
+                root.post(() -> StartupReport.getInstance().mark(StartupReport.Phase.FIRST_FRAME));
+                return true;
+            }
+        });
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         // Inflate the menu; this adds items to the action bar if it is present.
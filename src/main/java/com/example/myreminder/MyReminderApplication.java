@@ -0,0 +1,30 @@
+package com.example.myreminder;
+
+import android.app.Application;
+
+import com.example.myreminder.startup.AppStartup;
+import com.example.myreminder.startup.DatabaseInitializer;
+import com.example.myreminder.startup.DatabaseWarmUp;
+import com.example.myreminder.startup.ReminderDispatcherInitializer;
+import com.example.myreminder.startup.StartupReport;
+
+public class MyReminderApplication extends Application {
+
+    private final DatabaseWarmUp warmUp = new DatabaseWarmUp();
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupReport.getInstance().mark(StartupReport.Phase.APPLICATION_CREATED);
+
+        // only schedules the work; the database is opened and seeded on the startup thread
+        AppStartup.getInstance().start(this, new DatabaseInitializer(), new ReminderDispatcherInitializer(), warmUp);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // every level means memory is short or the UI is gone; either way the warm-up no longer pays
+        warmUp.cancel();
+    }
+}
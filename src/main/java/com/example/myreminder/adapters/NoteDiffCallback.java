@@ -0,0 +1,20 @@
+package com.example.myreminder.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.myreminder.models.Note;
+
+/** Matches notes by id and compares them with {@link Note#equals}. */
+public class NoteDiffCallback extends DiffUtil.ItemCallback<Note> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Note oldNote, @NonNull Note newNote) {
+        return oldNote.getId() == newNote.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Note oldNote, @NonNull Note newNote) {
+        return oldNote.equals(newNote);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.myreminder.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.myreminder.databinding.ItemNoteBinding;
+import com.example.myreminder.models.Note;
+
+/**
+ * Note rows for a RecyclerView, diffed off the main thread like {@link TaskListAdapter}.
+ */
+public class NoteListAdapter extends ListAdapter<Note, NoteListAdapter.NoteViewHolder> {
+
+    public interface OnNoteClickListener {
+        void onNoteClicked(Note note);
+    }
+
+    private final OnNoteClickListener listener;
+
+    public NoteListAdapter(OnNoteClickListener listener) {
+        super(new NoteDiffCallback());
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    @NonNull
+    @Override
+    public NoteViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemNoteBinding binding = ItemNoteBinding.inflate(LayoutInflater.from(parent.getContext()), parent, false);
+        return new NoteViewHolder(binding);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull NoteViewHolder holder, int position) {
+        holder.bind(getItem(position));
+    }
+
+    class NoteViewHolder extends RecyclerView.ViewHolder {
+
+        private final ItemNoteBinding binding;
+
+        NoteViewHolder(ItemNoteBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
+            binding.getRoot().setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    listener.onNoteClicked(getItem(position));
+                }
+            });
+        }
+
+        void bind(Note note) {
+            binding.textNoteText.setText(note.getPreviewText());
+            binding.textNoteTag.setVisibility(note.hasTag() ? View.VISIBLE : View.GONE);
+            binding.textNoteTag.setText(note.getTag());
+            binding.textNoteUpdatedAt.setText(note.getFormattedUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.myreminder.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.myreminder.models.Task;
+
+import java.util.Objects;
+
+/**
+ * Matches tasks by id and compares them with {@link Task#equals}. When only the done flag
+ * changed, the change carries {@link #PAYLOAD_DONE} so the row can update its checkbox
+ * without a full rebind.
+ */
+public class TaskDiffCallback extends DiffUtil.ItemCallback<Task> {
+
+    public static final Object PAYLOAD_DONE = "done";
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Task oldTask, @NonNull Task newTask) {
+        return oldTask.getId() == newTask.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Task oldTask, @NonNull Task newTask) {
+        return oldTask.equals(newTask);
+    }
+
+    @Override
+    public Object getChangePayload(@NonNull Task oldTask, @NonNull Task newTask) {
+        boolean onlyDoneChanged = oldTask.isDone() != newTask.isDone() &&
+                oldTask.getPriority() == newTask.getPriority() &&
+                oldTask.getDueDateMillis() == newTask.getDueDateMillis() &&
+                oldTask.getCreatedAtMillis() == newTask.getCreatedAtMillis() &&
+                Objects.equals(oldTask.getTitle(), newTask.getTitle()) &&
+                Objects.equals(oldTask.getDescription(), newTask.getDescription());
+        return onlyDoneChanged ? PAYLOAD_DONE : null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.myreminder.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.myreminder.databinding.ItemTaskBinding;
+import com.example.myreminder.models.Task;
+
+import java.util.List;
+
+/**
+ * Task rows for a RecyclerView. Feed it with {@link #submitList}, e.g. from
+ * {@code TaskRepository.observeAllTasks()}: the diff against the previous list runs on a
+ * background thread and only the inserted, moved, removed and changed rows are rebound.
+ * Submit fresh lists; editing a task already in the list hides the change from the diff.
+ */
+public class TaskListAdapter extends ListAdapter<Task, TaskListAdapter.TaskViewHolder> {
+
+    public interface OnTaskInteractionListener {
+        void onTaskClicked(Task task);
+
+        void onTaskDoneToggled(Task task, boolean isDone);
+    }
+
+    private final OnTaskInteractionListener listener;
+
+    public TaskListAdapter(OnTaskInteractionListener listener) {
+        super(new TaskDiffCallback());
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    @NonNull
+    @Override
+    public TaskViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemTaskBinding binding = ItemTaskBinding.inflate(LayoutInflater.from(parent.getContext()), parent, false);
+        return new TaskViewHolder(binding);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
+        holder.bind(getItem(position));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // every payload is PAYLOAD_DONE, see TaskDiffCallback
+        holder.bindDone(getItem(position));
+    }
+
+    class TaskViewHolder extends RecyclerView.ViewHolder {
+
+        private final ItemTaskBinding binding;
+
+        TaskViewHolder(ItemTaskBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
+            binding.getRoot().setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    listener.onTaskClicked(getItem(position));
+                }
+            });
+        }
+
+        void bind(Task task) {
+            binding.textTaskTitle.setText(task.getTitle());
+            boolean hasDescription = task.getDescription() != null && !task.getDescription().isEmpty();
+            binding.textTaskDescription.setVisibility(hasDescription ? View.VISIBLE : View.GONE);
+            binding.textTaskDescription.setText(task.getDescription());
+            binding.textDueDate.setText(task.getDueDate() != null ? task.getDueDate() : "");
+            binding.textPriority.setText(task.getPriorityText());
+            bindDone(task);
+        }
+
+        void bindDone(Task task) {
+            // detach the listener first, or restoring the state of a recycled row reports a toggle
+            binding.checkBoxDone.setOnCheckedChangeListener(null);
+            binding.checkBoxDone.setChecked(task.isDone());
+            binding.checkBoxDone.setOnCheckedChangeListener((button, isChecked) -> {
+                int position = getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    listener.onTaskDoneToggled(getItem(position), isChecked);
+                }
+            });
+        }
+    }
+}
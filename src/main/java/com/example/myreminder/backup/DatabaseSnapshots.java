@@ -0,0 +1,399 @@
+package com.example.myreminder.backup;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.scheduling.ReminderScheduler;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Local binary snapshots of the tasks, notes and reminders tables, in the
+ * {@link SnapshotFormat}: length-prefixed records in blocks of about
+ * {@link SnapshotWriter#BLOCK_SIZE} bytes, each with its own CRC32.
+ *
+ * <p>A full snapshot holds every row. An incremental one holds only the rows written since
+ * the snapshot before it, as the change log triggers recorded them, with deletions as ids.
+ * Either is read inside one transaction, so it is consistent, and writers wait while it is
+ * read; readers do not. Files are written under a temporary name and renamed once complete.
+ *
+ * <p>A restore maps each file into memory and replaces every row with those of a full
+ * snapshot and the incremental ones after it, in one transaction: a corrupt block anywhere
+ * in the chain leaves the database as it was. With a {@link ReminderScheduler}, the restore
+ * runs on the writer thread and the alarms are armed for the restored reminders before any
+ * other write gets in; call it from any other background thread.
+ */
+@WorkerThread
+public final class DatabaseSnapshots {
+
+    static final int ROWS_PER_CHUNK = 1_000;
+
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final SecureRandom IDS = new SecureRandom();
+
+    private final DatabaseHelper helper;
+    @Nullable
+    private final ReminderScheduler scheduler;
+    @Nullable
+    private final Executor writer;
+
+    /** Snapshots whose restores leave the reminder alarms alone, for a database no scheduler watches. */
+    public DatabaseSnapshots(DatabaseHelper helper) {
+        this(helper, null, null);
+    }
+
+    /** Snapshots whose restores re-arm {@code scheduler}, on {@code writer}, the thread it runs on. */
+    public DatabaseSnapshots(DatabaseHelper helper, @Nullable ReminderScheduler scheduler, @Nullable Executor writer) {
+        if ((scheduler == null) != (writer == null)) {
+            throw new IllegalArgumentException("A scheduler needs the writer it runs on");
+        }
+        this.helper = helper;
+        this.scheduler = scheduler;
+        this.writer = writer;
+    }
+
+    /** Writes every row to {@code file}, replacing it, and makes it the base of the next incremental snapshot. */
+    public SnapshotInfo writeFull(File file) throws IOException {
+        return write(file, false);
+    }
+
+    /**
+     * Writes the rows changed since the last snapshot to {@code file}.
+     *
+     * @throws IllegalStateException when there is no snapshot to follow: none was taken yet,
+     *                               or the database was restored since
+     */
+    public SnapshotInfo writeIncremental(File file) throws IOException {
+        return write(file, true);
+    }
+
+    /**
+     * Replaces every task, note and reminder with the rows of {@code chain}: a full snapshot
+     * followed by none or more incremental ones, each following the one before it. The next
+     * snapshot after a restore has to be a full one.
+     */
+    public SnapshotInfo restore(File... chain) throws IOException {
+        if (chain.length == 0) {
+            throw new IllegalArgumentException("No snapshot to restore");
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        SnapshotReader[] readers = new SnapshotReader[chain.length];
+        long bytes = 0;
+        for (int i = 0; i < chain.length; i++) {
+            // the mapping outlives the channel
+            try (FileInputStream input = new FileInputStream(chain[i])) {
+                readers[i] = new SnapshotReader(chain[i].getName(), input.getChannel());
+            }
+            bytes += chain[i].length();
+            if (i == 0 && readers[i].kind != SnapshotFormat.KIND_FULL) {
+                throw new IOException(chain[i] + " is incremental; a restore starts from a full snapshot");
+            }
+            if (i > 0 && (readers[i].kind != SnapshotFormat.KIND_INCREMENTAL || readers[i].baseId != readers[i - 1].id)) {
+                throw new IOException(chain[i] + " does not follow " + chain[i - 1]);
+            }
+        }
+        long[] records = {0};
+        Runnable restore = () -> helper.runRestore(() -> records[0] = replaceRows(readers));
+        try {
+            if (scheduler == null) {
+                restore.run();
+            } else {
+                // the restored ids may now mean other reminders; re-arm before another write can run
+                FutureTask<Void> task = new FutureTask<>(() -> scheduler.replaceAll(restore), null);
+                writer.execute(task);
+                getUninterruptibly(task);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        SnapshotReader last = readers[readers.length - 1];
+        return new SnapshotInfo(last.kind == SnapshotFormat.KIND_INCREMENTAL, last.id, last.baseId, last.createdAt,
+                records[0], bytes, SystemClock.elapsedRealtimeNanos() - start);
+    }
+
+    // deletes every row and applies the chain; runs inside the restore transaction
+    private long replaceRows(SnapshotReader[] readers) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        long records = 0;
+        Statements[] statements = new Statements[SnapshotFormat.TABLES.length];
+        try {
+            // reminders first: deleting tasks would cascade into them row by row
+            for (int t = SnapshotFormat.TABLES.length - 1; t >= 0; t--) {
+                db.execSQL("DELETE FROM " + SnapshotFormat.TABLES[t].name);
+            }
+            for (int t = 0; t < statements.length; t++) {
+                statements[t] = new Statements(db, SnapshotFormat.TABLES[t]);
+            }
+            for (int i = 0; i < readers.length; i++) {
+                records += apply(readers[i], statements, i > 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (Statements statement : statements) {
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+        }
+        return records;
+    }
+
+    // the caller waits for the writer, however long the restore takes; an interrupt is kept for afterwards
+    private static void getUninterruptibly(FutureTask<Void> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    task.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Reads what {@code file} holds from its header and end marker, without checking its blocks. */
+    public static SnapshotInfo readInfo(File file) throws IOException {
+        try (FileInputStream input = new FileInputStream(file)) {
+            FileChannel channel = input.getChannel();
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+            readFully(channel, header, 0);
+            SnapshotReader reader = new SnapshotReader(file.getName(), header);
+            ByteBuffer end = ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_SIZE + SnapshotFormat.BLOCK_TRAILER_SIZE);
+            long endPosition = channel.size() - end.capacity();
+            if (endPosition < SnapshotFormat.HEADER_SIZE) {
+                throw new IOException(file.getName() + " is corrupt: truncated");
+            }
+            readFully(channel, end, endPosition);
+            if (end.get(0) != SnapshotFormat.END_OF_BLOCKS) {
+                throw new IOException(file.getName() + " is corrupt: no end marker");
+            }
+            return new SnapshotInfo(reader.kind == SnapshotFormat.KIND_INCREMENTAL, reader.id, reader.baseId,
+                    reader.createdAt, end.getInt(1), channel.size(), 0);
+        }
+    }
+
+    // ===== writing =====
+
+    private SnapshotInfo write(File file, boolean incremental) throws IOException {
+        long start = SystemClock.elapsedRealtimeNanos();
+        File temp = new File(file.getPath() + TEMP_EXTENSION);
+        long id = newId();
+        long createdAt = System.currentTimeMillis();
+        long[] baseIdAndRecords = new long[2];
+        try {
+            helper.runInTransaction(() -> {
+                long baseId = incremental ? helper.getSnapshotId() : 0;
+                if (incremental && baseId == 0) {
+                    throw new IllegalStateException("No snapshot to follow; write a full one first");
+                }
+                try (FileOutputStream output = new FileOutputStream(temp)) {
+                    SnapshotWriter writer = new SnapshotWriter(output.getChannel(),
+                            incremental ? SnapshotFormat.KIND_INCREMENTAL : SnapshotFormat.KIND_FULL, id, baseId, createdAt);
+                    SQLiteDatabase db = helper.getReadableDatabase();
+                    for (SnapshotFormat.Table table : SnapshotFormat.TABLES) {
+                        writeTable(db, table, incremental ? changesSql(table) : rowsSql(table), writer);
+                    }
+                    baseIdAndRecords[1] = writer.finish();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                // renamed before the commit: should the commit fail, the next incremental
+                // snapshot only holds more rows than it needs to
+                if (!temp.renameTo(file)) {
+                    throw new UncheckedIOException(new IOException("Cannot rename " + temp + " to " + file));
+                }
+                helper.markSnapshotTaken(id);
+                baseIdAndRecords[0] = baseId;
+            });
+        } catch (UncheckedIOException e) {
+            temp.delete();
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        return new SnapshotInfo(incremental, id, baseIdAndRecords[0], createdAt, baseIdAndRecords[1], file.length(),
+                SystemClock.elapsedRealtimeNanos() - start);
+    }
+
+    /**
+     * Reads {@code sql} in keyset chunks. Its rows are the id to go on from, the id of the row
+     * to write or {@code NULL} when it was deleted, then the table's columns.
+     */
+    private static void writeTable(SQLiteDatabase db, SnapshotFormat.Table table, String sql, SnapshotWriter writer)
+            throws IOException {
+        String[] args = {"0"};
+        int rows;
+        do {
+            rows = 0;
+            long lastId = 0;
+            Cursor cursor = db.rawQuery(sql, args);
+            try {
+                while (cursor.moveToNext()) {
+                    lastId = cursor.getLong(0);
+                    if (cursor.isNull(1)) {
+                        writer.beginRecord(table, SnapshotFormat.OP_DELETE, lastId);
+                    } else {
+                        writer.beginRecord(table, SnapshotFormat.OP_UPSERT, lastId);
+                        writeColumns(cursor, table.columns.length, writer);
+                    }
+                    writer.endRecord();
+                    rows++;
+                }
+            } finally {
+                cursor.close();
+            }
+            args[0] = String.valueOf(lastId);
+        } while (rows == ROWS_PER_CHUNK);
+    }
+
+    private static void writeColumns(Cursor cursor, int columns, SnapshotWriter writer) {
+        for (int i = 2; i < columns + 2; i++) {
+            switch (cursor.getType(i)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    writer.writeNull();
+                    break;
+                case Cursor.FIELD_TYPE_INTEGER:
+                    writer.writeLong(cursor.getLong(i));
+                    break;
+                default:
+                    writer.writeText(cursor.getString(i));
+                    break;
+            }
+        }
+    }
+
+    private static String rowsSql(SnapshotFormat.Table table) {
+        return "SELECT " + DatabaseHelper.COLUMN_ID + ", " + DatabaseHelper.COLUMN_ID + ", " +
+                String.join(", ", table.columns) + " FROM " + table.name +
+                " WHERE " + DatabaseHelper.COLUMN_ID + " > ? ORDER BY " + DatabaseHelper.COLUMN_ID +
+                " LIMIT " + ROWS_PER_CHUNK;
+    }
+
+    // walks the change log along its primary key; a logged row that is gone was deleted
+    private static String changesSql(SnapshotFormat.Table table) {
+        StringBuilder sql = new StringBuilder("SELECT c.").append(DatabaseHelper.COLUMN_ROW_ID)
+                .append(", t.").append(DatabaseHelper.COLUMN_ID);
+        for (String column : table.columns) {
+            sql.append(", t.").append(column);
+        }
+        return sql.append(" FROM ").append(DatabaseHelper.TABLE_CHANGE_LOG).append(" c LEFT JOIN ").append(table.name)
+                .append(" t ON t.").append(DatabaseHelper.COLUMN_ID).append(" = c.").append(DatabaseHelper.COLUMN_ROW_ID)
+                .append(" WHERE c.").append(DatabaseHelper.COLUMN_TABLE_NAME).append(" = '").append(table.name)
+                .append("' AND c.").append(DatabaseHelper.COLUMN_ROW_ID).append(" > ? ORDER BY c.")
+                .append(DatabaseHelper.COLUMN_ROW_ID).append(" LIMIT ").append(ROWS_PER_CHUNK).toString();
+    }
+
+    private static long newId() {
+        long id;
+        do {
+            id = IDS.nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    // ===== restoring =====
+
+    /** Applies one snapshot's records; upserts only update rows that exist when {@code incremental}. */
+    private static long apply(SnapshotReader reader, Statements[] statements, boolean incremental) throws IOException {
+        long records = 0;
+        for (SnapshotFormat.Table table = reader.nextBlock(); table != null; table = reader.nextBlock()) {
+            Statements statement = statements[table.id - 1];
+            while (reader.hasRecord()) {
+                byte op = reader.nextRecord();
+                if (op == SnapshotFormat.OP_DELETE) {
+                    reader.endRecord();
+                    statement.delete.bindLong(1, reader.rowId);
+                    statement.delete.executeUpdateDelete();
+                } else if (op == SnapshotFormat.OP_UPSERT) {
+                    if (!incremental || !statement.update(reader)) {
+                        reader.bindColumns(statement.insert, 2, table.columns.length);
+                        statement.insert.bindLong(1, reader.rowId);
+                        statement.insert.executeInsert();
+                    }
+                } else {
+                    throw new IOException("Unknown record op " + op);
+                }
+                records++;
+            }
+        }
+        return records;
+    }
+
+    /** A table's restore statements, compiled once per restore. */
+    private static final class Statements {
+        final SQLiteStatement insert;
+        final SQLiteStatement update;
+        final SQLiteStatement delete;
+        final int columns;
+
+        Statements(SQLiteDatabase db, SnapshotFormat.Table table) {
+            columns = table.columns.length;
+            StringBuilder values = new StringBuilder("?");
+            StringBuilder assignments = new StringBuilder();
+            for (String column : table.columns) {
+                values.append(", ?");
+                assignments.append(assignments.length() == 0 ? "" : ", ").append(column).append(" = ?");
+            }
+            insert = db.compileStatement("INSERT INTO " + table.name + " (" + DatabaseHelper.COLUMN_ID + ", " +
+                    String.join(", ", table.columns) + ") VALUES (" + values + ")");
+            update = db.compileStatement("UPDATE " + table.name + " SET " + assignments +
+                    " WHERE " + DatabaseHelper.COLUMN_ID + " = ?");
+            delete = db.compileStatement("DELETE FROM " + table.name + " WHERE " + DatabaseHelper.COLUMN_ID + " = ?");
+        }
+
+        /** Updates the record's row; false when there is none yet. */
+        boolean update(SnapshotReader reader) throws IOException {
+            reader.bindColumns(update, 1, columns);
+            update.bindLong(columns + 1, reader.rowId);
+            return update.executeUpdateDelete() > 0;
+        }
+
+        void close() {
+            insert.close();
+            update.close();
+            delete.close();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.myreminder.backup;
+
+import com.example.myreminder.database.DatabaseHelper;
+
+/**
+ * Layout of a snapshot file, all numbers big-endian:
+ *
+ * <pre>
+ * header   magic:int  version:short  kind:byte  reserved:byte
+ *          id:long  baseId:long  createdAt:long  crc:int        (CRC32 of the 32 bytes before it)
+ * block*   table:byte  records:int  length:int  payload  crc:int  (CRC32 of the payload)
+ * end      0:byte  totalRecords:int  0:int  0:int
+ * </pre>
+ *
+ * Snapshot ids are random; an incremental snapshot names the one it follows as its
+ * {@code baseId}, a full one has 0 there.
+ *
+ * <p>A payload is a run of records of one table, never split across blocks. Each record is
+ * {@code length:int op:byte id:long} followed, for an upsert, by every other column of the
+ * table in {@link Table#columns} order as {@code tag:byte} and a value: nothing for
+ * {@link #TAG_NULL}, a long for {@link #TAG_INTEGER}, {@code length:int} and UTF-8 bytes for
+ * {@link #TAG_TEXT}. A delete carries only the id. The length covers everything after itself.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x4D52534E;  // "MRSN"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 36;
+    static final int BLOCK_HEADER_SIZE = 9;
+    static final int BLOCK_TRAILER_SIZE = 4;
+
+    static final byte KIND_FULL = 0;
+    static final byte KIND_INCREMENTAL = 1;
+
+    static final byte END_OF_BLOCKS = 0;
+
+    static final byte OP_UPSERT = 0;
+    static final byte OP_DELETE = 1;
+
+    static final byte TAG_NULL = 0;
+    static final byte TAG_INTEGER = 1;
+    static final byte TAG_TEXT = 2;
+
+    /** In the order they are written and restored, so a reminder never comes before its task. */
+    static final Table[] TABLES = {
+            new Table(1, DatabaseHelper.TABLE_TASKS, DatabaseHelper.COLUMN_TITLE, DatabaseHelper.COLUMN_DESCRIPTION,
+                    DatabaseHelper.COLUMN_PRIORITY, DatabaseHelper.COLUMN_DUE_DATE, DatabaseHelper.COLUMN_IS_DONE,
+                    DatabaseHelper.COLUMN_CREATED_AT),
+            new Table(2, DatabaseHelper.TABLE_NOTES, DatabaseHelper.COLUMN_NOTE_TEXT, DatabaseHelper.COLUMN_TAG,
+                    DatabaseHelper.COLUMN_CREATED_AT, DatabaseHelper.COLUMN_UPDATED_AT),
+            new Table(3, DatabaseHelper.TABLE_REMINDERS, DatabaseHelper.COLUMN_TASK_ID,
+                    DatabaseHelper.COLUMN_REMINDER_TIME, DatabaseHelper.COLUMN_IS_TRIGGERED)
+    };
+
+    /** A table's id in the file, and its columns other than the id. */
+    static final class Table {
+        final byte id;
+        final String name;
+        final String[] columns;
+
+        Table(int id, String name, String... columns) {
+            this.id = (byte) id;
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+
+    static Table table(byte id) {
+        for (Table table : TABLES) {
+            if (table.id == id) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.myreminder.backup;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/** What a snapshot holds, and how long writing or restoring it took. */
+public final class SnapshotInfo {
+
+    private final boolean incremental;
+    private final long id;
+    private final long baseId;
+    private final long createdAt;
+    private final long records;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    SnapshotInfo(boolean incremental, long id, long baseId, long createdAt, long records, long bytes,
+                 long elapsedNanos) {
+        this.incremental = incremental;
+        this.id = id;
+        this.baseId = baseId;
+        this.createdAt = createdAt;
+        this.records = records;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Whether the snapshot holds only the rows changed since the one before it. */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /** The id of the snapshot an incremental one follows; 0 for a full one. */
+    public long getBaseId() {
+        return baseId;
+    }
+
+    /** Epoch millis. */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /** Rows written or restored, deletions included; for a restore, over the whole chain. */
+    public long getRecords() {
+        return records;
+    }
+
+    /** The size of the file, or of every file of a restored chain. */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s snapshot %016x: %d records, %d bytes in %d ms (%.0f records/s)",
+                incremental ? "incremental" : "full", id, records, bytes, getElapsedMillis(), getRecordsPerSecond());
+    }
+}
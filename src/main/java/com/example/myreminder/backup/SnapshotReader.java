@@ -0,0 +1,186 @@
+package com.example.myreminder.backup;
+
+import android.database.sqlite.SQLiteStatement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the {@link SnapshotFormat} from a file mapped into memory, so records are decoded
+ * straight from the page cache with no read calls or copies beyond the text values. A
+ * block's checksum is checked before any of its records is handed out.
+ */
+final class SnapshotReader {
+
+    private final String name;
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    final byte kind;
+    final long id;
+    final long baseId;
+    final long createdAt;
+    private byte[] text = new byte[256];
+    private int blockRecords;
+    private int blockEnd;
+    private int recordEnd;
+    private int valuesStart;
+    private long records;
+    long rowId;
+
+    /** Maps {@code channel} and checks the header. */
+    SnapshotReader(String name, FileChannel channel) throws IOException {
+        this(name, map(name, channel));
+    }
+
+    SnapshotReader(String name, ByteBuffer buffer) throws IOException {
+        this.name = name;
+        this.buffer = buffer;
+        if (buffer.remaining() < SnapshotFormat.HEADER_SIZE || buffer.getInt(0) != SnapshotFormat.MAGIC) {
+            throw corrupt("not a snapshot");
+        }
+        if (buffer.getShort(4) != SnapshotFormat.VERSION) {
+            throw new IOException(name + " is snapshot version " + buffer.getShort(4) +
+                    ", this app reads version " + SnapshotFormat.VERSION);
+        }
+        checkCrc(0, SnapshotFormat.HEADER_SIZE - 4, buffer.getInt(SnapshotFormat.HEADER_SIZE - 4), "header");
+        kind = buffer.get(6);
+        id = buffer.getLong(8);
+        baseId = buffer.getLong(16);
+        createdAt = buffer.getLong(24);
+        buffer.position(SnapshotFormat.HEADER_SIZE);
+    }
+
+    private static ByteBuffer map(String name, FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(name + " is too big to map: " + size + " bytes");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.load();
+        return buffer;
+    }
+
+    /**
+     * Moves to the next block, after checking its checksum, and returns its table, or
+     * {@code null} at the end of the snapshot.
+     */
+    SnapshotFormat.Table nextBlock() throws IOException {
+        if (blockRecords != 0) {
+            throw new IllegalStateException(blockRecords + " records of the block were not read");
+        }
+        if (blockEnd != 0) {
+            if (buffer.position() != blockEnd) {
+                throw corrupt("block holds more than its records");
+            }
+            buffer.position(blockEnd + SnapshotFormat.BLOCK_TRAILER_SIZE);
+        }
+        need(SnapshotFormat.BLOCK_HEADER_SIZE + SnapshotFormat.BLOCK_TRAILER_SIZE, "block header");
+        byte tableId = buffer.get();
+        int count = buffer.getInt();
+        int length = buffer.getInt();
+        if (tableId == SnapshotFormat.END_OF_BLOCKS) {
+            buffer.getInt();
+            if (count != (int) records) {
+                throw corrupt("ends after " + records + " records, expected " + count);
+            }
+            return null;
+        }
+        SnapshotFormat.Table table = SnapshotFormat.table(tableId);
+        if (table == null || count <= 0 || length < 0) {
+            throw corrupt("bad block header at " + (buffer.position() - SnapshotFormat.BLOCK_HEADER_SIZE));
+        }
+        need(length + SnapshotFormat.BLOCK_TRAILER_SIZE, "block");
+        checkCrc(buffer.position(), length, buffer.getInt(buffer.position() + length), "block at " + buffer.position());
+        blockRecords = count;
+        blockEnd = buffer.position() + length;
+        return table;
+    }
+
+    /** Whether the current block has records left. */
+    boolean hasRecord() {
+        return blockRecords > 0;
+    }
+
+    /** Starts the next record of the block; returns its op, with the row id in {@link #rowId}. */
+    byte nextRecord() throws IOException {
+        int length = buffer.getInt();
+        recordEnd = buffer.position() + length;
+        if (length < 9 || recordEnd > blockEnd) {
+            throw corrupt("bad record length " + length);
+        }
+        blockRecords--;
+        records++;
+        byte op = buffer.get();
+        rowId = buffer.getLong();
+        valuesStart = buffer.position();
+        return op;
+    }
+
+    /**
+     * Binds the record's columns to {@code statement} from index {@code first} on, and checks
+     * the record ends where its length says. Can be called more than once per record.
+     */
+    void bindColumns(SQLiteStatement statement, int first, int columns) throws IOException {
+        buffer.position(valuesStart);
+        for (int i = 0; i < columns; i++) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case SnapshotFormat.TAG_NULL:
+                    statement.bindNull(first + i);
+                    break;
+                case SnapshotFormat.TAG_INTEGER:
+                    statement.bindLong(first + i, buffer.getLong());
+                    break;
+                case SnapshotFormat.TAG_TEXT:
+                    statement.bindString(first + i, readText());
+                    break;
+                default:
+                    throw corrupt("unknown value tag " + tag);
+            }
+        }
+        endRecord();
+    }
+
+    /** Checks the record ends where its length says; a delete ends right after its id. */
+    void endRecord() throws IOException {
+        if (buffer.position() != recordEnd) {
+            throw corrupt("record ends at " + buffer.position() + ", its length says " + recordEnd);
+        }
+    }
+
+    private String readText() throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || buffer.position() + length > recordEnd) {
+            throw corrupt("bad text length " + length);
+        }
+        if (text.length < length) {
+            text = new byte[Math.max(length, 2 * text.length)];
+        }
+        buffer.get(text, 0, length);
+        return new String(text, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void checkCrc(int offset, int length, int expected, String what) throws IOException {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(offset + length).position(offset);
+        crc.reset();
+        crc.update(slice);
+        if ((int) crc.getValue() != expected) {
+            throw corrupt(what + " fails its checksum");
+        }
+    }
+
+    private void need(int bytes, String what) throws IOException {
+        if (buffer.remaining() < bytes) {
+            throw corrupt("truncated in a " + what);
+        }
+    }
+
+    private IOException corrupt(String detail) {
+        return new IOException(name + " is corrupt: " + detail);
+    }
+}
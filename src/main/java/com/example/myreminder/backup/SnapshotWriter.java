@@ -0,0 +1,116 @@
+package com.example.myreminder.backup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Writes the {@link SnapshotFormat} to a file channel. Records collect in a heap buffer until
+ * a block is full, then the block header, payload and checksum go out in one gathering write.
+ */
+final class SnapshotWriter {
+
+    static final int BLOCK_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_SIZE);
+    private final ByteBuffer blockTrailer = ByteBuffer.allocate(SnapshotFormat.BLOCK_TRAILER_SIZE);
+    private ByteBuffer payload = ByteBuffer.allocate(BLOCK_SIZE);
+    private SnapshotFormat.Table table;
+    private int blockRecords;
+    private int recordStart;
+    private long records;
+
+    SnapshotWriter(FileChannel channel, byte kind, long id, long baseId, long createdAt) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+        header.putInt(SnapshotFormat.MAGIC).putShort(SnapshotFormat.VERSION).put(kind).put((byte) 0)
+                .putLong(id).putLong(baseId).putLong(createdAt);
+        crc.update(header.array(), 0, header.position());
+        header.putInt((int) crc.getValue());
+        header.flip();
+        writeFully(header);
+    }
+
+    void beginRecord(SnapshotFormat.Table table, byte op, long id) throws IOException {
+        if (table != this.table) {
+            flushBlock();
+            this.table = table;
+        }
+        ensure(13);
+        recordStart = payload.position();
+        payload.putInt(0).put(op).putLong(id);
+    }
+
+    void writeNull() {
+        ensure(1);
+        payload.put(SnapshotFormat.TAG_NULL);
+    }
+
+    void writeLong(long value) {
+        ensure(9);
+        payload.put(SnapshotFormat.TAG_INTEGER).putLong(value);
+    }
+
+    void writeText(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(5 + bytes.length);
+        payload.put(SnapshotFormat.TAG_TEXT).putInt(bytes.length).put(bytes);
+    }
+
+    void endRecord() throws IOException {
+        payload.putInt(recordStart, payload.position() - recordStart - 4);
+        blockRecords++;
+        records++;
+        if (payload.position() >= BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    /** Writes the last block and the end marker and forces the file to disk. Returns the records written. */
+    long finish() throws IOException {
+        flushBlock();
+        ByteBuffer end = ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_SIZE + SnapshotFormat.BLOCK_TRAILER_SIZE);
+        end.put(SnapshotFormat.END_OF_BLOCKS).putInt((int) records).putInt(0).putInt(0);
+        end.flip();
+        writeFully(end);
+        channel.force(false);
+        return records;
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRecords == 0) {
+            return;
+        }
+        payload.flip();
+        crc.reset();
+        crc.update(payload.array(), 0, payload.limit());
+        blockHeader.clear();
+        blockHeader.put(table.id).putInt(blockRecords).putInt(payload.limit()).flip();
+        blockTrailer.clear();
+        blockTrailer.putInt((int) crc.getValue()).flip();
+        writeFully(blockHeader, payload, blockTrailer);
+        payload.clear();
+        blockRecords = 0;
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        ByteBuffer last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    // a record bigger than a block gets a bigger buffer rather than being split
+    private void ensure(int bytes) {
+        if (payload.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(2 * payload.capacity(), payload.position() + bytes));
+            payload.flip();
+            bigger.put(payload);
+            payload = bigger;
+        }
+    }
+}
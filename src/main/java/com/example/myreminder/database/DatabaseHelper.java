@@ -6,24 +6,58 @@ import android.database.Cursor;
 import android.content.ContentValues;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import com.example.myreminder.models.Task;
 import com.example.myreminder.models.Note;
 import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.SearchResult;
+import com.example.myreminder.models.TaskStats;
+import com.example.myreminder.utils.DateCodec;
 
 
+/**
+ * Synchronous access to the tasks, notes and reminders tables. Every call can touch the
+ * disk, so UI code goes through the repositories in {@code com.example.myreminder.repository}.
+ */
+@WorkerThread
 public class DatabaseHelper extends SQLiteOpenHelper {
 
+    private static final String TAG = "DatabaseHelper";
+
     private static final String DATABASE_NAME = "task_notes.db";
-    private static final int DATABASE_VERSION = 1;
+    static final int DATABASE_VERSION = 8;
 
     // tables names
     public static final String TABLE_TASKS = "tasks";
     public static final String TABLE_NOTES = "notes";
     public static final String TABLE_REMINDERS = "reminders";
+    static final String TABLE_TASKS_FTS = "tasks_fts";
+    static final String TABLE_NOTES_FTS = "notes_fts";
+    static final String TABLE_TASK_COUNTERS = "task_counters";
+    static final String TABLE_REMINDER_COUNTERS = "reminder_counters";
+    static final String TABLE_IMPORT_PROGRESS = "import_progress";
+    public static final String TABLE_CHANGE_LOG = "change_log";
+    static final String TABLE_SNAPSHOT_STATE = "snapshot_state";
 
     // columns names
     public static final String COLUMN_ID = "id";
@@ -39,6 +73,15 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     public static final String COLUMN_TASK_ID = "task_id";
     public static final String COLUMN_REMINDER_TIME = "reminder_time";
     public static final String COLUMN_IS_TRIGGERED = "is_triggered";
+    static final String COLUMN_COUNT = "count";
+    static final String COLUMN_SOURCE = "source";
+    static final String COLUMN_RECORDS = "records";
+    public static final String COLUMN_TABLE_NAME = "table_name";
+    public static final String COLUMN_ROW_ID = "row_id";
+    static final String COLUMN_SNAPSHOT_ID = "snapshot_id";
+
+    // timestamps are stored as epoch millis
+    static final String NOW_MILLIS = "(CAST(strftime('%s', 'now') AS INTEGER) * 1000)";
 
     // creating tables
     private static final String CREATE_TABLE_TASKS =
@@ -47,9 +90,9 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                     COLUMN_TITLE + " TEXT NOT NULL, " +
                     COLUMN_DESCRIPTION + " TEXT, " +
                     COLUMN_PRIORITY + " INTEGER DEFAULT 1, " +
-                    COLUMN_DUE_DATE + " TEXT, " +
+                    COLUMN_DUE_DATE + " INTEGER, " +
                     COLUMN_IS_DONE + " INTEGER DEFAULT 0, " +
-                    COLUMN_CREATED_AT + " TEXT DEFAULT (datetime('now'))" +
+                    COLUMN_CREATED_AT + " INTEGER DEFAULT " + NOW_MILLIS +
                     ")";
 
     private static final String CREATE_TABLE_NOTES =
@@ -57,22 +100,347 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                     COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
                     COLUMN_NOTE_TEXT + " TEXT NOT NULL, " +
                     COLUMN_TAG + " TEXT, " +
-                    COLUMN_CREATED_AT + " TEXT DEFAULT (datetime('now')), " +
-                    COLUMN_UPDATED_AT + " TEXT DEFAULT (datetime('now'))" +
+                    COLUMN_CREATED_AT + " INTEGER DEFAULT " + NOW_MILLIS + ", " +
+                    COLUMN_UPDATED_AT + " INTEGER DEFAULT " + NOW_MILLIS +
                     ")";
 
     private static final String CREATE_TABLE_REMINDERS =
             "CREATE TABLE " + TABLE_REMINDERS + "(" +
                     COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
                     COLUMN_TASK_ID + " INTEGER NOT NULL, " +
-                    COLUMN_REMINDER_TIME + " TEXT NOT NULL, " +
+                    COLUMN_REMINDER_TIME + " INTEGER NOT NULL, " +
                     COLUMN_IS_TRIGGERED + " INTEGER DEFAULT 0, " +
                     "FOREIGN KEY (" + COLUMN_TASK_ID + ") REFERENCES " +
                     TABLE_TASKS + "(" + COLUMN_ID + ") ON DELETE CASCADE" +
                     ")";
 
-    public DatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    // secondary indexes, one per filter/sort path (see Migrations.MIGRATION_1_2)
+    private static final String CREATE_INDEX_TASKS_CREATED_AT =
+            "CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON " + TABLE_TASKS + "(" + COLUMN_CREATED_AT + ")";
+    private static final String CREATE_INDEX_TASKS_PRIORITY_DUE_DATE =
+            "CREATE INDEX IF NOT EXISTS idx_tasks_priority_due_date ON " + TABLE_TASKS +
+                    "(" + COLUMN_PRIORITY + ", " + COLUMN_DUE_DATE + ")";
+    // also answers the overdue and due-today counts as a range over pending tasks
+    private static final String CREATE_INDEX_TASKS_DONE_DUE_DATE =
+            "CREATE INDEX IF NOT EXISTS idx_tasks_done_due_date ON " + TABLE_TASKS +
+                    "(" + COLUMN_IS_DONE + ", " + COLUMN_DUE_DATE + ")";
+    private static final String CREATE_INDEX_NOTES_CREATED_AT =
+            "CREATE INDEX IF NOT EXISTS idx_notes_created_at ON " + TABLE_NOTES + "(" + COLUMN_CREATED_AT + ")";
+    private static final String CREATE_INDEX_REMINDERS_TASK_ID =
+            "CREATE INDEX IF NOT EXISTS idx_reminders_task_id ON " + TABLE_REMINDERS + "(" + COLUMN_TASK_ID + ")";
+    private static final String CREATE_INDEX_REMINDERS_PENDING =
+            "CREATE INDEX IF NOT EXISTS idx_reminders_pending ON " + TABLE_REMINDERS +
+                    "(" + COLUMN_IS_TRIGGERED + ", " + COLUMN_REMINDER_TIME + ")";
+
+    // full-text indexes over the searchable columns; external content, so the text is stored once
+    // and the triggers keep the index in step with every insert, update and delete
+    private static final String CREATE_TABLE_TASKS_FTS =
+            "CREATE VIRTUAL TABLE " + TABLE_TASKS_FTS + " USING fts4(content=\"" + TABLE_TASKS + "\", " +
+                    COLUMN_TITLE + ", " + COLUMN_DESCRIPTION + ", prefix=\"2,3\", tokenize=unicode61)";
+    private static final String CREATE_TABLE_NOTES_FTS =
+            "CREATE VIRTUAL TABLE " + TABLE_NOTES_FTS + " USING fts4(content=\"" + TABLE_NOTES + "\", " +
+                    COLUMN_NOTE_TEXT + ", " + COLUMN_TAG + ", prefix=\"2,3\", tokenize=unicode61)";
+    private static final String[] CREATE_SEARCH_TRIGGERS = {
+            "CREATE TRIGGER tasks_fts_before_update BEFORE UPDATE OF " + COLUMN_TITLE + ", " + COLUMN_DESCRIPTION +
+                    " ON " + TABLE_TASKS + " BEGIN DELETE FROM " + TABLE_TASKS_FTS + " WHERE docid = old.id; END",
+            "CREATE TRIGGER tasks_fts_before_delete BEFORE DELETE ON " + TABLE_TASKS +
+                    " BEGIN DELETE FROM " + TABLE_TASKS_FTS + " WHERE docid = old.id; END",
+            "CREATE TRIGGER tasks_fts_after_update AFTER UPDATE OF " + COLUMN_TITLE + ", " + COLUMN_DESCRIPTION +
+                    " ON " + TABLE_TASKS + " BEGIN INSERT INTO " + TABLE_TASKS_FTS + "(docid, " + COLUMN_TITLE + ", " +
+                    COLUMN_DESCRIPTION + ") VALUES (new.id, new.title, new.description); END",
+            "CREATE TRIGGER tasks_fts_after_insert AFTER INSERT ON " + TABLE_TASKS +
+                    " BEGIN INSERT INTO " + TABLE_TASKS_FTS + "(docid, " + COLUMN_TITLE + ", " +
+                    COLUMN_DESCRIPTION + ") VALUES (new.id, new.title, new.description); END",
+            "CREATE TRIGGER notes_fts_before_update BEFORE UPDATE OF " + COLUMN_NOTE_TEXT + ", " + COLUMN_TAG +
+                    " ON " + TABLE_NOTES + " BEGIN DELETE FROM " + TABLE_NOTES_FTS + " WHERE docid = old.id; END",
+            "CREATE TRIGGER notes_fts_before_delete BEFORE DELETE ON " + TABLE_NOTES +
+                    " BEGIN DELETE FROM " + TABLE_NOTES_FTS + " WHERE docid = old.id; END",
+            "CREATE TRIGGER notes_fts_after_update AFTER UPDATE OF " + COLUMN_NOTE_TEXT + ", " + COLUMN_TAG +
+                    " ON " + TABLE_NOTES + " BEGIN INSERT INTO " + TABLE_NOTES_FTS + "(docid, " + COLUMN_NOTE_TEXT + ", " +
+                    COLUMN_TAG + ") VALUES (new.id, new.note_text, new.tag); END",
+            "CREATE TRIGGER notes_fts_after_insert AFTER INSERT ON " + TABLE_NOTES +
+                    " BEGIN INSERT INTO " + TABLE_NOTES_FTS + "(docid, " + COLUMN_NOTE_TEXT + ", " +
+                    COLUMN_TAG + ") VALUES (new.id, new.note_text, new.tag); END"
+    };
+
+    // row counts per (priority, is_done) and per is_triggered, kept by triggers so the dashboard
+    // reads a handful of rows however many tasks there are; cascaded deletes fire them too
+    private static final String CREATE_TABLE_TASK_COUNTERS =
+            "CREATE TABLE " + TABLE_TASK_COUNTERS + "(" + COLUMN_PRIORITY + " INTEGER NOT NULL, " +
+                    COLUMN_IS_DONE + " INTEGER NOT NULL, " + COLUMN_COUNT + " INTEGER NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (" + COLUMN_PRIORITY + ", " + COLUMN_IS_DONE + ")) WITHOUT ROWID";
+    private static final String CREATE_TABLE_REMINDER_COUNTERS =
+            "CREATE TABLE " + TABLE_REMINDER_COUNTERS + "(" + COLUMN_IS_TRIGGERED + " INTEGER PRIMARY KEY, " +
+                    COLUMN_COUNT + " INTEGER NOT NULL DEFAULT 0) WITHOUT ROWID";
+    // input records already committed per import source, so a stopped import can resume
+    private static final String CREATE_TABLE_IMPORT_PROGRESS =
+            "CREATE TABLE " + TABLE_IMPORT_PROGRESS + "(" + COLUMN_SOURCE + " TEXT PRIMARY KEY, " +
+                    COLUMN_RECORDS + " INTEGER NOT NULL) WITHOUT ROWID";
+    // the task, note and reminder rows written since the last snapshot, once each however often
+    // they changed; filled by triggers, emptied by every snapshot
+    private static final String CREATE_TABLE_CHANGE_LOG =
+            "CREATE TABLE " + TABLE_CHANGE_LOG + "(" + COLUMN_TABLE_NAME + " TEXT NOT NULL, " +
+                    COLUMN_ROW_ID + " INTEGER NOT NULL, PRIMARY KEY (" + COLUMN_TABLE_NAME + ", " + COLUMN_ROW_ID +
+                    ")) WITHOUT ROWID";
+    // a single row: the id of the last snapshot, which the next incremental one names as its base
+    private static final String CREATE_TABLE_SNAPSHOT_STATE =
+            "CREATE TABLE " + TABLE_SNAPSHOT_STATE + "(" + COLUMN_ID + " INTEGER PRIMARY KEY CHECK (" + COLUMN_ID +
+                    " = 1), " + COLUMN_SNAPSHOT_ID + " INTEGER NOT NULL)";
+    private static final String[] CHANGE_LOG_TRIGGERS = {
+            "tasks_change_log_after_insert", "tasks_change_log_after_update", "tasks_change_log_after_delete",
+            "notes_change_log_after_insert", "notes_change_log_after_update", "notes_change_log_after_delete",
+            "reminders_change_log_after_insert", "reminders_change_log_after_update", "reminders_change_log_after_delete"
+    };
+    private static final String[] CREATE_CHANGE_LOG_TRIGGERS = {
+            logChange(TABLE_TASKS, "INSERT", "new"), logChange(TABLE_TASKS, "UPDATE", "new"),
+            logChange(TABLE_TASKS, "DELETE", "old"),
+            logChange(TABLE_NOTES, "INSERT", "new"), logChange(TABLE_NOTES, "UPDATE", "new"),
+            logChange(TABLE_NOTES, "DELETE", "old"),
+            logChange(TABLE_REMINDERS, "INSERT", "new"), logChange(TABLE_REMINDERS, "UPDATE", "new"),
+            logChange(TABLE_REMINDERS, "DELETE", "old")
+    };
+    private static final String[] CREATE_COUNTER_TRIGGERS = {
+            "CREATE TRIGGER task_counters_after_insert AFTER INSERT ON " + TABLE_TASKS +
+                    " BEGIN " + countTask("new", 1) + " END",
+            "CREATE TRIGGER task_counters_after_delete AFTER DELETE ON " + TABLE_TASKS +
+                    " BEGIN " + countTask("old", -1) + " END",
+            "CREATE TRIGGER task_counters_after_update AFTER UPDATE OF " + COLUMN_PRIORITY + ", " + COLUMN_IS_DONE +
+                    " ON " + TABLE_TASKS + " WHEN old.priority IS NOT new.priority OR old.is_done IS NOT new.is_done" +
+                    " BEGIN " + countTask("old", -1) + " " + countTask("new", 1) + " END",
+            "CREATE TRIGGER reminder_counters_after_insert AFTER INSERT ON " + TABLE_REMINDERS +
+                    " BEGIN " + countReminder("new", 1) + " END",
+            "CREATE TRIGGER reminder_counters_after_delete AFTER DELETE ON " + TABLE_REMINDERS +
+                    " BEGIN " + countReminder("old", -1) + " END",
+            "CREATE TRIGGER reminder_counters_after_update AFTER UPDATE OF " + COLUMN_IS_TRIGGERED +
+                    " ON " + TABLE_REMINDERS + " WHEN old.is_triggered IS NOT new.is_triggered" +
+                    " BEGIN " + countReminder("old", -1) + " " + countReminder("new", 1) + " END"
+    };
+
+    // write and count statements, compiled once and kept in the statement cache
+    private static final String INSERT_TASK =
+            "INSERT INTO " + TABLE_TASKS + " (" + COLUMN_TITLE + ", " + COLUMN_DESCRIPTION + ", " +
+                    COLUMN_PRIORITY + ", " + COLUMN_DUE_DATE + ", " + COLUMN_IS_DONE + ", " + COLUMN_CREATED_AT +
+                    ") VALUES (?, ?, ?, ?, ?, ?)";
+    // updates write only the dirty columns; the order follows the models' FIELD_ bits
+    private static final PartialUpdate UPDATE_TASK = new PartialUpdate(TABLE_TASKS, new String[]{
+            COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_PRIORITY, COLUMN_DUE_DATE, COLUMN_IS_DONE});
+    private static final String DELETE_TASK =
+            "DELETE FROM " + TABLE_TASKS + " WHERE " + COLUMN_ID + " = ?";
+
+    private static final String INSERT_NOTE =
+            "INSERT INTO " + TABLE_NOTES + " (" + COLUMN_NOTE_TEXT + ", " + COLUMN_TAG + ", " +
+                    COLUMN_CREATED_AT + ", " + COLUMN_UPDATED_AT + ") VALUES (?, ?, ?, ?)";
+    private static final PartialUpdate UPDATE_NOTE = new PartialUpdate(TABLE_NOTES, new String[]{
+            COLUMN_NOTE_TEXT, COLUMN_TAG}, COLUMN_UPDATED_AT);
+    private static final String DELETE_NOTE =
+            "DELETE FROM " + TABLE_NOTES + " WHERE " + COLUMN_ID + " = ?";
+
+    private static final String INSERT_REMINDER =
+            "INSERT INTO " + TABLE_REMINDERS + " (" + COLUMN_TASK_ID + ", " + COLUMN_REMINDER_TIME + ", " +
+                    COLUMN_IS_TRIGGERED + ") VALUES (?, ?, ?)";
+    private static final PartialUpdate UPDATE_REMINDER = new PartialUpdate(TABLE_REMINDERS, new String[]{
+            COLUMN_TASK_ID, COLUMN_REMINDER_TIME, COLUMN_IS_TRIGGERED});
+    private static final String DELETE_REMINDER =
+            "DELETE FROM " + TABLE_REMINDERS + " WHERE " + COLUMN_ID + " = ?";
+    // only the first caller wins, so a reminder fires once even if its alarm is delivered twice
+    private static final String MARK_REMINDER_TRIGGERED =
+            "UPDATE " + TABLE_REMINDERS + " SET " + COLUMN_IS_TRIGGERED + " = 1 WHERE " + COLUMN_ID + " = ?" +
+                    " AND " + COLUMN_IS_TRIGGERED + " = 0 AND " + COLUMN_REMINDER_TIME + " <= ?";
+    // set-based updates: each ends in "id IN " and gets one of InClause's id lists appended
+    static final String SET_TASKS_DONE =
+            "UPDATE " + TABLE_TASKS + " SET " + COLUMN_IS_DONE + " = ? WHERE " + COLUMN_IS_DONE + " != ?" +
+                    " AND " + COLUMN_ID + " IN ";
+    // the unary + keeps SQLite on the primary key instead of walking every pending row in idx_reminders_pending
+    static final String MARK_REMINDERS_TRIGGERED =
+            "UPDATE " + TABLE_REMINDERS + " SET " + COLUMN_IS_TRIGGERED + " = 1 WHERE +" + COLUMN_IS_TRIGGERED + " = 0" +
+                    " AND " + COLUMN_ID + " IN ";
+    static final String COMPLETE_OVERDUE_TASKS =
+            "UPDATE " + TABLE_TASKS + " SET " + COLUMN_IS_DONE + " = 1 WHERE " + COLUMN_IS_DONE + " = 0" +
+                    " AND " + COLUMN_DUE_DATE + " < ?";
+    // every dashboard counter in one round trip: the counter rows, then two ranges over
+    // idx_tasks_done_due_date, which depend on the time and cannot be kept by triggers
+    static final int STATS_TASKS = 0;
+    static final int STATS_REMINDERS = 1;
+    static final int STATS_OVERDUE = 2;
+    static final int STATS_DUE_TODAY = 3;
+    static final String SELECT_TASK_STATS =
+            "SELECT " + STATS_TASKS + ", " + COLUMN_PRIORITY + ", " + COLUMN_IS_DONE + ", " + COLUMN_COUNT +
+                    " FROM " + TABLE_TASK_COUNTERS +
+                    " UNION ALL SELECT " + STATS_REMINDERS + ", 0, " + COLUMN_IS_TRIGGERED + ", " + COLUMN_COUNT +
+                    " FROM " + TABLE_REMINDER_COUNTERS +
+                    " UNION ALL SELECT " + STATS_OVERDUE + ", 0, 0, COUNT(*) FROM " + TABLE_TASKS +
+                    " WHERE " + COLUMN_IS_DONE + " = 0 AND " + COLUMN_DUE_DATE + " < ?" +
+                    " UNION ALL SELECT " + STATS_DUE_TODAY + ", 0, 0, COUNT(*) FROM " + TABLE_TASKS +
+                    " WHERE " + COLUMN_IS_DONE + " = 0 AND " + COLUMN_DUE_DATE + " >= ? AND " + COLUMN_DUE_DATE + " < ?";
+    // summed over the priorities of the counter rows, so it costs the same however many tasks there are
+    static final String COUNT_TASKS_BY_STATUS =
+            "SELECT IFNULL(SUM(" + COLUMN_COUNT + "), 0) FROM " + TABLE_TASK_COUNTERS + " WHERE " + COLUMN_IS_DONE + " = ?";
+    private static final String SELECT_IMPORTED_RECORDS =
+            "SELECT IFNULL(MAX(" + COLUMN_RECORDS + "), 0) FROM " + TABLE_IMPORT_PROGRESS + " WHERE " + COLUMN_SOURCE + " = ?";
+    private static final String SAVE_IMPORTED_RECORDS =
+            "INSERT OR REPLACE INTO " + TABLE_IMPORT_PROGRESS + " (" + COLUMN_SOURCE + ", " + COLUMN_RECORDS + ") VALUES (?, ?)";
+    private static final String DELETE_IMPORT_PROGRESS =
+            "DELETE FROM " + TABLE_IMPORT_PROGRESS + " WHERE " + COLUMN_SOURCE + " = ?";
+
+    private static final String SELECT_SNAPSHOT_ID =
+            "SELECT IFNULL(MAX(" + COLUMN_SNAPSHOT_ID + "), 0) FROM " + TABLE_SNAPSHOT_STATE;
+    private static final String SAVE_SNAPSHOT_ID =
+            "INSERT OR REPLACE INTO " + TABLE_SNAPSHOT_STATE + " (" + COLUMN_ID + ", " + COLUMN_SNAPSHOT_ID + ") VALUES (1, ?)";
+    private static final String CLEAR_CHANGE_LOG = "DELETE FROM " + TABLE_CHANGE_LOG;
+    private static final String CLEAR_SNAPSHOT_STATE = "DELETE FROM " + TABLE_SNAPSHOT_STATE;
+
+    // fixed queries; keeping the SQL text constant lets each connection reuse its prepared statement
+    private static final String TASK_COLUMNS =
+            COLUMN_ID + ", " + COLUMN_TITLE + ", " + COLUMN_DESCRIPTION + ", " + COLUMN_PRIORITY + ", " +
+                    COLUMN_DUE_DATE + ", " + COLUMN_IS_DONE + ", " + COLUMN_CREATED_AT;
+    static final String SELECT_TASK_BY_ID =
+            "SELECT " + TASK_COLUMNS + " FROM " + TABLE_TASKS + " WHERE " + COLUMN_ID + " = ?";
+    // keyset pages: the rows strictly after (created_at, id), newest first like getAllTasks
+    static final String SELECT_TASKS_PAGE =
+            "SELECT " + TASK_COLUMNS + " FROM " + TABLE_TASKS +
+                    " WHERE " + COLUMN_CREATED_AT + " <= ? AND (" + COLUMN_CREATED_AT + " < ? OR " + COLUMN_ID + " < ?)" +
+                    " ORDER BY " + COLUMN_CREATED_AT + " DESC, " + COLUMN_ID + " DESC LIMIT ?";
+    // the page above a key: the rows strictly before it, nearest first, so the caller reverses them
+    static final String SELECT_TASKS_PAGE_BEFORE =
+            "SELECT " + TASK_COLUMNS + " FROM " + TABLE_TASKS +
+                    " WHERE " + COLUMN_CREATED_AT + " >= ? AND (" + COLUMN_CREATED_AT + " > ? OR " + COLUMN_ID + " > ?)" +
+                    " ORDER BY " + COLUMN_CREATED_AT + " ASC, " + COLUMN_ID + " ASC LIMIT ?";
+    private static final String NOTE_COLUMNS =
+            COLUMN_ID + ", " + COLUMN_NOTE_TEXT + ", " + COLUMN_TAG + ", " + COLUMN_CREATED_AT + ", " + COLUMN_UPDATED_AT;
+    static final String SELECT_NOTE_BY_ID =
+            "SELECT " + NOTE_COLUMNS + " FROM " + TABLE_NOTES + " WHERE " + COLUMN_ID + " = ?";
+    static final String SELECT_ALL_NOTES =
+            "SELECT " + NOTE_COLUMNS + " FROM " + TABLE_NOTES +
+                    " ORDER BY " + COLUMN_CREATED_AT + " DESC, " + COLUMN_ID + " DESC";
+    static final String SELECT_NOTES_PAGE =
+            "SELECT " + NOTE_COLUMNS + " FROM " + TABLE_NOTES +
+                    " WHERE " + COLUMN_CREATED_AT + " <= ? AND (" + COLUMN_CREATED_AT + " < ? OR " + COLUMN_ID + " < ?)" +
+                    " ORDER BY " + COLUMN_CREATED_AT + " DESC, " + COLUMN_ID + " DESC LIMIT ?";
+    static final String SELECT_NOTES_PAGE_BEFORE =
+            "SELECT " + NOTE_COLUMNS + " FROM " + TABLE_NOTES +
+                    " WHERE " + COLUMN_CREATED_AT + " >= ? AND (" + COLUMN_CREATED_AT + " > ? OR " + COLUMN_ID + " > ?)" +
+                    " ORDER BY " + COLUMN_CREATED_AT + " ASC, " + COLUMN_ID + " ASC LIMIT ?";
+    // full-text queries; rows are ranked in Java from matchinfo, see FullTextSearch
+    static final String MATCH_INFO = "match_info";
+    private static final String SNIPPET = "snippet";
+    private static final double[] TASK_SEARCH_WEIGHTS = {2.0, 1.0};  // title, description
+    private static final double[] NOTE_SEARCH_WEIGHTS = {1.0, 2.0};  // note_text, tag
+    // the task columns as TaskQuery selects them, safe to join with the full-text table
+    static final String QUALIFIED_TASK_COLUMNS = qualified(TABLE_TASKS, COLUMN_ID, COLUMN_TITLE,
+            COLUMN_DESCRIPTION, COLUMN_PRIORITY, COLUMN_DUE_DATE, COLUMN_IS_DONE, COLUMN_CREATED_AT);
+    static final String SEARCH_TASKS_WITH_SNIPPETS =
+            "SELECT " + QUALIFIED_TASK_COLUMNS +
+                    ", matchinfo(" + TABLE_TASKS_FTS + ", 'pcx') AS " + MATCH_INFO +
+                    ", " + snippet(TABLE_TASKS_FTS) + " AS " + SNIPPET +
+                    " FROM " + TABLE_TASKS_FTS + " JOIN " + TABLE_TASKS +
+                    " ON " + TABLE_TASKS + "." + COLUMN_ID + " = " + TABLE_TASKS_FTS + ".docid" +
+                    " WHERE " + TABLE_TASKS_FTS + " MATCH ?";
+    static final String SEARCH_NOTES =
+            "SELECT " + qualified(TABLE_NOTES, COLUMN_ID, COLUMN_NOTE_TEXT, COLUMN_TAG, COLUMN_CREATED_AT,
+                    COLUMN_UPDATED_AT) +
+                    ", matchinfo(" + TABLE_NOTES_FTS + ", 'pcx') AS " + MATCH_INFO +
+                    " FROM " + TABLE_NOTES_FTS + " JOIN " + TABLE_NOTES +
+                    " ON " + TABLE_NOTES + "." + COLUMN_ID + " = " + TABLE_NOTES_FTS + ".docid" +
+                    " WHERE " + TABLE_NOTES_FTS + " MATCH ?";
+    static final String SEARCH_NOTES_WITH_SNIPPETS =
+            "SELECT " + qualified(TABLE_NOTES, COLUMN_ID, COLUMN_NOTE_TEXT, COLUMN_TAG, COLUMN_CREATED_AT,
+                    COLUMN_UPDATED_AT) +
+                    ", matchinfo(" + TABLE_NOTES_FTS + ", 'pcx') AS " + MATCH_INFO +
+                    ", " + snippet(TABLE_NOTES_FTS) + " AS " + SNIPPET +
+                    " FROM " + TABLE_NOTES_FTS + " JOIN " + TABLE_NOTES +
+                    " ON " + TABLE_NOTES + "." + COLUMN_ID + " = " + TABLE_NOTES_FTS + ".docid" +
+                    " WHERE " + TABLE_NOTES_FTS + " MATCH ?";
+    private static final String REMINDER_COLUMNS =
+            COLUMN_ID + ", " + COLUMN_TASK_ID + ", " + COLUMN_REMINDER_TIME + ", " + COLUMN_IS_TRIGGERED;
+    static final String SELECT_REMINDER_BY_ID =
+            "SELECT " + REMINDER_COLUMNS + " FROM " + TABLE_REMINDERS + " WHERE " + COLUMN_ID + " = ?";
+    static final String SELECT_REMINDERS_FOR_TASK =
+            "SELECT " + REMINDER_COLUMNS + " FROM " + TABLE_REMINDERS + " WHERE " + COLUMN_TASK_ID + " = ?";
+    // pending reminders, soonest first; the keyset variant continues after (reminder_time, id)
+    static final String SELECT_PENDING_REMINDERS =
+            "SELECT " + REMINDER_COLUMNS + " FROM " + TABLE_REMINDERS + " WHERE " + COLUMN_IS_TRIGGERED + " = 0" +
+                    " ORDER BY " + COLUMN_REMINDER_TIME + ", " + COLUMN_ID;
+    static final String SELECT_UPCOMING_REMINDERS = SELECT_PENDING_REMINDERS + " LIMIT ?";
+    static final String SELECT_UPCOMING_REMINDERS_AFTER =
+            "SELECT " + REMINDER_COLUMNS + " FROM " + TABLE_REMINDERS + " WHERE " + COLUMN_IS_TRIGGERED + " = 0" +
+                    " AND " + COLUMN_REMINDER_TIME + " >= ? AND (" + COLUMN_REMINDER_TIME + " > ? OR " + COLUMN_ID + " > ?)" +
+                    " ORDER BY " + COLUMN_REMINDER_TIME + ", " + COLUMN_ID + " LIMIT ?";
+
+    // rows read per list while warming up, about one screenful
+    private static final int WARM_UP_ROWS = 20;
+
+    // rows kept in memory per table; a detail screen rarely reopens more than this many
+    private static final int TASK_CACHE_SIZE = 200;
+    private static final int NOTE_CACHE_SIZE = 200;
+    private static final int REMINDER_CACHE_SIZE = 200;
+
+    private static volatile DatabaseHelper instance;
+
+    private final StatementCache statements = new StatementCache();
+    private final InvalidationTracker invalidationTracker = new InvalidationTracker();
+    private final EntityCache<Task> taskCache = new EntityCache<>(TASK_CACHE_SIZE, Task::new);
+    private final EntityCache<Note> noteCache = new EntityCache<>(NOTE_CACHE_SIZE, Note::new);
+    private final EntityCache<Reminder> reminderCache = new EntityCache<>(REMINDER_CACHE_SIZE, Reminder::new);
+    // cache entries written inside the open transaction, dropped again once it ends
+    private final ThreadLocal<List<Runnable>> pendingCacheInvalidations = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Returns the process-wide helper. The underlying connection is opened once and kept
+     * open for the lifetime of the process, so callers must never close it themselves.
+     */
+    public static DatabaseHelper getInstance(Context context) {
+        DatabaseHelper helper = instance;
+        if (helper == null) {
+            synchronized (DatabaseHelper.class) {
+                helper = instance;
+                if (helper == null) {
+                    helper = new DatabaseHelper(context.getApplicationContext(), DATABASE_NAME);
+                    instance = helper;
+                }
+            }
+        }
+        return helper;
+    }
+
+    /** Opens a separate database file, so tests never touch the app's own data. */
+    @VisibleForTesting
+    public static DatabaseHelper newInstanceForTesting(Context context, String name) {
+        return new DatabaseHelper(context.getApplicationContext(), name);
+    }
+
+    @VisibleForTesting
+    DatabaseHelper(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+    }
+
+    /** Change versions and observers for the tables written through this helper. */
+    public InvalidationTracker getInvalidationTracker() {
+        return invalidationTracker;
+    }
+
+    /** The by-id task cache behind {@link #getTask(long)}, for its hit, miss and eviction counts. */
+    public EntityCache<Task> getTaskCache() {
+        return taskCache;
+    }
+
+    public EntityCache<Note> getNoteCache() {
+        return noteCache;
+    }
+
+    public EntityCache<Reminder> getReminderCache() {
+        return reminderCache;
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        // WAL lets readers run alongside the single writer instead of blocking on it
+        db.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        // enabled only after onCreate/onUpgrade, so migrations can rebuild tables without cascading deletes
+        db.setForeignKeyConstraintsEnabled(true);
     }
 
     @Override
@@ -81,6 +449,11 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         db.execSQL(CREATE_TABLE_TASKS);
         db.execSQL(CREATE_TABLE_NOTES);
         db.execSQL(CREATE_TABLE_REMINDERS);
+        createIndexes(db);
+        createSearchIndex(db);
+        createCounters(db);
+        db.execSQL(CREATE_TABLE_IMPORT_PROGRESS);
+        createChangeLog(db);
 
         // inster test data
         insertSampleData(db);
@@ -88,7 +461,34 @@ public class DatabaseHelper extends SQLiteOpenHelper {
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // compiled statements may reference tables that are about to change
+        statements.clear();
+
+        // SQLiteOpenHelper runs onUpgrade inside a transaction, so the whole chain is atomic
+        List<Migration> path = Migrations.path(Migrations.ALL, oldVersion, newVersion);
+        if (path != null) {
+            long upgradeStart = SystemClock.elapsedRealtime();
+            for (Migration migration : path) {
+                long stepStart = SystemClock.elapsedRealtime();
+                migration.migrate(db);
+                Log.i(TAG, migration + " took " + (SystemClock.elapsedRealtime() - stepStart) + " ms");
+            }
+            Log.i(TAG, "upgrade " + oldVersion + "->" + newVersion + " took " +
+                    (SystemClock.elapsedRealtime() - upgradeStart) + " ms");
+            return;
+        }
+
+        // no migration path: fall back to rebuilding the schema from scratch
+        Log.w(TAG, "no migration path from " + oldVersion + " to " + newVersion + ", recreating tables");
+
         // deleting old table if exists
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SNAPSHOT_STATE);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CHANGE_LOG);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_IMPORT_PROGRESS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_REMINDER_COUNTERS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_TASK_COUNTERS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_NOTES_FTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_TASKS_FTS);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_REMINDERS);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_NOTES);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_TASKS);
@@ -97,6 +497,101 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         onCreate(db);
     }
 
+    private void createIndexes(SQLiteDatabase db) {
+        db.execSQL(CREATE_INDEX_TASKS_CREATED_AT);
+        db.execSQL(CREATE_INDEX_TASKS_PRIORITY_DUE_DATE);
+        db.execSQL(CREATE_INDEX_TASKS_DONE_DUE_DATE);
+        db.execSQL(CREATE_INDEX_NOTES_CREATED_AT);
+        db.execSQL(CREATE_INDEX_REMINDERS_TASK_ID);
+        db.execSQL(CREATE_INDEX_REMINDERS_PENDING);
+    }
+
+    private void createSearchIndex(SQLiteDatabase db) {
+        db.execSQL(CREATE_TABLE_TASKS_FTS);
+        db.execSQL(CREATE_TABLE_NOTES_FTS);
+        for (String trigger : CREATE_SEARCH_TRIGGERS) {
+            db.execSQL(trigger);
+        }
+    }
+
+    private void createCounters(SQLiteDatabase db) {
+        db.execSQL(CREATE_TABLE_TASK_COUNTERS);
+        db.execSQL(CREATE_TABLE_REMINDER_COUNTERS);
+        for (String trigger : CREATE_COUNTER_TRIGGERS) {
+            db.execSQL(trigger);
+        }
+    }
+
+    private void createChangeLog(SQLiteDatabase db) {
+        db.execSQL(CREATE_TABLE_CHANGE_LOG);
+        db.execSQL(CREATE_TABLE_SNAPSHOT_STATE);
+        for (String trigger : CREATE_CHANGE_LOG_TRIGGERS) {
+            db.execSQL(trigger);
+        }
+    }
+
+    /**
+     * The trigger that logs the id of the {@code row} ("new" or "old") an {@code event} on
+     * {@code table} wrote. NOT EXISTS rather than OR IGNORE: an OR clause on the statement that
+     * fires a trigger overrides the trigger's own.
+     */
+    private static String logChange(String table, String event, String row) {
+        String id = row + "." + COLUMN_ID;
+        return "CREATE TRIGGER " + table + "_change_log_after_" + event.toLowerCase(Locale.ROOT) + " AFTER " + event +
+                " ON " + table + " BEGIN INSERT INTO " + TABLE_CHANGE_LOG + " (" + COLUMN_TABLE_NAME + ", " +
+                COLUMN_ROW_ID + ") SELECT '" + table + "', " + id + " WHERE NOT EXISTS (SELECT 1 FROM " +
+                TABLE_CHANGE_LOG + " WHERE " + COLUMN_TABLE_NAME + " = '" + table + "' AND " + COLUMN_ROW_ID +
+                " = " + id + "); END";
+    }
+
+    /**
+     * Trigger statements that move the counter of {@code row} ("new" or "old") by {@code delta},
+     * creating the counter first when adding.
+     */
+    private static String countTask(String row, int delta) {
+        String priority = "IFNULL(" + row + "." + COLUMN_PRIORITY + ", 0)";
+        String isDone = "IFNULL(" + row + "." + COLUMN_IS_DONE + ", 0)";
+        String create = "INSERT OR IGNORE INTO " + TABLE_TASK_COUNTERS + " (" + COLUMN_PRIORITY + ", " +
+                COLUMN_IS_DONE + ") VALUES (" + priority + ", " + isDone + "); ";
+        return (delta > 0 ? create : "") + "UPDATE " + TABLE_TASK_COUNTERS + " SET " + COLUMN_COUNT + " = " +
+                COLUMN_COUNT + (delta > 0 ? " + " : " - ") + Math.abs(delta) + " WHERE " + COLUMN_PRIORITY + " = " +
+                priority + " AND " + COLUMN_IS_DONE + " = " + isDone + ";";
+    }
+
+    private static String countReminder(String row, int delta) {
+        String isTriggered = "IFNULL(" + row + "." + COLUMN_IS_TRIGGERED + ", 0)";
+        String create = "INSERT OR IGNORE INTO " + TABLE_REMINDER_COUNTERS + " (" + COLUMN_IS_TRIGGERED +
+                ") VALUES (" + isTriggered + "); ";
+        return (delta > 0 ? create : "") + "UPDATE " + TABLE_REMINDER_COUNTERS + " SET " + COLUMN_COUNT + " = " +
+                COLUMN_COUNT + (delta > 0 ? " + " : " - ") + Math.abs(delta) + " WHERE " + COLUMN_IS_TRIGGERED + " = " +
+                isTriggered + ";";
+    }
+
+    private static String qualified(String table, String... columns) {
+        StringBuilder sql = new StringBuilder();
+        for (String column : columns) {
+            if (sql.length() > 0) {
+                sql.append(", ");
+            }
+            sql.append(table).append('.').append(column).append(" AS ").append(column);
+        }
+        return sql.toString();
+    }
+
+    private static String snippet(String ftsTable) {
+        return "snippet(" + ftsTable + ", '" + SearchResult.HIGHLIGHT_START + "', '" +
+                SearchResult.HIGHLIGHT_END + "', '…', -1, 12)";
+    }
+
+    @Override
+    public synchronized void close() {
+        statements.clear();
+        taskCache.clear();
+        noteCache.clear();
+        reminderCache.clear();
+        super.close();
+    }
+
     // test data
     private void insertSampleData(SQLiteDatabase db) {
         // tasks test data
@@ -104,7 +599,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         task1.put(COLUMN_TITLE, "إنهاء التقرير");
         task1.put(COLUMN_DESCRIPTION, "كتابة التقرير النهائي للمشروع");
         task1.put(COLUMN_PRIORITY, 3); // عاجل
-        task1.put(COLUMN_DUE_DATE, "2025-10-27 15:00:00");
+        task1.put(COLUMN_DUE_DATE, DateCodec.parse("2025-10-27 15:00:00"));
         task1.put(COLUMN_IS_DONE, 0);
         db.insert(TABLE_TASKS, null, task1);
 
@@ -112,7 +607,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         task2.put(COLUMN_TITLE, "شراء مستلزمات");
         task2.put(COLUMN_DESCRIPTION, "شراء مستلزمات المكتب");
         task2.put(COLUMN_PRIORITY, 2); // مهم
-        task2.put(COLUMN_DUE_DATE, "2025-10-26 10:00:00");
+        task2.put(COLUMN_DUE_DATE, DateCodec.parse("2025-10-26 10:00:00"));
         task2.put(COLUMN_IS_DONE, 1);
         db.insert(TABLE_TASKS, null, task2);
 
@@ -130,7 +625,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         // reminders test data
         ContentValues reminder1 = new ContentValues();
         reminder1.put(COLUMN_TASK_ID, 1);
-        reminder1.put(COLUMN_REMINDER_TIME, "2025-10-27 14:30:00");
+        reminder1.put(COLUMN_REMINDER_TIME, DateCodec.parse("2025-10-27 14:30:00"));
         reminder1.put(COLUMN_IS_TRIGGERED, 0);
         db.insert(TABLE_REMINDERS, null, reminder1);
     }
@@ -138,345 +633,970 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     // ======== Tasks functions ========
 
     public long addTask(Task task) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_TITLE, task.getTitle());
-        values.put(COLUMN_DESCRIPTION, task.getDescription());
-        values.put(COLUMN_PRIORITY, task.getPriority());
-        values.put(COLUMN_DUE_DATE, task.getDueDate());
-        values.put(COLUMN_IS_DONE, task.isDone() ? 1 : 0);
-
-        long id = db.insert(TABLE_TASKS, null, values);
-        db.close();
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), INSERT_TASK);
+        Task stored = new Task(task);
+        stored.setCreatedAtMillis(createdAtOrNow(task.getCreatedAtMillis()));
+        bindTask(statement, stored);
+        statement.bindLong(6, stored.getCreatedAtMillis());
+        long id = statement.executeInsert();
+        stored.setId((int) id);
+        stored.markClean();
+        cacheInserted(taskCache, id, stored);
+        notifyChanged(TABLE_TASKS);
         return id;
     }
 
+    /** Returns the task with {@code id}, from {@link #getTaskCache()} when it is there, or null if there is none. */
+    @Nullable
     public Task getTask(long id) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_TASKS,
-                new String[]{COLUMN_ID, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_PRIORITY,
-                        COLUMN_DUE_DATE, COLUMN_IS_DONE, COLUMN_CREATED_AT},
-                COLUMN_ID + "=?",
-                new String[]{String.valueOf(id)}, null, null, null, null);
+        return readById(taskCache, id, SELECT_TASK_BY_ID, TaskRowMapper::new);
+    }
 
-        cursor.moveToFirst();
+    public List<Task> getAllTasks() {
+        return queryTasks(new TaskQuery());
+    }
 
-        Task task = new Task(
-                cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)),
-                cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)),
-                cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)),
-                cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)),
-                cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)),
-                cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1,
-                cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT))
-        );
+    /**
+     * Returns up to {@code limit} tasks that come after ({@code afterCreatedAt}, {@code afterId})
+     * in newest-first order. Start with {@link #getTasksPage(int)}, then pass the created-at
+     * millis and id of the last task of each page to get the next one.
+     */
+    public List<Task> getTasksPage(long afterCreatedAt, long afterId, int limit) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_TASKS_PAGE, pageArgs(afterCreatedAt, afterId, limit));
+        return readAll(cursor, new TaskRowMapper(cursor));
+    }
 
-        cursor.close();
-        return task;
+    /** Returns the newest {@code limit} tasks. */
+    public List<Task> getTasksPage(int limit) {
+        return getTasksPage(Long.MAX_VALUE, Long.MAX_VALUE, limit);
     }
 
-    public List<Task> getAllTasks() {
-        List<Task> tasks = new ArrayList<>();
-        String selectQuery = "SELECT * FROM " + TABLE_TASKS + " ORDER BY " + COLUMN_CREATED_AT + " DESC";
-        SQLiteDatabase db = this.getWritableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                Task task = new Task();
-                task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)));
-                task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)));
-                task.setPriority(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)));
-                task.setDueDate(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)));
-                task.setDone(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1);
-                task.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-
-                tasks.add(task);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
+    /**
+     * Returns up to {@code limit} tasks that come before ({@code beforeCreatedAt}, {@code beforeId})
+     * in newest-first order, the ones nearest to it, still newest first. Pass the created-at millis
+     * and id of the first task of a page to get the page above it.
+     */
+    public List<Task> getTasksPageBefore(long beforeCreatedAt, long beforeId, int limit) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_TASKS_PAGE_BEFORE, pageArgs(beforeCreatedAt, beforeId, limit));
+        List<Task> tasks = readAll(cursor, new TaskRowMapper(cursor));
+        Collections.reverse(tasks);
         return tasks;
     }
 
+    /**
+     * Writes the fields changed since {@code task} was read, then marks it clean. Returns 0
+     * without touching the database when nothing changed.
+     */
     public int updateTask(Task task) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_TITLE, task.getTitle());
-        values.put(COLUMN_DESCRIPTION, task.getDescription());
-        values.put(COLUMN_PRIORITY, task.getPriority());
-        values.put(COLUMN_DUE_DATE, task.getDueDate());
-        values.put(COLUMN_IS_DONE, task.isDone() ? 1 : 0);
-
-        return db.update(TABLE_TASKS, values, COLUMN_ID + " = ?",
-                new String[]{String.valueOf(task.getId())});
+        if (!task.isDirty()) {
+            return 0;
+        }
+        int updated = writeDirtyTask(task);
+        notifyChanged(TABLE_TASKS);
+        return updated;
     }
 
     public void deleteTask(long id) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_TASKS, COLUMN_ID + " = ?", new String[]{String.valueOf(id)});
-        db.close();
+        deleteById(DELETE_TASK, id);
+        evictTask(id);
+        // reminders go with their task through ON DELETE CASCADE
+        notifyChanged(TABLE_TASKS, TABLE_REMINDERS);
+    }
+
+    public long[] addTasks(Collection<Task> tasks) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), INSERT_TASK);
+        return inTransaction(() -> {
+            long[] ids = new long[tasks.size()];
+            int i = 0;
+            for (Task task : tasks) {
+                bindTask(statement, task);
+                statement.bindLong(6, createdAtOrNow(task.getCreatedAtMillis()));
+                ids[i++] = statement.executeInsert();
+            }
+            notifyChanged(TABLE_TASKS);
+            return ids;
+        });
+    }
+
+    public int updateTasks(Collection<Task> tasks) {
+        return inTransaction(() -> {
+            int updated = 0;
+            for (Task task : tasks) {
+                if (task.isDirty()) {
+                    updated += writeDirtyTask(task);
+                }
+            }
+            if (updated > 0) {
+                notifyChanged(TABLE_TASKS);
+            }
+            return updated;
+        });
+    }
+
+    public int deleteTasks(long[] ids) {
+        return deleteByIds(DELETE_TASK, ids, this::evictTask, TABLE_TASKS, TABLE_REMINDERS);
+    }
+
+    /**
+     * Marks every task in {@code ids} done or not done in one transaction, writing only
+     * {@code is_done}. Returns how many tasks changed; the ones already in that state are skipped.
+     */
+    public int setTasksDone(long[] ids, boolean done) {
+        long value = done ? 1 : 0;
+        return updateByIds(SET_TASKS_DONE, new long[]{value, value}, ids, id -> cacheUpdate(taskCache, id, cached -> {
+            Task updated = new Task(cached);
+            updated.setDone(done);
+            return updated;
+        }), TABLE_TASKS);
+    }
+
+    /** Marks done every pending task due before {@code nowMillis}, in one statement. Returns how many changed. */
+    public int completeAllOverdue(long nowMillis) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), COMPLETE_OVERDUE_TASKS);
+        statement.bindLong(1, nowMillis);
+        int completed = statement.executeUpdateDelete();
+        if (completed > 0) {
+            invalidateCache(() -> taskCache.removeIf(task -> !task.isDone()
+                    && task.getDueDateMillis() != 0 && task.getDueDateMillis() < nowMillis));
+            notifyChanged(TABLE_TASKS);
+        }
+        return completed;
+    }
+
+    private int writeDirtyTask(Task task) {
+        int dirty = task.getDirtyFields();
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), UPDATE_TASK.sql(dirty));
+        statement.clearBindings();
+        int index = 1;
+        if ((dirty & Task.FIELD_TITLE) != 0) {
+            bindString(statement, index++, task.getTitle());
+        }
+        if ((dirty & Task.FIELD_DESCRIPTION) != 0) {
+            bindString(statement, index++, task.getDescription());
+        }
+        if ((dirty & Task.FIELD_PRIORITY) != 0) {
+            statement.bindLong(index++, task.getPriority());
+        }
+        if ((dirty & Task.FIELD_DUE_DATE) != 0) {
+            bindMillis(statement, index++, task.getDueDateMillis());
+        }
+        if ((dirty & Task.FIELD_DONE) != 0) {
+            statement.bindLong(index++, task.isDone() ? 1 : 0);
+        }
+        statement.bindLong(index, task.getId());
+        int updated = statement.executeUpdateDelete();
+        // the clean columns of task may be stale, so only the written ones go into the cached row
+        Task written = new Task(task);
+        cacheUpdate(taskCache, task.getId(), cached -> {
+            Task merged = new Task(cached);
+            merged.copyFields(written, dirty);
+            merged.markClean();
+            return merged;
+        });
+        task.markClean();
+        return updated;
+    }
+
+    private void evictTask(long id) {
+        invalidateCache(() -> taskCache.remove(id));
+        invalidateCache(() -> reminderCache.removeIf(reminder -> reminder.getTaskId() == id));
+    }
+
+    private static void bindTask(SQLiteStatement statement, Task task) {
+        statement.clearBindings();
+        bindString(statement, 1, task.getTitle());
+        bindString(statement, 2, task.getDescription());
+        statement.bindLong(3, task.getPriority());
+        bindMillis(statement, 4, task.getDueDateMillis());
+        statement.bindLong(5, task.isDone() ? 1 : 0);
     }
 
     // ========== (Notes) ==========
 
     public long addNote(Note note) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_NOTE_TEXT, note.getNoteText());
-        values.put(COLUMN_TAG, note.getTag());
-
-        long id = db.insert(TABLE_NOTES, null, values);
-        db.close();
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), INSERT_NOTE);
+        Note stored = new Note(note);
+        stored.setCreatedAtMillis(createdAtOrNow(note.getCreatedAtMillis()));
+        if (stored.getUpdatedAtMillis() == 0) {
+            stored.setUpdatedAtMillis(stored.getCreatedAtMillis());
+        }
+        bindNote(statement, stored);
+        bindNoteTimestamps(statement, stored);
+        long id = statement.executeInsert();
+        stored.setId((int) id);
+        stored.markClean();
+        cacheInserted(noteCache, id, stored);
+        notifyChanged(TABLE_NOTES);
         return id;
     }
 
+    /** Returns the note with {@code id}, from {@link #getNoteCache()} when it is there, or null if there is none. */
+    @Nullable
+    public Note getNote(long id) {
+        return readById(noteCache, id, SELECT_NOTE_BY_ID, NoteRowMapper::new);
+    }
+
     public List<Note> getAllNotes() {
-        List<Note> notes = new ArrayList<>();
-        String selectQuery = "SELECT * FROM " + TABLE_NOTES + " ORDER BY " + COLUMN_CREATED_AT + " DESC";
-        SQLiteDatabase db = this.getWritableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, null);
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_ALL_NOTES, null);
+        return readAll(cursor, new NoteRowMapper(cursor));
+    }
+
+    /**
+     * Returns up to {@code limit} notes that come after ({@code afterCreatedAt}, {@code afterId})
+     * in newest-first order, see {@link #getTasksPage(long, long, int)}.
+     */
+    public List<Note> getNotesPage(long afterCreatedAt, long afterId, int limit) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_NOTES_PAGE, pageArgs(afterCreatedAt, afterId, limit));
+        return readAll(cursor, new NoteRowMapper(cursor));
+    }
 
-        if (cursor.moveToFirst()) {
-            do {
-                Note note = new Note();
-                note.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                note.setNoteText(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_NOTE_TEXT)));
-                note.setTag(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TAG)));
-                note.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-                note.setUpdatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_UPDATED_AT)));
+    /** Returns the newest {@code limit} notes. */
+    public List<Note> getNotesPage(int limit) {
+        return getNotesPage(Long.MAX_VALUE, Long.MAX_VALUE, limit);
+    }
 
-                notes.add(note);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
+    /**
+     * Returns up to {@code limit} notes that come before ({@code beforeCreatedAt}, {@code beforeId})
+     * in newest-first order, see {@link #getTasksPageBefore(long, long, int)}.
+     */
+    public List<Note> getNotesPageBefore(long beforeCreatedAt, long beforeId, int limit) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_NOTES_PAGE_BEFORE, pageArgs(beforeCreatedAt, beforeId, limit));
+        List<Note> notes = readAll(cursor, new NoteRowMapper(cursor));
+        Collections.reverse(notes);
         return notes;
     }
 
+    /**
+     * Writes the fields changed since {@code note} was read, stamping updated_at with the
+     * current time, then marks it clean. Returns 0 without touching the database when nothing changed.
+     */
     public int updateNote(Note note) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_NOTE_TEXT, note.getNoteText());
-        values.put(COLUMN_TAG, note.getTag());
-        values.put(COLUMN_UPDATED_AT, "datetime('now')");
-
-        return db.update(TABLE_NOTES, values, COLUMN_ID + " = ?",
-                new String[]{String.valueOf(note.getId())});
+        if (!note.isDirty()) {
+            return 0;
+        }
+        int updated = writeDirtyNote(note, System.currentTimeMillis());
+        notifyChanged(TABLE_NOTES);
+        return updated;
     }
 
     public void deleteNote(long id) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_NOTES, COLUMN_ID + " = ?", new String[]{String.valueOf(id)});
-        db.close();
+        deleteById(DELETE_NOTE, id);
+        evictNote(id);
+        notifyChanged(TABLE_NOTES);
+    }
+
+    public long[] addNotes(Collection<Note> notes) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), INSERT_NOTE);
+        return inTransaction(() -> {
+            long[] ids = new long[notes.size()];
+            int i = 0;
+            for (Note note : notes) {
+                bindNote(statement, note);
+                bindNoteTimestamps(statement, note);
+                ids[i++] = statement.executeInsert();
+            }
+            notifyChanged(TABLE_NOTES);
+            return ids;
+        });
+    }
+
+    public int updateNotes(Collection<Note> notes) {
+        return inTransaction(() -> {
+            int updated = 0;
+            long now = System.currentTimeMillis();
+            for (Note note : notes) {
+                if (note.isDirty()) {
+                    updated += writeDirtyNote(note, now);
+                }
+            }
+            if (updated > 0) {
+                notifyChanged(TABLE_NOTES);
+            }
+            return updated;
+        });
+    }
+
+    public int deleteNotes(long[] ids) {
+        return deleteByIds(DELETE_NOTE, ids, this::evictNote, TABLE_NOTES);
+    }
+
+    private int writeDirtyNote(Note note, long updatedAt) {
+        int dirty = note.getDirtyFields();
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), UPDATE_NOTE.sql(dirty));
+        statement.clearBindings();
+        int index = 1;
+        if ((dirty & Note.FIELD_NOTE_TEXT) != 0) {
+            bindString(statement, index++, note.getNoteText());
+        }
+        if ((dirty & Note.FIELD_TAG) != 0) {
+            bindString(statement, index++, note.getTag());
+        }
+        statement.bindLong(index++, updatedAt);
+        statement.bindLong(index, note.getId());
+        int updated = statement.executeUpdateDelete();
+        Note written = new Note(note);
+        cacheUpdate(noteCache, note.getId(), cached -> {
+            Note merged = new Note(cached);
+            merged.copyFields(written, dirty);
+            merged.setUpdatedAtMillis(updatedAt);
+            merged.markClean();
+            return merged;
+        });
+        note.markClean();
+        return updated;
+    }
+
+    private void evictNote(long id) {
+        invalidateCache(() -> noteCache.remove(id));
+    }
+
+    private static void bindNote(SQLiteStatement statement, Note note) {
+        statement.clearBindings();
+        bindString(statement, 1, note.getNoteText());
+        bindString(statement, 2, note.getTag());
+    }
+
+    private static void bindNoteTimestamps(SQLiteStatement statement, Note note) {
+        long createdAt = createdAtOrNow(note.getCreatedAtMillis());
+        statement.bindLong(3, createdAt);
+        statement.bindLong(4, note.getUpdatedAtMillis() != 0 ? note.getUpdatedAtMillis() : createdAt);
     }
 
     // ========== (Reminders) ==========
 
     public long addReminder(Reminder reminder) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_TASK_ID, reminder.getTaskId());
-        values.put(COLUMN_REMINDER_TIME, reminder.getReminderTime());
-        values.put(COLUMN_IS_TRIGGERED, reminder.isTriggered() ? 1 : 0);
-
-        long id = db.insert(TABLE_REMINDERS, null, values);
-        db.close();
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), INSERT_REMINDER);
+        bindReminder(statement, reminder);
+        long id = statement.executeInsert();
+        Reminder stored = new Reminder(reminder);
+        stored.setId((int) id);
+        stored.markClean();
+        cacheInserted(reminderCache, id, stored);
+        notifyChanged(TABLE_REMINDERS);
         return id;
     }
 
+    /** Returns the reminder with {@code id}, from {@link #getReminderCache()} when it is there, or null if there is none. */
+    @Nullable
+    public Reminder getReminder(long id) {
+        return readById(reminderCache, id, SELECT_REMINDER_BY_ID, ReminderRowMapper::new);
+    }
+
     public List<Reminder> getRemindersForTask(long taskId) {
-        List<Reminder> reminders = new ArrayList<>();
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_REMINDERS,
-                new String[]{COLUMN_ID, COLUMN_TASK_ID, COLUMN_REMINDER_TIME, COLUMN_IS_TRIGGERED},
-                COLUMN_TASK_ID + "=?",
-                new String[]{String.valueOf(taskId)}, null, null, null, null);
+        Cursor cursor = db.rawQuery(SELECT_REMINDERS_FOR_TASK, new String[]{String.valueOf(taskId)});
+        return readAll(cursor, new ReminderRowMapper(cursor));
+    }
 
-        if (cursor.moveToFirst()) {
-            do {
-                Reminder reminder = new Reminder();
-                reminder.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                reminder.setTaskId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_TASK_ID)));
-                reminder.setReminderTime(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_REMINDER_TIME)));
-                reminder.setTriggered(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_TRIGGERED)) == 1);
+    /** Returns every reminder that has not fired yet, soonest first. */
+    public List<Reminder> getPendingReminders() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_PENDING_REMINDERS, null);
+        return readAll(cursor, new ReminderRowMapper(cursor));
+    }
 
-                reminders.add(reminder);
-            } while (cursor.moveToNext());
+    /** Returns the {@code limit} soonest reminders that have not fired yet, overdue ones first. */
+    public List<Reminder> getUpcomingReminders(int limit) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(SELECT_UPCOMING_REMINDERS, new String[]{String.valueOf(limit)});
+        return readAll(cursor, new ReminderRowMapper(cursor));
+    }
+
+    /**
+     * Returns up to {@code limit} pending reminders that come after ({@code afterTime},
+     * {@code afterId}) in soonest-first order, e.g. after the last one already scheduled.
+     */
+    public List<Reminder> getUpcomingReminders(long afterTime, long afterId, int limit) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        String time = String.valueOf(afterTime);
+        Cursor cursor = db.rawQuery(SELECT_UPCOMING_REMINDERS_AFTER,
+                new String[]{time, time, String.valueOf(afterId), String.valueOf(limit)});
+        return readAll(cursor, new ReminderRowMapper(cursor));
+    }
+
+    /**
+     * Marks the reminder as fired if it is still pending and due at {@code nowMillis}.
+     * Returns {@code false} when it was already triggered, deleted, or moved to a later time.
+     */
+    public boolean markReminderTriggered(long id, long nowMillis) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), MARK_REMINDER_TRIGGERED);
+        statement.bindLong(1, id);
+        statement.bindLong(2, nowMillis);
+        if (statement.executeUpdateDelete() == 0) {
+            return false;
+        }
+        cacheUpdate(reminderCache, id, cached -> {
+            Reminder triggered = new Reminder(cached);
+            triggered.setTriggered(true);
+            return triggered;
+        });
+        notifyChanged(TABLE_REMINDERS);
+        return true;
+    }
+
+    /**
+     * Marks every pending reminder in {@code ids} triggered in one transaction, whatever its
+     * time. Returns how many changed; reminders that already fired are left alone.
+     */
+    public int markRemindersTriggered(long[] ids) {
+        return updateByIds(MARK_REMINDERS_TRIGGERED, new long[0], ids, id -> cacheUpdate(reminderCache, id, cached -> {
+            Reminder triggered = new Reminder(cached);
+            triggered.setTriggered(true);
+            return triggered;
+        }), TABLE_REMINDERS);
+    }
+
+    public long[] addReminders(Collection<Reminder> reminders) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), INSERT_REMINDER);
+        return inTransaction(() -> {
+            long[] ids = new long[reminders.size()];
+            int i = 0;
+            for (Reminder reminder : reminders) {
+                bindReminder(statement, reminder);
+                ids[i++] = statement.executeInsert();
+            }
+            notifyChanged(TABLE_REMINDERS);
+            return ids;
+        });
+    }
+
+    /** Writes the fields of each reminder changed since it was read and marks it clean; clean ones are skipped. */
+    public int updateReminders(Collection<Reminder> reminders) {
+        return inTransaction(() -> {
+            int updated = 0;
+            for (Reminder reminder : reminders) {
+                if (reminder.isDirty()) {
+                    updated += writeDirtyReminder(reminder);
+                }
+            }
+            if (updated > 0) {
+                notifyChanged(TABLE_REMINDERS);
+            }
+            return updated;
+        });
+    }
+
+    private int writeDirtyReminder(Reminder reminder) {
+        int dirty = reminder.getDirtyFields();
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), UPDATE_REMINDER.sql(dirty));
+        statement.clearBindings();
+        int index = 1;
+        if ((dirty & Reminder.FIELD_TASK_ID) != 0) {
+            statement.bindLong(index++, reminder.getTaskId());
+        }
+        if ((dirty & Reminder.FIELD_TIME) != 0) {
+            statement.bindLong(index++, reminder.getTimeInMillis());
+        }
+        if ((dirty & Reminder.FIELD_TRIGGERED) != 0) {
+            statement.bindLong(index++, reminder.isTriggered() ? 1 : 0);
+        }
+        statement.bindLong(index, reminder.getId());
+        int updated = statement.executeUpdateDelete();
+        Reminder written = new Reminder(reminder);
+        cacheUpdate(reminderCache, reminder.getId(), cached -> {
+            Reminder merged = new Reminder(cached);
+            merged.copyFields(written, dirty);
+            merged.markClean();
+            return merged;
+        });
+        reminder.markClean();
+        return updated;
+    }
+
+    public int deleteReminders(long[] ids) {
+        return deleteByIds(DELETE_REMINDER, ids, id -> invalidateCache(() -> reminderCache.remove(id)), TABLE_REMINDERS);
+    }
+
+    private static void bindReminder(SQLiteStatement statement, Reminder reminder) {
+        statement.clearBindings();
+        statement.bindLong(1, reminder.getTaskId());
+        statement.bindLong(2, reminder.getTimeInMillis());
+        statement.bindLong(3, reminder.isTriggered() ? 1 : 0);
+    }
+
+    // ========== bulk import ==========
+
+    /** How many input records of {@code source} earlier imports committed; 0 for a new source. */
+    public long getImportedRecords(String source) {
+        SQLiteStatement statement = statements.acquire(this.getReadableDatabase(), SELECT_IMPORTED_RECORDS);
+        statement.bindString(1, source);
+        return statement.simpleQueryForLong();
+    }
+
+    /**
+     * Inserts one import batch and records that the first {@code records} input records of
+     * {@code source} are in, in a single transaction, so an import stopped at any point
+     * resumes right after its last committed batch.
+     */
+    public void addImportBatch(String source, long records, Collection<Task> tasks, Collection<Note> notes) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), SAVE_IMPORTED_RECORDS);
+        runInTransaction(() -> {
+            if (!tasks.isEmpty()) {
+                addTasks(tasks);
+            }
+            if (!notes.isEmpty()) {
+                addNotes(notes);
+            }
+            statement.bindString(1, source);
+            statement.bindLong(2, records);
+            statement.executeInsert();
+        });
+    }
+
+    /** Forgets the progress of {@code source}, so importing it again starts from the top. */
+    public void clearImportProgress(String source) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), DELETE_IMPORT_PROGRESS);
+        statement.bindString(1, source);
+        statement.executeUpdateDelete();
+    }
+
+    // ========== snapshots ==========
+
+    /** The id of the last snapshot taken, or 0 when none was since the database was created or restored. */
+    public long getSnapshotId() {
+        SQLiteStatement statement = statements.acquire(this.getReadableDatabase(), SELECT_SNAPSHOT_ID);
+        return statement.simpleQueryForLong();
+    }
+
+    /**
+     * Records that snapshot {@code snapshotId} holds every change so far and empties the change
+     * log, so the next incremental snapshot starts from there. Call it inside the transaction the
+     * snapshot was read in; a change committed in between would be lost to the next one.
+     */
+    public void markSnapshotTaken(long snapshotId) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        runInTransaction(() -> {
+            statements.acquire(db, CLEAR_CHANGE_LOG).executeUpdateDelete();
+            SQLiteStatement statement = statements.acquire(db, SAVE_SNAPSHOT_ID);
+            statement.bindLong(1, snapshotId);
+            statement.executeInsert();
+        });
+    }
+
+    /**
+     * Runs {@code body}, which replaces task, note and reminder rows from a snapshot, in one
+     * transaction. The restored rows are not logged as changes, and no snapshot is marked
+     * afterwards, so the next snapshot has to be a full one. Every cache is cleared and the
+     * observers of all three tables hear about it once the transaction commits.
+     */
+    public void runRestore(Runnable body) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        runInTransaction(() -> {
+            // dropped rather than filtered, so restoring costs no log write per row
+            for (String trigger : CHANGE_LOG_TRIGGERS) {
+                db.execSQL("DROP TRIGGER " + trigger);
+            }
+            body.run();
+            for (String trigger : CREATE_CHANGE_LOG_TRIGGERS) {
+                db.execSQL(trigger);
+            }
+            db.execSQL(CLEAR_CHANGE_LOG);
+            db.execSQL(CLEAR_SNAPSHOT_STATE);
+            invalidateCache(taskCache::clear);
+            invalidateCache(noteCache::clear);
+            invalidateCache(reminderCache::clear);
+            notifyChanged(TABLE_TASKS, TABLE_NOTES, TABLE_REMINDERS);
+        });
+    }
+
+    // ========== warm-up ==========
+
+    /**
+     * Gets the first list screens ready to load: opens the database, compiles the task and note
+     * list queries on a read connection, which keeps them in its statement cache, and reads the
+     * first screenful of each list, which brings the index and table pages it walks into the
+     * page cache. The first real list load then only has to fetch its rows. Stops between
+     * steps, or in the middle of a read, once {@code signal} is cancelled.
+     *
+     * @throws android.os.OperationCanceledException if {@code signal} was cancelled
+     */
+    @WorkerThread
+    public void warmUp(CancellationSignal signal) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        TaskQuery allTasks = new TaskQuery();
+        TaskQuery pendingTasks = new TaskQuery().done(false).orderBy(TaskQuery.Order.UNORDERED);
+        prepare(db, allTasks.sql(), signal);
+        prepare(db, pendingTasks.sql(), signal);
+        prepare(db, SELECT_TASKS_PAGE, signal);
+        prepare(db, SELECT_ALL_NOTES, signal);
+        prepare(db, SELECT_NOTES_PAGE, signal);
+
+        // newest-first pages walk the same created_at indexes as the full lists
+        readFirstRows(db, SELECT_TASKS_PAGE, pageArgs(Long.MAX_VALUE, Long.MAX_VALUE, WARM_UP_ROWS), signal);
+        TaskQuery pendingScreen = pendingTasks.limit(WARM_UP_ROWS);
+        readFirstRows(db, pendingScreen.sql(), pendingScreen.args(), signal);
+        readFirstRows(db, SELECT_NOTES_PAGE, pageArgs(Long.MAX_VALUE, Long.MAX_VALUE, WARM_UP_ROWS), signal);
+    }
+
+    private static void prepare(SQLiteDatabase db, String sql, CancellationSignal signal) {
+        signal.throwIfCanceled();
+        // closing the statement leaves it prepared in the connection's cache, ready for the same SQL
+        db.compileStatement(sql).close();
+    }
+
+    private static void readFirstRows(SQLiteDatabase db, String sql, String[] args, CancellationSignal signal) {
+        Cursor cursor = db.rawQuery(sql, args, signal);
+        try {
+            cursor.moveToFirst();
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // ========== transactions and change notification ==========
+
+    /**
+     * Runs {@code body} in one transaction, joining the caller's if one is open on this thread.
+     * Observers hear about the writes made inside it once, after the outermost commit.
+     */
+    public void runInTransaction(Runnable body) {
+        inTransaction(() -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> body) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        boolean successful = false;
+        try {
+            T result = body.get();
+            db.setTransactionSuccessful();
+            successful = true;
+            return result;
+        } finally {
+            db.endTransaction();
+            boolean outermost = !db.inTransaction();
+            if (outermost) {
+                dropPendingCacheEntries();
+            }
+            invalidationTracker.onTransactionEnded(successful, outermost);
+        }
+    }
+
+    private void notifyChanged(String... tables) {
+        if (this.getWritableDatabase().inTransaction()) {
+            invalidationTracker.defer(tables);
+        } else {
+            invalidationTracker.notifyChanged(tables);
+        }
+    }
+
+    // ========== entity caches ==========
+
+    private <T> T readById(EntityCache<T> cache, long id, String sql, Function<Cursor, RowMapper<T>> mapper) {
+        T cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        Cursor cursor = this.getReadableDatabase().rawQuery(sql, new String[]{String.valueOf(id)});
+        try {
+            // a missing id is read again next time, as the row may be inserted meanwhile
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            T row = mapper.apply(cursor).map(cursor);
+            // inside this thread's own transaction the row may not be committed yet
+            if (!this.getWritableDatabase().inTransaction()) {
+                cache.putIfUnchanged(id, row, generation);
+            }
+            return row;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private <T> void cacheInserted(EntityCache<T> cache, long id, T row) {
+        // other threads cannot see a row inserted in an open transaction, so there is nothing to invalidate
+        if (!this.getWritableDatabase().inTransaction()) {
+            cache.put(id, row);
+        }
+    }
+
+    private <T> void cacheUpdate(EntityCache<T> cache, long id, UnaryOperator<T> updater) {
+        if (this.getWritableDatabase().inTransaction()) {
+            invalidateCache(() -> cache.remove(id));
+        } else {
+            cache.update(id, updater);
+        }
+    }
+
+    /**
+     * Runs {@code invalidation} now and, inside a transaction, once more when it ends: until
+     * the commit, other threads still read the old row and may cache it again.
+     */
+    private void invalidateCache(Runnable invalidation) {
+        invalidation.run();
+        if (this.getWritableDatabase().inTransaction()) {
+            pendingCacheInvalidations.get().add(invalidation);
+        }
+    }
+
+    private void dropPendingCacheEntries() {
+        List<Runnable> pending = pendingCacheInvalidations.get();
+        for (Runnable invalidation : pending) {
+            invalidation.run();
+        }
+        pending.clear();
+    }
+
+    // ========== statement helpers ==========
+
+    private static <T> List<T> readAll(Cursor cursor, RowMapper<T> mapper) {
+        try {
+            List<T> rows = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                rows.add(mapper.map(cursor));
+            }
+            return rows;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static String[] pageArgs(long keyCreatedAt, long keyId, int limit) {
+        String createdAt = String.valueOf(keyCreatedAt);
+        return new String[]{createdAt, createdAt, String.valueOf(keyId), String.valueOf(limit)};
+    }
+
+    private void deleteById(String sql, long id) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), sql);
+        statement.bindLong(1, id);
+        statement.executeUpdateDelete();
+    }
+
+    private int deleteByIds(String sql, long[] ids, LongConsumer evict, String... changedTables) {
+        SQLiteStatement statement = statements.acquire(this.getWritableDatabase(), sql);
+        return inTransaction(() -> {
+            int deleted = 0;
+            for (long id : ids) {
+                statement.bindLong(1, id);
+                deleted += statement.executeUpdateDelete();
+                evict.accept(id);
+            }
+            notifyChanged(changedTables);
+            return deleted;
+        });
+    }
+
+    /**
+     * Runs {@code sqlPrefix} with {@code args} followed by an IN list of {@code ids}, as few
+     * statements as the bound-variable limit allows, all in one transaction. Each chunk is
+     * padded to one of {@link InClause}'s shapes so the compiled statements can be reused.
+     */
+    private int updateByIds(String sqlPrefix, long[] args, long[] ids, LongConsumer onUpdated, String table) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        SQLiteDatabase db = this.getWritableDatabase();
+        int maxIds = InClause.MAX_VARIABLES - args.length;
+        return inTransaction(() -> {
+            int updated = 0;
+            for (int from = 0; from < ids.length; from += maxIds) {
+                int count = Math.min(maxIds, ids.length - from);
+                int shape = InClause.shapeSize(count, maxIds);
+                SQLiteStatement statement = statements.acquire(db, sqlPrefix + InClause.placeholders(shape));
+                statement.clearBindings();
+                for (int i = 0; i < args.length; i++) {
+                    statement.bindLong(i + 1, args[i]);
+                }
+                for (int i = 0; i < shape; i++) {
+                    // the padding repeats the chunk's last id, which IN ignores
+                    statement.bindLong(args.length + i + 1, ids[from + Math.min(i, count - 1)]);
+                }
+                updated += statement.executeUpdateDelete();
+            }
+            for (long id : ids) {
+                onUpdated.accept(id);
+            }
+            if (updated > 0) {
+                notifyChanged(table);
+            }
+            return updated;
+        });
+    }
+
+    private static void bindMillis(SQLiteStatement statement, int index, long millis) {
+        if (millis == 0) {
+            statement.bindNull(index);
+        } else {
+            statement.bindLong(index, millis);
+        }
+    }
+
+    private static long createdAtOrNow(long createdAtMillis) {
+        return createdAtMillis != 0 ? createdAtMillis : System.currentTimeMillis();
+    }
+
+    private static void bindString(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
         }
-        cursor.close();
-        return reminders;
     }
 
     // ========== search and filttering ==========
 
+    /**
+     * Returns the tasks whose title or description contains every word of {@code query},
+     * as a whole word or a prefix, best matches first.
+     */
     public List<Task> searchTasks(String query) {
-        List<Task> tasks = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_TASKS,
-                new String[]{COLUMN_ID, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_PRIORITY,
-                        COLUMN_DUE_DATE, COLUMN_IS_DONE, COLUMN_CREATED_AT},
-                COLUMN_TITLE + " LIKE ? OR " + COLUMN_DESCRIPTION + " LIKE ?",
-                new String[]{"%" + query + "%", "%" + query + "%"}, null, null, null, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                Task task = new Task();
-                task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)));
-                task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)));
-                task.setPriority(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)));
-                task.setDueDate(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)));
-                task.setDone(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1);
-                task.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-
-                tasks.add(task);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        return tasks;
+        return queryTasks(new TaskQuery().matching(query).orderBy(TaskQuery.Order.RELEVANCE));
+    }
+
+    /** Like {@link #searchTasks(String)}, with a highlighted excerpt for every hit. */
+    public List<SearchResult<Task>> searchTasksWithSnippets(String query) {
+        String match = FullTextSearch.matchQuery(query);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+        Cursor cursor = this.getReadableDatabase().rawQuery(SEARCH_TASKS_WITH_SNIPPETS, new String[]{match});
+        return readRanked(cursor, new TaskRowMapper(cursor), TASK_SEARCH_WEIGHTS);
     }
 
+    /**
+     * Returns the notes whose text or tag contains every word of {@code query},
+     * as a whole word or a prefix, best matches first.
+     */
     public List<Note> searchNotes(String query) {
-        List<Note> notes = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_NOTES,
-                new String[]{COLUMN_ID, COLUMN_NOTE_TEXT, COLUMN_TAG, COLUMN_CREATED_AT, COLUMN_UPDATED_AT},
-                COLUMN_NOTE_TEXT + " LIKE ? OR " + COLUMN_TAG + " LIKE ?",
-                new String[]{"%" + query + "%", "%" + query + "%"}, null, null, null, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                Note note = new Note();
-                note.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                note.setNoteText(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_NOTE_TEXT)));
-                note.setTag(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TAG)));
-                note.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-                note.setUpdatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_UPDATED_AT)));
-
-                notes.add(note);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        return notes;
+        return items(searchNotes(query, false));
+    }
+
+    /** Like {@link #searchNotes(String)}, with a highlighted excerpt for every hit. */
+    public List<SearchResult<Note>> searchNotesWithSnippets(String query) {
+        return searchNotes(query, true);
+    }
+
+    private List<SearchResult<Note>> searchNotes(String query, boolean withSnippets) {
+        String match = FullTextSearch.matchQuery(query);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+        Cursor cursor = this.getReadableDatabase().rawQuery(
+                withSnippets ? SEARCH_NOTES_WITH_SNIPPETS : SEARCH_NOTES, new String[]{match});
+        return readRanked(cursor, new NoteRowMapper(cursor), NOTE_SEARCH_WEIGHTS);
+    }
+
+    private static <T> List<SearchResult<T>> readRanked(Cursor cursor, RowMapper<T> mapper, double[] weights) {
+        try {
+            int matchInfoIndex = cursor.getColumnIndexOrThrow(MATCH_INFO);
+            int snippetIndex = cursor.getColumnIndex(SNIPPET);
+            List<SearchResult<T>> results = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                double score = FullTextSearch.score(cursor.getBlob(matchInfoIndex), weights);
+                String snippet = snippetIndex >= 0 ? cursor.getString(snippetIndex) : null;
+                results.add(new SearchResult<>(mapper.map(cursor), score, snippet));
+            }
+            results.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            return results;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static <T> List<T> items(List<SearchResult<T>> results) {
+        List<T> items = new ArrayList<>(results.size());
+        for (SearchResult<T> result : results) {
+            items.add(result.getItem());
+        }
+        return items;
+    }
+
+    /**
+     * Returns the tasks that pass every filter of {@code query}, in its order. Queries of the
+     * same shape share one statement; see {@link TaskQuery}.
+     */
+    public List<Task> queryTasks(TaskQuery query) {
+        if (query.matchesNothing()) {
+            return new ArrayList<>();
+        }
+        Cursor cursor = this.getReadableDatabase().rawQuery(query.sql(), query.args());
+        if (!query.ranked()) {
+            return readAll(cursor, new TaskRowMapper(cursor));
+        }
+        List<Task> tasks = items(readRanked(cursor, new TaskRowMapper(cursor), TASK_SEARCH_WEIGHTS));
+        int limit = query.getLimit();
+        return limit > 0 && tasks.size() > limit ? new ArrayList<>(tasks.subList(0, limit)) : tasks;
     }
 
     public List<Task> getTasksByPriority(int priority) {
-        List<Task> tasks = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_TASKS,
-                new String[]{COLUMN_ID, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_PRIORITY,
-                        COLUMN_DUE_DATE, COLUMN_IS_DONE, COLUMN_CREATED_AT},
-                COLUMN_PRIORITY + "=?",
-                new String[]{String.valueOf(priority)}, null, null, null, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                Task task = new Task();
-                task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)));
-                task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)));
-                task.setPriority(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)));
-                task.setDueDate(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)));
-                task.setDone(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1);
-                task.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-
-                tasks.add(task);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        return tasks;
+        return queryTasks(new TaskQuery().priorities(priority).orderBy(TaskQuery.Order.UNORDERED));
     }
 
-    public List<Task> getUrgentTasksByDate(String startDate, String endDate) {
-        List<Task> tasks = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_TASKS +
-                " WHERE " + COLUMN_PRIORITY + " = 3" +
-                " AND " + COLUMN_DUE_DATE + " BETWEEN ? AND ?" +
-                " ORDER BY " + COLUMN_DUE_DATE + " ASC";
-
-        Cursor cursor = db.rawQuery(query, new String[]{startDate, endDate});
-
-        if (cursor.moveToFirst()) {
-            do {
-                Task task = new Task();
-                task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)));
-                task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)));
-                task.setPriority(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)));
-                task.setDueDate(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)));
-                task.setDone(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1);
-                task.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-
-                tasks.add(task);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        return tasks;
+    public List<Task> getUrgentTasksByDate(long startMillis, long endMillis) {
+        return queryTasks(new TaskQuery().priorities(Task.PRIORITY_URGENT).dueBetween(startMillis, endMillis)
+                .orderBy(TaskQuery.Order.DUE_DATE));
     }
 
     public List<Task> getCompletedTasks() {
-        List<Task> tasks = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_TASKS,
-                new String[]{COLUMN_ID, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_PRIORITY,
-                        COLUMN_DUE_DATE, COLUMN_IS_DONE, COLUMN_CREATED_AT},
-                COLUMN_IS_DONE + "=?",
-                new String[]{"1"}, null, null, null, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                Task task = new Task();
-                task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)));
-                task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)));
-                task.setPriority(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)));
-                task.setDueDate(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)));
-                task.setDone(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1);
-                task.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-
-                tasks.add(task);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        return tasks;
+        return queryTasks(new TaskQuery().done(true).orderBy(TaskQuery.Order.UNORDERED));
     }
 
     public List<Task> getPendingTasks() {
-        List<Task> tasks = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_TASKS,
-                new String[]{COLUMN_ID, COLUMN_TITLE, COLUMN_DESCRIPTION, COLUMN_PRIORITY,
-                        COLUMN_DUE_DATE, COLUMN_IS_DONE, COLUMN_CREATED_AT},
-                COLUMN_IS_DONE + "=?",
-                new String[]{"0"}, null, null, null, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                Task task = new Task();
-                task.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)));
-                task.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE)));
-                task.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION)));
-                task.setPriority(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PRIORITY)));
-                task.setDueDate(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DUE_DATE)));
-                task.setDone(cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_DONE)) == 1);
-                task.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CREATED_AT)));
-
-                tasks.add(task);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        return tasks;
+        return queryTasks(new TaskQuery().done(false).orderBy(TaskQuery.Order.UNORDERED));
+    }
+
+    /** Dashboard counters as of now; see {@link #getTaskStats(long)}. */
+    public TaskStats getTaskStats() {
+        return getTaskStats(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the task and reminder counters in one query. Overdue means pending and due
+     * before {@code nowMillis}; due today means pending and due on the local day holding it.
+     */
+    public TaskStats getTaskStats(long nowMillis) {
+        String[] args = {
+                String.valueOf(nowMillis),
+                String.valueOf(DateCodec.startOfDay(nowMillis, 0)),
+                String.valueOf(DateCodec.startOfDay(nowMillis, 1))
+        };
+        Map<Integer, Integer> pendingByPriority = new TreeMap<>();
+        Map<Integer, Integer> doneByPriority = new TreeMap<>();
+        int pendingReminders = 0;
+        int overdue = 0;
+        int dueToday = 0;
+        Cursor cursor = this.getReadableDatabase().rawQuery(SELECT_TASK_STATS, args);
+        try {
+            while (cursor.moveToNext()) {
+                int count = cursor.getInt(3);
+                switch (cursor.getInt(0)) {
+                    case STATS_TASKS:
+                        if (count > 0) {
+                            (cursor.getInt(2) == 1 ? doneByPriority : pendingByPriority).put(cursor.getInt(1), count);
+                        }
+                        break;
+                    case STATS_REMINDERS:
+                        if (cursor.getInt(2) == 0) {
+                            pendingReminders = count;
+                        }
+                        break;
+                    case STATS_OVERDUE:
+                        overdue = count;
+                        break;
+                    case STATS_DUE_TODAY:
+                        dueToday = count;
+                        break;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return new TaskStats(pendingByPriority, doneByPriority, overdue, dueToday, pendingReminders);
     }
 
     public int getTasksCountByStatus(boolean isDone) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_TASKS +
-                        " WHERE " + COLUMN_IS_DONE + " = ?",
-                new String[]{isDone ? "1" : "0"});
-        cursor.moveToFirst();
-        int count = cursor.getInt(0);
-        cursor.close();
-        return count;
+        SQLiteStatement statement = statements.acquire(this.getReadableDatabase(), COUNT_TASKS_BY_STATUS);
+        statement.bindLong(1, isDone ? 1 : 0);
+        return (int) statement.simpleQueryForLong();
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.example.myreminder.database;
+
+import android.util.LruCache;
+
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Rows recently read or written through {@link DatabaseHelper}, keyed by primary key and
+ * evicted least recently used first. Entries are private copies: callers get a fresh copy
+ * on every hit and may change it freely without touching the cache.
+ *
+ * <p>A read that misses queries the database and then offers the row back with
+ * {@link #putIfUnchanged}. Every write bumps a generation counter under the same lock, so
+ * a row read before a write landed is never cached after it.
+ */
+public final class EntityCache<T> {
+
+    private final LruCache<Long, T> entries;
+    private final UnaryOperator<T> copier;
+    private long generation;
+
+    EntityCache(int maxSize, UnaryOperator<T> copier) {
+        this.entries = new LruCache<>(maxSize);
+        this.copier = copier;
+    }
+
+    /** Returns a copy of the cached row, or {@code null} on a miss. */
+    T get(long id) {
+        T cached = entries.get(id);
+        return cached == null ? null : copier.apply(cached);
+    }
+
+    /** Returns the generation to pass to {@link #putIfUnchanged} once the row is read. */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /** Caches a row read from the database, unless a write touched this cache since {@code readGeneration}. */
+    synchronized void putIfUnchanged(long id, T value, long readGeneration) {
+        if (generation == readGeneration) {
+            entries.put(id, copier.apply(value));
+        }
+    }
+
+    /** Caches the row as it now stands in the database. */
+    synchronized void put(long id, T value) {
+        generation++;
+        entries.put(id, copier.apply(value));
+    }
+
+    /**
+     * Replaces a cached row with {@code updater}'s result, for writes that only know some of
+     * its columns. Does nothing when the row is not cached.
+     */
+    synchronized void update(long id, UnaryOperator<T> updater) {
+        generation++;
+        T current = entries.remove(id);
+        if (current != null) {
+            entries.put(id, updater.apply(current));
+        }
+    }
+
+    synchronized void remove(long id) {
+        generation++;
+        entries.remove(id);
+    }
+
+    /** Drops every cached row matching {@code filter}, e.g. the reminders of a deleted task. */
+    synchronized void removeIf(Predicate<T> filter) {
+        generation++;
+        for (Map.Entry<Long, T> entry : entries.snapshot().entrySet()) {
+            if (filter.test(entry.getValue())) {
+                entries.remove(entry.getKey());
+            }
+        }
+    }
+
+    /** Drops every row without counting it as an eviction. */
+    synchronized void clear() {
+        generation++;
+        for (Long id : entries.snapshot().keySet()) {
+            entries.remove(id);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int maxSize() {
+        return entries.maxSize();
+    }
+
+    public int hitCount() {
+        return entries.hitCount();
+    }
+
+    public int missCount() {
+        return entries.missCount();
+    }
+
+    /** Rows dropped to make room for newer ones; removals caused by writes are not counted. */
+    public int evictionCount() {
+        return entries.evictionCount();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.myreminder.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Builds FTS4 MATCH expressions from user input and scores rows from their
+ * {@code matchinfo(..., 'pcx')} blob. The platform SQLite has no built-in rank function
+ * for FTS4, so ranking happens here, using the weighting from the SQLite FTS3 documentation.
+ */
+final class FullTextSearch {
+
+    private FullTextSearch() {
+    }
+
+    /**
+     * Turns free text into a MATCH expression where every word must appear, as a whole
+     * word or as a prefix. Each word is quoted, so FTS operators typed by the user are
+     * matched literally. Returns {@code null} when there is nothing to search for.
+     */
+    static String matchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String word : text.trim().split("\\s+")) {
+            String term = word.replace("\"", "");
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append("*\"");
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    /**
+     * Scores one row: for every phrase and column, the share of all hits that fall in this
+     * row, multiplied by the column weight. Columns beyond {@code weights} count as 1.
+     */
+    static double score(byte[] matchInfo, double[] weights) {
+        if (matchInfo == null || matchInfo.length < 8) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns; column++) {
+                int offset = 4 * (2 + 3 * (phrase * columns + column));
+                int rowHits = buffer.getInt(offset);
+                int allHits = buffer.getInt(offset + 4);
+                if (rowHits > 0 && allHits > 0) {
+                    double weight = column < weights.length ? weights[column] : 1;
+                    score += weight * rowHits / allHits;
+                }
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.myreminder.database;
+
+/**
+ * Shapes of {@code id IN (?, ...)} lists for set-based updates. Id lists are cut into chunks
+ * that fit SQLite's bound-variable limit, and each chunk is padded up to one of a few fixed
+ * sizes by repeating its last id, so every statement compiles to one of a handful of SQL
+ * strings that the {@link StatementCache} can keep.
+ */
+final class InClause {
+
+    /** SQLITE_MAX_VARIABLE_NUMBER on platform SQLite builds older than 3.32. */
+    static final int MAX_VARIABLES = 999;
+
+    private static final int[] SHAPES = {16, 128, 512};
+
+    /** How many sizes {@link #shapeSize} can return: the fixed shapes plus {@code maxIds}. */
+    static final int SHAPE_COUNT = SHAPES.length + 1;
+
+    private InClause() {
+    }
+
+    /** The smallest shape that holds {@code count} ids, never more than {@code maxIds}. */
+    static int shapeSize(int count, int maxIds) {
+        int index = shapeIndex(count, maxIds);
+        return index < SHAPES.length ? SHAPES[index] : maxIds;
+    }
+
+    /** The position of {@link #shapeSize} among the shapes, from 0 to {@code SHAPE_COUNT - 1}. */
+    static int shapeIndex(int count, int maxIds) {
+        for (int i = 0; i < SHAPES.length; i++) {
+            if (count <= SHAPES[i] && SHAPES[i] < maxIds) {
+                return i;
+            }
+        }
+        return SHAPES.length;
+    }
+
+    /** {@code (?,?,...,?)} with {@code count} placeholders. */
+    static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(2 * count + 1).append('(');
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        return sql.append(')').toString();
+    }
+}
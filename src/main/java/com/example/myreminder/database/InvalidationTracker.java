@@ -0,0 +1,107 @@
+package com.example.myreminder.database;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-table change versions for {@link DatabaseHelper}. Every committed write bumps the
+ * version of the tables it touched and tells the observers of those tables. Writes made
+ * inside a transaction are held back until the outermost transaction commits, and dropped
+ * if it rolls back.
+ */
+public final class InvalidationTracker {
+
+    /** Watches a fixed set of tables. Called on the writing thread; keep it short. */
+    public abstract static class Observer {
+
+        final Set<String> tables;
+
+        protected Observer(String... tables) {
+            this.tables = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(tables)));
+        }
+
+        public abstract void onInvalidated(Set<String> tables);
+    }
+
+    private static final class Deferred {
+        final Set<String> tables = new HashSet<>();
+        boolean failed;
+    }
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Observer> observers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Deferred> deferred = ThreadLocal.withInitial(Deferred::new);
+
+    public void addObserver(Observer observer) {
+        observers.addIfAbsent(observer);
+    }
+
+    public void removeObserver(Observer observer) {
+        observers.remove(observer);
+    }
+
+    /** Returns how many committed writes have touched {@code table}. */
+    public long getVersion(String table) {
+        AtomicLong version = versions.get(table);
+        return version == null ? 0 : version.get();
+    }
+
+    /** Returns the versions of {@code tables}, in the same order. */
+    public long[] getVersions(Set<String> tables) {
+        long[] snapshot = new long[tables.size()];
+        int i = 0;
+        for (String table : tables) {
+            snapshot[i++] = getVersion(table);
+        }
+        return snapshot;
+    }
+
+    void notifyChanged(String... tables) {
+        dispatch(new HashSet<>(Arrays.asList(tables)));
+    }
+
+    /** Records a change made inside a transaction that has not committed yet. */
+    void defer(String... tables) {
+        Collections.addAll(deferred.get().tables, tables);
+    }
+
+    /**
+     * Called as each transaction opened through DatabaseHelper ends. A failed nested
+     * transaction rolls back the outer one too, so its changes are dropped with it.
+     */
+    void onTransactionEnded(boolean successful, boolean outermost) {
+        Deferred pending = deferred.get();
+        if (!successful) {
+            pending.failed = true;
+        }
+        if (!outermost) {
+            return;
+        }
+        Set<String> changed = new HashSet<>(pending.tables);
+        boolean committed = !pending.failed;
+        pending.tables.clear();
+        pending.failed = false;
+        if (committed && !changed.isEmpty()) {
+            dispatch(changed);
+        }
+    }
+
+    private void dispatch(Set<String> changed) {
+        for (String table : changed) {
+            versions.computeIfAbsent(table, key -> new AtomicLong()).incrementAndGet();
+        }
+        for (Observer observer : observers) {
+            Set<String> affected = new HashSet<>(observer.tables);
+            affected.retainAll(changed);
+            if (!affected.isEmpty()) {
+                observer.onInvalidated(Collections.unmodifiableSet(affected));
+            }
+        }
+    }
+}
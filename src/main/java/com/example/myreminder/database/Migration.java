@@ -0,0 +1,27 @@
+package com.example.myreminder.database;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * One schema step from {@link #from} to {@link #to}. Steps must keep existing rows, so
+ * they use ALTER TABLE, index creation and backfill statements rather than dropping tables.
+ * The SQL inside a step describes the schema as it was at that version and must not
+ * change once the step has shipped.
+ */
+abstract class Migration {
+
+    final int from;
+    final int to;
+
+    Migration(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    abstract void migrate(SQLiteDatabase db);
+
+    @Override
+    public String toString() {
+        return "Migration{" + from + "->" + to + '}';
+    }
+}
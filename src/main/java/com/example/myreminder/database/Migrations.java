@@ -0,0 +1,252 @@
+package com.example.myreminder.database;
+
+import static com.example.myreminder.database.DatabaseHelper.*;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ordered chain of schema migrations applied by {@link DatabaseHelper#onUpgrade}.
+ * Append a new step here whenever {@code DATABASE_VERSION} is bumped.
+ */
+final class Migrations {
+
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON " + TABLE_TASKS +
+                    "(" + COLUMN_CREATED_AT + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_tasks_priority_due_date ON " + TABLE_TASKS +
+                    "(" + COLUMN_PRIORITY + ", " + COLUMN_DUE_DATE + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_tasks_is_done ON " + TABLE_TASKS +
+                    "(" + COLUMN_IS_DONE + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_notes_created_at ON " + TABLE_NOTES +
+                    "(" + COLUMN_CREATED_AT + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_reminders_task_id ON " + TABLE_REMINDERS +
+                    "(" + COLUMN_TASK_ID + ")");
+        }
+    };
+
+    /**
+     * Moves every timestamp from {@code yyyy-MM-dd HH:mm:ss} TEXT to INTEGER epoch millis.
+     * SQLite cannot change a column type in place, so each table is rebuilt and copied.
+     * due_date and reminder_time were written in device local time, while created_at and
+     * updated_at came from datetime('now') and are already UTC. Foreign keys are still off
+     * while onUpgrade runs, so dropping the old tasks table does not cascade into reminders.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            String nowMillis = "(CAST(strftime('%s', 'now') AS INTEGER) * 1000)";
+
+            db.execSQL("CREATE TABLE tasks_new(id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, " +
+                    "description TEXT, priority INTEGER DEFAULT 1, due_date INTEGER, is_done INTEGER DEFAULT 0, " +
+                    "created_at INTEGER DEFAULT " + nowMillis + ")");
+            db.execSQL("INSERT INTO tasks_new (id, title, description, priority, due_date, is_done, created_at) " +
+                    "SELECT id, title, description, priority, " + localTextToMillis("due_date") + ", is_done, " +
+                    "COALESCE(" + utcTextToMillis("created_at") + ", " + nowMillis + ") FROM tasks");
+            db.execSQL("DROP TABLE tasks");
+            db.execSQL("ALTER TABLE tasks_new RENAME TO tasks");
+
+            db.execSQL("CREATE TABLE notes_new(id INTEGER PRIMARY KEY AUTOINCREMENT, note_text TEXT NOT NULL, " +
+                    "tag TEXT, created_at INTEGER DEFAULT " + nowMillis + ", " +
+                    "updated_at INTEGER DEFAULT " + nowMillis + ")");
+            db.execSQL("INSERT INTO notes_new (id, note_text, tag, created_at, updated_at) " +
+                    "SELECT id, note_text, tag, " +
+                    "COALESCE(" + utcTextToMillis("created_at") + ", " + nowMillis + "), " +
+                    "COALESCE(" + utcTextToMillis("updated_at") + ", " + nowMillis + ") FROM notes");
+            db.execSQL("DROP TABLE notes");
+            db.execSQL("ALTER TABLE notes_new RENAME TO notes");
+
+            db.execSQL("CREATE TABLE reminders_new(id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "task_id INTEGER NOT NULL, reminder_time INTEGER NOT NULL, is_triggered INTEGER DEFAULT 0, " +
+                    "FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE)");
+            db.execSQL("INSERT INTO reminders_new (id, task_id, reminder_time, is_triggered) " +
+                    "SELECT id, task_id, COALESCE(" + localTextToMillis("reminder_time") + ", 0), is_triggered " +
+                    "FROM reminders");
+            db.execSQL("DROP TABLE reminders");
+            db.execSQL("ALTER TABLE reminders_new RENAME TO reminders");
+
+            // indexes were dropped along with the old tables
+            MIGRATION_1_2.migrate(db);
+        }
+
+        private String localTextToMillis(String column) {
+            return "CAST(strftime('%s', " + column + ", 'utc') AS INTEGER) * 1000";
+        }
+
+        private String utcTextToMillis(String column) {
+            return "CAST(strftime('%s', " + column + ") AS INTEGER) * 1000";
+        }
+    };
+
+    /**
+     * Adds FTS4 indexes over tasks(title, description) and notes(note_text, tag), the
+     * triggers that keep them in sync, and fills them from the existing rows.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE tasks_fts USING fts4(content=\"tasks\", title, description, " +
+                    "prefix=\"2,3\", tokenize=unicode61)");
+            db.execSQL("CREATE VIRTUAL TABLE notes_fts USING fts4(content=\"notes\", note_text, tag, " +
+                    "prefix=\"2,3\", tokenize=unicode61)");
+
+            db.execSQL("CREATE TRIGGER tasks_fts_before_update BEFORE UPDATE OF title, description ON tasks " +
+                    "BEGIN DELETE FROM tasks_fts WHERE docid = old.id; END");
+            db.execSQL("CREATE TRIGGER tasks_fts_before_delete BEFORE DELETE ON tasks " +
+                    "BEGIN DELETE FROM tasks_fts WHERE docid = old.id; END");
+            db.execSQL("CREATE TRIGGER tasks_fts_after_update AFTER UPDATE OF title, description ON tasks " +
+                    "BEGIN INSERT INTO tasks_fts(docid, title, description) " +
+                    "VALUES (new.id, new.title, new.description); END");
+            db.execSQL("CREATE TRIGGER tasks_fts_after_insert AFTER INSERT ON tasks " +
+                    "BEGIN INSERT INTO tasks_fts(docid, title, description) " +
+                    "VALUES (new.id, new.title, new.description); END");
+            db.execSQL("CREATE TRIGGER notes_fts_before_update BEFORE UPDATE OF note_text, tag ON notes " +
+                    "BEGIN DELETE FROM notes_fts WHERE docid = old.id; END");
+            db.execSQL("CREATE TRIGGER notes_fts_before_delete BEFORE DELETE ON notes " +
+                    "BEGIN DELETE FROM notes_fts WHERE docid = old.id; END");
+            db.execSQL("CREATE TRIGGER notes_fts_after_update AFTER UPDATE OF note_text, tag ON notes " +
+                    "BEGIN INSERT INTO notes_fts(docid, note_text, tag) VALUES (new.id, new.note_text, new.tag); END");
+            db.execSQL("CREATE TRIGGER notes_fts_after_insert AFTER INSERT ON notes " +
+                    "BEGIN INSERT INTO notes_fts(docid, note_text, tag) VALUES (new.id, new.note_text, new.tag); END");
+
+            db.execSQL("INSERT INTO tasks_fts(tasks_fts) VALUES ('rebuild')");
+            db.execSQL("INSERT INTO notes_fts(notes_fts) VALUES ('rebuild')");
+        }
+    };
+
+    /** Index for the reminder scheduler: pending reminders in firing order. */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_reminders_pending ON " + TABLE_REMINDERS +
+                    "(" + COLUMN_IS_TRIGGERED + ", " + COLUMN_REMINDER_TIME + ")");
+        }
+    };
+
+    /**
+     * Adds the trigger-maintained counter tables behind getTaskStats, seeded from the
+     * current rows, and replaces idx_tasks_is_done with idx_tasks_done_due_date, which also
+     * serves the overdue and due-today ranges.
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS idx_tasks_is_done");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_tasks_done_due_date ON tasks(is_done, due_date)");
+
+            db.execSQL("CREATE TABLE task_counters(priority INTEGER NOT NULL, is_done INTEGER NOT NULL, " +
+                    "count INTEGER NOT NULL DEFAULT 0, PRIMARY KEY (priority, is_done)) WITHOUT ROWID");
+            db.execSQL("CREATE TABLE reminder_counters(is_triggered INTEGER PRIMARY KEY, " +
+                    "count INTEGER NOT NULL DEFAULT 0) WITHOUT ROWID");
+            db.execSQL("INSERT INTO task_counters (priority, is_done, count) " +
+                    "SELECT IFNULL(priority, 0), IFNULL(is_done, 0), COUNT(*) FROM tasks GROUP BY 1, 2");
+            db.execSQL("INSERT INTO reminder_counters (is_triggered, count) " +
+                    "SELECT IFNULL(is_triggered, 0), COUNT(*) FROM reminders GROUP BY 1");
+
+            db.execSQL("CREATE TRIGGER task_counters_after_insert AFTER INSERT ON tasks BEGIN " +
+                    "INSERT OR IGNORE INTO task_counters (priority, is_done) " +
+                    "VALUES (IFNULL(new.priority, 0), IFNULL(new.is_done, 0)); " +
+                    "UPDATE task_counters SET count = count + 1 " +
+                    "WHERE priority = IFNULL(new.priority, 0) AND is_done = IFNULL(new.is_done, 0); END");
+            db.execSQL("CREATE TRIGGER task_counters_after_delete AFTER DELETE ON tasks BEGIN " +
+                    "UPDATE task_counters SET count = count - 1 " +
+                    "WHERE priority = IFNULL(old.priority, 0) AND is_done = IFNULL(old.is_done, 0); END");
+            db.execSQL("CREATE TRIGGER task_counters_after_update AFTER UPDATE OF priority, is_done ON tasks " +
+                    "WHEN old.priority IS NOT new.priority OR old.is_done IS NOT new.is_done BEGIN " +
+                    "UPDATE task_counters SET count = count - 1 " +
+                    "WHERE priority = IFNULL(old.priority, 0) AND is_done = IFNULL(old.is_done, 0); " +
+                    "INSERT OR IGNORE INTO task_counters (priority, is_done) " +
+                    "VALUES (IFNULL(new.priority, 0), IFNULL(new.is_done, 0)); " +
+                    "UPDATE task_counters SET count = count + 1 " +
+                    "WHERE priority = IFNULL(new.priority, 0) AND is_done = IFNULL(new.is_done, 0); END");
+
+            db.execSQL("CREATE TRIGGER reminder_counters_after_insert AFTER INSERT ON reminders BEGIN " +
+                    "INSERT OR IGNORE INTO reminder_counters (is_triggered) VALUES (IFNULL(new.is_triggered, 0)); " +
+                    "UPDATE reminder_counters SET count = count + 1 WHERE is_triggered = IFNULL(new.is_triggered, 0); END");
+            db.execSQL("CREATE TRIGGER reminder_counters_after_delete AFTER DELETE ON reminders BEGIN " +
+                    "UPDATE reminder_counters SET count = count - 1 WHERE is_triggered = IFNULL(old.is_triggered, 0); END");
+            db.execSQL("CREATE TRIGGER reminder_counters_after_update AFTER UPDATE OF is_triggered ON reminders " +
+                    "WHEN old.is_triggered IS NOT new.is_triggered BEGIN " +
+                    "UPDATE reminder_counters SET count = count - 1 WHERE is_triggered = IFNULL(old.is_triggered, 0); " +
+                    "INSERT OR IGNORE INTO reminder_counters (is_triggered) VALUES (IFNULL(new.is_triggered, 0)); " +
+                    "UPDATE reminder_counters SET count = count + 1 WHERE is_triggered = IFNULL(new.is_triggered, 0); END");
+        }
+    };
+
+    /** Progress of resumable bulk imports, see DataImporter. */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS import_progress(source TEXT PRIMARY KEY, " +
+                    "records INTEGER NOT NULL) WITHOUT ROWID");
+        }
+    };
+
+    /**
+     * Adds the change log behind incremental snapshots and the mark of the last snapshot.
+     * Existing rows are not logged: until the first full snapshot there is nothing to be
+     * incremental to.
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS change_log(table_name TEXT NOT NULL, row_id INTEGER NOT NULL, " +
+                    "PRIMARY KEY (table_name, row_id)) WITHOUT ROWID");
+            db.execSQL("CREATE TABLE IF NOT EXISTS snapshot_state(id INTEGER PRIMARY KEY CHECK (id = 1), " +
+                    "snapshot_id INTEGER NOT NULL)");
+            for (String table : new String[]{"tasks", "notes", "reminders"}) {
+                String[][] events = {{"insert", "new"}, {"update", "new"}, {"delete", "old"}};
+                for (String[] event : events) {
+                    String id = event[1] + ".id";
+                    db.execSQL("CREATE TRIGGER " + table + "_change_log_after_" + event[0] + " AFTER " + event[0] +
+                            " ON " + table + " BEGIN INSERT INTO change_log (table_name, row_id) SELECT '" + table +
+                            "', " + id + " WHERE NOT EXISTS (SELECT 1 FROM change_log WHERE table_name = '" + table +
+                            "' AND row_id = " + id + "); END");
+                }
+            }
+        }
+    };
+
+    static final List<Migration> ALL = Collections.unmodifiableList(Arrays.asList(
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8
+    ));
+
+    private Migrations() {
+    }
+
+    /**
+     * Returns the steps that lead from {@code fromVersion} to {@code toVersion}, preferring
+     * the longest step available at each version, or {@code null} when there is no path.
+     */
+    static List<Migration> path(List<Migration> migrations, int fromVersion, int toVersion) {
+        List<Migration> path = new ArrayList<>();
+        int version = fromVersion;
+        while (version < toVersion) {
+            Migration next = null;
+            for (Migration migration : migrations) {
+                if (migration.from == version && migration.to <= toVersion
+                        && (next == null || migration.to > next.to)) {
+                    next = migration;
+                }
+            }
+            if (next == null) {
+                return null;
+            }
+            path.add(next);
+            version = next.to;
+        }
+        return path;
+    }
+}
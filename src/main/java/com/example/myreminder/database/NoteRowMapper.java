@@ -0,0 +1,36 @@
+package com.example.myreminder.database;
+
+import android.database.Cursor;
+
+import com.example.myreminder.models.Note;
+
+final class NoteRowMapper implements RowMapper<Note> {
+
+    private final int idIndex;
+    private final int noteTextIndex;
+    private final int tagIndex;
+    private final int createdAtIndex;
+    private final int updatedAtIndex;
+
+    NoteRowMapper(Cursor cursor) {
+        idIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_ID);
+        noteTextIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_NOTE_TEXT);
+        tagIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_TAG);
+        createdAtIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_CREATED_AT);
+        updatedAtIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_UPDATED_AT);
+    }
+
+    @Override
+    public Note map(Cursor cursor) {
+        // the full constructor skips the setters, which would stamp updatedAt with the current time
+        Note note = new Note(
+                cursor.getInt(idIndex),
+                cursor.getString(noteTextIndex),
+                cursor.getString(tagIndex),
+                cursor.getLong(createdAtIndex),
+                cursor.getLong(updatedAtIndex)
+        );
+        note.markClean();
+        return note;
+    }
+}
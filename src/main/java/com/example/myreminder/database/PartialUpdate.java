@@ -0,0 +1,37 @@
+package com.example.myreminder.database;
+
+/**
+ * {@code UPDATE ... WHERE id = ?} statements that set only the columns in a dirty-field
+ * mask, bit {@code i} standing for {@code columns[i]}. The SQL for every mask is built once,
+ * so the {@link StatementCache} sees one string per combination of changed columns.
+ */
+final class PartialUpdate {
+
+    private final String[] sqlByMask;
+
+    /** {@code alwaysSet} columns follow the masked ones in every statement, e.g. updated_at. */
+    PartialUpdate(String table, String[] columns, String... alwaysSet) {
+        sqlByMask = new String[1 << columns.length];
+        // mask 0 has nothing to write and is left out; callers skip the update instead
+        for (int mask = 1; mask < sqlByMask.length; mask++) {
+            StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+            int assigned = 0;
+            for (int i = 0; i < columns.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    sql.append(assigned++ == 0 ? "" : ", ").append(columns[i]).append(" = ?");
+                }
+            }
+            for (String column : alwaysSet) {
+                sql.append(assigned++ == 0 ? "" : ", ").append(column).append(" = ?");
+            }
+            sqlByMask[mask] = sql.append(" WHERE ").append(DatabaseHelper.COLUMN_ID).append(" = ?").toString();
+        }
+    }
+
+    String sql(int mask) {
+        if (mask <= 0 || mask >= sqlByMask.length) {
+            throw new IllegalArgumentException("No columns for dirty mask " + mask);
+        }
+        return sqlByMask[mask];
+    }
+}
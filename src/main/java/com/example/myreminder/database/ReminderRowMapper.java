@@ -0,0 +1,32 @@
+package com.example.myreminder.database;
+
+import android.database.Cursor;
+
+import com.example.myreminder.models.Reminder;
+
+final class ReminderRowMapper implements RowMapper<Reminder> {
+
+    private final int idIndex;
+    private final int taskIdIndex;
+    private final int reminderTimeIndex;
+    private final int isTriggeredIndex;
+
+    ReminderRowMapper(Cursor cursor) {
+        idIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_ID);
+        taskIdIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_TASK_ID);
+        reminderTimeIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_REMINDER_TIME);
+        isTriggeredIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_IS_TRIGGERED);
+    }
+
+    @Override
+    public Reminder map(Cursor cursor) {
+        Reminder reminder = new Reminder(
+                cursor.getInt(idIndex),
+                cursor.getInt(taskIdIndex),
+                cursor.getLong(reminderTimeIndex),
+                cursor.getInt(isTriggeredIndex) == 1
+        );
+        reminder.markClean();
+        return reminder;
+    }
+}
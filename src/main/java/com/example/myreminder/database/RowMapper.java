@@ -0,0 +1,11 @@
+package com.example.myreminder.database;
+
+import android.database.Cursor;
+
+/**
+ * Maps the current cursor row to a model. Implementations resolve their column indices
+ * once, when they are created for a cursor, and only use indexed getters per row.
+ */
+interface RowMapper<T> {
+    T map(Cursor cursor);
+}
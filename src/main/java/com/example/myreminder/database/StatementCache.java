@@ -0,0 +1,51 @@
+package com.example.myreminder.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled statements owned by {@link DatabaseHelper}, keyed by their SQL text.
+ * A statement keeps its bindings between calls, so each thread gets its own copy; sharing
+ * one behind a lock would hold that lock while waiting for the write connection, which
+ * deadlocks against a thread that already has a transaction open.
+ */
+final class StatementCache {
+
+    private static final class Statements {
+        final Map<String, SQLiteStatement> bySql = new HashMap<>();
+        int generation;
+    }
+
+    private final ThreadLocal<Statements> statements = ThreadLocal.withInitial(Statements::new);
+    private volatile int generation;
+
+    SQLiteStatement acquire(SQLiteDatabase db, String sql) {
+        Statements local = statements.get();
+        if (local.generation != generation) {
+            closeAll(local);
+            local.generation = generation;
+        }
+        SQLiteStatement statement = local.bySql.get(sql);
+        if (statement == null) {
+            statement = db.compileStatement(sql);
+            local.bySql.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /** Drops every cached statement; other threads recompile on their next acquire. */
+    void clear() {
+        generation++;
+        closeAll(statements.get());
+    }
+
+    private static void closeAll(Statements local) {
+        for (SQLiteStatement statement : local.bySql.values()) {
+            statement.close();
+        }
+        local.bySql.clear();
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.myreminder.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A filtered, ordered task list for {@link DatabaseHelper#queryTasks}: any mix of priorities,
+ * done state, an inclusive due-date range, full-text words, an order and a limit.
+ *
+ * <p>Every query compiles to one parameterized statement. The SQL depends only on which
+ * filters are set, never on their values, so each of these shapes is built once and its text
+ * stays constant, letting every connection reuse the prepared statement. Priority lists are
+ * padded to the {@link InClause} sizes to keep the number of shapes small.
+ *
+ * <pre>
+ * helper.queryTasks(new TaskQuery().priorities(2, 3).done(false).orderBy(TaskQuery.Order.DUE_DATE).limit(20));
+ * </pre>
+ */
+public final class TaskQuery {
+
+    public enum Order {
+        /** Newest first, the order of the main list. */
+        NEWEST_FIRST,
+        /** Soonest due first, after the tasks without a due date. */
+        DUE_DATE,
+        /** Best full-text matches first; without {@link #matching} the same as {@link #NEWEST_FIRST}. */
+        RELEVANCE,
+        /** Whatever order the index SQLite picks returns rows in; the cheapest. */
+        UNORDERED
+    }
+
+    // match, done, due from, due to and limit leave this many variables for the priority list
+    private static final int MAX_PRIORITIES = InClause.MAX_VARIABLES - 5;
+
+    private static final int HAS_MATCH = 1;
+    private static final int HAS_DONE = 1 << 1;
+    private static final int HAS_DUE_FROM = 1 << 2;
+    private static final int HAS_DUE_TO = 1 << 3;
+    private static final int HAS_LIMIT = 1 << 4;
+    private static final int FLAG_COUNT = 1 << 5;
+    // no priorities, a single "= ?", or one of the IN list sizes
+    private static final int PRIORITY_SLOTS = 2 + InClause.SHAPE_COUNT;
+
+    private static final AtomicReferenceArray<String> SQL_BY_SHAPE =
+            new AtomicReferenceArray<>(PRIORITY_SLOTS * Order.values().length * FLAG_COUNT);
+
+    private int[] priorities = new int[0];
+    private Boolean done;
+    private Long dueFrom;
+    private Long dueTo;
+    private boolean textFilter;
+    private String match;
+    private Order order = Order.NEWEST_FIRST;
+    private int limit;
+
+    public TaskQuery() {
+    }
+
+    public TaskQuery(TaskQuery other) {
+        this.priorities = other.priorities;
+        this.done = other.done;
+        this.dueFrom = other.dueFrom;
+        this.dueTo = other.dueTo;
+        this.textFilter = other.textFilter;
+        this.match = other.match;
+        this.order = other.order;
+        this.limit = other.limit;
+    }
+
+    /** Only tasks with one of these priorities; no arguments drops the filter. */
+    public TaskQuery priorities(int... priorities) {
+        int[] sorted = priorities.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        if (distinct > MAX_PRIORITIES) {
+            throw new IllegalArgumentException("At most " + MAX_PRIORITIES + " priorities, got " + distinct);
+        }
+        this.priorities = Arrays.copyOf(sorted, distinct);
+        return this;
+    }
+
+    /** Only done, or only pending, tasks. */
+    public TaskQuery done(boolean done) {
+        this.done = done;
+        return this;
+    }
+
+    /** Only tasks due between the two epoch millis, both included. */
+    public TaskQuery dueBetween(long fromMillis, long toMillis) {
+        this.dueFrom = fromMillis;
+        this.dueTo = toMillis;
+        return this;
+    }
+
+    /** Only tasks due at or after the epoch millis. */
+    public TaskQuery dueFrom(long fromMillis) {
+        this.dueFrom = fromMillis;
+        return this;
+    }
+
+    /** Only tasks due at or before the epoch millis. */
+    public TaskQuery dueTo(long toMillis) {
+        this.dueTo = toMillis;
+        return this;
+    }
+
+    /**
+     * Only tasks whose title or description contains every word of {@code text}, as a whole
+     * word or a prefix. Text without any words matches nothing.
+     */
+    public TaskQuery matching(String text) {
+        this.textFilter = true;
+        this.match = FullTextSearch.matchQuery(text);
+        return this;
+    }
+
+    public TaskQuery orderBy(Order order) {
+        this.order = order;
+        return this;
+    }
+
+    /** At most {@code limit} tasks; 0 for all of them. */
+    public TaskQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Negative limit " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /** Whether the text filter can match no task, so the query need not run. */
+    boolean matchesNothing() {
+        return textFilter && match == null;
+    }
+
+    /** Whether the rows come back unsorted and the caller ranks them by relevance. */
+    boolean ranked() {
+        return effectiveOrder() == Order.RELEVANCE;
+    }
+
+    /** The statement for this query's shape; for relevance order the limit is left to the caller. */
+    String sql() {
+        int shape = shape();
+        String sql = SQL_BY_SHAPE.get(shape);
+        if (sql == null) {
+            sql = compile(priorityCount(), effectiveOrder(), shape % FLAG_COUNT);
+            SQL_BY_SHAPE.set(shape, sql);
+        }
+        return sql;
+    }
+
+    /** The values for {@link #sql()}'s placeholders, in order. */
+    String[] args() {
+        int flags = flags();
+        int count = priorityCount() + Integer.bitCount(flags);
+        String[] args = new String[count];
+        int i = 0;
+        if ((flags & HAS_MATCH) != 0) {
+            args[i++] = match;
+        }
+        for (int p = 0; p < priorityCount(); p++) {
+            // padding repeats the highest priority
+            args[i++] = String.valueOf(priorities[Math.min(p, priorities.length - 1)]);
+        }
+        if ((flags & HAS_DONE) != 0) {
+            args[i++] = done ? "1" : "0";
+        }
+        if ((flags & HAS_DUE_FROM) != 0) {
+            args[i++] = String.valueOf(dueFrom);
+        }
+        if ((flags & HAS_DUE_TO) != 0) {
+            args[i++] = String.valueOf(dueTo);
+        }
+        if ((flags & HAS_LIMIT) != 0) {
+            args[i] = String.valueOf(limit);
+        }
+        return args;
+    }
+
+    private Order effectiveOrder() {
+        return order == Order.RELEVANCE && !textFilter ? Order.NEWEST_FIRST : order;
+    }
+
+    private int flags() {
+        int flags = 0;
+        if (textFilter) {
+            flags |= HAS_MATCH;
+        }
+        if (done != null) {
+            flags |= HAS_DONE;
+        }
+        if (dueFrom != null) {
+            flags |= HAS_DUE_FROM;
+        }
+        if (dueTo != null) {
+            flags |= HAS_DUE_TO;
+        }
+        if (limit > 0 && !ranked()) {
+            flags |= HAS_LIMIT;
+        }
+        return flags;
+    }
+
+    private int priorityCount() {
+        return priorities.length <= 1 ? priorities.length : InClause.shapeSize(priorities.length, MAX_PRIORITIES);
+    }
+
+    private int shape() {
+        int slot = priorities.length <= 1
+                ? priorities.length
+                : 2 + InClause.shapeIndex(priorities.length, MAX_PRIORITIES);
+        return (slot * Order.values().length + effectiveOrder().ordinal()) * FLAG_COUNT + flags();
+    }
+
+    private static String compile(int priorityCount, Order order, int flags) {
+        String tasks = DatabaseHelper.TABLE_TASKS + ".";
+        StringBuilder sql = new StringBuilder("SELECT ").append(DatabaseHelper.QUALIFIED_TASK_COLUMNS);
+        List<String> where = new ArrayList<>();
+        if ((flags & HAS_MATCH) != 0) {
+            if (order == Order.RELEVANCE) {
+                sql.append(", matchinfo(").append(DatabaseHelper.TABLE_TASKS_FTS).append(", 'pcx') AS ")
+                        .append(DatabaseHelper.MATCH_INFO);
+            }
+            sql.append(" FROM ").append(DatabaseHelper.TABLE_TASKS_FTS).append(" JOIN ").append(DatabaseHelper.TABLE_TASKS)
+                    .append(" ON ").append(tasks).append(DatabaseHelper.COLUMN_ID).append(" = ")
+                    .append(DatabaseHelper.TABLE_TASKS_FTS).append(".docid");
+            where.add(DatabaseHelper.TABLE_TASKS_FTS + " MATCH ?");
+        } else {
+            sql.append(" FROM ").append(DatabaseHelper.TABLE_TASKS);
+        }
+        if (priorityCount == 1) {
+            where.add(tasks + DatabaseHelper.COLUMN_PRIORITY + " = ?");
+        } else if (priorityCount > 1) {
+            where.add(tasks + DatabaseHelper.COLUMN_PRIORITY + " IN " + InClause.placeholders(priorityCount));
+        }
+        if ((flags & HAS_DONE) != 0) {
+            where.add(tasks + DatabaseHelper.COLUMN_IS_DONE + " = ?");
+        }
+        if ((flags & HAS_DUE_FROM) != 0) {
+            where.add(tasks + DatabaseHelper.COLUMN_DUE_DATE + " >= ?");
+        }
+        if ((flags & HAS_DUE_TO) != 0) {
+            where.add(tasks + DatabaseHelper.COLUMN_DUE_DATE + " <= ?");
+        }
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        switch (order) {
+            case NEWEST_FIRST:
+                sql.append(" ORDER BY ").append(tasks).append(DatabaseHelper.COLUMN_CREATED_AT).append(" DESC, ")
+                        .append(tasks).append(DatabaseHelper.COLUMN_ID).append(" DESC");
+                break;
+            case DUE_DATE:
+                sql.append(" ORDER BY ").append(tasks).append(DatabaseHelper.COLUMN_DUE_DATE).append(", ")
+                        .append(tasks).append(DatabaseHelper.COLUMN_ID);
+                break;
+            default:
+                break;
+        }
+        if ((flags & HAS_LIMIT) != 0) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.myreminder.database;
+
+import android.database.Cursor;
+
+import com.example.myreminder.models.Task;
+
+final class TaskRowMapper implements RowMapper<Task> {
+
+    private final int idIndex;
+    private final int titleIndex;
+    private final int descriptionIndex;
+    private final int priorityIndex;
+    private final int dueDateIndex;
+    private final int isDoneIndex;
+    private final int createdAtIndex;
+
+    TaskRowMapper(Cursor cursor) {
+        idIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_ID);
+        titleIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_TITLE);
+        descriptionIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DESCRIPTION);
+        priorityIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_PRIORITY);
+        dueDateIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DUE_DATE);
+        isDoneIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_IS_DONE);
+        createdAtIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_CREATED_AT);
+    }
+
+    @Override
+    public Task map(Cursor cursor) {
+        Task task = new Task(
+                cursor.getInt(idIndex),
+                cursor.getString(titleIndex),
+                cursor.getString(descriptionIndex),
+                cursor.getInt(priorityIndex),
+                cursor.getLong(dueDateIndex),
+                cursor.getInt(isDoneIndex) == 1,
+                cursor.getLong(createdAtIndex)
+        );
+        task.markClean();
+        return task;
+    }
+}
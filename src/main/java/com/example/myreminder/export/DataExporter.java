@@ -0,0 +1,325 @@
+package com.example.myreminder.export;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+
+import androidx.annotation.WorkerThread;
+
+import com.example.myreminder.database.DatabaseHelper;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes tasks, notes and reminders to one file per table, as CSV or as JSON Lines.
+ *
+ * <p>Memory stays flat however big the database is: each table is read in keyset chunks of
+ * {@link #ROWS_PER_CHUNK} rows along its primary key, every row goes straight from the
+ * cursor to the writer, and the writer only buffers {@link #BUFFER_SIZE} characters before
+ * they go to the file channel, through gzip when asked. Nothing is held across chunks but
+ * the last id.
+ *
+ * <p>The chunks are separate reads, so writers are never blocked, but rows written while an
+ * export runs may or may not be in it. Files are written under a temporary name and only
+ * renamed once complete. Interrupting the thread stops the export between chunks.
+ */
+@WorkerThread
+public final class DataExporter {
+
+    public enum Format {
+        CSV(".csv"),
+        /** One JSON object per line, keyed by column name. */
+        JSON_LINES(".jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /** Told about each chunk written, on the exporting thread. */
+    public interface ProgressListener {
+        void onProgress(ExportProgress progress);
+    }
+
+    static final int ROWS_PER_CHUNK = 1_000;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private static final Table[] TABLES = {
+            new Table(DatabaseHelper.TABLE_TASKS, DatabaseHelper.COLUMN_ID, DatabaseHelper.COLUMN_TITLE,
+                    DatabaseHelper.COLUMN_DESCRIPTION, DatabaseHelper.COLUMN_PRIORITY, DatabaseHelper.COLUMN_DUE_DATE,
+                    DatabaseHelper.COLUMN_IS_DONE, DatabaseHelper.COLUMN_CREATED_AT),
+            new Table(DatabaseHelper.TABLE_NOTES, DatabaseHelper.COLUMN_ID, DatabaseHelper.COLUMN_NOTE_TEXT,
+                    DatabaseHelper.COLUMN_TAG, DatabaseHelper.COLUMN_CREATED_AT, DatabaseHelper.COLUMN_UPDATED_AT),
+            new Table(DatabaseHelper.TABLE_REMINDERS, DatabaseHelper.COLUMN_ID, DatabaseHelper.COLUMN_TASK_ID,
+                    DatabaseHelper.COLUMN_REMINDER_TIME, DatabaseHelper.COLUMN_IS_TRIGGERED)
+    };
+
+    /** A table's columns, id first, and the statement that reads the chunk after an id. */
+    private static final class Table {
+        final String name;
+        final String[] columns;
+        final String[] jsonKeys;
+        final String chunkSql;
+
+        Table(String name, String... columns) {
+            this.name = name;
+            this.columns = columns;
+            this.jsonKeys = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                jsonKeys[i] = (i == 0 ? "{\"" : ",\"") + columns[i] + "\":";
+            }
+            this.chunkSql = "SELECT " + String.join(", ", columns) + " FROM " + name +
+                    " WHERE " + columns[0] + " > ? ORDER BY " + columns[0] + " LIMIT " + ROWS_PER_CHUNK;
+        }
+    }
+
+    private final DatabaseHelper helper;
+
+    public DataExporter(DatabaseHelper helper) {
+        this.helper = helper;
+    }
+
+    /** The file {@link #export} writes {@code table} to. */
+    public static File fileFor(File directory, String table, Format format, boolean gzip) {
+        return new File(directory, table + format.extension + (gzip ? GZIP_EXTENSION : ""));
+    }
+
+    /**
+     * Writes every table into {@code directory}, named as {@link #fileFor} says, replacing
+     * any earlier export. Returns the final progress, with the totals and throughput.
+     */
+    public ExportProgress export(File directory, Format format, boolean gzip, ProgressListener listener)
+            throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        SQLiteDatabase db = helper.getReadableDatabase();
+        long totalRows = 0;
+        for (Table table : TABLES) {
+            totalRows += DatabaseUtils.queryNumEntries(db, table.name);
+        }
+        Run run = new Run(totalRows, listener);
+        List<File> written = new ArrayList<>(TABLES.length);
+        try {
+            for (Table table : TABLES) {
+                File temp = new File(directory, table.name + format.extension + TEMP_EXTENSION);
+                written.add(temp);
+                exportTable(db, table, temp, format, gzip, run);
+            }
+            for (int i = 0; i < TABLES.length; i++) {
+                File target = fileFor(directory, TABLES[i].name, format, gzip);
+                if (!written.get(i).renameTo(target)) {
+                    throw new IOException("Cannot rename " + written.get(i) + " to " + target);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (File temp : written) {
+                temp.delete();
+            }
+            throw e;
+        }
+        return run.progress(TABLES[TABLES.length - 1].name);
+    }
+
+    private static void exportTable(SQLiteDatabase db, Table table, File file, Format format, boolean gzip, Run run)
+            throws IOException {
+        try (FileOutputStream output = new FileOutputStream(file);
+             Writer writer = openWriter(output.getChannel(), gzip)) {
+            FileChannel channel = output.getChannel();
+            if (format == Format.CSV) {
+                writeCsvHeader(writer, table);
+            }
+            String[] args = {"0"};
+            long lastId = 0;
+            int rows;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Export of " + table.name + " interrupted");
+                }
+                rows = 0;
+                Cursor cursor = db.rawQuery(table.chunkSql, args);
+                try {
+                    while (cursor.moveToNext()) {
+                        if (format == Format.CSV) {
+                            writeCsvRow(writer, cursor, table.columns.length);
+                        } else {
+                            writeJsonRow(writer, cursor, table.jsonKeys);
+                        }
+                        lastId = cursor.getLong(0);
+                        rows++;
+                    }
+                } finally {
+                    cursor.close();
+                }
+                args[0] = String.valueOf(lastId);
+                run.rows += rows;
+                run.bytes = channel.position();
+                run.report(table.name);
+            } while (rows == ROWS_PER_CHUNK);
+        }
+        run.finishedBytes += file.length();
+        run.bytes = 0;
+    }
+
+    private static Writer openWriter(FileChannel channel, boolean gzip) throws IOException {
+        WritableByteChannel sink = gzip
+                ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))
+                : channel;
+        return new BufferedWriter(Channels.newWriter(sink, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE),
+                BUFFER_SIZE);
+    }
+
+    // ===== CSV (RFC 4180) =====
+
+    private static void writeCsvHeader(Writer writer, Table table) throws IOException {
+        for (int i = 0; i < table.columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(table.columns[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvRow(Writer writer, Cursor cursor, int columns) throws IOException {
+        for (int i = 0; i < columns; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            switch (cursor.getType(i)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    break;
+                case Cursor.FIELD_TYPE_INTEGER:
+                    writer.write(Long.toString(cursor.getLong(i)));
+                    break;
+                default:
+                    writeCsvField(writer, cursor.getString(i));
+                    break;
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        // an empty quoted field keeps "" apart from NULL, which is written as nothing
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i + 1 - start);
+                start = i;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    // ===== JSON Lines =====
+
+    private static void writeJsonRow(Writer writer, Cursor cursor, String[] keys) throws IOException {
+        for (int i = 0; i < keys.length; i++) {
+            writer.write(keys[i]);
+            switch (cursor.getType(i)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    writer.write("null");
+                    break;
+                case Cursor.FIELD_TYPE_INTEGER:
+                    writer.write(Long.toString(cursor.getLong(i)));
+                    break;
+                default:
+                    writeJsonString(writer, cursor.getString(i));
+                    break;
+            }
+        }
+        writer.write("}\n");
+    }
+
+    static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            writer.write(value, start, i - start);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    writer.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    break;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    /** Counters for one export call. */
+    private static final class Run {
+        final long totalRows;
+        final ProgressListener listener;
+        final long startNanos = SystemClock.elapsedRealtimeNanos();
+        long rows;
+        long bytes;
+        long finishedBytes;
+
+        Run(long totalRows, ProgressListener listener) {
+            this.totalRows = totalRows;
+            this.listener = listener;
+        }
+
+        void report(String table) {
+            if (listener != null) {
+                listener.onProgress(progress(table));
+            }
+        }
+
+        ExportProgress progress(String table) {
+            return new ExportProgress(table, rows, totalRows, finishedBytes + bytes,
+                    SystemClock.elapsedRealtimeNanos() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.myreminder.export;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/** How far an export has got, reported after every chunk and returned when it ends. */
+public final class ExportProgress {
+
+    private final String table;
+    private final long rows;
+    private final long totalRows;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    ExportProgress(String table, long rows, long totalRows, long bytes, long elapsedNanos) {
+        this.table = table;
+        this.rows = rows;
+        this.totalRows = totalRows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** The table being written. */
+    public String getTable() {
+        return table;
+    }
+
+    /** Rows written so far, over every table. */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Rows in every table when the export started. Rows added while it runs can make
+     * {@link #getRows()} end up above this.
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /** Bytes on disk so far, after compression; gzip holds some back until the end. */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /** From 0 to 1. */
+    public float getFraction() {
+        return totalRows == 0 ? 1f : Math.min(1f, (float) rows / totalRows);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s: %d/%d rows, %d bytes in %d ms (%.0f rows/s, %.1f MB/s)",
+                table, rows, totalRows, bytes, getElapsedMillis(), getRowsPerSecond(), getBytesPerSecond() / 1e6);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.myreminder.importer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 records: comma-separated, with {@code "}-quoted fields that may hold commas,
+ * line breaks and doubled quotes. Columns are matched to fields by the header, in any order
+ * and case; unknown columns are ignored. An empty unquoted field is {@code null}, an empty
+ * quoted one is the empty string, as {@code DataExporter} writes them.
+ */
+final class CsvRecordParser implements RecordParser {
+
+    private final int fieldCount;
+    // for every column of the file, the field it fills, or -1
+    private final int[] columnFields;
+
+    /** @throws IOException when the header has no column for the first, required, field */
+    CsvRecordParser(String header, String[] fields) throws IOException {
+        this.fieldCount = fields.length;
+        List<String> columns;
+        try {
+            columns = split(header);
+        } catch (InvalidRecordException e) {
+            throw new IOException("Malformed CSV header: " + e.getMessage());
+        }
+        columnFields = new int[columns.size()];
+        boolean required = false;
+        for (int c = 0; c < columns.size(); c++) {
+            String column = columns.get(c) == null ? "" : columns.get(c).trim().toLowerCase(Locale.ROOT);
+            columnFields[c] = -1;
+            for (int f = 0; f < fields.length; f++) {
+                if (fields[f].equals(column)) {
+                    columnFields[c] = f;
+                    required |= f == 0;
+                }
+            }
+        }
+        if (!required) {
+            throw new IOException("CSV header has no " + fields[0] + " column: " + header);
+        }
+    }
+
+    @Override
+    public String[] parse(String record) throws InvalidRecordException {
+        List<String> columns = split(record);
+        String[] values = new String[fieldCount];
+        for (int c = 0; c < columns.size() && c < columnFields.length; c++) {
+            if (columnFields[c] >= 0) {
+                values[columnFields[c]] = columns.get(c);
+            }
+        }
+        return values;
+    }
+
+    static List<String> split(String record) throws InvalidRecordException {
+        List<String> columns = new ArrayList<>();
+        int length = record.length();
+        int i = 0;
+        while (true) {
+            if (i < length && record.charAt(i) == '"') {
+                StringBuilder field = new StringBuilder();
+                i++;
+                while (true) {
+                    int quote = record.indexOf('"', i);
+                    if (quote < 0) {
+                        throw new InvalidRecordException("Unclosed quote in field " + (columns.size() + 1));
+                    }
+                    field.append(record, i, quote);
+                    i = quote + 1;
+                    if (i < length && record.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < length && record.charAt(i) != ',') {
+                    throw new InvalidRecordException("Text after the closing quote of field " + (columns.size() + 1));
+                }
+                columns.add(field.toString());
+            } else {
+                int comma = record.indexOf(',', i);
+                int end = comma < 0 ? length : comma;
+                columns.add(end == i ? null : record.substring(i, end));
+                i = end;
+            }
+            if (i >= length) {
+                return columns;
+            }
+            i++;  // the comma
+            if (i == length) {
+                columns.add(null);
+                return columns;
+            }
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.example.myreminder.importer;
+
+import android.os.SystemClock;
+
+import androidx.annotation.WorkerThread;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Task;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads tasks or notes from a CSV or JSON Lines file, plain or gzipped, such as the ones
+ * {@code DataExporter} writes.
+ *
+ * <p>The work runs as a pipeline. The calling thread cuts the file into chunks of raw records
+ * and hands each chunk to a fork-join pool, which parses, validates and normalizes it into
+ * models on as many threads as the pool has. The pending chunks wait in a bounded queue, in
+ * file order, for a single writer thread that inserts them a batch at a time, each batch in
+ * its own transaction. A batch is {@code batchSize} records of the file, rejected ones
+ * included; chunks are cut short at batch boundaries, so every batch but the last holds
+ * exactly that many. When the writer falls behind the queue fills and the reading waits,
+ * so memory holds at most the queued chunks and one batch, however big the file.
+ *
+ * <p>Each batch commits together with how many records of the file are in, so an import that
+ * was interrupted, or failed, picks up after its last committed batch when the same file is
+ * imported again. Records that cannot be read are counted and skipped; the import goes on.
+ */
+@WorkerThread
+public final class DataImporter {
+
+    public enum Target {
+        TASKS(DatabaseHelper.COLUMN_TITLE, DatabaseHelper.COLUMN_DESCRIPTION, DatabaseHelper.COLUMN_PRIORITY,
+                DatabaseHelper.COLUMN_DUE_DATE, DatabaseHelper.COLUMN_IS_DONE, DatabaseHelper.COLUMN_CREATED_AT),
+        NOTES(DatabaseHelper.COLUMN_NOTE_TEXT, DatabaseHelper.COLUMN_TAG, DatabaseHelper.COLUMN_CREATED_AT,
+                DatabaseHelper.COLUMN_UPDATED_AT);
+
+        // the first field is required; an id column in the file is ignored, rows get new ids
+        private final String[] fields;
+
+        Target(String... fields) {
+            this.fields = fields;
+        }
+    }
+
+    /** Told about each committed batch, on the writer thread. */
+    public interface ProgressListener {
+        void onProgress(ImportProgress progress);
+    }
+
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    static final int RECORDS_PER_CHUNK = 500;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final ForkJoinTask<Chunk> END = ForkJoinTask.adapt(() -> null);
+
+    private final DatabaseHelper helper;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+
+    public DataImporter(DatabaseHelper helper, int batchSize) {
+        this(helper, batchSize, ForkJoinPool.commonPool());
+    }
+
+    /** @param pool where records are parsed; the writer always runs on a thread of its own */
+    public DataImporter(DatabaseHelper helper, int batchSize, ForkJoinPool pool) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.helper = helper;
+        this.batchSize = batchSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Imports {@code file} into {@code target}, after whatever an earlier import of the same
+     * file committed. The format comes from the name: {@code .csv}, or {@code .jsonl},
+     * {@code .ndjson} or {@code .json} for JSON Lines, each optionally followed by {@code .gz}.
+     * Returns the final progress, with the counts and throughput.
+     *
+     * @throws InterruptedIOException when the thread is interrupted; the batches queued by then
+     *                                are committed first
+     */
+    public ImportProgress importFile(File file, Target target, ProgressListener listener) throws IOException {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        boolean csv = name.endsWith(".csv");
+        if (!csv && !name.endsWith(".jsonl") && !name.endsWith(".ndjson") && !name.endsWith(".json")) {
+            throw new IOException("Unknown import format: " + file.getName());
+        }
+        String source = sourceOf(file, target);
+        long skipped = helper.getImportedRecords(source);
+
+        try (InputStream input = open(file, gzip);
+             Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            RecordReader records = new RecordReader(reader, csv);
+            RecordParser parser;
+            if (csv) {
+                String header = records.next();
+                if (header == null) {
+                    return new ImportProgress(skipped, 0, 0, null, 0);
+                }
+                parser = new CsvRecordParser(header, target.fields);
+            } else {
+                parser = new JsonRecordParser(target.fields);
+            }
+            for (long i = 0; i < skipped; i++) {
+                if (records.next() == null) {
+                    break;
+                }
+            }
+            BatchWriter writer = new BatchWriter(source, skipped, listener);
+            writer.start();
+            read(records, parser, target, skipped, writer);
+            return writer.progress();
+        }
+    }
+
+    /** Forgets what earlier imports of {@code file} committed, so the next one starts from the top. */
+    public void forget(File file, Target target) throws IOException {
+        helper.clearImportProgress(sourceOf(file, target));
+    }
+
+    // a file that changes in any way is a new source
+    private static String sourceOf(File file, Target target) throws IOException {
+        return file.getCanonicalPath() + '|' + target + '|' + file.length() + '|' + file.lastModified();
+    }
+
+    private static InputStream open(File file, boolean gzip) throws IOException {
+        InputStream input = new FileInputStream(file);
+        try {
+            return gzip ? new GZIPInputStream(input, BUFFER_SIZE) : input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Cuts the records into chunks and queues their parsing, then ends the queue and waits
+     * for the writer, whichever way the reading stops.
+     */
+    private void read(RecordReader records, RecordParser parser, Target target, long firstRecord, BatchWriter writer)
+            throws IOException {
+        boolean interrupted = false;
+        try {
+            long recordNumber = firstRecord;
+            while (!writer.failed()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    interrupted = true;
+                    break;
+                }
+                // never past the end of the current batch, which the writer commits on its own
+                long leftInBatch = batchSize - (recordNumber - firstRecord) % batchSize;
+                int chunkSize = (int) Math.min(RECORDS_PER_CHUNK, leftInBatch);
+                List<String> chunk = new ArrayList<>(chunkSize);
+                String record;
+                while (chunk.size() < chunkSize && (record = records.next()) != null) {
+                    chunk.add(record);
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                if (!writer.offer(pool.submit(new ParseTask(chunk, parser, target, recordNumber)))) {
+                    interrupted = true;
+                    break;
+                }
+                recordNumber += chunk.size();
+            }
+        } finally {
+            // clear the flag so ending the queue and joining the writer can wait
+            interrupted |= Thread.interrupted();
+            writer.finish();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writer.rethrowFailure();
+        if (interrupted) {
+            throw new InterruptedIOException("Import interrupted after " + writer.committedRecords + " records");
+        }
+    }
+
+    // ===== parsing =====
+
+    /** A chunk turned into models, with the number of records it came from. */
+    private static final class Chunk {
+        final int records;
+        final List<Task> tasks;
+        final List<Note> notes;
+        int rejected;
+        String firstError;
+
+        Chunk(int records, Target target) {
+            this.records = records;
+            this.tasks = target == Target.TASKS ? new ArrayList<>(records) : new ArrayList<>(0);
+            this.notes = target == Target.NOTES ? new ArrayList<>(records) : new ArrayList<>(0);
+        }
+    }
+
+    private static final class ParseTask implements Callable<Chunk> {
+        private final List<String> records;
+        private final RecordParser parser;
+        private final Target target;
+        private final long firstRecord;
+
+        ParseTask(List<String> records, RecordParser parser, Target target, long firstRecord) {
+            this.records = records;
+            this.parser = parser;
+            this.target = target;
+            this.firstRecord = firstRecord;
+        }
+
+        @Override
+        public Chunk call() {
+            Chunk chunk = new Chunk(records.size(), target);
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    String[] values = parser.parse(records.get(i));
+                    if (target == Target.TASKS) {
+                        chunk.tasks.add(toTask(values));
+                    } else {
+                        chunk.notes.add(toNote(values));
+                    }
+                } catch (InvalidRecordException e) {
+                    if (chunk.rejected++ == 0) {
+                        chunk.firstError = "Record " + (firstRecord + i + 1) + ": " + e.getMessage();
+                    }
+                }
+            }
+            return chunk;
+        }
+    }
+
+    static Task toTask(String[] values) throws InvalidRecordException {
+        return new Task(0,
+                RecordNormalizer.requiredText(values[0], DatabaseHelper.COLUMN_TITLE),
+                RecordNormalizer.text(values[1]),
+                RecordNormalizer.priority(values[2]),
+                RecordNormalizer.date(values[3]),
+                RecordNormalizer.done(values[4]),
+                RecordNormalizer.date(values[5]));
+    }
+
+    static Note toNote(String[] values) throws InvalidRecordException {
+        return new Note(0,
+                RecordNormalizer.requiredText(values[0], DatabaseHelper.COLUMN_NOTE_TEXT),
+                RecordNormalizer.text(values[1]),
+                RecordNormalizer.date(values[2]),
+                RecordNormalizer.date(values[3]));
+    }
+
+    // ===== writing =====
+
+    /** The single writer: takes parsed chunks in file order and commits them in batches. */
+    private final class BatchWriter extends Thread {
+        private final BlockingQueue<ForkJoinTask<Chunk>> queue =
+                new ArrayBlockingQueue<>(2 * Math.max(1, pool.getParallelism()));
+        private final String source;
+        private final long skipped;
+        private final ProgressListener listener;
+        private final long startNanos = SystemClock.elapsedRealtimeNanos();
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<Note> notes = new ArrayList<>();
+        private volatile Throwable failure;
+        // written by this thread only, read by the reader once it has joined
+        private volatile long committedRecords;
+        private volatile long imported;
+        private volatile long rejected;
+        private volatile String firstError;
+        private long pendingRecords;
+        private long pendingRejected;
+
+        BatchWriter(String source, long skipped, ProgressListener listener) {
+            super("DataImporter-writer");
+            this.source = source;
+            this.skipped = skipped;
+            this.listener = listener;
+            this.committedRecords = skipped;
+        }
+
+        boolean failed() {
+            return failure != null;
+        }
+
+        /** Queues {@code task}, waiting while the queue is full; false when interrupted. */
+        boolean offer(ForkJoinTask<Chunk> task) {
+            try {
+                while (!queue.offer(task, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (failed()) {
+                        return true;  // nothing drains the queue any more; read() stops on failed()
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /** Ends the queue and waits until everything queued is committed, or the writer failed. */
+        void finish() {
+            boolean interrupted = false;
+            while (!failed() && !queue.offer(END)) {
+                try {
+                    Thread.sleep(OFFER_TIMEOUT_MILLIS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            while (isAlive()) {
+                try {
+                    join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void rethrowFailure() {
+            Throwable error = failure;
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    ForkJoinTask<Chunk> task = queue.take();
+                    if (task == END) {
+                        break;
+                    }
+                    add(task.join());
+                    if (pendingRecords >= batchSize) {
+                        commit();
+                    }
+                }
+                if (pendingRecords > 0) {
+                    commit();
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        private void add(Chunk chunk) {
+            tasks.addAll(chunk.tasks);
+            notes.addAll(chunk.notes);
+            pendingRecords += chunk.records;
+            pendingRejected += chunk.rejected;
+            if (firstError == null) {
+                firstError = chunk.firstError;
+            }
+        }
+
+        private void commit() {
+            long records = committedRecords + pendingRecords;
+            helper.addImportBatch(source, records, tasks, notes);
+            committedRecords = records;
+            imported += tasks.size() + notes.size();
+            rejected += pendingRejected;
+            tasks.clear();
+            notes.clear();
+            pendingRecords = 0;
+            pendingRejected = 0;
+            if (listener != null) {
+                listener.onProgress(progress());
+            }
+        }
+
+        ImportProgress progress() {
+            return new ImportProgress(skipped, imported, rejected, firstError,
+                    SystemClock.elapsedRealtimeNanos() - startNanos);
+        }
+    }
+}
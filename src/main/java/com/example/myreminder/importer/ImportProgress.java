@@ -0,0 +1,61 @@
+package com.example.myreminder.importer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+/** How far an import has got, reported after every committed batch and returned when it ends. */
+public final class ImportProgress {
+
+    private final long skipped;
+    private final long imported;
+    private final long rejected;
+    private final String firstError;
+    private final long elapsedNanos;
+
+    ImportProgress(long skipped, long imported, long rejected, String firstError, long elapsedNanos) {
+        this.skipped = skipped;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.firstError = firstError;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Records an earlier, stopped import of the same file already committed, and this one skipped. */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /** Rows this import committed. */
+    public long getImported() {
+        return imported;
+    }
+
+    /** Records this import could not read or validate and left out. */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /** Why the first rejected record was left out, with its record number; null when none was. */
+    @Nullable
+    public String getFirstError() {
+        return firstError;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /** Records read per second, rejected ones included. */
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (imported + rejected) * 1e9 / elapsedNanos;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d imported, %d rejected, %d skipped in %d ms (%.0f records/s)",
+                imported, rejected, skipped, getElapsedMillis(), getRecordsPerSecond());
+    }
+}
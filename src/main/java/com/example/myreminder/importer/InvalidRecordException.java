@@ -0,0 +1,9 @@
+package com.example.myreminder.importer;
+
+/** A record that cannot be imported; it is counted and skipped, the import goes on. */
+final class InvalidRecordException extends Exception {
+
+    InvalidRecordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.myreminder.importer;
+
+/**
+ * JSON Lines records: one flat object per line, fields looked up by key. Strings, numbers,
+ * booleans and {@code null} are read as text; unknown keys are skipped, nested objects and
+ * arrays make the record invalid.
+ */
+final class JsonRecordParser implements RecordParser {
+
+    private final String[] fields;
+
+    JsonRecordParser(String[] fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public String[] parse(String record) throws InvalidRecordException {
+        Cursor cursor = new Cursor(record);
+        String[] values = new String[fields.length];
+        cursor.expect('{');
+        if (cursor.peek() == '}') {
+            cursor.position++;
+            return values;
+        }
+        do {
+            String key = cursor.string();
+            cursor.expect(':');
+            String value = cursor.value();
+            for (int f = 0; f < fields.length; f++) {
+                if (fields[f].equals(key)) {
+                    values[f] = value;
+                }
+            }
+        } while (cursor.next(',', '}'));
+        cursor.end();
+        return values;
+    }
+
+    private static final class Cursor {
+        final String text;
+        int position;
+
+        Cursor(String text) {
+            this.text = text;
+        }
+
+        char peek() throws InvalidRecordException {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("Unexpected end of record");
+            }
+            return text.charAt(position);
+        }
+
+        void expect(char expected) throws InvalidRecordException {
+            if (peek() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            position++;
+        }
+
+        /** Consumes {@code more} or {@code last}; returns whether it was {@code more}. */
+        boolean next(char more, char last) throws InvalidRecordException {
+            char c = peek();
+            if (c != more && c != last) {
+                throw error("Expected '" + more + "' or '" + last + "'");
+            }
+            position++;
+            return c == more;
+        }
+
+        void end() throws InvalidRecordException {
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("Text after the object");
+            }
+        }
+
+        String value() throws InvalidRecordException {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested values are not supported");
+            }
+            int start = position;
+            while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("Missing value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String string() throws InvalidRecordException {
+            expect('"');
+            StringBuilder value = null;
+            int start = position;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '"') {
+                    String tail = text.substring(start, position++);
+                    return value == null ? tail : value.append(tail).toString();
+                }
+                if (c != '\\') {
+                    position++;
+                    continue;
+                }
+                if (value == null) {
+                    value = new StringBuilder();
+                }
+                value.append(text, start, position);
+                if (position + 1 >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position + 1);
+                position += 2;
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        value.append(hex());
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append(escaped);
+                        break;
+                    default:
+                        throw error("Unknown escape \\" + escaped);
+                }
+                start = position;
+            }
+            throw error("Unclosed string");
+        }
+
+        private char hex() throws InvalidRecordException {
+            if (position + 4 > text.length()) {
+                throw error("Short \\u escape");
+            }
+            try {
+                char c = (char) Integer.parseInt(text.substring(position, position + 4), 16);
+                position += 4;
+                return c;
+            } catch (NumberFormatException e) {
+                throw error("Bad \\u escape");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private InvalidRecordException error(String message) {
+            return new InvalidRecordException(message + " at column " + (position + 1));
+        }
+    }
+}
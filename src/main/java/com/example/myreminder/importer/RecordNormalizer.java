@@ -0,0 +1,148 @@
+package com.example.myreminder.importer;
+
+import com.example.myreminder.models.Task;
+import com.example.myreminder.utils.DateCodec;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Validates imported values and brings them to the forms the models store: text trimmed,
+ * priorities 1 to 3, and dates as the epoch millis of their {@link DateCodec#STORAGE_PATTERN}
+ * text. Other tools write dates in several ways; the ones accepted are listed on
+ * {@link #date}.
+ */
+final class RecordNormalizer {
+
+    // below this a number is taken for epoch seconds: 100 billion seconds is the year 5138
+    private static final long MAX_EPOCH_SECONDS = 100_000_000_000L;
+
+    private RecordNormalizer() {
+    }
+
+    /** Trimmed text, or {@code null} for nothing but whitespace. */
+    static String text(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    static String requiredText(String value, String field) throws InvalidRecordException {
+        String text = text(value);
+        if (text == null) {
+            throw new InvalidRecordException("Missing " + field);
+        }
+        return text;
+    }
+
+    /** 1 to 3, or the English or Arabic name of one; normal when missing. */
+    static int priority(String value) throws InvalidRecordException {
+        String text = text(value);
+        if (text == null) {
+            return Task.PRIORITY_NORMAL;
+        }
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "1":
+            case "low":
+            case "normal":
+            case "عادي":
+                return Task.PRIORITY_NORMAL;
+            case "2":
+            case "medium":
+            case "high":
+            case "important":
+            case "مهم":
+                return Task.PRIORITY_IMPORTANT;
+            case "3":
+            case "urgent":
+            case "عاجل":
+                return Task.PRIORITY_URGENT;
+            default:
+                throw new InvalidRecordException("Unknown priority " + text);
+        }
+    }
+
+    /** 1/0, true/false, yes/no or done/pending; pending when missing. */
+    static boolean done(String value) throws InvalidRecordException {
+        String text = text(value);
+        if (text == null) {
+            return false;
+        }
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "1":
+            case "true":
+            case "yes":
+            case "done":
+                return true;
+            case "0":
+            case "false":
+            case "no":
+            case "pending":
+                return false;
+            default:
+                throw new InvalidRecordException("Unknown done state " + text);
+        }
+    }
+
+    /**
+     * Epoch millis, 0 when missing. Accepts {@code yyyy-MM-dd HH:mm:ss}, the same without
+     * seconds or without a time, any of those with {@code T} for the space, ISO-8601 with
+     * fractions and a zone or offset, and epoch millis or seconds. Times without a zone are
+     * in the device zone.
+     */
+    static long date(String value) throws InvalidRecordException {
+        String text = text(value);
+        if (text == null) {
+            return 0;
+        }
+        if (isDigits(text)) {
+            long number;
+            try {
+                number = Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                throw new InvalidRecordException("Date out of range " + text);
+            }
+            return number < MAX_EPOCH_SECONDS ? number * 1000 : number;
+        }
+        String local = text.length() > 10 && text.charAt(10) == 'T'
+                ? text.substring(0, 10) + ' ' + text.substring(11)
+                : text;
+        switch (local.length()) {
+            case 10:
+                local += " 00:00:00";
+                break;
+            case 16:
+                local += ":00";
+                break;
+            default:
+                break;
+        }
+        if (local.length() > 19 && local.charAt(19) == '.' && isDigits(local.substring(20))) {
+            local = local.substring(0, 19);  // fractions of a second; storage keeps whole seconds
+        }
+        long millis = local.length() == 19 ? DateCodec.parse(local) : 0;
+        if (millis != 0) {
+            return millis;
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new InvalidRecordException("Unreadable date " + text);
+        }
+    }
+
+    private static boolean isDigits(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
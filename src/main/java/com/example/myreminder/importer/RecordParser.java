@@ -0,0 +1,10 @@
+package com.example.myreminder.importer;
+
+/**
+ * Splits one raw record into the values of an import's fields, in field order, with
+ * {@code null} for a field the record does not have. Parsers keep no state between records,
+ * so one parser serves every parsing thread.
+ */
+interface RecordParser {
+    String[] parse(String record) throws InvalidRecordException;
+}
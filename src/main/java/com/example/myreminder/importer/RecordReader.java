@@ -0,0 +1,85 @@
+package com.example.myreminder.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Cuts a character stream into raw records without parsing them, so the parsing can be
+ * spread over several threads. A record ends at a line break; in CSV a line break inside a
+ * quoted field belongs to the field. Blank lines are skipped and a leading byte order mark
+ * is dropped. The stream is read in blocks, not a character per call.
+ */
+final class RecordReader {
+
+    private static final int BLOCK_SIZE = 32 * 1024;
+
+    private final Reader reader;
+    private final boolean quotedLineBreaks;
+    private final char[] block = new char[BLOCK_SIZE];
+    private final StringBuilder record = new StringBuilder(256);
+    private int position;
+    private int limit;
+    private boolean started;
+
+    /** @param quotedLineBreaks whether a {@code "} opens a field that may hold line breaks, as in CSV */
+    RecordReader(Reader reader, boolean quotedLineBreaks) {
+        this.reader = reader;
+        this.quotedLineBreaks = quotedLineBreaks;
+    }
+
+    /** The next record without its line break, or {@code null} at the end of the stream. */
+    String next() throws IOException {
+        while (true) {
+            String line = nextLine();
+            if (line == null || !line.trim().isEmpty()) {
+                return line;
+            }
+        }
+    }
+
+    private String nextLine() throws IOException {
+        record.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                return record.length() == 0 ? null : trimCarriageReturn();
+            }
+            int start = position;
+            while (position < limit) {
+                char c = block[position++];
+                if (c == '"' && quotedLineBreaks) {
+                    // a doubled quote inside a field flips twice, so it never ends the field
+                    quoted = !quoted;
+                } else if (c == '\n' && !quoted) {
+                    record.append(block, start, position - 1 - start);
+                    return trimCarriageReturn();
+                }
+            }
+            record.append(block, start, position - start);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(block, 0, block.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        if (!started) {
+            started = true;
+            if (block[0] == '\uFEFF') {
+                position = 1;
+            }
+        }
+        return true;
+    }
+
+    private String trimCarriageReturn() {
+        int length = record.length();
+        if (length > 0 && record.charAt(length - 1) == '\r') {
+            record.setLength(length - 1);
+        }
+        return record.toString();
+    }
+}
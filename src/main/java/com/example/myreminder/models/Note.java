@@ -2,38 +2,60 @@ package com.example.myreminder.models;
 
 import androidx.annotation.NonNull;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import com.example.myreminder.utils.DateCodec;
+
+import java.util.Objects;
 
 public class Note {
+
+    // bits of getDirtyFields(); updated_at is written with any of them
+    public static final int FIELD_NOTE_TEXT = 1;
+    public static final int FIELD_TAG = 1 << 1;
+    public static final int ALL_FIELDS = (1 << 2) - 1;
+
     private int id;
     private String noteText;
     private String tag;
-    private String createdAt;
-    private String updatedAt;
+    private long createdAtMillis;
+    private String createdAt; // display text, formatted lazily from createdAtMillis
+    private long updatedAtMillis;
+    private String updatedAt; // display text, formatted lazily from updatedAtMillis
+    private int dirtyFields = ALL_FIELDS; // nothing is stored yet until a row mapper or a save says so
 
     //  (Constructors)
     public Note() {
-        String currentTime = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
-        this.createdAt = currentTime;
-        this.updatedAt = currentTime;
+        long currentTime = System.currentTimeMillis();
+        this.createdAtMillis = currentTime;
+        this.updatedAtMillis = currentTime;
     }
 
     public Note(String noteText, String tag) {
         this.noteText = noteText;
         this.tag = tag;
-        String currentTime = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
-        this.createdAt = currentTime;
-        this.updatedAt = currentTime;
+        long currentTime = System.currentTimeMillis();
+        this.createdAtMillis = currentTime;
+        this.updatedAtMillis = currentTime;
     }
 
     public Note(int id, String noteText, String tag, String createdAt, String updatedAt) {
         this.id = id;
         this.noteText = noteText;
         this.tag = tag;
-        this.createdAt = createdAt;
-        this.updatedAt = updatedAt;
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+    }
+
+    public Note(int id, String noteText, String tag, long createdAtMillis, long updatedAtMillis) {
+        this.id = id;
+        this.noteText = noteText;
+        this.tag = tag;
+        this.createdAtMillis = createdAtMillis;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    public Note(Note other) {
+        this(other.id, other.noteText, other.tag, other.createdAtMillis, other.updatedAtMillis);
+        this.dirtyFields = other.dirtyFields;
     }
 
     // (Getters and Setters)
@@ -50,8 +72,11 @@ public class Note {
     }
 
     public void setNoteText(String noteText) {
+        if (!Objects.equals(this.noteText, noteText)) {
+            dirtyFields |= FIELD_NOTE_TEXT;
+        }
         this.noteText = noteText;
-        this.updatedAt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+        setUpdatedAtMillis(System.currentTimeMillis());
     }
 
     public String getTag() {
@@ -59,47 +84,96 @@ public class Note {
     }
 
     public void setTag(String tag) {
+        if (!Objects.equals(this.tag, tag)) {
+            dirtyFields |= FIELD_TAG;
+        }
         this.tag = tag;
-        this.updatedAt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+        setUpdatedAtMillis(System.currentTimeMillis());
     }
 
     public String getCreatedAt() {
+        if (createdAt == null && createdAtMillis != 0) {
+            createdAt = DateCodec.format(createdAtMillis);
+        }
         return createdAt;
     }
 
     public void setCreatedAt(String createdAt) {
         this.createdAt = createdAt;
+        this.createdAtMillis = DateCodec.parse(createdAt);
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.createdAt = null;
     }
 
     public String getUpdatedAt() {
+        if (updatedAt == null && updatedAtMillis != 0) {
+            updatedAt = DateCodec.format(updatedAtMillis);
+        }
         return updatedAt;
     }
 
     public void setUpdatedAt(String updatedAt) {
         this.updatedAt = updatedAt;
+        this.updatedAtMillis = DateCodec.parse(updatedAt);
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    public void setUpdatedAtMillis(long updatedAtMillis) {
+        this.updatedAtMillis = updatedAtMillis;
+        this.updatedAt = null;
+    }
+
+    // (Change tracking)
+
+    /** The FIELD_ bits changed since this note was read or saved; all of them for a note never stored. */
+    public int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    /** Forgets the changes, once the database holds them. */
+    public void markClean() {
+        dirtyFields = 0;
+    }
+
+    /** Forgets the changes to the fields in {@code fields}, a mask of FIELD_ bits; the others stay dirty. */
+    public void markClean(int fields) {
+        dirtyFields &= ~fields;
+    }
+
+    /** Takes the fields named by {@code fields}, a mask of FIELD_ bits, from {@code source}. */
+    public void copyFields(Note source, int fields) {
+        // straight to the fields: the setters would stamp updatedAt with the current time
+        if ((fields & FIELD_NOTE_TEXT) != 0 && !Objects.equals(noteText, source.noteText)) {
+            noteText = source.noteText;
+            dirtyFields |= FIELD_NOTE_TEXT;
+        }
+        if ((fields & FIELD_TAG) != 0 && !Objects.equals(tag, source.tag)) {
+            tag = source.tag;
+            dirtyFields |= FIELD_TAG;
+        }
     }
 
     // (Helper Methods)
     public String getFormattedCreatedAt() {
-        return formatDate(createdAt);
+        return DateCodec.formatForDisplay(createdAtMillis, DateCodec.DISPLAY_DATE_TIME, createdAt);
     }
 
     public String getFormattedUpdatedAt() {
-        return formatDate(updatedAt);
-    }
-
-    private String formatDate(String dateString) {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-            Date date = sdf.parse(dateString);
-            if (date != null) {
-                SimpleDateFormat outputFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
-                return outputFormat.format(date);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return dateString;
+        return DateCodec.formatForDisplay(updatedAtMillis, DateCodec.DISPLAY_DATE_TIME, updatedAt);
     }
 
     public boolean hasTag() {
@@ -114,6 +188,23 @@ public class Note {
         return noteText.substring(0, 100) + "...";
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Note other = (Note) o;
+        return id == other.id &&
+                createdAtMillis == other.createdAtMillis &&
+                updatedAtMillis == other.updatedAtMillis &&
+                Objects.equals(noteText, other.noteText) &&
+                Objects.equals(tag, other.tag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, noteText, tag, createdAtMillis, updatedAtMillis);
+    }
+
     @NonNull
     @Override
     public String toString() {
@@ -1,14 +1,23 @@
 package com.example.myreminder.models;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import com.example.myreminder.utils.DateCodec;
+
+import java.util.Objects;
 
 public class Reminder {
+
+    // bits of getDirtyFields(), one per column an update can write
+    public static final int FIELD_TASK_ID = 1;
+    public static final int FIELD_TIME = 1 << 1;
+    public static final int FIELD_TRIGGERED = 1 << 2;
+    public static final int ALL_FIELDS = (1 << 3) - 1;
+
     private int id;
     private int taskId;
-    private String reminderTime;
+    private long reminderTimeMillis; // 0: not set or not parseable
+    private String reminderTime; // display text, formatted lazily from reminderTimeMillis
     private boolean isTriggered;
+    private int dirtyFields = ALL_FIELDS; // nothing is stored yet until a row mapper or a save says so
 
     // (Constructors)
     public Reminder() {
@@ -16,17 +25,29 @@ public class Reminder {
 
     public Reminder(int taskId, String reminderTime) {
         this.taskId = taskId;
-        this.reminderTime = reminderTime;
+        setReminderTime(reminderTime);
         this.isTriggered = false;
     }
 
     public Reminder(int id, int taskId, String reminderTime, boolean isTriggered) {
         this.id = id;
         this.taskId = taskId;
-        this.reminderTime = reminderTime;
+        setReminderTime(reminderTime);
         this.isTriggered = isTriggered;
     }
 
+    public Reminder(int id, int taskId, long reminderTimeMillis, boolean isTriggered) {
+        this.id = id;
+        this.taskId = taskId;
+        this.reminderTimeMillis = reminderTimeMillis;
+        this.isTriggered = isTriggered;
+    }
+
+    public Reminder(Reminder other) {
+        this(other.id, other.taskId, other.reminderTimeMillis, other.isTriggered);
+        this.dirtyFields = other.dirtyFields;
+    }
+
     // (Getters and Setters)
     public int getId() {
         return id;
@@ -41,15 +62,26 @@ public class Reminder {
     }
 
     public void setTaskId(int taskId) {
+        if (this.taskId != taskId) {
+            dirtyFields |= FIELD_TASK_ID;
+        }
         this.taskId = taskId;
     }
 
     public String getReminderTime() {
+        if (reminderTime == null && reminderTimeMillis != 0) {
+            reminderTime = DateCodec.format(reminderTimeMillis);
+        }
         return reminderTime;
     }
 
     public void setReminderTime(String reminderTime) {
+        long millis = DateCodec.parse(reminderTime);
+        if (this.reminderTimeMillis != millis) {
+            dirtyFields |= FIELD_TIME;
+        }
         this.reminderTime = reminderTime;
+        this.reminderTimeMillis = millis;
     }
 
     public boolean isTriggered() {
@@ -57,56 +89,87 @@ public class Reminder {
     }
 
     public void setTriggered(boolean triggered) {
+        if (isTriggered != triggered) {
+            dirtyFields |= FIELD_TRIGGERED;
+        }
         isTriggered = triggered;
     }
 
+    // (Change tracking)
+
+    /** The FIELD_ bits changed since this reminder was read or saved; all of them for one never stored. */
+    public int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    /** Forgets the changes, once the database holds them. */
+    public void markClean() {
+        dirtyFields = 0;
+    }
+
+    /** Forgets the changes to the fields in {@code fields}, a mask of FIELD_ bits; the others stay dirty. */
+    public void markClean(int fields) {
+        dirtyFields &= ~fields;
+    }
+
+    /** Takes the fields named by {@code fields}, a mask of FIELD_ bits, from {@code source}. */
+    public void copyFields(Reminder source, int fields) {
+        if ((fields & FIELD_TASK_ID) != 0) {
+            setTaskId(source.taskId);
+        }
+        if ((fields & FIELD_TIME) != 0) {
+            setTimeInMillis(source.reminderTimeMillis);
+        }
+        if ((fields & FIELD_TRIGGERED) != 0) {
+            setTriggered(source.isTriggered);
+        }
+    }
+
     // (Helper Methods)
     public String getFormattedReminderTime() {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-            Date date = sdf.parse(reminderTime);
-            if (date != null) {
-                SimpleDateFormat outputFormat = new SimpleDateFormat("EEE, dd MMM yyyy - HH:mm", Locale.getDefault());
-                return outputFormat.format(date);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return reminderTime;
+        return DateCodec.formatForDisplay(reminderTimeMillis, DateCodec.DISPLAY_DAY_DATE_TIME, reminderTime);
     }
 
     public boolean isDue() {
-        if (reminderTime == null || reminderTime.isEmpty()) {
-            return false;
-        }
-
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-            Date reminderDate = sdf.parse(reminderTime);
-            Date now = new Date();
-            return reminderDate != null && reminderDate.before(now) && !isTriggered;
-        } catch (Exception e) {
-            return false;
-        }
+        return reminderTimeMillis != 0 && reminderTimeMillis < System.currentTimeMillis() && !isTriggered;
     }
 
     public long getTimeInMillis() {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-            Date date = sdf.parse(reminderTime);
-            if (date != null) {
-                return date.getTime();
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        return reminderTimeMillis;
+    }
+
+    public void setTimeInMillis(long reminderTimeMillis) {
+        if (this.reminderTimeMillis != reminderTimeMillis) {
+            dirtyFields |= FIELD_TIME;
         }
-        return 0;
+        this.reminderTimeMillis = reminderTimeMillis;
+        this.reminderTime = null;
     }
 
     public String getStatusText() {
         return isTriggered ? "تم التنبيه" : "في انتظار التنبيه";
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Reminder other = (Reminder) o;
+        return id == other.id &&
+                taskId == other.taskId &&
+                reminderTimeMillis == other.reminderTimeMillis &&
+                isTriggered == other.isTriggered;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, taskId, reminderTimeMillis, isTriggered);
+    }
+
     @Override
     public String toString() {
         return "Reminder{" +
@@ -0,0 +1,50 @@
+package com.example.myreminder.models;
+
+import androidx.annotation.NonNull;
+
+/**
+ * One full-text search hit: the matching row, its relevance score and, when requested,
+ * a short excerpt with the matched words wrapped in {@link #HIGHLIGHT_START} and
+ * {@link #HIGHLIGHT_END}.
+ */
+public class SearchResult<T> {
+
+    public static final String HIGHLIGHT_START = "<b>";
+    public static final String HIGHLIGHT_END = "</b>";
+
+    private final T item;
+    private final double score;
+    private final String snippet;
+
+    public SearchResult(T item, double score, String snippet) {
+        this.item = item;
+        this.score = score;
+        this.snippet = snippet;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public boolean hasSnippet() {
+        return snippet != null && !snippet.isEmpty();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "item=" + item +
+                ", score=" + score +
+                ", snippet='" + snippet + '\'' +
+                '}';
+    }
+}
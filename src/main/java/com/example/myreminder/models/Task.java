@@ -2,31 +2,47 @@ package com.example.myreminder.models;
 
 import androidx.annotation.NonNull;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import com.example.myreminder.utils.DateCodec;
+
+import java.util.Objects;
 
 public class Task {
+
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_IMPORTANT = 2;
+    public static final int PRIORITY_URGENT = 3;
+
+    // bits of getDirtyFields(), one per column an update can write
+    public static final int FIELD_TITLE = 1;
+    public static final int FIELD_DESCRIPTION = 1 << 1;
+    public static final int FIELD_PRIORITY = 1 << 2;
+    public static final int FIELD_DUE_DATE = 1 << 3;
+    public static final int FIELD_DONE = 1 << 4;
+    public static final int ALL_FIELDS = (1 << 5) - 1;
+
     private int id;
     private String title;
     private String description;
     private int priority; // 1: عادي, 2: مهم, 3: عاجل
-    private String dueDate;
+    private long dueDateMillis; // 0: no due date
+    private String dueDate; // display text, formatted lazily from dueDateMillis
     private boolean isDone;
+    private long createdAtMillis;
     private String createdAt;
+    private int dirtyFields = ALL_FIELDS; // nothing is stored yet until a row mapper or a save says so
 
     // (Constructors)
     public Task() {
-        this.createdAt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+        this.createdAtMillis = System.currentTimeMillis();
     }
 
     public Task(String title, String description, int priority, String dueDate) {
         this.title = title;
         this.description = description;
         this.priority = priority;
-        this.dueDate = dueDate;
+        setDueDate(dueDate);
         this.isDone = false;
-        this.createdAt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+        this.createdAtMillis = System.currentTimeMillis();
     }
 
     public Task(int id, String title, String description, int priority, String dueDate, boolean isDone, String createdAt) {
@@ -34,9 +50,24 @@ public class Task {
         this.title = title;
         this.description = description;
         this.priority = priority;
-        this.dueDate = dueDate;
+        setDueDate(dueDate);
         this.isDone = isDone;
-        this.createdAt = createdAt;
+        setCreatedAt(createdAt);
+    }
+
+    public Task(int id, String title, String description, int priority, long dueDateMillis, boolean isDone, long createdAtMillis) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.dueDateMillis = dueDateMillis;
+        this.isDone = isDone;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    public Task(Task other) {
+        this(other.id, other.title, other.description, other.priority, other.dueDateMillis, other.isDone, other.createdAtMillis);
+        this.dirtyFields = other.dirtyFields;
     }
 
     // دوال الوصول (Getters and Setters)
@@ -53,6 +84,9 @@ public class Task {
     }
 
     public void setTitle(String title) {
+        if (!Objects.equals(this.title, title)) {
+            dirtyFields |= FIELD_TITLE;
+        }
         this.title = title;
     }
 
@@ -61,6 +95,9 @@ public class Task {
     }
 
     public void setDescription(String description) {
+        if (!Objects.equals(this.description, description)) {
+            dirtyFields |= FIELD_DESCRIPTION;
+        }
         this.description = description;
     }
 
@@ -69,15 +106,42 @@ public class Task {
     }
 
     public void setPriority(int priority) {
+        if (this.priority != priority) {
+            dirtyFields |= FIELD_PRIORITY;
+        }
         this.priority = priority;
     }
 
     public String getDueDate() {
+        if (dueDate == null && dueDateMillis != 0) {
+            dueDate = DateCodec.format(dueDateMillis);
+        }
         return dueDate;
     }
 
+    /** Empty or null text clears the due date; text that does not parse leaves it as it was. */
     public void setDueDate(String dueDate) {
+        long millis = DateCodec.parse(dueDate);
+        if (millis == 0 && dueDate != null && !dueDate.isEmpty()) {
+            return;
+        }
+        if (this.dueDateMillis != millis) {
+            dirtyFields |= FIELD_DUE_DATE;
+        }
         this.dueDate = dueDate;
+        this.dueDateMillis = millis;
+    }
+
+    public long getDueDateMillis() {
+        return dueDateMillis;
+    }
+
+    public void setDueDateMillis(long dueDateMillis) {
+        if (this.dueDateMillis != dueDateMillis) {
+            dirtyFields |= FIELD_DUE_DATE;
+        }
+        this.dueDateMillis = dueDateMillis;
+        this.dueDate = null;
     }
 
     public boolean isDone() {
@@ -85,15 +149,76 @@ public class Task {
     }
 
     public void setDone(boolean done) {
+        if (isDone != done) {
+            dirtyFields |= FIELD_DONE;
+        }
         isDone = done;
     }
 
     public String getCreatedAt() {
+        if (createdAt == null && createdAtMillis != 0) {
+            createdAt = DateCodec.format(createdAtMillis);
+        }
         return createdAt;
     }
 
+    /** Like {@link #setDueDate}: text that does not parse leaves the creation time as it was. */
     public void setCreatedAt(String createdAt) {
+        long millis = DateCodec.parse(createdAt);
+        if (millis == 0 && createdAt != null && !createdAt.isEmpty()) {
+            return;
+        }
         this.createdAt = createdAt;
+        this.createdAtMillis = millis;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.createdAt = null;
+    }
+
+    // (Change tracking)
+
+    /** The FIELD_ bits changed since this task was read or saved; all of them for a task never stored. */
+    public int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    /** Forgets the changes, once the database holds them. */
+    public void markClean() {
+        dirtyFields = 0;
+    }
+
+    /** Forgets the changes to the fields in {@code fields}, a mask of FIELD_ bits; the others stay dirty. */
+    public void markClean(int fields) {
+        dirtyFields &= ~fields;
+    }
+
+    /** Takes the fields named by {@code fields}, a mask of FIELD_ bits, from {@code source}. */
+    public void copyFields(Task source, int fields) {
+        if ((fields & FIELD_TITLE) != 0) {
+            setTitle(source.title);
+        }
+        if ((fields & FIELD_DESCRIPTION) != 0) {
+            setDescription(source.description);
+        }
+        if ((fields & FIELD_PRIORITY) != 0) {
+            setPriority(source.priority);
+        }
+        if ((fields & FIELD_DUE_DATE) != 0) {
+            setDueDateMillis(source.dueDateMillis);
+        }
+        if ((fields & FIELD_DONE) != 0) {
+            setDone(source.isDone);
+        }
     }
 
     // (Helper Methods)
@@ -122,24 +247,33 @@ public class Task {
     }
 
     public boolean isOverdue() {
-        if (dueDate == null || dueDate.isEmpty()) {
-            return false;
-        }
-
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-            Date due = sdf.parse(dueDate);
-            Date now = new Date();
-            return due != null && due.before(now) && !isDone;
-        } catch (Exception e) {
-            return false;
-        }
+        return dueDateMillis != 0 && dueDateMillis < System.currentTimeMillis() && !isDone;
     }
 
     public String getStatusText() {
         return isDone ? "منجزة" : "قيد الانتظار";
     }
 
+    // equality covers the persisted fields; the display strings and dirty bits are not part of the value
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Task other = (Task) o;
+        return id == other.id &&
+                priority == other.priority &&
+                dueDateMillis == other.dueDateMillis &&
+                isDone == other.isDone &&
+                createdAtMillis == other.createdAtMillis &&
+                Objects.equals(title, other.title) &&
+                Objects.equals(description, other.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description, priority, dueDateMillis, isDone, createdAtMillis);
+    }
+
     @NonNull
     @Override
     public String toString() {
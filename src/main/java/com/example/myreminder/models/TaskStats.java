@@ -0,0 +1,119 @@
+package com.example.myreminder.models;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Dashboard counters for tasks and reminders, read in one query. Priorities with no tasks
+ * in a state count as zero.
+ */
+public class TaskStats {
+
+    private final Map<Integer, Integer> pendingByPriority;
+    private final Map<Integer, Integer> doneByPriority;
+    private final int overdueCount;
+    private final int dueTodayCount;
+    private final int pendingReminderCount;
+
+    public TaskStats(Map<Integer, Integer> pendingByPriority, Map<Integer, Integer> doneByPriority,
+                     int overdueCount, int dueTodayCount, int pendingReminderCount) {
+        this.pendingByPriority = Collections.unmodifiableMap(new TreeMap<>(pendingByPriority));
+        this.doneByPriority = Collections.unmodifiableMap(new TreeMap<>(doneByPriority));
+        this.overdueCount = overdueCount;
+        this.dueTodayCount = dueTodayCount;
+        this.pendingReminderCount = pendingReminderCount;
+    }
+
+    public int getTotalCount() {
+        return getPendingCount() + getDoneCount();
+    }
+
+    public int getPendingCount() {
+        return sum(pendingByPriority);
+    }
+
+    public int getDoneCount() {
+        return sum(doneByPriority);
+    }
+
+    public int getPendingCount(int priority) {
+        return countOf(pendingByPriority, priority);
+    }
+
+    public int getDoneCount(int priority) {
+        return countOf(doneByPriority, priority);
+    }
+
+    public int getCount(int priority) {
+        return getPendingCount(priority) + getDoneCount(priority);
+    }
+
+    /** Pending counts keyed by priority, lowest first. */
+    public Map<Integer, Integer> getPendingByPriority() {
+        return pendingByPriority;
+    }
+
+    public Map<Integer, Integer> getDoneByPriority() {
+        return doneByPriority;
+    }
+
+    /** Pending tasks whose due date has passed. */
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    /** Pending tasks due later today, local time; overdue ones from earlier today count here too. */
+    public int getDueTodayCount() {
+        return dueTodayCount;
+    }
+
+    public int getPendingReminderCount() {
+        return pendingReminderCount;
+    }
+
+    private static int sum(Map<Integer, Integer> counts) {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static int countOf(Map<Integer, Integer> counts, int priority) {
+        Integer count = counts.get(priority);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskStats other = (TaskStats) o;
+        return overdueCount == other.overdueCount &&
+                dueTodayCount == other.dueTodayCount &&
+                pendingReminderCount == other.pendingReminderCount &&
+                pendingByPriority.equals(other.pendingByPriority) &&
+                doneByPriority.equals(other.doneByPriority);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pendingByPriority, doneByPriority, overdueCount, dueTodayCount, pendingReminderCount);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "TaskStats{" +
+                "pending=" + pendingByPriority +
+                ", done=" + doneByPriority +
+                ", overdue=" + overdueCount +
+                ", dueToday=" + dueTodayCount +
+                ", pendingReminders=" + pendingReminderCount +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.myreminder.paging;
+
+import androidx.annotation.NonNull;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+
+import com.example.myreminder.database.InvalidationTracker;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import kotlin.Unit;
+
+/**
+ * Paging 3 source over one of the keyset-paginated DatabaseHelper queries, newest first.
+ * Each page is keyed by its first row going up and its last row going down, so when
+ * Paging drops pages beyond {@code PagingConfig.maxSize} it can load them again from
+ * whichever page is left next to them. A refresh starts at the row Paging was anchored
+ * on, or at the newest row if there is none.
+ *
+ * <p>From its first load until it is invalidated, the source watches its table and
+ * invalidates itself on the next committed write, so Paging replaces it with a new one.
+ */
+abstract class KeysetPagingSource<T> extends ListenableFuturePagingSource<PageKey, T> {
+
+    private final InvalidationTracker tracker;
+    private final Executor executor;
+    private final InvalidationTracker.Observer observer;
+    private final AtomicBoolean observing = new AtomicBoolean();
+
+    KeysetPagingSource(InvalidationTracker tracker, String table, Executor executor) {
+        this.tracker = tracker;
+        this.executor = executor;
+        this.observer = new InvalidationTracker.Observer(table) {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                invalidate();
+            }
+        };
+        registerInvalidatedCallback(() -> {
+            tracker.removeObserver(observer);
+            return Unit.INSTANCE;
+        });
+    }
+
+    /** Runs the query for the page below {@code after}; called on the executor. */
+    abstract List<T> loadPage(PageKey after, int limit);
+
+    /** Runs the query for the page above {@code before}, newest first; called on the executor. */
+    abstract List<T> loadPageBefore(PageKey before, int limit);
+
+    abstract PageKey keyOf(T item);
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<PageKey, T>> loadFuture(@NonNull LoadParams<PageKey> params) {
+        PageKey key = params.getKey();
+        int limit = params.getLoadSize();
+        boolean prepend = params instanceof LoadParams.Prepend;
+        // watched before the first query runs, so a write that races with it still invalidates
+        if (!getInvalid() && observing.compareAndSet(false, true)) {
+            tracker.addObserver(observer);
+            if (getInvalid()) {
+                // invalidated in between, after the callback had already removed it
+                tracker.removeObserver(observer);
+            }
+        }
+        ListenableFutureTask<LoadResult<PageKey, T>> task = ListenableFutureTask.create(() -> {
+            try {
+                List<T> items = prepend ? loadPageBefore(key, limit) : loadPage(key != null ? key : PageKey.FIRST, limit);
+                if (items.isEmpty()) {
+                    return new LoadResult.Page<>(items, null, null);
+                }
+                PageKey first = keyOf(items.get(0));
+                PageKey last = keyOf(items.get(items.size() - 1));
+                // a short page is the end of the list in the direction it was loaded
+                if (prepend) {
+                    return new LoadResult.Page<>(items, items.size() < limit ? null : first, last);
+                }
+                return new LoadResult.Page<>(items, key == null ? null : first, items.size() < limit ? null : last);
+            } catch (RuntimeException e) {
+                return new LoadResult.Error<>(e);
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    @Override
+    public PageKey getRefreshKey(@NonNull PagingState<PageKey, T> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        T anchor = state.closestItemToPosition(anchorPosition);
+        if (anchor == null) {
+            return null;
+        }
+        // pages start strictly after their key; one id further keeps the anchor row on the refreshed page
+        PageKey key = keyOf(anchor);
+        return new PageKey(key.getCreatedAtMillis(), key.getId() + 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.myreminder.paging;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Note;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/** Notes newest first, loaded page by page on {@code executor}. */
+public class NotePagingSource extends KeysetPagingSource<Note> {
+
+    private final DatabaseHelper helper;
+
+    public NotePagingSource(DatabaseHelper helper, Executor executor) {
+        super(helper.getInvalidationTracker(), DatabaseHelper.TABLE_NOTES, executor);
+        this.helper = helper;
+    }
+
+    @Override
+    List<Note> loadPage(PageKey after, int limit) {
+        return helper.getNotesPage(after.getCreatedAtMillis(), after.getId(), limit);
+    }
+
+    @Override
+    List<Note> loadPageBefore(PageKey before, int limit) {
+        return helper.getNotesPageBefore(before.getCreatedAtMillis(), before.getId(), limit);
+    }
+
+    @Override
+    PageKey keyOf(Note note) {
+        return new PageKey(note.getCreatedAtMillis(), note.getId());
+    }
+}
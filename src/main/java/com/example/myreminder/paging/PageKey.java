@@ -0,0 +1,52 @@
+package com.example.myreminder.paging;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Position in a newest-first list: the created-at millis and id of a row already loaded.
+ * Loading down, the next page starts strictly after it; loading up, the page ends
+ * strictly before it.
+ */
+public final class PageKey {
+
+    /** Key of the first page, before the newest row. */
+    public static final PageKey FIRST = new PageKey(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long createdAtMillis;
+    private final long id;
+
+    public PageKey(long createdAtMillis, long id) {
+        this.createdAtMillis = createdAtMillis;
+        this.id = id;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PageKey)) return false;
+        PageKey other = (PageKey) o;
+        return createdAtMillis == other.createdAtMillis && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(createdAtMillis) + Long.hashCode(id);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PageKey{" +
+                "createdAtMillis=" + createdAtMillis +
+                ", id=" + id +
+                '}';
+    }
+}
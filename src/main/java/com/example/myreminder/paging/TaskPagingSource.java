@@ -0,0 +1,33 @@
+package com.example.myreminder.paging;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Task;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/** Tasks newest first, loaded page by page on {@code executor}. */
+public class TaskPagingSource extends KeysetPagingSource<Task> {
+
+    private final DatabaseHelper helper;
+
+    public TaskPagingSource(DatabaseHelper helper, Executor executor) {
+        super(helper.getInvalidationTracker(), DatabaseHelper.TABLE_TASKS, executor);
+        this.helper = helper;
+    }
+
+    @Override
+    List<Task> loadPage(PageKey after, int limit) {
+        return helper.getTasksPage(after.getCreatedAtMillis(), after.getId(), limit);
+    }
+
+    @Override
+    List<Task> loadPageBefore(PageKey before, int limit) {
+        return helper.getTasksPageBefore(before.getCreatedAtMillis(), before.getId(), limit);
+    }
+
+    @Override
+    PageKey keyOf(Task task) {
+        return new PageKey(task.getCreatedAtMillis(), task.getId());
+    }
+}
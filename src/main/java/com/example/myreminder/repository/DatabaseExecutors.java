@@ -0,0 +1,97 @@
+package com.example.myreminder.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads the repositories run database work on. Every write goes through one writer
+ * thread, so writes never contend for the single SQLite write connection and run in
+ * submission order; reads share a small fixed pool, which WAL lets run alongside it.
+ */
+public final class DatabaseExecutors {
+
+    // the platform keeps a handful of read connections in WAL mode; more threads would just wait
+    private static final int READER_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static volatile DatabaseExecutors instance;
+
+    private final ExecutorService writer;
+    private final ExecutorService readers;
+    private final Executor mainThread;
+
+    public static DatabaseExecutors getInstance() {
+        DatabaseExecutors executors = instance;
+        if (executors == null) {
+            synchronized (DatabaseExecutors.class) {
+                executors = instance;
+                if (executors == null) {
+                    executors = new DatabaseExecutors();
+                    instance = executors;
+                }
+            }
+        }
+        return executors;
+    }
+
+    DatabaseExecutors() {
+        writer = Executors.newSingleThreadExecutor(threadFactory("db-writer"));
+        readers = Executors.newFixedThreadPool(READER_THREADS, threadFactory("db-reader"));
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        mainThread = mainHandler::post;
+    }
+
+    /** The single thread every write runs on, in submission order. */
+    public Executor writer() {
+        return writer;
+    }
+
+    /** The pool reads run on. */
+    public Executor readers() {
+        return readers;
+    }
+
+    /** Posts to the main looper; used to deliver callbacks. */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /** Stops both pools after the queued work; only for executors created outside getInstance. */
+    void shutdown() {
+        writer.shutdown();
+        readers.shutdown();
+    }
+
+    <T> ListenableFuture<T> submitWrite(Callable<T> work) {
+        return submit(writer, work);
+    }
+
+    <T> ListenableFuture<T> submitRead(Callable<T> work) {
+        return submit(readers, work);
+    }
+
+    private static <T> ListenableFuture<T> submit(Executor executor, Callable<T> work) {
+        ListenableFutureTask<T> task = ListenableFutureTask.create(work);
+        executor.execute(task);
+        return task;
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, name + "-" + count.incrementAndGet());
+    }
+}
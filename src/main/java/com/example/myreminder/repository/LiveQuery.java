@@ -0,0 +1,111 @@
+package com.example.myreminder.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.myreminder.database.InvalidationTracker;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LiveData backed by a query that re-runs only when one of its tables changes. A burst of
+ * writes schedules a single re-query on the next frame, and a query that becomes active
+ * again re-runs only if its tables changed while nobody was observing.
+ */
+public class LiveQuery<T> extends LiveData<T> {
+
+    private static final String TAG = "LiveQuery";
+
+    private final InvalidationTracker tracker;
+    private final Executor executor;
+    private final Set<String> tables;
+    private final Callable<T> query;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final AtomicBoolean frameScheduled = new AtomicBoolean();
+    private final AtomicBoolean invalid = new AtomicBoolean(true);
+    private final AtomicBoolean computing = new AtomicBoolean();
+    // table versions the current value was read at; null before the first load
+    private volatile long[] loadedVersions;
+
+    private final InvalidationTracker.Observer observer;
+    private final Choreographer.FrameCallback frameCallback = this::onFrame;
+
+    LiveQuery(InvalidationTracker tracker, Executor executor, Callable<T> query, String... tables) {
+        this.tracker = tracker;
+        this.executor = executor;
+        this.query = query;
+        this.tables = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(tables)));
+        this.observer = new InvalidationTracker.Observer(tables) {
+            @Override
+            public void onInvalidated(Set<String> changed) {
+                scheduleFrame();
+            }
+        };
+    }
+
+    @Override
+    protected void onActive() {
+        tracker.addObserver(observer);
+        long[] versions = loadedVersions;
+        if (versions == null || !Arrays.equals(versions, tracker.getVersions(tables))) {
+            invalid.set(true);
+            executor.execute(this::load);
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        tracker.removeObserver(observer);
+    }
+
+    private void scheduleFrame() {
+        if (frameScheduled.compareAndSet(false, true)) {
+            // Choreographer is per looper, so it has to be reached from the main thread
+            mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(frameCallback));
+        }
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        frameScheduled.set(false);
+        invalid.set(true);
+        executor.execute(this::load);
+    }
+
+    private void load() {
+        boolean computed;
+        do {
+            computed = false;
+            if (computing.compareAndSet(false, true)) {
+                try {
+                    T value = null;
+                    while (invalid.compareAndSet(true, false)) {
+                        // versions are read before the query, so a write racing with it leaves them stale
+                        long[] versions = tracker.getVersions(tables);
+                        value = query.call();
+                        loadedVersions = versions;
+                        computed = true;
+                    }
+                    if (computed) {
+                        postValue(value);
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, "query on " + tables + " failed", e);
+                } finally {
+                    computing.set(false);
+                }
+            }
+            // an invalidation that arrived while another thread was computing is picked up here
+        } while (computed && invalid.get());
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.myreminder.repository;
+
+import android.content.Context;
+
+import androidx.annotation.AnyThread;
+import androidx.lifecycle.LiveData;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.SearchResult;
+import com.example.myreminder.paging.NotePagingSource;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Asynchronous access to notes. Every method returns immediately; the work runs on
+ * {@link DatabaseExecutors}, never on the calling thread.
+ */
+@AnyThread
+public class NoteRepository extends Repository {
+
+    private static volatile NoteRepository instance;
+
+    public static NoteRepository getInstance(Context context) {
+        NoteRepository repository = instance;
+        if (repository == null) {
+            synchronized (NoteRepository.class) {
+                repository = instance;
+                if (repository == null) {
+                    repository = new NoteRepository(DatabaseHelper.getInstance(context), DatabaseExecutors.getInstance());
+                    instance = repository;
+                }
+            }
+        }
+        return repository;
+    }
+
+    public NoteRepository(DatabaseHelper helper, DatabaseExecutors executors) {
+        super(helper, executors);
+    }
+
+    // ===== reads =====
+
+    public ListenableFuture<Note> getNote(long id) {
+        return read(() -> helper.getNote(id));
+    }
+
+    public ListenableFuture<List<Note>> getAllNotes() {
+        return read(helper::getAllNotes);
+    }
+
+    public ListenableFuture<List<Note>> getNotesPage(long afterCreatedAt, long afterId, int limit) {
+        return read(() -> helper.getNotesPage(afterCreatedAt, afterId, limit));
+    }
+
+    /** A Paging 3 source that loads on the reader pool; create a new one per Pager generation. */
+    public NotePagingSource newPagingSource() {
+        return new NotePagingSource(helper, executors.readers());
+    }
+
+    public ListenableFuture<List<Note>> searchNotes(String query) {
+        return read(() -> helper.searchNotes(query));
+    }
+
+    public ListenableFuture<List<SearchResult<Note>>> searchNotesWithSnippets(String query) {
+        return read(() -> helper.searchNotesWithSnippets(query));
+    }
+
+    // ===== observable queries =====
+
+    public LiveData<List<Note>> observeAllNotes() {
+        return live(helper::getAllNotes, DatabaseHelper.TABLE_NOTES);
+    }
+
+    // ===== writes =====
+
+    /** Inserts a copy of {@code note} taken here, so the caller can keep editing it meanwhile. */
+    public ListenableFuture<Long> addNote(Note note) {
+        Note copy = new Note(note);
+        return write(() -> helper.addNote(copy));
+    }
+
+    public ListenableFuture<long[]> addNotes(Collection<Note> notes) {
+        List<Note> copies = new ArrayList<>(notes.size());
+        for (Note note : notes) {
+            copies.add(new Note(note));
+        }
+        return write(() -> helper.addNotes(copies));
+    }
+
+    /**
+     * Writes the fields changed on {@code note} so far, from a copy taken here; see
+     * {@link TaskRepository#updateTask} for what that means for {@code note}.
+     */
+    public ListenableFuture<Integer> updateNote(Note note) {
+        Note changes = takeChanges(note);
+        return write(() -> helper.updateNote(changes));
+    }
+
+    public ListenableFuture<Integer> updateNotes(Collection<Note> notes) {
+        List<Note> changes = new ArrayList<>(notes.size());
+        for (Note note : notes) {
+            changes.add(takeChanges(note));
+        }
+        return write(() -> helper.updateNotes(changes));
+    }
+
+    public ListenableFuture<Void> deleteNote(long id) {
+        return write(() -> {
+            helper.deleteNote(id);
+            return null;
+        });
+    }
+
+    public ListenableFuture<Integer> deleteNotes(long[] ids) {
+        return write(() -> helper.deleteNotes(ids));
+    }
+
+    // ===== callback variants, delivered on the main thread =====
+
+    public void getNote(long id, RepositoryCallback<Note> callback) {
+        deliver(getNote(id), callback);
+    }
+
+    public void getAllNotes(RepositoryCallback<List<Note>> callback) {
+        deliver(getAllNotes(), callback);
+    }
+
+    public void searchNotes(String query, RepositoryCallback<List<Note>> callback) {
+        deliver(searchNotes(query), callback);
+    }
+
+    public void addNote(Note note, RepositoryCallback<Long> callback) {
+        deliver(addNote(note), callback);
+    }
+
+    public void updateNote(Note note, RepositoryCallback<Integer> callback) {
+        deliver(updateNote(note), callback);
+    }
+
+    public void deleteNote(long id, RepositoryCallback<Void> callback) {
+        deliver(deleteNote(id), callback);
+    }
+
+    private static Note takeChanges(Note note) {
+        Note changes = new Note(note);
+        note.markClean(changes.getDirtyFields());
+        return changes;
+    }
+}
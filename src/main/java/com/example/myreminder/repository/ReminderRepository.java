@@ -0,0 +1,159 @@
+package com.example.myreminder.repository;
+
+import android.content.Context;
+
+import androidx.annotation.AnyThread;
+import androidx.lifecycle.LiveData;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.scheduling.ReminderScheduler;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Asynchronous access to reminders. Every method returns immediately; the work runs on
+ * {@link DatabaseExecutors}, never on the calling thread.
+ */
+@AnyThread
+public class ReminderRepository extends Repository {
+
+    private static volatile ReminderRepository instance;
+
+    public static ReminderRepository getInstance(Context context) {
+        ReminderRepository repository = instance;
+        if (repository == null) {
+            synchronized (ReminderRepository.class) {
+                repository = instance;
+                if (repository == null) {
+                    repository = new ReminderRepository(DatabaseHelper.getInstance(context),
+                            DatabaseExecutors.getInstance(), ReminderScheduler.getInstance(context));
+                    instance = repository;
+                }
+            }
+        }
+        return repository;
+    }
+
+    private final ReminderScheduler scheduler;
+
+    /** A repository that does not arm alarms for the reminders it writes. */
+    public ReminderRepository(DatabaseHelper helper, DatabaseExecutors executors) {
+        this(helper, executors, null);
+    }
+
+    public ReminderRepository(DatabaseHelper helper, DatabaseExecutors executors, ReminderScheduler scheduler) {
+        super(helper, executors);
+        this.scheduler = scheduler;
+    }
+
+    // ===== reads =====
+
+    public ListenableFuture<Reminder> getReminder(long id) {
+        return read(() -> helper.getReminder(id));
+    }
+
+    public ListenableFuture<List<Reminder>> getRemindersForTask(long taskId) {
+        return read(() -> helper.getRemindersForTask(taskId));
+    }
+
+    public ListenableFuture<List<Reminder>> getPendingReminders() {
+        return read(helper::getPendingReminders);
+    }
+
+    // ===== observable queries =====
+
+    public LiveData<List<Reminder>> observeRemindersForTask(long taskId) {
+        return live(() -> helper.getRemindersForTask(taskId), DatabaseHelper.TABLE_REMINDERS);
+    }
+
+    // ===== writes =====
+
+    /** Inserts a copy of {@code reminder} taken here, so the caller can keep editing it meanwhile. */
+    public ListenableFuture<Long> addReminder(Reminder reminder) {
+        Reminder copy = new Reminder(reminder);
+        return write(() -> {
+            long id = helper.addReminder(copy);
+            if (scheduler != null) {
+                scheduler.onReminderAdded(id, copy);
+            }
+            return id;
+        });
+    }
+
+    public ListenableFuture<long[]> addReminders(Collection<Reminder> reminders) {
+        // a list of its own, so the ids returned line up with the reminders whatever the caller does to theirs
+        List<Reminder> copies = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            copies.add(new Reminder(reminder));
+        }
+        return write(() -> {
+            long[] ids = helper.addReminders(copies);
+            if (scheduler != null) {
+                for (int i = 0; i < ids.length; i++) {
+                    scheduler.onReminderAdded(ids[i], copies.get(i));
+                }
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Writes the fields changed on each reminder so far, from copies taken here; see
+     * {@link TaskRepository#updateTask} for what that means for {@code reminders}.
+     */
+    public ListenableFuture<Integer> updateReminders(Collection<Reminder> reminders) {
+        List<Reminder> changes = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            changes.add(takeChanges(reminder));
+        }
+        return write(() -> {
+            int updated = helper.updateReminders(changes);
+            if (scheduler != null) {
+                for (Reminder reminder : changes) {
+                    scheduler.onReminderUpdated(reminder);
+                }
+            }
+            return updated;
+        });
+    }
+
+    public ListenableFuture<Integer> markRemindersTriggered(long[] ids) {
+        return write(() -> {
+            int triggered = helper.markRemindersTriggered(ids);
+            if (scheduler != null) {
+                scheduler.onRemindersTriggered(ids);
+            }
+            return triggered;
+        });
+    }
+
+    public ListenableFuture<Integer> deleteReminders(long[] ids) {
+        return write(() -> {
+            int deleted = helper.deleteReminders(ids);
+            if (scheduler != null) {
+                scheduler.onRemindersDeleted(ids);
+            }
+            return deleted;
+        });
+    }
+
+    // ===== callback variants, delivered on the main thread =====
+
+    public void getRemindersForTask(long taskId, RepositoryCallback<List<Reminder>> callback) {
+        deliver(getRemindersForTask(taskId), callback);
+    }
+
+    public void addReminder(Reminder reminder, RepositoryCallback<Long> callback) {
+        deliver(addReminder(reminder), callback);
+    }
+
+    private static Reminder takeChanges(Reminder reminder) {
+        Reminder changes = new Reminder(reminder);
+        reminder.markClean(changes.getDirtyFields());
+        return changes;
+    }
+}
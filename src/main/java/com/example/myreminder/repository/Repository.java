@@ -0,0 +1,53 @@
+package com.example.myreminder.repository;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shared plumbing for the repositories: reads go to the reader pool, writes to the writer
+ * thread, and callbacks come back on the main thread. A read submitted before an earlier
+ * write has completed may not see it; chain on the write's future when that matters.
+ */
+abstract class Repository {
+
+    final DatabaseHelper helper;
+    final DatabaseExecutors executors;
+
+    Repository(DatabaseHelper helper, DatabaseExecutors executors) {
+        this.helper = helper;
+        this.executors = executors;
+    }
+
+    <T> ListenableFuture<T> read(Callable<T> query) {
+        return executors.submitRead(query);
+    }
+
+    <T> ListenableFuture<T> write(Callable<T> update) {
+        return executors.submitWrite(update);
+    }
+
+    /** A LiveData that re-runs {@code query} on the reader pool whenever one of {@code tables} changes. */
+    <T> LiveQuery<T> live(Callable<T> query, String... tables) {
+        return new LiveQuery<>(helper.getInvalidationTracker(), executors.readers(), query, tables);
+    }
+
+    <T> void deliver(ListenableFuture<T> future, RepositoryCallback<T> callback) {
+        future.addListener(() -> {
+            T result;
+            try {
+                result = future.get();
+            } catch (ExecutionException e) {
+                callback.onError(e.getCause());
+                return;
+            } catch (CancellationException | InterruptedException e) {
+                callback.onError(e);
+                return;
+            }
+            callback.onSuccess(result);
+        }, executors.mainThread());
+    }
+}
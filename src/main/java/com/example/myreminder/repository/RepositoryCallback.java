@@ -0,0 +1,9 @@
+package com.example.myreminder.repository;
+
+/** Result of an asynchronous repository call, delivered on the main thread. */
+public interface RepositoryCallback<T> {
+
+    void onSuccess(T result);
+
+    void onError(Throwable error);
+}
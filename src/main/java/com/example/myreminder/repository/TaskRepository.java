@@ -0,0 +1,250 @@
+package com.example.myreminder.repository;
+
+import android.content.Context;
+
+import androidx.annotation.AnyThread;
+import androidx.lifecycle.LiveData;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.database.TaskQuery;
+import com.example.myreminder.models.SearchResult;
+import com.example.myreminder.models.Task;
+import com.example.myreminder.models.TaskStats;
+import com.example.myreminder.paging.TaskPagingSource;
+import com.example.myreminder.scheduling.ReminderScheduler;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Asynchronous access to tasks. Every method returns immediately; the work runs on
+ * {@link DatabaseExecutors}, never on the calling thread.
+ */
+@AnyThread
+public class TaskRepository extends Repository {
+
+    private static volatile TaskRepository instance;
+
+    public static TaskRepository getInstance(Context context) {
+        TaskRepository repository = instance;
+        if (repository == null) {
+            synchronized (TaskRepository.class) {
+                repository = instance;
+                if (repository == null) {
+                    repository = new TaskRepository(DatabaseHelper.getInstance(context), DatabaseExecutors.getInstance(),
+                            ReminderScheduler.getInstance(context));
+                    instance = repository;
+                }
+            }
+        }
+        return repository;
+    }
+
+    private final ReminderScheduler scheduler;
+
+    /** A repository that leaves the alarms of deleted tasks' reminders armed. */
+    public TaskRepository(DatabaseHelper helper, DatabaseExecutors executors) {
+        this(helper, executors, null);
+    }
+
+    public TaskRepository(DatabaseHelper helper, DatabaseExecutors executors, ReminderScheduler scheduler) {
+        super(helper, executors);
+        this.scheduler = scheduler;
+    }
+
+    // ===== reads =====
+
+    public ListenableFuture<Task> getTask(long id) {
+        return read(() -> helper.getTask(id));
+    }
+
+    public ListenableFuture<List<Task>> getAllTasks() {
+        return read(helper::getAllTasks);
+    }
+
+    public ListenableFuture<List<Task>> getTasksPage(long afterCreatedAt, long afterId, int limit) {
+        return read(() -> helper.getTasksPage(afterCreatedAt, afterId, limit));
+    }
+
+    /** A Paging 3 source that loads on the reader pool; create a new one per Pager generation. */
+    public TaskPagingSource newPagingSource() {
+        return new TaskPagingSource(helper, executors.readers());
+    }
+
+    /** Runs a copy of {@code query}, so the caller may go on changing it. */
+    public ListenableFuture<List<Task>> queryTasks(TaskQuery query) {
+        TaskQuery copy = new TaskQuery(query);
+        return read(() -> helper.queryTasks(copy));
+    }
+
+    public ListenableFuture<List<Task>> searchTasks(String query) {
+        return read(() -> helper.searchTasks(query));
+    }
+
+    public ListenableFuture<List<SearchResult<Task>>> searchTasksWithSnippets(String query) {
+        return read(() -> helper.searchTasksWithSnippets(query));
+    }
+
+    public ListenableFuture<List<Task>> getTasksByPriority(int priority) {
+        return read(() -> helper.getTasksByPriority(priority));
+    }
+
+    public ListenableFuture<List<Task>> getUrgentTasksByDate(long startMillis, long endMillis) {
+        return read(() -> helper.getUrgentTasksByDate(startMillis, endMillis));
+    }
+
+    public ListenableFuture<List<Task>> getCompletedTasks() {
+        return read(helper::getCompletedTasks);
+    }
+
+    public ListenableFuture<List<Task>> getPendingTasks() {
+        return read(helper::getPendingTasks);
+    }
+
+    public ListenableFuture<Integer> getTasksCountByStatus(boolean isDone) {
+        return read(() -> helper.getTasksCountByStatus(isDone));
+    }
+
+    public ListenableFuture<TaskStats> getTaskStats() {
+        return read(() -> helper.getTaskStats());
+    }
+
+    // ===== observable queries =====
+
+    public LiveData<List<Task>> observeAllTasks() {
+        return live(helper::getAllTasks, DatabaseHelper.TABLE_TASKS);
+    }
+
+    public LiveData<List<Task>> observeTasks(TaskQuery query) {
+        TaskQuery copy = new TaskQuery(query);
+        return live(() -> helper.queryTasks(copy), DatabaseHelper.TABLE_TASKS);
+    }
+
+    public LiveData<List<Task>> observePendingTasks() {
+        return live(helper::getPendingTasks, DatabaseHelper.TABLE_TASKS);
+    }
+
+    public LiveData<List<Task>> observeCompletedTasks() {
+        return live(helper::getCompletedTasks, DatabaseHelper.TABLE_TASKS);
+    }
+
+    public LiveData<Integer> observeTasksCountByStatus(boolean isDone) {
+        return live(() -> helper.getTasksCountByStatus(isDone), DatabaseHelper.TABLE_TASKS);
+    }
+
+    /** Dashboard counters; refreshed on task and reminder writes, not when the day turns over. */
+    public LiveData<TaskStats> observeTaskStats() {
+        return live(() -> helper.getTaskStats(), DatabaseHelper.TABLE_TASKS, DatabaseHelper.TABLE_REMINDERS);
+    }
+
+    // ===== writes =====
+
+    /** Inserts a copy of {@code task} taken here, so the caller can keep editing it meanwhile. */
+    public ListenableFuture<Long> addTask(Task task) {
+        Task copy = new Task(task);
+        return write(() -> helper.addTask(copy));
+    }
+
+    /** Like {@link #addTask(Task)}, for several tasks in one transaction. */
+    public ListenableFuture<long[]> addTasks(Collection<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(new Task(task));
+        }
+        return write(() -> helper.addTasks(copies));
+    }
+
+    /**
+     * Writes the fields changed on {@code task} so far. The writer works on a copy taken here,
+     * and those fields are marked clean on {@code task} straight away, so the caller can keep
+     * editing it; a field set again meanwhile stays dirty for the next update. If the write
+     * fails, set the fields again before retrying.
+     */
+    public ListenableFuture<Integer> updateTask(Task task) {
+        Task changes = takeChanges(task);
+        return write(() -> helper.updateTask(changes));
+    }
+
+    /** Like {@link #updateTask(Task)}, for several tasks in one transaction. */
+    public ListenableFuture<Integer> updateTasks(Collection<Task> tasks) {
+        List<Task> changes = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            changes.add(takeChanges(task));
+        }
+        return write(() -> helper.updateTasks(changes));
+    }
+
+    public ListenableFuture<Integer> setTasksDone(long[] ids, boolean done) {
+        return write(() -> helper.setTasksDone(ids, done));
+    }
+
+    public ListenableFuture<Integer> completeAllOverdue(long nowMillis) {
+        return write(() -> helper.completeAllOverdue(nowMillis));
+    }
+
+    public ListenableFuture<Void> deleteTask(long id) {
+        return write(() -> {
+            helper.deleteTask(id);
+            if (scheduler != null) {
+                scheduler.onTasksDeleted(new long[]{id});
+            }
+            return null;
+        });
+    }
+
+    public ListenableFuture<Integer> deleteTasks(long[] ids) {
+        return write(() -> {
+            int deleted = helper.deleteTasks(ids);
+            if (scheduler != null) {
+                scheduler.onTasksDeleted(ids);
+            }
+            return deleted;
+        });
+    }
+
+    // ===== callback variants, delivered on the main thread =====
+
+    public void getTask(long id, RepositoryCallback<Task> callback) {
+        deliver(getTask(id), callback);
+    }
+
+    public void getAllTasks(RepositoryCallback<List<Task>> callback) {
+        deliver(getAllTasks(), callback);
+    }
+
+    public void queryTasks(TaskQuery query, RepositoryCallback<List<Task>> callback) {
+        deliver(queryTasks(query), callback);
+    }
+
+    public void searchTasks(String query, RepositoryCallback<List<Task>> callback) {
+        deliver(searchTasks(query), callback);
+    }
+
+    public void getTaskStats(RepositoryCallback<TaskStats> callback) {
+        deliver(getTaskStats(), callback);
+    }
+
+    public void getTasksCountByStatus(boolean isDone, RepositoryCallback<Integer> callback) {
+        deliver(getTasksCountByStatus(isDone), callback);
+    }
+
+    public void addTask(Task task, RepositoryCallback<Long> callback) {
+        deliver(addTask(task), callback);
+    }
+
+    public void updateTask(Task task, RepositoryCallback<Integer> callback) {
+        deliver(updateTask(task), callback);
+    }
+
+    public void deleteTask(long id, RepositoryCallback<Void> callback) {
+        deliver(deleteTask(id), callback);
+    }
+
+    private static Task takeChanges(Task task) {
+        Task changes = new Task(task);
+        task.markClean(changes.getDirtyFields());
+        return changes;
+    }
+}
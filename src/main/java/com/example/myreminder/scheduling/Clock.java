@@ -0,0 +1,9 @@
+package com.example.myreminder.scheduling;
+
+/** Wall-clock time in epoch millis; tests pass a fake that they move by hand. */
+public interface Clock {
+
+    Clock SYSTEM = System::currentTimeMillis;
+
+    long currentTimeMillis();
+}
@@ -0,0 +1,41 @@
+package com.example.myreminder.scheduling;
+
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+
+import com.example.myreminder.repository.DatabaseExecutors;
+
+/** Receives the alarms armed by {@link ReminderScheduler}, one per reminder. */
+public class ReminderAlarmReceiver extends BroadcastReceiver {
+
+    static final String ACTION_FIRE_REMINDER = "com.example.myreminder.action.FIRE_REMINDER";
+    static final String EXTRA_REMINDER_ID = "com.example.myreminder.extra.REMINDER_ID";
+
+    static PendingIntent pendingIntent(Context context, long reminderId, int flags) {
+        Intent intent = new Intent(context, ReminderAlarmReceiver.class)
+                .setAction(ACTION_FIRE_REMINDER)
+                // distinct data gives every reminder its own PendingIntent to replace or cancel
+                .setData(Uri.parse("myreminder://reminders/" + reminderId))
+                .putExtra(EXTRA_REMINDER_ID, reminderId);
+        return PendingIntent.getBroadcast(context, 0, intent, flags | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        long id = intent.getLongExtra(EXTRA_REMINDER_ID, -1);
+        if (!ACTION_FIRE_REMINDER.equals(intent.getAction()) || id < 0) {
+            return;
+        }
+        PendingResult result = goAsync();
+        DatabaseExecutors.getInstance().writer().execute(() -> {
+            try {
+                ReminderScheduler.getInstance(context).onReminderFired(id);
+            } finally {
+                result.finish();
+            }
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.myreminder.scheduling;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.repository.DatabaseExecutors;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Fires reminders that come due while the app is running, on time and without a wakeup
+ * alarm round trip. All pending reminders sit in a {@link ReminderQueue}; a single delayed
+ * message on the handler waits for the soonest one and is only moved when the head changes.
+ *
+ * <p>Firing goes through {@link ReminderScheduler#onReminderFired}, so a reminder fires once
+ * whether the dispatcher or its alarm gets there first. The handler's delay does not advance
+ * while the device sleeps; the alarm covers that case. The queue is only touched on the
+ * handler's thread; the other methods post to it.
+ */
+@AnyThread
+public final class ReminderDispatcher {
+
+    /** Told about each reminder this dispatcher fired, on the handler's thread. */
+    public interface Listener {
+        void onReminderDue(long reminderId);
+    }
+
+    private final Handler handler;
+    private final Clock clock;
+    private final Executor writer;
+    private final DatabaseHelper helper;
+    private final ReminderScheduler scheduler;
+    @Nullable
+    private final Listener listener;
+    private final ReminderQueue queue = new ReminderQueue();
+    private final Runnable dispatchDue = this::dispatchDue;
+
+    // handler thread only
+    private boolean running;
+    private long armedTime = Long.MAX_VALUE;
+
+    /**
+     * A dispatcher on the main thread, wired to the app's scheduler so reminders written
+     * through the repositories reach it. Call {@link #start()} to load and begin firing.
+     * Without a listener, firing only marks the reminders triggered, as their alarms do.
+     */
+    public static ReminderDispatcher forMainThread(Context context, @Nullable Listener listener) {
+        Context app = context.getApplicationContext();
+        ReminderScheduler scheduler = ReminderScheduler.getInstance(app);
+        ReminderDispatcher dispatcher = new ReminderDispatcher(new Handler(Looper.getMainLooper()), Clock.SYSTEM,
+                DatabaseExecutors.getInstance().writer(), DatabaseHelper.getInstance(app), scheduler, listener);
+        scheduler.setDispatcher(dispatcher);
+        return dispatcher;
+    }
+
+    @VisibleForTesting
+    ReminderDispatcher(Handler handler, Clock clock, Executor writer, DatabaseHelper helper,
+                       ReminderScheduler scheduler, @Nullable Listener listener) {
+        this.handler = handler;
+        this.clock = clock;
+        this.writer = writer;
+        this.helper = helper;
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+
+    /**
+     * Loads the pending reminders and starts firing them. The query runs on the writer
+     * thread, after any write already queued there, and every later change is posted to
+     * the handler after the load, so nothing falls between the two.
+     */
+    public void start() {
+        load(true);
+    }
+
+    /**
+     * Loads the queue again from the database, if the dispatcher is running; for when every
+     * reminder row was replaced at once and the queued ids may belong to other reminders.
+     */
+    void reload() {
+        load(false);
+    }
+
+    /** Stops firing and drops the queue; the alarms still fire the reminders. */
+    public void stop() {
+        handler.post(() -> {
+            running = false;
+            queue.clear();
+            handler.removeCallbacks(dispatchDue);
+            armedTime = Long.MAX_VALUE;
+        });
+    }
+
+    /** Queues the reminder, or moves it if it is already queued. */
+    void schedule(long id, long time) {
+        handler.post(() -> {
+            if (running) {
+                queue.add(id, time);
+                rearm();
+            }
+        });
+    }
+
+    void cancel(long id) {
+        handler.post(() -> {
+            if (running && queue.remove(id)) {
+                rearm();
+            }
+        });
+    }
+
+    private void load(boolean start) {
+        writer.execute(() -> {
+            List<Reminder> pending = helper.getPendingReminders();
+            handler.post(() -> {
+                if (start) {
+                    running = true;
+                } else if (!running) {
+                    return;
+                }
+                queue.clear();
+                for (Reminder reminder : pending) {
+                    queue.add(reminder.getId(), reminder.getTimeInMillis());
+                }
+                rearm();
+            });
+        });
+    }
+
+    private void rearm() {
+        long next = queue.peekTime();
+        if (next == armedTime) {
+            return;
+        }
+        handler.removeCallbacks(dispatchDue);
+        armedTime = next;
+        if (next != Long.MAX_VALUE) {
+            handler.postDelayed(dispatchDue, Math.max(0, next - clock.currentTimeMillis()));
+        }
+    }
+
+    private void dispatchDue() {
+        armedTime = Long.MAX_VALUE;
+        queue.pollDue(clock.currentTimeMillis(), id -> writer.execute(() -> {
+            if (scheduler.onReminderFired(id) && listener != null) {
+                handler.post(() -> listener.onReminderDue(id));
+            }
+        }));
+        rearm();
+    }
+}
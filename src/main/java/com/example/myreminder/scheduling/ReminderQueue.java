@@ -0,0 +1,156 @@
+package com.example.myreminder.scheduling;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Pending reminders ordered by due time, for {@link ReminderDispatcher}. A binary min-heap
+ * over parallel {@code long} arrays: the next due reminder is read in constant time, and
+ * adding, moving or cancelling one takes log time through the id to slot {@link LongIndex}.
+ * Arrays grow by doubling and are kept afterwards, so a steady load allocates nothing.
+ *
+ * <p>Not thread-safe.
+ */
+final class ReminderQueue {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private final LongIndex slots = new LongIndex(INITIAL_CAPACITY);
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(long id) {
+        return slots.get(id) >= 0;
+    }
+
+    /** Due time of the soonest reminder, or {@link Long#MAX_VALUE} when empty. */
+    long peekTime() {
+        return size == 0 ? Long.MAX_VALUE : times[0];
+    }
+
+    /** Id of the soonest reminder; ties on time go to the lower id. Undefined when empty. */
+    long peekId() {
+        return ids[0];
+    }
+
+    /** Adds the reminder, or moves it to {@code time} if it is already queued. */
+    void add(long id, long time) {
+        int slot = slots.get(id);
+        if (slot >= 0) {
+            times[slot] = time;
+            siftDown(siftUp(slot));
+            return;
+        }
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        times[size] = time;
+        ids[size] = id;
+        slots.put(id, size);
+        siftUp(size++);
+    }
+
+    /** Returns {@code false} if the reminder was not queued. */
+    boolean remove(long id) {
+        int slot = slots.get(id);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /** Removes and returns the soonest reminder's id. Undefined when empty. */
+    long poll() {
+        long id = ids[0];
+        removeAt(0);
+        return id;
+    }
+
+    /** Hands every reminder due at {@code now} to {@code due}, soonest first; returns how many. */
+    int pollDue(long now, LongConsumer due) {
+        int count = 0;
+        while (size > 0 && times[0] <= now) {
+            due.accept(poll());
+            count++;
+        }
+        return count;
+    }
+
+    void clear() {
+        size = 0;
+        slots.clear();
+    }
+
+    /** Slots allocated, for checking that memory stays flat under a steady load. */
+    int capacity() {
+        return times.length;
+    }
+
+    private void removeAt(int slot) {
+        slots.remove(ids[slot]);
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+            siftDown(siftUp(slot));
+        }
+    }
+
+    private int siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!less(slot, parent)) {
+                break;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+        return slot;
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && less(child + 1, child)) {
+                child++;
+            }
+            if (!less(child, slot)) {
+                return;
+            }
+            swap(slot, child);
+            slot = child;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return times[a] < times[b] || (times[a] == times[b] && ids[a] < ids[b]);
+    }
+
+    private void swap(int a, int b) {
+        long time = times[a];
+        long id = ids[a];
+        move(b, a);
+        times[b] = time;
+        ids[b] = id;
+        slots.put(id, b);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        ids[to] = ids[from];
+        slots.put(ids[to], to);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.myreminder.scheduling;
+
+import android.app.AlarmManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.example.myreminder.repository.DatabaseExecutors;
+import com.example.myreminder.utils.DateCodec;
+
+/**
+ * Re-arms reminders when the system dropped or downgraded the alarms: after a reboot or an
+ * app update, and when the exact-alarm permission changes. Alarms are set in UTC, so a time
+ * zone change only needs the display offsets refreshed.
+ */
+public class ReminderRescheduleReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        if (Intent.ACTION_TIMEZONE_CHANGED.equals(action)) {
+            DateCodec.onTimeZoneChanged();
+            return;
+        }
+        if (!Intent.ACTION_BOOT_COMPLETED.equals(action)
+                && !Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)
+                && !AlarmManager.ACTION_SCHEDULE_EXACT_ALARM_PERMISSION_STATE_CHANGED.equals(action)) {
+            return;
+        }
+        PendingResult result = goAsync();
+        DatabaseExecutors.getInstance().writer().execute(() -> {
+            try {
+                ReminderScheduler.getInstance(context).rescheduleAll();
+            } finally {
+                result.finish();
+            }
+        });
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.myreminder.scheduling;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.os.Build;
+
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps {@link AlarmManager} armed for the soonest pending reminders and nothing else, so
+ * the device wakes only when a reminder is due and nothing polls the reminders table.
+ *
+ * <p>The armed reminders are kept in a set ordered by (time, id) that always holds the first
+ * {@code window} pending rows. Adding, moving or deleting a reminder updates that set in
+ * log time; when a slot frees up, one indexed keyset query fetches the next reminder in line.
+ * The set is loaded lazily, so the first call in a new process re-arms it from the database.
+ *
+ * <p>Every method reads or writes the database; call them on the writer thread, as the
+ * repositories and receivers do.
+ */
+@WorkerThread
+public final class ReminderScheduler {
+
+    /** How many alarms are armed at once, well below the platform's per-app limit. */
+    static final int DEFAULT_WINDOW = 10;
+
+    private static final class Armed implements Comparable<Armed> {
+        final long id;
+        final long taskId;
+        final long time;
+
+        Armed(long id, long taskId, long time) {
+            this.id = id;
+            this.taskId = taskId;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(Armed other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+
+    private static volatile ReminderScheduler instance;
+
+    private final Context context;
+    private final DatabaseHelper helper;
+    private final AlarmManager alarmManager;
+    private final Clock clock;
+    private final int window;
+    private final TreeSet<Armed> armed = new TreeSet<>();
+    private final Map<Long, Armed> armedById = new HashMap<>();
+    private boolean loaded;
+    private ReminderDispatcher dispatcher;
+
+    public static ReminderScheduler getInstance(Context context) {
+        ReminderScheduler scheduler = instance;
+        if (scheduler == null) {
+            synchronized (ReminderScheduler.class) {
+                scheduler = instance;
+                if (scheduler == null) {
+                    Context app = context.getApplicationContext();
+                    scheduler = new ReminderScheduler(app, DatabaseHelper.getInstance(app),
+                            app.getSystemService(AlarmManager.class), Clock.SYSTEM, DEFAULT_WINDOW);
+                    instance = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    @VisibleForTesting
+    ReminderScheduler(Context context, DatabaseHelper helper, AlarmManager alarmManager, Clock clock, int window) {
+        this.context = context;
+        this.helper = helper;
+        this.alarmManager = alarmManager;
+        this.clock = clock;
+        this.window = window;
+    }
+
+    /** Passes every later reminder change on to {@code dispatcher} as well. */
+    synchronized void setDispatcher(ReminderDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /** Drops every armed alarm and arms the soonest pending reminders again, e.g. after a reboot. */
+    public synchronized void rescheduleAll() {
+        for (Armed reminder : armed) {
+            cancelAlarm(reminder.id);
+        }
+        armed.clear();
+        armedById.clear();
+        loaded = true;
+        refill();
+    }
+
+    /**
+     * Runs {@code replace}, which swaps every reminder row for another set at once, as a
+     * restore does, and then arms the new rows. An old id may now belong to a different
+     * reminder, so every alarm armed for the old rows is cancelled, including those armed by
+     * an earlier process. Holding the lock throughout keeps an alarm that fires meanwhile
+     * from marking a restored row before its alarms are set. If {@code replace} throws,
+     * nothing was replaced and the alarms are left as they were.
+     */
+    public synchronized void replaceAll(Runnable replace) {
+        // loading the window from the old rows finds what an earlier process armed for them
+        ensureLoaded();
+        replace.run();
+        rescheduleAll();
+        if (dispatcher != null) {
+            dispatcher.reload();
+        }
+    }
+
+    /** Call after inserting a reminder; {@code reminder} may still carry id 0. */
+    public synchronized void onReminderAdded(long id, Reminder reminder) {
+        ensureLoaded();
+        offer(id, reminder);
+        if (dispatcher != null && !reminder.isTriggered()) {
+            dispatcher.schedule(id, reminder.getTimeInMillis());
+        }
+    }
+
+    /** Call after a reminder's time, task or triggered flag changed. */
+    public synchronized void onReminderUpdated(Reminder reminder) {
+        ensureLoaded();
+        Armed current = armedById.get((long) reminder.getId());
+        if (current != null) {
+            disarm(current);
+            refill();
+        }
+        offer(reminder.getId(), reminder);
+        if (dispatcher != null) {
+            if (reminder.isTriggered()) {
+                dispatcher.cancel(reminder.getId());
+            } else {
+                dispatcher.schedule(reminder.getId(), reminder.getTimeInMillis());
+            }
+        }
+    }
+
+    public synchronized void onRemindersDeleted(long[] ids) {
+        ensureLoaded();
+        for (long id : ids) {
+            Armed current = armedById.get(id);
+            if (current != null) {
+                disarm(current);
+            } else {
+                // may still be armed by an earlier process
+                cancelAlarm(id);
+            }
+            if (dispatcher != null) {
+                dispatcher.cancel(id);
+            }
+        }
+        refill();
+    }
+
+    /** Call after {@link DatabaseHelper#markRemindersTriggered}; like deleted ones, they need no alarm. */
+    public synchronized void onRemindersTriggered(long[] ids) {
+        onRemindersDeleted(ids);
+    }
+
+    /**
+     * Call after deleting tasks; their reminders went with them. Only the armed ones need
+     * cancelling: an alarm left over from an earlier process, or a dispatcher entry, finds
+     * its row gone when it comes due and does nothing.
+     */
+    public synchronized void onTasksDeleted(long[] taskIds) {
+        ensureLoaded();
+        Set<Long> deleted = new HashSet<>();
+        for (long taskId : taskIds) {
+            deleted.add(taskId);
+        }
+        for (Armed reminder : new ArrayList<>(armed)) {
+            if (deleted.contains(reminder.taskId)) {
+                disarm(reminder);
+            }
+        }
+        refill();
+    }
+
+    /**
+     * Called when a reminder's alarm goes off, or when {@link ReminderDispatcher} finds it due
+     * first. Marks it triggered and arms the next one in line. Returns {@code false} if it had
+     * already fired, was deleted, or is not due yet.
+     */
+    public synchronized boolean onReminderFired(long id) {
+        long now = clock.currentTimeMillis();
+        boolean fired = helper.markReminderTriggered(id, now);
+        ensureLoaded();
+        Armed current = armedById.get(id);
+        if (current != null) {
+            if (current.time > now) {
+                // delivered early, e.g. after the wall clock jumped back; the alarm is spent, so arm it again
+                setAlarm(current);
+            } else {
+                // cancelling also stops the alarm when the dispatcher got here first
+                disarm(current);
+                refill();
+            }
+        }
+        if (fired && dispatcher != null) {
+            dispatcher.cancel(id);
+        }
+        return fired;
+    }
+
+    /** Ids of the reminders with an armed alarm, soonest first. */
+    @VisibleForTesting
+    synchronized List<Long> getArmedReminderIds() {
+        ensureLoaded();
+        List<Long> ids = new ArrayList<>(armed.size());
+        for (Armed reminder : armed) {
+            ids.add(reminder.id);
+        }
+        return ids;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            loaded = true;
+            refill();
+        }
+    }
+
+    private void offer(long id, Reminder reminder) {
+        if (reminder.isTriggered() || armedById.containsKey(id)) {
+            return;
+        }
+        Armed candidate = new Armed(id, reminder.getTaskId(), reminder.getTimeInMillis());
+        if (armed.size() < window) {
+            // a window with free slots already holds every pending reminder
+            arm(candidate);
+            return;
+        }
+        Armed last = armed.last();
+        if (candidate.compareTo(last) < 0) {
+            arm(candidate);
+            disarm(last);
+        }
+    }
+
+    /** Tops the window up with the pending reminders that follow its last entry. */
+    private void refill() {
+        int free = window - armed.size();
+        if (free <= 0) {
+            return;
+        }
+        List<Reminder> next = armed.isEmpty()
+                ? helper.getUpcomingReminders(free)
+                : helper.getUpcomingReminders(armed.last().time, armed.last().id, free);
+        for (Reminder reminder : next) {
+            arm(new Armed(reminder.getId(), reminder.getTaskId(), reminder.getTimeInMillis()));
+        }
+    }
+
+    private void arm(Armed reminder) {
+        armed.add(reminder);
+        armedById.put(reminder.id, reminder);
+        setAlarm(reminder);
+    }
+
+    private void disarm(Armed reminder) {
+        armed.remove(reminder);
+        armedById.remove(reminder.id);
+        cancelAlarm(reminder.id);
+    }
+
+    private void setAlarm(Armed reminder) {
+        PendingIntent operation = ReminderAlarmReceiver.pendingIntent(context, reminder.id, PendingIntent.FLAG_UPDATE_CURRENT);
+        if (canScheduleExactAlarms()) {
+            alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, reminder.time, operation);
+        } else {
+            // without the exact-alarm permission the system may defer it by a few minutes
+            alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, reminder.time, operation);
+        }
+    }
+
+    private void cancelAlarm(long id) {
+        PendingIntent operation = ReminderAlarmReceiver.pendingIntent(context, id, PendingIntent.FLAG_NO_CREATE);
+        if (operation != null) {
+            alarmManager.cancel(operation);
+            operation.cancel();
+        }
+    }
+
+    private boolean canScheduleExactAlarms() {
+        return Build.VERSION.SDK_INT < Build.VERSION_CODES.S || alarmManager.canScheduleExactAlarms();
+    }
+}
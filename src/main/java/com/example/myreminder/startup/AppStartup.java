@@ -0,0 +1,170 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.VisibleForTesting;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the app's {@link Initializer}s on a background thread when the process starts, so
+ * the main thread can draw its first frame without waiting for them. Each initializer runs
+ * once per process, after all of its dependencies, and its start and end are recorded in the
+ * {@link StartupReport}.
+ *
+ * <p>{@link #start} only schedules work and returns straight away. Code that needs an
+ * initializer's result waits on {@link #result(Class)}, from a background thread; the main
+ * thread should observe the future instead of blocking on it.
+ */
+@AnyThread
+public final class AppStartup {
+
+    private static final String TAG = "AppStartup";
+
+    // an idle startup thread exits after this, as nothing is scheduled once the app is up
+    private static final long KEEP_ALIVE_SECONDS = 5;
+
+    private static volatile AppStartup instance;
+
+    private final Executor executor;
+    private final StartupReport report;
+    // guarded by this
+    private final Map<Class<?>, ListenableFuture<?>> results = new HashMap<>();
+
+    public static AppStartup getInstance() {
+        AppStartup startup = instance;
+        if (startup == null) {
+            synchronized (AppStartup.class) {
+                startup = instance;
+                if (startup == null) {
+                    startup = new AppStartup(newStartupExecutor(), StartupReport.getInstance());
+                    instance = startup;
+                }
+            }
+        }
+        return startup;
+    }
+
+    @VisibleForTesting
+    AppStartup(Executor executor, StartupReport report) {
+        this.executor = executor;
+        this.report = report;
+    }
+
+    /**
+     * Schedules {@code initializers} in dependency order. Every dependency must either be
+     * among them or have been started before. Initializers that were started before are
+     * not run again.
+     *
+     * @throws IllegalArgumentException if a dependency was never passed in
+     * @throws IllegalStateException    if the initializers depend on each other in a cycle;
+     *                                  nothing is scheduled in either case
+     */
+    public synchronized void start(Context context, Initializer<?>... initializers) {
+        Map<Class<?>, Initializer<?>> byType = new HashMap<>();
+        for (Initializer<?> initializer : initializers) {
+            byType.put(initializer.getClass(), initializer);
+        }
+        Set<Class<?>> ordered = new LinkedHashSet<>();
+        for (Initializer<?> initializer : initializers) {
+            order(initializer.getClass(), byType, new ArrayList<>(), ordered);
+        }
+        for (Class<?> type : ordered) {
+            Initializer<?> initializer = byType.get(type);
+            List<ListenableFuture<?>> dependencies = new ArrayList<>();
+            for (Class<?> dependency : initializer.dependencies()) {
+                dependencies.add(results.get(dependency));
+            }
+            ListenableFutureTask<?> task = ListenableFutureTask.create(() -> run(initializer, dependencies, context));
+            results.put(type, task);
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * The result of an initializer that has been started. It fails with the initializer's
+     * exception, or with an {@link IllegalStateException} if one of its dependencies failed.
+     *
+     * @throws IllegalStateException if {@code type} was never started
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> ListenableFuture<T> result(Class<? extends Initializer<T>> type) {
+        ListenableFuture<?> result = results.get(type);
+        if (result == null) {
+            throw new IllegalStateException(type.getSimpleName() + " was never started");
+        }
+        return (ListenableFuture<T>) result;
+    }
+
+    // depth first, so every initializer lands in ordered after its dependencies
+    private void order(Class<?> type, Map<Class<?>, Initializer<?>> byType, List<Class<?>> path, Set<Class<?>> ordered) {
+        if (results.containsKey(type) || ordered.contains(type)) {
+            return;
+        }
+        if (path.contains(type)) {
+            StringBuilder cycle = new StringBuilder();
+            for (Class<?> step : path.subList(path.indexOf(type), path.size())) {
+                cycle.append(step.getSimpleName()).append(" -> ");
+            }
+            throw new IllegalStateException("Initializers depend on each other: " + cycle + type.getSimpleName());
+        }
+        Initializer<?> initializer = byType.get(type);
+        if (initializer == null) {
+            throw new IllegalArgumentException(path.get(path.size() - 1).getSimpleName() + " depends on " +
+                    type.getSimpleName() + ", which was never started");
+        }
+        path.add(type);
+        for (Class<?> dependency : initializer.dependencies()) {
+            order(dependency, byType, path, ordered);
+        }
+        path.remove(path.size() - 1);
+        ordered.add(type);
+    }
+
+    private <T> T run(Initializer<T> initializer, List<ListenableFuture<?>> dependencies, Context context) {
+        String name = initializer.getClass().getSimpleName();
+        for (ListenableFuture<?> dependency : dependencies) {
+            try {
+                dependency.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(name + " was skipped, a dependency failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(name + " was interrupted", e);
+            }
+        }
+        long start = report.now();
+        T value;
+        try {
+            value = initializer.create(context);
+        } catch (RuntimeException e) {
+            Log.e(TAG, name + " failed", e);
+            throw e;
+        }
+        report.recordInitializer(name, start, report.now());
+        return value;
+    }
+
+    // one thread, so initializers run in the order they were scheduled and never compete with each other
+    private static Executor newStartupExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> new Thread(runnable, "app-startup"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+
+import com.example.myreminder.database.DatabaseHelper;
+
+/**
+ * Opens the app database on the startup thread. The first open creates or upgrades the
+ * schema and seeds the sample rows, so without this it would run on whichever thread
+ * happened to ask for the database first.
+ */
+public final class DatabaseInitializer implements Initializer<DatabaseHelper> {
+
+    @Override
+    public DatabaseHelper create(Context context) {
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        helper.getWritableDatabase();
+        return helper;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.util.Log;
+
+import com.example.myreminder.database.DatabaseHelper;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Warms the database up for the first list screen once {@link DatabaseInitializer} has opened
+ * it; see {@link DatabaseHelper#warmUp}. The warm-up only saves time, so it gives way as soon
+ * as memory runs short: {@link #cancel()} stops it, and the lists then load cold.
+ * Produces whether the warm-up ran to the end.
+ */
+public final class DatabaseWarmUp implements Initializer<Boolean> {
+
+    private static final String TAG = "DatabaseWarmUp";
+
+    private final CancellationSignal signal = new CancellationSignal();
+
+    @Override
+    public Boolean create(Context context) {
+        try {
+            DatabaseHelper.getInstance(context).warmUp(signal);
+            return true;
+        } catch (OperationCanceledException e) {
+            Log.i(TAG, "warm-up cancelled");
+            return false;
+        }
+    }
+
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.singletonList(DatabaseInitializer.class);
+    }
+
+    /** Stops the warm-up if it has not finished; safe to call from any thread, any number of times. */
+    public void cancel() {
+        signal.cancel();
+    }
+}
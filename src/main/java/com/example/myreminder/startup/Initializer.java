@@ -0,0 +1,25 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+
+import androidx.annotation.WorkerThread;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One piece of work {@link AppStartup} runs off the main thread when the process starts.
+ *
+ * @param <T> what the work produces, handed out by {@link AppStartup#result(Class)}
+ */
+public interface Initializer<T> {
+
+    /** Does the work; runs on the startup thread, after every initializer in {@link #dependencies()}. */
+    @WorkerThread
+    T create(Context context);
+
+    /** Initializers that have to finish before this one starts. */
+    default List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+
+import com.example.myreminder.scheduling.ReminderDispatcher;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Starts firing reminders in-process on the main thread once {@link DatabaseInitializer} has
+ * opened the database, so a reminder that comes due while the app runs does not wait for
+ * its alarm. The alarms stay armed for when the app is not running.
+ */
+public final class ReminderDispatcherInitializer implements Initializer<ReminderDispatcher> {
+
+    @Override
+    public ReminderDispatcher create(Context context) {
+        ReminderDispatcher dispatcher = ReminderDispatcher.forMainThread(context, null);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.singletonList(DatabaseInitializer.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.myreminder.startup;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Timestamps of a cold start, in milliseconds since the process was started: when the main
+ * thread reached each {@link Phase}, and when each {@link Initializer} started and finished
+ * on the startup thread. A phase keeps the first time it was reached, so an activity that is
+ * recreated later does not move it. The report is logged as JSON once the first frame is
+ * drawn; {@link #toJson()} and {@link #writeTo(File)} export it on demand.
+ */
+public final class StartupReport {
+
+    /** The points a cold start passes on the main thread, in the order it passes them. */
+    public enum Phase {
+        APPLICATION_CREATED,
+        ACTIVITY_CREATED,
+        FIRST_VIEW_CREATED,
+        FIRST_FRAME
+    }
+
+    /** One timed step of the start; a phase starts and ends at the same moment. */
+    public static final class Step {
+        private final String name;
+        private final String thread;
+        private final long startMillis;
+        private final long endMillis;
+
+        Step(String name, String thread, long startMillis, long endMillis) {
+            this.name = name;
+            this.thread = thread;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getEndMillis() {
+            return endMillis;
+        }
+    }
+
+    private static final String TAG = "StartupReport";
+
+    private static final StartupReport INSTANCE =
+            new StartupReport(Process.getStartElapsedRealtime(), SystemClock::elapsedRealtime);
+
+    private final long processStart;
+    private final LongSupplier clock;
+    // guarded by this
+    private final Map<Phase, Step> phases = new EnumMap<>(Phase.class);
+    private final List<Step> initializers = new ArrayList<>();
+
+    public static StartupReport getInstance() {
+        return INSTANCE;
+    }
+
+    StartupReport(long processStart, LongSupplier clock) {
+        this.processStart = processStart;
+        this.clock = clock;
+    }
+
+    /** Milliseconds since the process was started. */
+    long now() {
+        return clock.getAsLong() - processStart;
+    }
+
+    /** Records that the calling thread has reached {@code phase}, unless it was reached before. */
+    public void mark(Phase phase) {
+        String json = null;
+        synchronized (this) {
+            if (phases.containsKey(phase)) {
+                return;
+            }
+            long now = now();
+            phases.put(phase, new Step(phase.name().toLowerCase(Locale.ROOT), Thread.currentThread().getName(), now, now));
+            if (phase == Phase.FIRST_FRAME) {
+                json = toJson();
+            }
+        }
+        if (json != null) {
+            Log.i(TAG, json);
+        }
+    }
+
+    synchronized void recordInitializer(String name, long startMillis, long endMillis) {
+        initializers.add(new Step(name, Thread.currentThread().getName(), startMillis, endMillis));
+    }
+
+    /** When {@code phase} was first reached, or null if it has not been yet. */
+    @Nullable
+    public synchronized Step getPhase(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /** The initializer with the given simple class name, or null if it has not finished. */
+    @Nullable
+    public synchronized Step getInitializer(String name) {
+        for (Step step : initializers) {
+            if (step.name.equals(name)) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The report as one JSON object: {@code phases} in {@link Phase} order and
+     * {@code initializers} in the order they finished.
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{\"phases\":[");
+        String separator = "";
+        for (Step step : phases.values()) {
+            json.append(separator).append("{\"phase\":");
+            appendString(json, step.name);
+            json.append(",\"at_ms\":").append(step.startMillis).append(",\"thread\":");
+            appendString(json, step.thread);
+            json.append('}');
+            separator = ",";
+        }
+        json.append("],\"initializers\":[");
+        separator = "";
+        for (Step step : initializers) {
+            json.append(separator).append("{\"name\":");
+            appendString(json, step.name);
+            json.append(",\"start_ms\":").append(step.startMillis)
+                    .append(",\"end_ms\":").append(step.endMillis).append(",\"thread\":");
+            appendString(json, step.thread);
+            json.append('}');
+            separator = ",";
+        }
+        return json.append("]}").toString();
+    }
+
+    /** Writes {@link #toJson()} to {@code file}, replacing it. */
+    @WorkerThread
+    public void writeTo(File file) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+    }
+
+    // names here are class and thread names; quotes, backslashes and control characters are all that need escaping
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
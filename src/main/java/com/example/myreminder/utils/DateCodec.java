@@ -0,0 +1,333 @@
+package com.example.myreminder.utils;
+
+import java.text.ParsePosition;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Converts between the epoch-millis values stored in the database and the
+ * {@code yyyy-MM-dd HH:mm:ss} text the models accept and display, in the device time zone.
+ * A value of {@code 0} means "no date".
+ *
+ * <p>The storage layout is parsed and formatted by hand, so the hot path neither allocates
+ * formatters nor throws on bad input. Text that is not exactly in that layout, such as
+ * {@code 2025-1-5 9:00:00}, goes through a shared formatter that accepts one or more digits
+ * per field. Zone offsets are cached per stretch of time between
+ * two transitions of the current zone; call {@link #onTimeZoneChanged()} when the device
+ * zone changes. Display formats use shared, thread-safe {@link DateTimeFormatter}s.
+ */
+public final class DateCodec {
+
+    public static final String STORAGE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /** e.g. {@code 25/10/2024 14:30}, used for note timestamps. */
+    public static final DateTimeFormatter DISPLAY_DATE_TIME =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", Locale.getDefault());
+
+    /** e.g. {@code Sun, 27 Oct 2024 - 14:30}, used for reminder times. */
+    public static final DateTimeFormatter DISPLAY_DAY_DATE_TIME =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy - HH:mm", Locale.getDefault());
+
+    private static final DateTimeFormatter STORAGE_FORMATTER =
+            DateTimeFormatter.ofPattern(STORAGE_PATTERN, Locale.ROOT);
+
+    // the storage fields in any width; only ever used through parseUnresolved, which reports errors instead of throwing
+    private static final DateTimeFormatter LENIENT_STORAGE_FORMATTER =
+            DateTimeFormatter.ofPattern("u-M-d H:m:s", Locale.ROOT);
+
+    private static final int STORAGE_LENGTH = 19;
+    private static final int MAX_CACHED_WINDOWS = 64;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    /** Offset of {@link #zone} for a span of instants, and the local times that map into it. */
+    private static final class OffsetWindow {
+        final long utcStart;
+        final long utcEnd;
+        final long localStart;
+        final long localEnd;
+        final int offsetSeconds;
+
+        OffsetWindow(long utcStart, long utcEnd, long localStart, long localEnd, int offsetSeconds) {
+            this.utcStart = utcStart;
+            this.utcEnd = utcEnd;
+            this.localStart = localStart;
+            this.localEnd = localEnd;
+            this.offsetSeconds = offsetSeconds;
+        }
+    }
+
+    private static final OffsetWindow[] NO_WINDOWS = new OffsetWindow[0];
+
+    private static volatile ZoneId zone = ZoneId.systemDefault();
+    // sorted by utcStart (and therefore by localStart); replaced, never mutated
+    private static volatile OffsetWindow[] windows = NO_WINDOWS;
+
+    private DateCodec() {
+    }
+
+    /** Re-reads the device time zone; cached offsets are discarded. */
+    public static void onTimeZoneChanged() {
+        zone = ZoneId.systemDefault();
+        windows = NO_WINDOWS;
+    }
+
+    // ===== storage text =====
+
+    /** Returns the epoch millis for {@code text}, or {@code 0} when it is empty or malformed. */
+    public static long parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        if (text.length() != STORAGE_LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' '
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return parseLenient(text);
+        }
+        return toMillis(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2),
+                digits(text, 11, 2), digits(text, 14, 2), digits(text, 17, 2));
+    }
+
+    private static long parseLenient(String text) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor fields = LENIENT_STORAGE_FORMATTER.parseUnresolved(text, position);
+        if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return 0;
+        }
+        long year = fields.getLong(ChronoField.YEAR);
+        if (year < 0 || year > 9999) {
+            return 0;
+        }
+        return toMillis((int) year, field(fields, ChronoField.MONTH_OF_YEAR), field(fields, ChronoField.DAY_OF_MONTH),
+                field(fields, ChronoField.HOUR_OF_DAY), field(fields, ChronoField.MINUTE_OF_HOUR),
+                field(fields, ChronoField.SECOND_OF_MINUTE));
+    }
+
+    // an unresolved field can hold any long; anything past an int is out of range anyway
+    private static int field(TemporalAccessor fields, ChronoField field) {
+        long value = fields.getLong(field);
+        return value < 0 || value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    /** Returns the epoch millis for a local date and time, or {@code 0} if any field is out of range. */
+    private static long toMillis(int year, int month, int day, int hour, int minute, int second) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return 0;
+        }
+        long localSeconds = daysFromCivil(year, month, day) * SECONDS_PER_DAY
+                + hour * 3600L + minute * 60L + second;
+        return (localSeconds - offsetForLocal(localSeconds)) * 1000;
+    }
+
+    /** Formats {@code millis} as storage text, or returns {@code null} for {@code 0}. */
+    public static String format(long millis) {
+        if (millis == 0) {
+            return null;
+        }
+        long utcSeconds = Math.floorDiv(millis, 1000);
+        long localSeconds = utcSeconds + offsetForUtc(utcSeconds);
+        long days = Math.floorDiv(localSeconds, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localSeconds, SECONDS_PER_DAY);
+
+        // civil-from-days (proleptic Gregorian), see daysFromCivil
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return STORAGE_FORMATTER.format(toLocalDateTime(millis));
+        }
+
+        char[] out = new char[STORAGE_LENGTH];
+        putDigits(out, 0, (int) year, 4);
+        out[4] = '-';
+        putDigits(out, 5, month, 2);
+        out[7] = '-';
+        putDigits(out, 8, day, 2);
+        out[10] = ' ';
+        putDigits(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        putDigits(out, 14, secondOfDay / 60 % 60, 2);
+        out[16] = ':';
+        putDigits(out, 17, secondOfDay % 60, 2);
+        return new String(out);
+    }
+
+    /**
+     * Returns the instant the local day starts, {@code days} days after the one holding
+     * {@code millis}: {@code startOfDay(now, 0)} is today's midnight, {@code startOfDay(now, 1)} tomorrow's.
+     */
+    public static long startOfDay(long millis, int days) {
+        long utcSeconds = Math.floorDiv(millis, 1000);
+        long localDay = Math.floorDiv(utcSeconds + offsetForUtc(utcSeconds), SECONDS_PER_DAY) + days;
+        long localMidnight = localDay * SECONDS_PER_DAY;
+        return (localMidnight - offsetForLocal(localMidnight)) * 1000;
+    }
+
+    // ===== display text =====
+
+    /** Formats {@code millis} for display, or returns {@code fallback} for {@code 0}. */
+    public static String formatForDisplay(long millis, DateTimeFormatter formatter, String fallback) {
+        if (millis == 0) {
+            return fallback;
+        }
+        return formatter.format(toLocalDateTime(millis));
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        long utcSeconds = Math.floorDiv(millis, 1000);
+        int nanos = (int) Math.floorMod(millis, 1000) * 1_000_000;
+        return LocalDateTime.ofEpochSecond(utcSeconds, nanos, ZoneOffset.ofTotalSeconds(offsetForUtc(utcSeconds)));
+    }
+
+    // ===== zone offsets =====
+
+    private static int offsetForUtc(long utcSeconds) {
+        OffsetWindow w = find(windows, utcSeconds, false);
+        if (w == null) {
+            w = windowAt(utcSeconds);
+            remember(w);
+        }
+        return w.offsetSeconds;
+    }
+
+    private static int offsetForLocal(long localSeconds) {
+        OffsetWindow w = find(windows, localSeconds, true);
+        if (w != null) {
+            return w.offsetSeconds;
+        }
+        // same rule as LocalDateTime.atZone: the earlier offset in overlaps, the offset before a gap
+        ZoneRules rules = zone.getRules();
+        int offset = rules.getOffset(LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC)).getTotalSeconds();
+        remember(windowAt(localSeconds - offset));
+        return offset;
+    }
+
+    private static OffsetWindow find(OffsetWindow[] cached, long seconds, boolean local) {
+        int low = 0;
+        int high = cached.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            OffsetWindow w = cached[mid];
+            if (seconds < (local ? w.localStart : w.utcStart)) {
+                high = mid - 1;
+            } else if (seconds >= (local ? w.localEnd : w.utcEnd)) {
+                low = mid + 1;
+            } else {
+                return w;
+            }
+        }
+        return null;
+    }
+
+    /** Adds {@code w} to the cache; a lost race with another thread only costs a recompute. */
+    private static void remember(OffsetWindow w) {
+        OffsetWindow[] current = windows;
+        if (current.length >= MAX_CACHED_WINDOWS) {
+            windows = new OffsetWindow[]{w};
+            return;
+        }
+        int index = 0;
+        while (index < current.length && current[index].utcStart < w.utcStart) {
+            index++;
+        }
+        if (index < current.length && current[index].utcStart == w.utcStart) {
+            return;
+        }
+        OffsetWindow[] updated = new OffsetWindow[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        updated[index] = w;
+        System.arraycopy(current, index, updated, index + 1, current.length - index);
+        windows = updated;
+    }
+
+    /**
+     * Builds the window around {@code utcSeconds}. Local times near either transition that
+     * are skipped or repeated are left outside the window, so they always take the slow path.
+     */
+    private static OffsetWindow windowAt(long utcSeconds) {
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            int offset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            return new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, offset);
+        }
+        Instant instant = Instant.ofEpochSecond(utcSeconds);
+        int offset = rules.getOffset(instant).getTotalSeconds();
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+
+        long utcStart = Long.MIN_VALUE;
+        long localStart = Long.MIN_VALUE;
+        if (previous != null) {
+            utcStart = previous.toEpochSecond();
+            localStart = utcStart + Math.max(offset, previous.getOffsetBefore().getTotalSeconds());
+        }
+        long utcEnd = Long.MAX_VALUE;
+        long localEnd = Long.MAX_VALUE;
+        if (next != null) {
+            utcEnd = next.toEpochSecond();
+            localEnd = utcEnd + offset;
+        }
+        return new OffsetWindow(utcStart, utcEnd, localStart, localEnd, offset);
+    }
+
+    // ===== calendar arithmetic =====
+
+    /** Days since 1970-01-01 for a proleptic Gregorian date (H. Hinnant's days_from_civil). */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /** Reads {@code length} ASCII digits, or returns -1 if any of them is not a digit. */
+    private static int digits(String text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void putDigits(char[] out, int start, int value, int length) {
+        for (int i = start + length - 1; i >= start; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
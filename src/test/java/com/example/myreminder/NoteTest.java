@@ -420,6 +420,18 @@ public class NoteTest {
         assertEquals("Tags should be equal", note1.getTag(), note2.getTag());
         assertEquals("CreatedAt should be equal", note1.getCreatedAt(), note2.getCreatedAt());
         assertEquals("UpdatedAt should be equal", note1.getUpdatedAt(), note2.getUpdatedAt());
+        assertEquals("Notes with the same fields should be equal", note1, note2);
+        assertEquals("Equal notes should have the same hash code", note1.hashCode(), note2.hashCode());
+    }
+
+    @Test
+    public void testNoteEquality_DifferentText() {
+        // Arrange
+        Note note1 = new Note(1, "Same note", "Same tag", currentTime, currentTime);
+        Note note2 = new Note(1, "Edited note", "Same tag", currentTime, currentTime);
+
+        // Assert
+        assertNotEquals("Notes differing in text should not be equal", note1, note2);
     }
 
     @Test
@@ -437,6 +449,38 @@ public class NoteTest {
         assertNull("Null updatedAt should be handled", note.getUpdatedAt());
     }
 
+    // ===== TEST CHANGE TRACKING =====
+
+    @Test
+    public void testDirtyFields_OnlyRealChangesCount() {
+        // Arrange
+        Note loaded = new Note(1, "text", "tag", 1_750_000_000_000L, 1_750_000_000_000L);
+        loaded.markClean();
+
+        // Act
+        loaded.setNoteText("text");
+        loaded.setTag("other");
+
+        // Assert
+        assertEquals(Note.FIELD_TAG, loaded.getDirtyFields());
+        assertEquals("A new note should write every column", Note.ALL_FIELDS, new Note("text", null).getDirtyFields());
+    }
+
+    @Test
+    public void testCopyFields_KeepsUpdatedAt() {
+        // Arrange
+        Note cached = new Note(1, "old", "tag", 1_750_000_000_000L, 1_750_000_000_000L);
+        Note changes = new Note(1, "new", "stale", 1_750_000_000_000L, 1_760_000_000_000L);
+
+        // Act
+        cached.copyFields(changes, Note.FIELD_NOTE_TEXT);
+
+        // Assert
+        assertEquals("new", cached.getNoteText());
+        assertEquals("tag", cached.getTag());
+        assertEquals("copyFields should not stamp the current time", 1_750_000_000_000L, cached.getUpdatedAtMillis());
+    }
+
     // ===== HELPER METHOD FOR TIMESTAMP COMPARISON =====
 
     private boolean isLaterTimestamp(String later, String earlier) {
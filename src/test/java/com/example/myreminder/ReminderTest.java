@@ -530,4 +530,36 @@ public class ReminderTest {
         assertEquals("Empty reminder time should return 0 millis", 0, reminder.getTimeInMillis());
         assertFalse("Empty reminder time should not be due", reminder.isDue());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReminderEquality() {
+        // Arrange
+        Reminder reminder1 = new Reminder(1, 2, "2024-12-31 23:59:59", false);
+        Reminder reminder2 = new Reminder(1, 2, "2024-12-31 23:59:59", false);
+        Reminder triggered = new Reminder(1, 2, "2024-12-31 23:59:59", true);
+
+        // Assert
+        assertEquals("Reminders with the same fields should be equal", reminder1, reminder2);
+        assertEquals("Equal reminders should have the same hash code", reminder1.hashCode(), reminder2.hashCode());
+        assertNotEquals("Reminders differing in triggered state should not be equal", reminder1, triggered);
+    }
+
+    // ===== TEST CHANGE TRACKING =====
+
+    @Test
+    public void testDirtyFields_TrackTimeAndTriggered() {
+        // Arrange
+        Reminder loaded = new Reminder(1, 2, 1_760_000_000_000L, false);
+        loaded.markClean();
+
+        // Act
+        loaded.setTaskId(2);
+        loaded.setTimeInMillis(1_760_000_060_000L);
+        loaded.setTriggered(true);
+
+        // Assert
+        assertEquals(Reminder.FIELD_TIME | Reminder.FIELD_TRIGGERED, loaded.getDirtyFields());
+        loaded.markClean();
+        assertFalse(loaded.isDirty());
+    }
+}
@@ -409,9 +409,138 @@ public class TaskTest {
         Task task1 = new Task(1, "Same Task", "Description", 1, "2024-12-31 23:59:59", false, currentTime);
         Task task2 = new Task(1, "Same Task", "Description", 1, "2024-12-31 23:59:59", false, currentTime);
 
-        // Note: Since we don't have equals() method, we test field by field
+        // Assert
         assertEquals("IDs should be equal", task1.getId(), task2.getId());
         assertEquals("Titles should be equal", task1.getTitle(), task2.getTitle());
         assertEquals("Priorities should be equal", task1.getPriority(), task2.getPriority());
+        assertEquals("Tasks with the same fields should be equal", task1, task2);
+        assertEquals("Equal tasks should have the same hash code", task1.hashCode(), task2.hashCode());
+    }
+
+    @Test
+    public void testTaskEquality_DifferentDoneState() {
+        // Arrange
+        Task task1 = new Task(1, "Same Task", "Description", 1, "2024-12-31 23:59:59", false, currentTime);
+        Task task2 = new Task(1, "Same Task", "Description", 1, "2024-12-31 23:59:59", true, currentTime);
+
+        // Assert
+        assertNotEquals("Tasks differing in done state should not be equal", task1, task2);
+    }
+
+    // ===== TEST CHANGE TRACKING =====
+
+    @Test
+    public void testDirtyFields_NewTaskIsFullyDirty() {
+        assertEquals("A task never stored should write every column", Task.ALL_FIELDS, task.getDirtyFields());
+    }
+
+    @Test
+    public void testDirtyFields_OnlyRealChangesCount() {
+        // Arrange
+        Task loaded = new Task(1, "Title", "Description", 2, 1_760_000_000_000L, false, 1_750_000_000_000L);
+        loaded.markClean();
+
+        // Act
+        loaded.setTitle("Title");
+        loaded.setPriority(2);
+        loaded.setDone(true);
+        loaded.setDueDateMillis(1_770_000_000_000L);
+
+        // Assert
+        assertEquals("Setting an equal value should not mark a field",
+                Task.FIELD_DONE | Task.FIELD_DUE_DATE, loaded.getDirtyFields());
+    }
+
+    @Test
+    public void testDirtyFields_CopiedAndIgnoredByEquals() {
+        // Arrange
+        Task loaded = new Task(1, "Title", null, 1, 0, false, 1_750_000_000_000L);
+        loaded.markClean();
+        Task edited = new Task(loaded);
+
+        // Act
+        edited.setDescription("added");
+        edited.setDescription(null);
+
+        // Assert
+        assertEquals("The copy should keep the dirty bits", Task.FIELD_DESCRIPTION, new Task(edited).getDirtyFields());
+        assertEquals("Dirty bits are not part of equality", loaded, edited);
+        assertEquals(loaded.hashCode(), edited.hashCode());
+    }
+
+    @Test
+    public void testMarkClean_KeepsFieldsSetAfterTheCopy() {
+        // Arrange - what TaskRepository.updateTask does before handing the copy to the writer
+        Task loaded = new Task(1, "Title", null, 1, 0, false, 1_750_000_000_000L);
+        loaded.markClean();
+        loaded.setTitle("Submitted");
+        Task submitted = new Task(loaded);
+
+        // Act
+        loaded.setPriority(3);
+        loaded.markClean(submitted.getDirtyFields());
+
+        // Assert
+        assertEquals(Task.FIELD_TITLE, submitted.getDirtyFields());
+        assertEquals("A field set after the copy should stay dirty", Task.FIELD_PRIORITY, loaded.getDirtyFields());
+    }
+
+    @Test
+    public void testCopyFields_TakesOnlyTheMaskedFields() {
+        // Arrange
+        Task cached = new Task(1, "Old title", "Old description", 1, 0, false, 1_750_000_000_000L);
+        Task changes = new Task(1, "New title", "Stale description", 3, 0, true, 1_750_000_000_000L);
+
+        // Act
+        cached.copyFields(changes, Task.FIELD_TITLE | Task.FIELD_DONE);
+
+        // Assert
+        assertEquals("New title", cached.getTitle());
+        assertTrue(cached.isDone());
+        assertEquals("Old description", cached.getDescription());
+        assertEquals(1, cached.getPriority());
+    }
+
+    @Test
+    public void testSetDueDate_UnparseableTextKeepsTheDate() {
+        // Arrange
+        Task loaded = new Task(1, "Title", null, 1, 0, false, 1_750_000_000_000L);
+        loaded.setDueDate("2024-11-15 14:30:00");
+        long dueDateMillis = loaded.getDueDateMillis();
+        loaded.markClean();
+
+        // Act
+        loaded.setDueDate("invalid-date-format");
+
+        // Assert
+        assertEquals("Unparseable text should not clear the due date", dueDateMillis, loaded.getDueDateMillis());
+        assertEquals("2024-11-15 14:30:00", loaded.getDueDate());
+        assertEquals("Nothing changed, so nothing should be written", 0, loaded.getDirtyFields());
+    }
+
+    @Test
+    public void testSetDueDate_EmptyTextClearsTheDate() {
+        // Arrange
+        Task loaded = new Task(1, "Title", null, 1, 1_760_000_000_000L, false, 1_750_000_000_000L);
+        loaded.markClean();
+
+        // Act
+        loaded.setDueDate("");
+
+        // Assert
+        assertEquals(0, loaded.getDueDateMillis());
+        assertEquals(Task.FIELD_DUE_DATE, loaded.getDirtyFields());
+    }
+
+    @Test
+    public void testSetCreatedAt_UnparseableTextKeepsTheTime() {
+        // Arrange
+        Task loaded = new Task(1, "Title", null, 1, 0, false, 1_750_000_000_000L);
+
+        // Act
+        loaded.setCreatedAt("invalid-date-format");
+
+        // Assert
+        assertEquals(1_750_000_000_000L, loaded.getCreatedAtMillis());
     }
-}
\ No newline at end of file
+}
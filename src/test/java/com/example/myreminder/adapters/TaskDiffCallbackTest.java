@@ -0,0 +1,76 @@
+package com.example.myreminder.adapters;
+
+import com.example.myreminder.models.Note;
+import com.example.myreminder.models.Task;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for the item, content and payload checks in TaskDiffCallback and NoteDiffCallback
+ */
+public class TaskDiffCallbackTest {
+
+    private static final long CREATED_AT = 1_700_000_000_000L;
+
+    private final TaskDiffCallback taskCallback = new TaskDiffCallback();
+    private final NoteDiffCallback noteCallback = new NoteDiffCallback();
+
+    // ===== TEST TASKS =====
+
+    @Test
+    public void testTasks_SameIdIsSameItem() {
+        // Arrange
+        Task oldTask = task(1, "Buy milk", false);
+        Task newTask = task(1, "Buy bread", false);
+
+        // Assert
+        assertTrue("Same id should be the same row", taskCallback.areItemsTheSame(oldTask, newTask));
+        assertFalse("Different title should change the contents", taskCallback.areContentsTheSame(oldTask, newTask));
+        assertFalse("Different id should be another row", taskCallback.areItemsTheSame(oldTask, task(2, "Buy milk", false)));
+    }
+
+    @Test
+    public void testTasks_EqualCopiesHaveSameContents() {
+        assertTrue("A re-read of the same row should not rebind",
+                taskCallback.areContentsTheSame(task(1, "Buy milk", false), task(1, "Buy milk", false)));
+    }
+
+    @Test
+    public void testTasks_OnlyDoneChangedGivesPayload() {
+        // Act
+        Object payload = taskCallback.getChangePayload(task(1, "Buy milk", false), task(1, "Buy milk", true));
+
+        // Assert
+        assertSame("Toggling done should bind only the checkbox", TaskDiffCallback.PAYLOAD_DONE, payload);
+    }
+
+    @Test
+    public void testTasks_OtherChangesGiveNoPayload() {
+        // Act
+        Object payload = taskCallback.getChangePayload(task(1, "Buy milk", false), task(1, "Buy bread", true));
+
+        // Assert
+        assertNull("Any other change should rebind the whole row", payload);
+    }
+
+    // ===== TEST NOTES =====
+
+    @Test
+    public void testNotes_ComparedByIdAndContents() {
+        // Arrange
+        Note oldNote = new Note(1, "Call mom", "family", CREATED_AT, CREATED_AT);
+        Note sameNote = new Note(1, "Call mom", "family", CREATED_AT, CREATED_AT);
+        Note editedNote = new Note(1, "Call mom", "family", CREATED_AT, CREATED_AT + 1000);
+
+        // Assert
+        assertTrue(noteCallback.areItemsTheSame(oldNote, editedNote));
+        assertTrue(noteCallback.areContentsTheSame(oldNote, sameNote));
+        assertFalse("A newer updated_at should rebind", noteCallback.areContentsTheSame(oldNote, editedNote));
+    }
+
+    private static Task task(int id, String title, boolean isDone) {
+        return new Task(id, title, "", 1, 0, isDone, CREATED_AT);
+    }
+}
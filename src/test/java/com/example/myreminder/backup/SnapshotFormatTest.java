@@ -0,0 +1,152 @@
+package com.example.myreminder.backup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for writing and reading back the snapshot file layout, its blocks and checksums
+ */
+public class SnapshotFormatTest {
+
+    private static final long ID = 0x1234_5678_9ABC_DEF0L;
+    private static final long BASE_ID = 42;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("snapshot", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    // ===== ROUND TRIP =====
+
+    @Test
+    public void testHeader_RoundTrips() throws IOException {
+        // Arrange
+        write(0);
+
+        // Act
+        SnapshotReader reader = open();
+
+        // Assert
+        assertEquals(SnapshotFormat.KIND_INCREMENTAL, reader.kind);
+        assertEquals(ID, reader.id);
+        assertEquals(BASE_ID, reader.baseId);
+        assertEquals(1_700_000_000_000L, reader.createdAt);
+        assertNull("An empty snapshot has no blocks", reader.nextBlock());
+    }
+
+    @Test
+    public void testRecords_SpanBlocksInTableOrder() throws IOException {
+        // Arrange - enough deletes per table for several blocks each
+        int perTable = 3 * SnapshotWriter.BLOCK_SIZE / 13;
+        write(perTable);
+
+        // Act
+        SnapshotReader reader = open();
+        long[] counts = new long[SnapshotFormat.TABLES.length];
+        int blocks = 0;
+        for (SnapshotFormat.Table table = reader.nextBlock(); table != null; table = reader.nextBlock()) {
+            blocks++;
+            while (reader.hasRecord()) {
+                assertEquals(SnapshotFormat.OP_DELETE, reader.nextRecord());
+                reader.endRecord();
+                assertEquals("Ids should come back in order", ++counts[table.id - 1], reader.rowId);
+            }
+        }
+
+        // Assert
+        assertArrayEquals(new long[]{perTable, perTable, perTable}, counts);
+        assertTrue("Each table should take several blocks", blocks >= 3 * SnapshotFormat.TABLES.length);
+    }
+
+    // ===== CORRUPTION =====
+
+    @Test
+    public void testCorruptBlock_FailsItsChecksum() throws IOException {
+        // Arrange
+        write(1000);
+        flipByte(SnapshotFormat.HEADER_SIZE + SnapshotFormat.BLOCK_HEADER_SIZE + 100);
+
+        // Act & Assert
+        try {
+            open().nextBlock();
+            fail("A changed byte should be caught");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("checksum"));
+        }
+    }
+
+    @Test
+    public void testCorruptHeader_IsRejected() throws IOException {
+        write(1);
+        flipByte(20);
+        try {
+            open();
+            fail("A changed header should be caught");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("header"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFile_IsRejected() throws IOException {
+        // Arrange
+        write(1000);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 20);
+        }
+
+        // Act
+        SnapshotReader reader = open();
+        for (SnapshotFormat.Table table = reader.nextBlock(); table != null; table = reader.nextBlock()) {
+            while (reader.hasRecord()) {
+                reader.nextRecord();
+                reader.endRecord();
+            }
+        }
+    }
+
+    private void write(int recordsPerTable) throws IOException {
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            SnapshotWriter writer = new SnapshotWriter(output.getChannel(), SnapshotFormat.KIND_INCREMENTAL,
+                    ID, BASE_ID, 1_700_000_000_000L);
+            for (SnapshotFormat.Table table : SnapshotFormat.TABLES) {
+                for (int id = 1; id <= recordsPerTable; id++) {
+                    writer.beginRecord(table, SnapshotFormat.OP_DELETE, id);
+                    writer.endRecord();
+                }
+            }
+            assertEquals(3L * recordsPerTable, writer.finish());
+        }
+    }
+
+    private SnapshotReader open() throws IOException {
+        try (FileInputStream input = new FileInputStream(file)) {
+            return new SnapshotReader(file.getName(), input.getChannel());
+        }
+    }
+
+    private void flipByte(long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+}
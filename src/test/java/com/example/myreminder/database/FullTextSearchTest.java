@@ -0,0 +1,77 @@
+package com.example.myreminder.database;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*
+ * Unit tests for MATCH query building and matchinfo scoring in FullTextSearch
+ */
+public class FullTextSearchTest {
+
+    // ===== TEST MATCH QUERY =====
+
+    @Test
+    public void testMatchQuery_EveryWordBecomesQuotedPrefix() {
+        assertEquals("\"call*\" \"client*\"", FullTextSearch.matchQuery("  call   client "));
+    }
+
+    @Test
+    public void testMatchQuery_OperatorsAreQuoted() {
+        // Act
+        String match = FullTextSearch.matchQuery("report OR \"draft NEAR");
+
+        // Assert
+        assertEquals("Operators and quotes should be matched literally",
+                "\"report*\" \"OR*\" \"draft*\" \"NEAR*\"", match);
+    }
+
+    @Test
+    public void testMatchQuery_BlankInputReturnsNull() {
+        assertNull("Null should not be searched", FullTextSearch.matchQuery(null));
+        assertNull("Whitespace should not be searched", FullTextSearch.matchQuery("   "));
+        assertNull("Quotes alone should not be searched", FullTextSearch.matchQuery("\"\" \""));
+    }
+
+    // ===== TEST SCORE =====
+
+    @Test
+    public void testScore_WeightsColumnsByShareOfHits() {
+        // Arrange - one phrase, two columns: 1 of 4 hits in column 0, 2 of 2 hits in column 1
+        byte[] matchInfo = matchInfo(1, 2, 1, 4, 1, 2, 2, 1);
+
+        // Act
+        double score = FullTextSearch.score(matchInfo, new double[]{2.0, 1.0});
+
+        // Assert
+        assertEquals("Score should be 2 * 1/4 + 1 * 2/2", 1.5, score, 1e-9);
+    }
+
+    @Test
+    public void testScore_RowWithMoreHitsRanksHigher() {
+        // Arrange
+        byte[] oneHit = matchInfo(1, 1, 1, 10, 5);
+        byte[] threeHits = matchInfo(1, 1, 3, 10, 5);
+
+        // Act & Assert
+        assertTrue("More hits should score higher",
+                FullTextSearch.score(threeHits, new double[]{1.0}) > FullTextSearch.score(oneHit, new double[]{1.0}));
+    }
+
+    @Test
+    public void testScore_MissingMatchInfoScoresZero() {
+        assertEquals(0, FullTextSearch.score(null, new double[]{1.0}), 0);
+        assertEquals(0, FullTextSearch.score(new byte[0], new double[]{1.0}), 0);
+    }
+
+    private static byte[] matchInfo(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.nativeOrder());
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+}
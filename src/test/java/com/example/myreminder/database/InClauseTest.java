@@ -0,0 +1,43 @@
+package com.example.myreminder.database;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for the IN-list shapes used by the set-based updates
+ */
+public class InClauseTest {
+
+    @Test
+    public void testShapeSize_RoundsUpToFixedShapes() {
+        assertEquals(16, InClause.shapeSize(1, InClause.MAX_VARIABLES));
+        assertEquals(16, InClause.shapeSize(16, InClause.MAX_VARIABLES));
+        assertEquals(128, InClause.shapeSize(17, InClause.MAX_VARIABLES));
+        assertEquals(512, InClause.shapeSize(300, InClause.MAX_VARIABLES));
+        assertEquals(InClause.MAX_VARIABLES, InClause.shapeSize(513, InClause.MAX_VARIABLES));
+    }
+
+    @Test
+    public void testShapeSize_NeverExceedsLimit() {
+        // Arrange - two variables are taken by the SET clause
+        int maxIds = InClause.MAX_VARIABLES - 2;
+
+        // Act & Assert
+        assertEquals(maxIds, InClause.shapeSize(maxIds, maxIds));
+        assertEquals("A limit below a shape should cap it", 10, InClause.shapeSize(12, 10));
+    }
+
+    @Test
+    public void testShapeIndex_NumbersEachShape() {
+        assertEquals(0, InClause.shapeIndex(2, InClause.MAX_VARIABLES));
+        assertEquals(2, InClause.shapeIndex(512, InClause.MAX_VARIABLES));
+        assertEquals(InClause.SHAPE_COUNT - 1, InClause.shapeIndex(513, InClause.MAX_VARIABLES));
+    }
+
+    @Test
+    public void testPlaceholders_CountsQuestionMarks() {
+        assertEquals("(?)", InClause.placeholders(1));
+        assertEquals("(?,?,?)", InClause.placeholders(3));
+    }
+}
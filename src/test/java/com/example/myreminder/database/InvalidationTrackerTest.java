@@ -0,0 +1,111 @@
+package com.example.myreminder.database;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Unit tests for table versions and deferred notifications in InvalidationTracker
+ */
+public class InvalidationTrackerTest {
+
+    private InvalidationTracker tracker;
+    private List<Set<String>> taskNotifications;
+
+    @Before
+    public void setUp() {
+        tracker = new InvalidationTracker();
+        taskNotifications = new ArrayList<>();
+        tracker.addObserver(new InvalidationTracker.Observer(DatabaseHelper.TABLE_TASKS) {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                taskNotifications.add(tables);
+            }
+        });
+    }
+
+    @Test
+    public void testNotifyChanged_BumpsVersionAndNotifiesObserver() {
+        // Act
+        tracker.notifyChanged(DatabaseHelper.TABLE_TASKS, DatabaseHelper.TABLE_REMINDERS);
+
+        // Assert
+        assertEquals("Tasks version should be bumped", 1, tracker.getVersion(DatabaseHelper.TABLE_TASKS));
+        assertEquals("Reminders version should be bumped", 1, tracker.getVersion(DatabaseHelper.TABLE_REMINDERS));
+        assertEquals("Observer should be told once", 1, taskNotifications.size());
+        assertEquals("Observer should only see its own tables",
+                Set.of(DatabaseHelper.TABLE_TASKS), taskNotifications.get(0));
+    }
+
+    @Test
+    public void testNotifyChanged_IgnoresUnrelatedTables() {
+        // Act
+        tracker.notifyChanged(DatabaseHelper.TABLE_NOTES);
+
+        // Assert
+        assertTrue("Task observer should not hear about notes", taskNotifications.isEmpty());
+        assertEquals("Unchanged table keeps version 0", 0, tracker.getVersion(DatabaseHelper.TABLE_TASKS));
+    }
+
+    @Test
+    public void testDeferred_SentOnceAfterOutermostCommit() {
+        // Act - three writes inside one outer transaction with a nested one
+        tracker.defer(DatabaseHelper.TABLE_TASKS);
+        tracker.defer(DatabaseHelper.TABLE_TASKS);
+        tracker.onTransactionEnded(true, false);
+        tracker.defer(DatabaseHelper.TABLE_TASKS);
+        assertTrue("Nothing should be sent before the commit", taskNotifications.isEmpty());
+        tracker.onTransactionEnded(true, true);
+
+        // Assert
+        assertEquals("Writes should be coalesced into one notification", 1, taskNotifications.size());
+        assertEquals("Version should be bumped once", 1, tracker.getVersion(DatabaseHelper.TABLE_TASKS));
+    }
+
+    @Test
+    public void testDeferred_DroppedOnRollback() {
+        // Act
+        tracker.defer(DatabaseHelper.TABLE_TASKS);
+        tracker.onTransactionEnded(false, true);
+
+        // Assert
+        assertTrue("Rolled back writes should not be announced", taskNotifications.isEmpty());
+    }
+
+    @Test
+    public void testDeferred_NestedFailureRollsBackOuter() {
+        // Act
+        tracker.defer(DatabaseHelper.TABLE_TASKS);
+        tracker.onTransactionEnded(false, false);
+        tracker.onTransactionEnded(true, true);
+
+        // Assert
+        assertTrue("A failed nested transaction rolls back the outer one", taskNotifications.isEmpty());
+
+        // Act - the next transaction starts clean
+        tracker.defer(DatabaseHelper.TABLE_TASKS);
+        tracker.onTransactionEnded(true, true);
+        assertEquals("Later commits should be announced again", 1, taskNotifications.size());
+    }
+
+    @Test
+    public void testRemoveObserver_StopsNotifications() {
+        // Arrange
+        InvalidationTracker.Observer noteObserver = new InvalidationTracker.Observer(DatabaseHelper.TABLE_NOTES) {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                fail("Removed observer should not be called");
+            }
+        };
+        tracker.addObserver(noteObserver);
+        tracker.removeObserver(noteObserver);
+
+        // Act & Assert
+        tracker.notifyChanged(DatabaseHelper.TABLE_NOTES);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.myreminder.database;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Unit tests for the migration path resolution in Migrations
+ */
+public class MigrationsTest {
+
+    private static Migration step(int from, int to) {
+        return new Migration(from, to) {
+            @Override
+            void migrate(SQLiteDatabase db) {
+            }
+        };
+    }
+
+    @Test
+    public void testPath_ChainsConsecutiveSteps() {
+        // Arrange
+        Migration m12 = step(1, 2);
+        Migration m23 = step(2, 3);
+        Migration m34 = step(3, 4);
+
+        // Act
+        List<Migration> path = Migrations.path(Arrays.asList(m34, m12, m23), 1, 4);
+
+        // Assert
+        assertEquals("Steps should be applied in version order", Arrays.asList(m12, m23, m34), path);
+    }
+
+    @Test
+    public void testPath_PrefersLongerStep() {
+        // Arrange
+        Migration m12 = step(1, 2);
+        Migration m23 = step(2, 3);
+        Migration m13 = step(1, 3);
+
+        // Act
+        List<Migration> path = Migrations.path(Arrays.asList(m12, m23, m13), 1, 3);
+
+        // Assert
+        assertEquals("A direct step should win over a chain", Arrays.asList(m13), path);
+    }
+
+    @Test
+    public void testPath_DoesNotOvershootTarget() {
+        // Arrange
+        Migration m12 = step(1, 2);
+        Migration m13 = step(1, 3);
+
+        // Act
+        List<Migration> path = Migrations.path(Arrays.asList(m12, m13), 1, 2);
+
+        // Assert
+        assertEquals("Steps past the target version should be ignored", Arrays.asList(m12), path);
+    }
+
+    @Test
+    public void testPath_MissingStepReturnsNull() {
+        // Act
+        List<Migration> path = Migrations.path(Arrays.asList(step(1, 2), step(3, 4)), 1, 4);
+
+        // Assert
+        assertNull("A gap in the chain should have no path", path);
+    }
+
+    @Test
+    public void testPath_SameVersionIsEmpty() {
+        // Act
+        List<Migration> path = Migrations.path(Migrations.ALL, 2, 2);
+
+        // Assert
+        assertNotNull("Same version should have a path", path);
+        assertTrue("Same version should need no steps", path.isEmpty());
+    }
+
+    @Test
+    public void testAll_ReachesCurrentVersionFromFirstRelease() {
+        // Act
+        List<Migration> path = Migrations.path(Migrations.ALL, 1, DatabaseHelper.DATABASE_VERSION);
+
+        // Assert
+        assertNotNull("Every released version should upgrade without data loss", path);
+    }
+}
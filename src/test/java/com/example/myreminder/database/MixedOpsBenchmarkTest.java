@@ -0,0 +1,99 @@
+package com.example.myreminder.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/*
+ * 10k mixed inserts, updates, counts and deletes through DatabaseHelper on Robolectric's SQLite,
+ * with one shared connection and with the connection reopened after every call as it used to be.
+ * The only ops/sec benchmark for the connection lifecycle; the rates go to stdout, not into asserts
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class MixedOpsBenchmarkTest {
+
+    private static final String TAG = "MixedOpsBenchmark";
+    private static final String DB_NAME = "mixed_ops_task_notes.db";
+    private static final int MIXED_OPS = 10_000;
+
+    private Context context;
+    private DatabaseHelper helper;
+
+    @Before
+    public void setUp() {
+        // Robolectric drops Log output unless it is given a stream; the timings are the point
+        ShadowLog.stream = System.out;
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void benchmarkMixedOps_SharedConnectionVsReopen() {
+        // Arrange
+        int pendingBefore = helper.getTasksCountByStatus(false);
+        int doneBefore = helper.getTasksCountByStatus(true);
+
+        // Act
+        double reopenOpsPerSec = runMixedOps(true);
+        double sharedOpsPerSec = runMixedOps(false);
+
+        // Assert - Robolectric freezes SystemClock, hence nanoTime; timings on a build machine are only logged
+        Log.i(TAG, String.format(Locale.US, "%d mixed ops: reopen=%.0f ops/s, shared=%.0f ops/s",
+                MIXED_OPS, reopenOpsPerSec, sharedOpsPerSec));
+        assertEquals("Every task added by the run should be deleted again", pendingBefore + 2,
+                helper.getTasksCountByStatus(false));
+        assertEquals(doneBefore, helper.getTasksCountByStatus(true));
+    }
+
+    // leaves only the pending seed task behind
+    private double runMixedOps(boolean reopenPerCall) {
+        long lastId = helper.addTask(new Task("seed", "seed", 1, "2025-10-27 15:00:00"));
+        long start = System.nanoTime();
+        for (int i = 0; i < MIXED_OPS; i++) {
+            switch (i % 4) {
+                case 0:
+                    lastId = helper.addTask(new Task("task " + i, "description " + i, 1 + i % 3,
+                            "2025-10-27 15:00:00"));
+                    break;
+                case 1:
+                    Task task = helper.getTask(lastId);
+                    task.setDone(true);
+                    helper.updateTask(task);
+                    break;
+                case 2:
+                    helper.getTasksCountByStatus(true);
+                    break;
+                default:
+                    helper.deleteTask(lastId);
+                    break;
+            }
+            if (reopenPerCall) {
+                helper.close();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return MIXED_OPS / (elapsedNanos / 1_000_000_000.0);
+    }
+}
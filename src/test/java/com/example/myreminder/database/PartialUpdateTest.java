@@ -0,0 +1,45 @@
+package com.example.myreminder.database;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for the per-mask UPDATE statements behind dirty-column writes
+ */
+public class PartialUpdateTest {
+
+    private final PartialUpdate update = new PartialUpdate("tasks", new String[]{"title", "priority", "is_done"});
+
+    @Test
+    public void testSql_SetsOnlyTheMaskedColumns() {
+        assertEquals("UPDATE tasks SET title = ? WHERE id = ?", update.sql(1));
+        assertEquals("UPDATE tasks SET priority = ?, is_done = ? WHERE id = ?", update.sql(6));
+        assertEquals("UPDATE tasks SET title = ?, priority = ?, is_done = ? WHERE id = ?", update.sql(7));
+    }
+
+    @Test
+    public void testSql_SameMaskSameString() {
+        // the statement cache is keyed by the SQL text
+        assertSame(update.sql(5), update.sql(5));
+    }
+
+    @Test
+    public void testSql_AlwaysSetColumnsComeLast() {
+        // Arrange
+        PartialUpdate notes = new PartialUpdate("notes", new String[]{"note_text", "tag"}, "updated_at");
+
+        // Act & Assert
+        assertEquals("UPDATE notes SET tag = ?, updated_at = ? WHERE id = ?", notes.sql(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSql_EmptyMaskIsRejected() {
+        update.sql(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSql_UnknownBitIsRejected() {
+        update.sql(8);
+    }
+}
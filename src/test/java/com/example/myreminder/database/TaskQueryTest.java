@@ -0,0 +1,114 @@
+package com.example.myreminder.database;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for the SQL shapes and bound values TaskQuery compiles to
+ */
+public class TaskQueryTest {
+
+    private static final String SELECT = "SELECT tasks.id AS id, tasks.title AS title, tasks.description AS description, " +
+            "tasks.priority AS priority, tasks.due_date AS due_date, tasks.is_done AS is_done, " +
+            "tasks.created_at AS created_at";
+
+    // ===== SHAPES =====
+
+    @Test
+    public void testSql_DefaultIsNewestFirst() {
+        assertEquals(SELECT + " FROM tasks ORDER BY tasks.created_at DESC, tasks.id DESC", new TaskQuery().sql());
+    }
+
+    @Test
+    public void testSql_CombinesFiltersInOneStatement() {
+        // Arrange
+        TaskQuery query = new TaskQuery().priorities(3).done(false).dueBetween(100, 200)
+                .orderBy(TaskQuery.Order.DUE_DATE).limit(20);
+
+        // Act & Assert
+        assertEquals(SELECT + " FROM tasks WHERE tasks.priority = ? AND tasks.is_done = ?" +
+                " AND tasks.due_date >= ? AND tasks.due_date <= ?" +
+                " ORDER BY tasks.due_date, tasks.id LIMIT ?", query.sql());
+        assertArrayEquals(new String[]{"3", "0", "100", "200", "20"}, query.args());
+    }
+
+    @Test
+    public void testSql_SameShapeSameString() {
+        // Arrange - only the values differ
+        TaskQuery first = new TaskQuery().priorities(1).done(true).limit(10);
+        TaskQuery second = new TaskQuery().priorities(3).done(false).limit(50);
+
+        // Act & Assert
+        assertSame("Queries of one shape should share their SQL", first.sql(), second.sql());
+        assertNotSame("A limit is part of the shape", first.sql(), new TaskQuery().priorities(1).done(true).sql());
+    }
+
+    @Test
+    public void testSql_PriorityListsArePadded() {
+        // Arrange
+        TaskQuery query = new TaskQuery().priorities(3, 1, 3).orderBy(TaskQuery.Order.UNORDERED);
+
+        // Act
+        String[] args = query.args();
+
+        // Assert
+        assertTrue(query.sql().endsWith("WHERE tasks.priority IN " + InClause.placeholders(16)));
+        assertEquals(16, args.length);
+        assertEquals("1", args[0]);
+        assertEquals("Padding should repeat the highest priority", "3", args[15]);
+        assertSame(query.sql(), new TaskQuery().priorities(1, 2).orderBy(TaskQuery.Order.UNORDERED).sql());
+    }
+
+    // ===== FULL-TEXT =====
+
+    @Test
+    public void testSql_RelevanceLeavesLimitToCaller() {
+        // Arrange
+        TaskQuery query = new TaskQuery().matching("report draft").done(false)
+                .orderBy(TaskQuery.Order.RELEVANCE).limit(5);
+
+        // Act & Assert
+        assertTrue(query.ranked());
+        assertTrue(query.sql().contains("matchinfo(tasks_fts, 'pcx') AS match_info"));
+        assertFalse(query.sql().contains("LIMIT"));
+        assertArrayEquals(new String[]{"\"report*\" \"draft*\"", "0"}, query.args());
+    }
+
+    @Test
+    public void testSql_RelevanceWithoutTextIsNewestFirst() {
+        // Arrange
+        TaskQuery query = new TaskQuery().orderBy(TaskQuery.Order.RELEVANCE);
+
+        // Act & Assert
+        assertFalse(query.ranked());
+        assertSame(new TaskQuery().sql(), query.sql());
+    }
+
+    @Test
+    public void testMatching_NoWordsMatchesNothing() {
+        assertTrue(new TaskQuery().matching("  \"  ").matchesNothing());
+        assertFalse(new TaskQuery().matching("report").matchesNothing());
+        assertFalse(new TaskQuery().matchesNothing());
+    }
+
+    // ===== VALIDATION =====
+
+    @Test
+    public void testCopy_IsIndependent() {
+        // Arrange
+        TaskQuery original = new TaskQuery().done(true);
+        TaskQuery copy = new TaskQuery(original);
+
+        // Act
+        original.limit(3);
+
+        // Assert
+        assertArrayEquals(new String[]{"1"}, copy.args());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLimit_NegativeIsRejected() {
+        new TaskQuery().limit(-1);
+    }
+}
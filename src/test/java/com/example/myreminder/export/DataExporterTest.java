@@ -0,0 +1,68 @@
+package com.example.myreminder.export;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for the CSV and JSON escaping in DataExporter
+ */
+public class DataExporterTest {
+
+    // ===== CSV =====
+
+    @Test
+    public void testWriteCsvField_PlainTextIsNotQuoted() throws IOException {
+        assertEquals("Pay rent", csv("Pay rent"));
+        assertEquals("إنهاء التقرير", csv("إنهاء التقرير"));
+    }
+
+    @Test
+    public void testWriteCsvField_SeparatorsAreQuoted() throws IOException {
+        assertEquals("\"milk, bread\"", csv("milk, bread"));
+        assertEquals("\"line one\nline two\"", csv("line one\nline two"));
+    }
+
+    @Test
+    public void testWriteCsvField_QuotesAreDoubled() throws IOException {
+        assertEquals("\"the \"\"final\"\" draft\"", csv("the \"final\" draft"));
+        assertEquals("\"\"\"\"", csv("\""));
+    }
+
+    @Test
+    public void testWriteCsvField_EmptyStringIsKeptApartFromNull() throws IOException {
+        assertEquals("\"\"", csv(""));
+    }
+
+    // ===== JSON =====
+
+    @Test
+    public void testWriteJsonString_EscapesQuotesAndBackslashes() throws IOException {
+        assertEquals("\"say \\\"hi\\\" to C:\\\\temp\"", json("say \"hi\" to C:\\temp"));
+    }
+
+    @Test
+    public void testWriteJsonString_EscapesControlCharacters() throws IOException {
+        assertEquals("\"a\\nb\\tc\\u0001\"", json("a\nb\tc\u0001"));
+    }
+
+    @Test
+    public void testWriteJsonString_KeepsUnicode() throws IOException {
+        assertEquals("\"شراء مستلزمات\"", json("شراء مستلزمات"));
+    }
+
+    private static String csv(String value) throws IOException {
+        StringWriter writer = new StringWriter();
+        DataExporter.writeCsvField(writer, value);
+        return writer.toString();
+    }
+
+    private static String json(String value) throws IOException {
+        StringWriter writer = new StringWriter();
+        DataExporter.writeJsonString(writer, value);
+        return writer.toString();
+    }
+}
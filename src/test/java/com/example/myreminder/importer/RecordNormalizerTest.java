@@ -0,0 +1,98 @@
+package com.example.myreminder.importer;
+
+import com.example.myreminder.models.Task;
+import com.example.myreminder.utils.DateCodec;
+
+import org.junit.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for validating and normalizing imported values
+ */
+public class RecordNormalizerTest {
+
+    private static final String STORED = "2025-10-27 15:30:00";
+
+    // ===== DATES =====
+
+    @Test
+    public void testDate_LocalFormatsAllLandOnStorageFormat() throws InvalidRecordException {
+        // Arrange
+        long expected = DateCodec.parse(STORED);
+
+        // Act & Assert
+        assertEquals(expected, RecordNormalizer.date(STORED));
+        assertEquals(expected, RecordNormalizer.date("2025-10-27T15:30:00"));
+        assertEquals(expected, RecordNormalizer.date("2025-10-27 15:30"));
+        assertEquals(expected, RecordNormalizer.date("2025-10-27T15:30:00.250"));
+        assertEquals(DateCodec.parse("2025-10-27 00:00:00"), RecordNormalizer.date("2025-10-27"));
+    }
+
+    @Test
+    public void testDate_EpochAndOffsets() throws InvalidRecordException {
+        // Arrange
+        long millis = OffsetDateTime.parse("2025-10-27T15:30:00+03:00").toInstant().toEpochMilli();
+
+        // Act & Assert
+        assertEquals(millis, RecordNormalizer.date("2025-10-27T15:30:00+03:00"));
+        assertEquals(millis, RecordNormalizer.date("2025-10-27T12:30:00Z"));
+        assertEquals(millis, RecordNormalizer.date(String.valueOf(millis)));
+        assertEquals("Small numbers are seconds", millis, RecordNormalizer.date(String.valueOf(millis / 1000)));
+    }
+
+    @Test
+    public void testDate_MissingIsZero() throws InvalidRecordException {
+        assertEquals(0, RecordNormalizer.date(null));
+        assertEquals(0, RecordNormalizer.date("  "));
+    }
+
+    @Test
+    public void testDate_GarbageIsInvalid() {
+        for (String value : new String[]{"tomorrow", "2025-13-45", "27/10/2025", "2025-10-27 25:00:00"}) {
+            try {
+                RecordNormalizer.date(value);
+                fail("Should be invalid: " + value);
+            } catch (InvalidRecordException expected) {
+                assertTrue(expected.getMessage().contains(value));
+            }
+        }
+    }
+
+    // ===== OTHER FIELDS =====
+
+    @Test
+    public void testPriority_NumbersAndNames() throws InvalidRecordException {
+        assertEquals(Task.PRIORITY_NORMAL, RecordNormalizer.priority(null));
+        assertEquals(Task.PRIORITY_IMPORTANT, RecordNormalizer.priority(" 2 "));
+        assertEquals(Task.PRIORITY_URGENT, RecordNormalizer.priority("Urgent"));
+        assertEquals(Task.PRIORITY_IMPORTANT, RecordNormalizer.priority("مهم"));
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testPriority_OutOfRangeIsInvalid() throws InvalidRecordException {
+        RecordNormalizer.priority("4");
+    }
+
+    @Test
+    public void testDone_Spellings() throws InvalidRecordException {
+        assertTrue(RecordNormalizer.done("1"));
+        assertTrue(RecordNormalizer.done("TRUE"));
+        assertFalse(RecordNormalizer.done("pending"));
+        assertFalse(RecordNormalizer.done(null));
+    }
+
+    @Test
+    public void testText_TrimsAndRequires() throws InvalidRecordException {
+        assertEquals("Pay rent", RecordNormalizer.text("  Pay rent "));
+        assertNull(RecordNormalizer.text(" "));
+        try {
+            RecordNormalizer.requiredText("", "title");
+            fail("An empty title should be invalid");
+        } catch (InvalidRecordException expected) {
+            assertTrue(expected.getMessage().contains("title"));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.myreminder.importer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests for cutting import files into records and splitting CSV and JSON Lines records into fields
+ */
+public class RecordParserTest {
+
+    private static final String[] FIELDS = {"title", "description", "priority"};
+
+    // ===== RECORDS =====
+
+    @Test
+    public void testRecordReader_QuotedLineBreaksStayInTheRecord() throws IOException {
+        // Arrange
+        String text = "\uFEFFid,title\r\n1,\"two\r\nlines\"\r\n\r\n2,plain";
+
+        // Act
+        List<String> records = readAll(text, true);
+
+        // Assert
+        assertEquals(Arrays.asList("id,title", "1,\"two\r\nlines\"", "2,plain"), records);
+    }
+
+    @Test
+    public void testRecordReader_JsonQuotesDoNotJoinLines() throws IOException {
+        assertEquals(Arrays.asList("{\"title\":\"a\\\"\"}", "{}"), readAll("{\"title\":\"a\\\"\"}\n{}\n", false));
+    }
+
+    @Test
+    public void testRecordReader_RecordsLongerThanABlock() throws IOException {
+        // Arrange
+        char[] chars = new char[100_000];
+        Arrays.fill(chars, 'x');
+        String longRecord = new String(chars);
+
+        // Act
+        List<String> records = readAll(longRecord + "\n" + longRecord, true);
+
+        // Assert
+        assertEquals(Arrays.asList(longRecord, longRecord), records);
+    }
+
+    // ===== CSV =====
+
+    @Test
+    public void testCsv_ColumnsFollowTheHeader() throws Exception {
+        // Arrange - any order, any case, unknown columns ignored
+        CsvRecordParser parser = new CsvRecordParser("ID,Priority,extra,TITLE", FIELDS);
+
+        // Act
+        String[] values = parser.parse("7,3,ignored,Pay rent");
+
+        // Assert
+        assertArrayEquals(new String[]{"Pay rent", null, "3"}, values);
+    }
+
+    @Test
+    public void testCsv_QuotedFields() throws Exception {
+        assertEquals(Arrays.asList("milk, bread", "say \"hi\"", "", null),
+                CsvRecordParser.split("\"milk, bread\",\"say \"\"hi\"\"\",\"\","));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCsv_HeaderWithoutRequiredColumnIsRejected() throws IOException {
+        new CsvRecordParser("description,priority", FIELDS);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testCsv_UnclosedQuoteIsInvalid() throws InvalidRecordException {
+        CsvRecordParser.split("\"never closed,1");
+    }
+
+    // ===== JSON =====
+
+    @Test
+    public void testJson_FieldsByKey() throws InvalidRecordException {
+        // Arrange
+        JsonRecordParser parser = new JsonRecordParser(FIELDS);
+
+        // Act
+        String[] values = parser.parse("{\"id\": 4, \"priority\": 2, \"title\": \"tab\\there \\u0627\", \"description\": null}");
+
+        // Assert
+        assertArrayEquals(new String[]{"tab\there \u0627", null, "2"}, values);
+    }
+
+    @Test
+    public void testJson_MalformedRecordsAreInvalid() {
+        JsonRecordParser parser = new JsonRecordParser(FIELDS);
+        for (String record : new String[]{"{\"title\":\"open", "{\"title\":[1]}", "{\"title\":\"a\"} tail", "title"}) {
+            try {
+                parser.parse(record);
+                fail("Should be invalid: " + record);
+            } catch (InvalidRecordException expected) {
+                assertNotNull(expected.getMessage());
+            }
+        }
+    }
+
+    private static List<String> readAll(String text, boolean quotedLineBreaks) throws IOException {
+        RecordReader reader = new RecordReader(new StringReader(text), quotedLineBreaks);
+        List<String> records = new ArrayList<>();
+        for (String record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.myreminder.scheduling;
+
+/*
+ * Clock for tests: stands still until the test moves it
+ */
+final class FakeClock implements Clock {
+
+    private long now;
+
+    FakeClock(long now) {
+        this.now = now;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    void set(long now) {
+        this.now = now;
+    }
+
+    void advance(long millis) {
+        now += millis;
+    }
+}
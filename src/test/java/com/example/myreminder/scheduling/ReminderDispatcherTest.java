@@ -0,0 +1,185 @@
+package com.example.myreminder.scheduling;
+
+import android.app.AlarmManager;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/*
+ * In-process firing of ReminderDispatcher on a paused main looper, with the fake clock moved
+ * in step with the looper and the writer run inline
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReminderDispatcherTest {
+
+    private static final String DB_NAME = "dispatcher_task_notes.db";
+    private static final long NOW = 1_760_000_000_000L;
+    private static final long MINUTE = 60_000L;
+    private static final int WINDOW = 3;
+
+    private final FakeClock clock = new FakeClock(NOW);
+    private final List<Long> fired = new ArrayList<>();
+    private Context context;
+    private DatabaseHelper helper;
+    private ReminderScheduler scheduler;
+    private ReminderDispatcher dispatcher;
+    private int taskId;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        // start without the sample reminder
+        helper.getWritableDatabase().delete(DatabaseHelper.TABLE_REMINDERS, null, null);
+        taskId = (int) helper.addTask(new Task("Pay rent", null, 2, null));
+
+        scheduler = new ReminderScheduler(context, helper, context.getSystemService(AlarmManager.class), clock, WINDOW);
+        dispatcher = new ReminderDispatcher(new Handler(Looper.getMainLooper()), clock, Runnable::run, helper,
+                scheduler, fired::add);
+        scheduler.setDispatcher(dispatcher);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== LOAD =====
+
+    @Test
+    public void testStart_FiresTheRemindersAlreadyStoredOnTime() {
+        // Arrange - rows written before the dispatcher started
+        long in1 = helper.addReminder(reminder(1));
+        long in3 = helper.addReminder(reminder(3));
+
+        // Act
+        dispatcher.start();
+        advance(MINUTE - 1);
+        List<Long> early = new ArrayList<>(fired);
+        advance(1);
+
+        // Assert
+        assertTrue("Nothing should fire before it is due", early.isEmpty());
+        assertEquals(Collections.singletonList(in1), fired);
+        assertTrue("A fired reminder should be marked triggered", helper.getReminder(in1).isTriggered());
+        assertFalse(helper.getReminder(in3).isTriggered());
+    }
+
+    @Test
+    public void testReload_ReplacesTheQueueWithTheStoredRows() {
+        // Arrange - every row replaced behind the dispatcher's back, as a restore does
+        helper.addReminder(reminder(1));
+        dispatcher.start();
+        idle();
+        helper.getWritableDatabase().delete(DatabaseHelper.TABLE_REMINDERS, null, null);
+        long in2 = helper.addReminder(reminder(2));
+
+        // Act
+        dispatcher.reload();
+        advance(2 * MINUTE);
+
+        // Assert
+        assertEquals("Only the reminder stored now should fire", Collections.singletonList(in2), fired);
+    }
+
+    // ===== CHANGES =====
+
+    @Test
+    public void testSchedule_SoonerReminderFiresFirst() {
+        // Arrange
+        long in5 = add(5);
+        dispatcher.start();
+        idle();
+
+        // Act - added after the start, ahead of the armed head
+        long in2 = add(2);
+        advance(2 * MINUTE);
+        List<Long> afterTwoMinutes = new ArrayList<>(fired);
+        advance(3 * MINUTE);
+
+        // Assert
+        assertEquals(Collections.singletonList(in2), afterTwoMinutes);
+        assertEquals(Arrays.asList(in2, in5), fired);
+    }
+
+    @Test
+    public void testCancel_DeletedReminderNeverFires() {
+        // Arrange
+        long in1 = add(1);
+        long in2 = add(2);
+        dispatcher.start();
+        idle();
+
+        // Act
+        long[] ids = {in1};
+        helper.deleteReminders(ids);
+        scheduler.onRemindersDeleted(ids);
+        advance(2 * MINUTE);
+
+        // Assert
+        assertEquals(Collections.singletonList(in2), fired);
+    }
+
+    @Test
+    public void testStop_NothingFiresAfterwards() {
+        // Arrange
+        long in1 = add(1);
+        dispatcher.start();
+        idle();
+
+        // Act
+        dispatcher.stop();
+        add(2);
+        advance(2 * MINUTE);
+
+        // Assert
+        assertTrue("A stopped dispatcher should leave firing to the alarms", fired.isEmpty());
+        assertFalse(helper.getReminder(in1).isTriggered());
+    }
+
+    private long add(int minutesFromNow) {
+        Reminder reminder = reminder(minutesFromNow);
+        long id = helper.addReminder(reminder);
+        scheduler.onReminderAdded(id, reminder);
+        return id;
+    }
+
+    private Reminder reminder(int minutesFromNow) {
+        return new Reminder(0, taskId, NOW + minutesFromNow * MINUTE, false);
+    }
+
+    // the handler's delays run on the looper's clock, the due checks on the fake one
+    private void advance(long millis) {
+        clock.advance(millis);
+        shadowOf(Looper.getMainLooper()).idleFor(millis, TimeUnit.MILLISECONDS);
+        idle();
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+}
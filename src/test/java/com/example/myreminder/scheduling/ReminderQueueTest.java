@@ -0,0 +1,183 @@
+package com.example.myreminder.scheduling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/*
+ * Unit tests and a 100k-reminder load for the ReminderQueue heap, driven by a fake clock
+ */
+public class ReminderQueueTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+    private static final long MINUTE = 60_000L;
+    private static final int LOAD = 100_000;
+    private static final int ROUNDS = 5;
+
+    private final FakeClock clock = new FakeClock(NOW);
+    private final ReminderQueue queue = new ReminderQueue();
+
+    // ===== ORDER =====
+
+    @Test
+    public void testPeek_SoonestFirstAndTiesByLowerId() {
+        // Arrange
+        queue.add(7, NOW + 5 * MINUTE);
+        queue.add(3, NOW + MINUTE);
+        queue.add(9, NOW + 9 * MINUTE);
+        queue.add(2, NOW + MINUTE);
+
+        // Act & Assert
+        assertEquals(NOW + MINUTE, queue.peekTime());
+        assertEquals("Equal times should pop the lower id first", 2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(7, queue.poll());
+        assertEquals(9, queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals("An empty queue is due never", Long.MAX_VALUE, queue.peekTime());
+    }
+
+    @Test
+    public void testAdd_ExistingIdMovesIt() {
+        // Arrange
+        queue.add(1, NOW + MINUTE);
+        queue.add(2, NOW + 2 * MINUTE);
+
+        // Act
+        queue.add(1, NOW + 3 * MINUTE);
+
+        // Assert
+        assertEquals("Re-adding should move, not duplicate", 2, queue.size());
+        assertEquals(2, queue.peekId());
+    }
+
+    @Test
+    public void testRemove_CancelsOnlyThatReminder() {
+        // Arrange
+        queue.add(1, NOW + MINUTE);
+        queue.add(2, NOW + 2 * MINUTE);
+        queue.add(3, NOW + 3 * MINUTE);
+
+        // Act
+        boolean removed = queue.remove(1);
+        boolean removedAgain = queue.remove(1);
+
+        // Assert
+        assertTrue(removed);
+        assertFalse("A cancelled reminder is gone", removedAgain);
+        assertFalse(queue.contains(1));
+        assertEquals(2, queue.peekId());
+    }
+
+    // ===== FAKE CLOCK =====
+
+    @Test
+    public void testPollDue_ReleasesRemindersAsTheClockMoves() {
+        // Arrange
+        queue.add(1, NOW + MINUTE);
+        queue.add(2, NOW + 2 * MINUTE);
+        queue.add(3, NOW + 2 * MINUTE);
+        List<Long> fired = new ArrayList<>();
+
+        // Act & Assert
+        assertEquals("Nothing is due yet", 0, queue.pollDue(clock.currentTimeMillis(), fired::add));
+
+        clock.advance(MINUTE);
+        assertEquals(1, queue.pollDue(clock.currentTimeMillis(), fired::add));
+
+        clock.advance(MINUTE - 1);
+        assertEquals("One millisecond early should not fire", 0, queue.pollDue(clock.currentTimeMillis(), fired::add));
+
+        clock.advance(1);
+        assertEquals(2, queue.pollDue(clock.currentTimeMillis(), fired::add));
+        assertEquals(List.of(1L, 2L, 3L), fired);
+    }
+
+    @Test
+    public void testRandomOperations_MatchSortedReference() {
+        // Arrange - a sorted map of (time, id) is the reference
+        Random random = new Random(42);
+        TreeMap<String, Long> reference = new TreeMap<>();
+        Map<Long, Long> timeById = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            int op = random.nextInt(4);
+            if (op < 2) {
+                long time = NOW + random.nextInt(10_000);
+                Long old = timeById.put(id, time);
+                if (old != null) {
+                    reference.remove(key(old, id));
+                }
+                reference.put(key(time, id), id);
+                queue.add(id, time);
+            } else if (op == 2) {
+                Long old = timeById.remove(id);
+                if (old != null) {
+                    reference.remove(key(old, id));
+                }
+                assertEquals(old != null, queue.remove(id));
+            } else if (!reference.isEmpty()) {
+                long expected = reference.pollFirstEntry().getValue();
+                timeById.remove(expected);
+                assertEquals("Poll should return the soonest reminder", expected, queue.poll());
+            }
+
+            // Assert
+            assertEquals(reference.size(), queue.size());
+            if (!reference.isEmpty()) {
+                assertEquals((long) reference.firstEntry().getValue(), queue.peekId());
+            }
+        }
+    }
+
+    // ===== LOAD =====
+
+    @Test
+    public void test100kReminders_StableMemory() {
+        Random random = new Random(7);
+        long[] times = new long[LOAD];
+        for (int i = 0; i < LOAD; i++) {
+            times[i] = NOW + (long) random.nextInt(30 * 24 * 60) * MINUTE;
+        }
+
+        int capacityAfterFirstRound = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < LOAD; i++) {
+                queue.add(i + 1, times[i]);
+            }
+            // cancel a tenth, as users delete reminders
+            for (int i = 0; i < LOAD; i += 10) {
+                queue.remove(i + 1);
+            }
+            long previous = Long.MIN_VALUE;
+            while (!queue.isEmpty()) {
+                long due = queue.peekTime();
+                assertTrue("Reminders should come out in time order", due >= previous);
+                previous = due;
+                queue.poll();
+            }
+
+            if (round == 0) {
+                capacityAfterFirstRound = queue.capacity();
+            } else {
+                assertEquals("A repeated load should not grow the queue", capacityAfterFirstRound, queue.capacity());
+            }
+        }
+
+        assertTrue("Capacity should stay within 2x the load", capacityAfterFirstRound <= 2 * LOAD);
+    }
+
+    private static String key(long time, long id) {
+        return String.format(Locale.US, "%020d-%010d", time, id);
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.myreminder.scheduling;
+
+import android.app.AlarmManager;
+import android.content.Context;
+
+import com.example.myreminder.backup.DatabaseSnapshots;
+import com.example.myreminder.database.DatabaseHelper;
+import com.example.myreminder.models.Reminder;
+import com.example.myreminder.models.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowAlarmManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/*
+ * Alarm bookkeeping of ReminderScheduler against Robolectric's AlarmManager and a fake clock
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReminderSchedulerTest {
+
+    private static final String DB_NAME = "scheduler_task_notes.db";
+    private static final long NOW = 1_760_000_000_000L;
+    private static final long MINUTE = 60_000L;
+    private static final int WINDOW = 3;
+
+    private final FakeClock clock = new FakeClock(NOW);
+    private Context context;
+    private DatabaseHelper helper;
+    private AlarmManager alarmManager;
+    private ShadowAlarmManager alarms;
+    private ReminderScheduler scheduler;
+    private int taskId;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(DB_NAME);
+        helper = DatabaseHelper.newInstanceForTesting(context, DB_NAME);
+        // start without the sample reminder
+        helper.getWritableDatabase().delete(DatabaseHelper.TABLE_REMINDERS, null, null);
+        taskId = (int) helper.addTask(new Task("Pay rent", null, 2, null));
+
+        alarmManager = context.getSystemService(AlarmManager.class);
+        alarms = shadowOf(alarmManager);
+        scheduler = new ReminderScheduler(context, helper, alarmManager, clock, WINDOW);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // ===== ARMING =====
+
+    @Test
+    public void testAdd_ArmsOnlyTheSoonestReminders() {
+        // Act
+        long in5 = add(taskId, 5);
+        long in1 = add(taskId, 1);
+        long in4 = add(taskId, 4);
+        long in2 = add(taskId, 2);
+        long in3 = add(taskId, 3);
+
+        // Assert
+        assertEquals("The window should hold the soonest reminders in order",
+                Arrays.asList(in1, in2, in3), scheduler.getArmedReminderIds());
+        assertEquals("Only the window should have alarms", WINDOW, alarms.getScheduledAlarms().size());
+        assertEquals("The next alarm should be the soonest reminder",
+                NOW + MINUTE, alarms.peekNextScheduledAlarm().getTriggerAtMs());
+        assertFalse("Later reminders should wait their turn", scheduler.getArmedReminderIds().contains(in4));
+        assertFalse(scheduler.getArmedReminderIds().contains(in5));
+    }
+
+    @Test
+    public void testFirstUse_LoadsWindowFromDatabase() {
+        // Arrange - rows written before this process had a scheduler
+        long in2 = helper.addReminder(reminder(taskId, 2));
+        long in1 = helper.addReminder(reminder(taskId, 1));
+        helper.addReminder(reminder(taskId, 9));
+        long in3 = helper.addReminder(reminder(taskId, 3));
+
+        // Act
+        List<Long> armed = scheduler.getArmedReminderIds();
+
+        // Assert
+        assertEquals(Arrays.asList(in1, in2, in3), armed);
+        assertEquals(WINDOW, alarms.getScheduledAlarms().size());
+    }
+
+    @Test
+    public void testAdd_TriggeredReminderIsNotArmed() {
+        // Arrange
+        Reminder done = reminder(taskId, 1);
+        done.setTriggered(true);
+
+        // Act
+        scheduler.onReminderAdded(helper.addReminder(done), done);
+
+        // Assert
+        assertTrue(scheduler.getArmedReminderIds().isEmpty());
+        assertTrue(alarms.getScheduledAlarms().isEmpty());
+    }
+
+    // ===== FIRING =====
+
+    @Test
+    public void testFire_MarksTriggeredOnceAndArmsTheNext() {
+        // Arrange
+        long in1 = add(taskId, 1);
+        long in2 = add(taskId, 2);
+        long in3 = add(taskId, 3);
+        long in4 = add(taskId, 4);
+        clock.set(NOW + MINUTE);
+
+        // Act
+        boolean fired = scheduler.onReminderFired(in1);
+        boolean firedAgain = scheduler.onReminderFired(in1);
+
+        // Assert
+        assertTrue("The first delivery should fire", fired);
+        assertFalse("A repeated delivery should not fire again", firedAgain);
+        assertTrue(helper.getReminder(in1).isTriggered());
+        assertEquals("The next reminder should move into the window",
+                Arrays.asList(in2, in3, in4), scheduler.getArmedReminderIds());
+    }
+
+    @Test
+    public void testFire_BeforeDueTimeDoesNothing() {
+        // Arrange
+        long in1 = add(taskId, 1);
+        clock.set(NOW + MINUTE - 1);
+
+        // Act
+        boolean fired = scheduler.onReminderFired(in1);
+
+        // Assert
+        assertFalse("An early alarm should not fire", fired);
+        assertFalse(helper.getReminder(in1).isTriggered());
+        assertEquals("The reminder should be armed again", NOW + MINUTE, alarms.peekNextScheduledAlarm().getTriggerAtMs());
+    }
+
+    @Test
+    public void testFire_OverdueRemindersAreArmedFirst() {
+        // Arrange - missed while the device was off
+        long missed = helper.addReminder(reminder(taskId, -30));
+        long in1 = add(taskId, 1);
+
+        // Act
+        scheduler.rescheduleAll();
+
+        // Assert
+        assertEquals(Arrays.asList(missed, in1), scheduler.getArmedReminderIds());
+        assertEquals("A missed reminder should go off right away",
+                NOW - 30 * MINUTE, alarms.peekNextScheduledAlarm().getTriggerAtMs());
+    }
+
+    // ===== CHANGES =====
+
+    @Test
+    public void testDelete_CancelsAlarmAndRefills() {
+        // Arrange
+        long in1 = add(taskId, 1);
+        long in2 = add(taskId, 2);
+        long in3 = add(taskId, 3);
+        long in4 = add(taskId, 4);
+
+        // Act
+        helper.deleteReminders(new long[]{in2});
+        scheduler.onRemindersDeleted(new long[]{in2});
+
+        // Assert
+        assertEquals(Arrays.asList(in1, in3, in4), scheduler.getArmedReminderIds());
+        assertEquals("The deleted reminder's alarm should be gone", WINDOW, alarms.getScheduledAlarms().size());
+    }
+
+    @Test
+    public void testUpdate_MovesReminderIntoAndOutOfWindow() {
+        // Arrange
+        long in1 = add(taskId, 1);
+        long in2 = add(taskId, 2);
+        long in3 = add(taskId, 3);
+        long in9 = add(taskId, 9);
+
+        // Act - the last reminder becomes the soonest
+        Reminder moved = helper.getReminder(in9);
+        moved.setTimeInMillis(NOW + MINUTE / 2);
+        helper.updateReminders(Arrays.asList(moved));
+        scheduler.onReminderUpdated(moved);
+
+        // Assert
+        assertEquals(Arrays.asList(in9, in1, in2), scheduler.getArmedReminderIds());
+
+        // Act - and the soonest moves past everything else
+        Reminder postponed = helper.getReminder(in9);
+        postponed.setTimeInMillis(NOW + 60 * MINUTE);
+        helper.updateReminders(Arrays.asList(postponed));
+        scheduler.onReminderUpdated(postponed);
+
+        // Assert
+        assertEquals(Arrays.asList(in1, in2, in3), scheduler.getArmedReminderIds());
+        assertEquals(WINDOW, alarms.getScheduledAlarms().size());
+    }
+
+    @Test
+    public void testTaskDelete_DisarmsItsReminders() {
+        // Arrange
+        int otherTaskId = (int) helper.addTask(new Task("Gym", null, 1, null));
+        add(taskId, 1);
+        long other2 = add(otherTaskId, 2);
+        add(taskId, 3);
+        long other4 = add(otherTaskId, 4);
+
+        // Act
+        helper.deleteTask(taskId);
+        scheduler.onTasksDeleted(new long[]{taskId});
+
+        // Assert
+        assertEquals(Arrays.asList(other2, other4), scheduler.getArmedReminderIds());
+        assertEquals(2, alarms.getScheduledAlarms().size());
+    }
+
+    // ===== RESTORE =====
+
+    @Test
+    public void testRestore_ArmsTheRestoredRemindersOnly() throws IOException {
+        // Arrange - the snapshot holds reminders due in one and two hours
+        long inHour = add(taskId, 60);
+        long inTwoHours = add(taskId, 120);
+        File file = new File(context.getCacheDir(), "scheduler.snap");
+        DatabaseSnapshots snapshots = new DatabaseSnapshots(helper, scheduler, Runnable::run);
+        snapshots.writeFull(file);
+
+        // the first is then moved up, the second deleted and two more added
+        Reminder moved = helper.getReminder(inHour);
+        moved.setTimeInMillis(NOW + MINUTE);
+        helper.updateReminders(Arrays.asList(moved));
+        scheduler.onReminderUpdated(moved);
+        helper.deleteReminders(new long[]{inTwoHours});
+        scheduler.onRemindersDeleted(new long[]{inTwoHours});
+        long in2 = add(taskId, 2);
+        long in3 = add(taskId, 3);
+        assertEquals(Arrays.asList(inHour, in2, in3), scheduler.getArmedReminderIds());
+
+        // Act
+        snapshots.restore(file);
+        file.delete();
+
+        // Assert
+        assertEquals("The armed set should match the restored rows",
+                Arrays.asList(inHour, inTwoHours), scheduler.getArmedReminderIds());
+        assertEquals("Alarms of the replaced rows should be gone", 2, alarms.getScheduledAlarms().size());
+        assertEquals("The restored time should be armed, not the replaced one",
+                NOW + 60 * MINUTE, alarms.peekNextScheduledAlarm().getTriggerAtMs());
+    }
+
+    private long add(int taskId, int minutesFromNow) {
+        Reminder reminder = reminder(taskId, minutesFromNow);
+        long id = helper.addReminder(reminder);
+        scheduler.onReminderAdded(id, reminder);
+        return id;
+    }
+
+    private static Reminder reminder(int taskId, int minutesFromNow) {
+        return new Reminder(0, taskId, NOW + minutesFromNow * MINUTE, false);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.myreminder.startup;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/*
+ * Dependency ordering, failures and the report of AppStartup, run on the calling thread with a fake clock
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class AppStartupTest {
+
+    private static final List<String> ran = new ArrayList<>();
+    private static boolean failDatabase;
+
+    private final long[] clock = {100};
+    private Context context;
+    private StartupReport report;
+    private AppStartup startup;
+
+    static class Database implements Initializer<String> {
+        @Override
+        public String create(Context context) {
+            ran.add("database");
+            if (failDatabase) {
+                throw new IllegalStateException("disk full");
+            }
+            return "open";
+        }
+    }
+
+    static class WarmUp implements Initializer<Integer> {
+        @Override
+        public Integer create(Context context) {
+            ran.add("warm up");
+            return 3;
+        }
+
+        @Override
+        public List<Class<? extends Initializer<?>>> dependencies() {
+            return Collections.singletonList(Database.class);
+        }
+    }
+
+    static class Scheduler implements Initializer<Boolean> {
+        @Override
+        public Boolean create(Context context) {
+            ran.add("scheduler");
+            return true;
+        }
+
+        @Override
+        public List<Class<? extends Initializer<?>>> dependencies() {
+            return Arrays.asList(Database.class, WarmUp.class);
+        }
+    }
+
+    static class Chicken implements Initializer<Void> {
+        @Override
+        public Void create(Context context) {
+            return null;
+        }
+
+        @Override
+        public List<Class<? extends Initializer<?>>> dependencies() {
+            return Collections.singletonList(Egg.class);
+        }
+    }
+
+    static class Egg implements Initializer<Void> {
+        @Override
+        public Void create(Context context) {
+            return null;
+        }
+
+        @Override
+        public List<Class<? extends Initializer<?>>> dependencies() {
+            return Collections.singletonList(Chicken.class);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        ran.clear();
+        failDatabase = false;
+        context = RuntimeEnvironment.getApplication();
+        report = new StartupReport(100, () -> clock[0] += 10);
+        startup = new AppStartup(Runnable::run, report);
+    }
+
+    // ===== ORDERING =====
+
+    @Test
+    public void testStart_DependenciesRunFirstAndOnce() throws Exception {
+        // Act - dependents passed before what they depend on
+        startup.start(context, new Scheduler(), new WarmUp(), new Database());
+
+        // Assert
+        assertEquals(Arrays.asList("database", "warm up", "scheduler"), ran);
+        assertEquals("open", startup.result(Database.class).get());
+        assertEquals(Integer.valueOf(3), startup.result(WarmUp.class).get());
+        assertEquals(Boolean.TRUE, startup.result(Scheduler.class).get());
+    }
+
+    @Test
+    public void testStart_EarlierResultsAreReused() throws Exception {
+        // Arrange
+        startup.start(context, new Database());
+
+        // Act
+        startup.start(context, new WarmUp(), new Database());
+
+        // Assert
+        assertEquals(Arrays.asList("database", "warm up"), ran);
+        assertEquals(Integer.valueOf(3), startup.result(WarmUp.class).get());
+    }
+
+    @Test
+    public void testStart_CycleIsRefusedBeforeAnythingRuns() {
+        try {
+            startup.start(context, new Database(), new Chicken(), new Egg());
+            fail("A cycle should be refused");
+        } catch (IllegalStateException expected) {
+            assertEquals("Initializers depend on each other: Chicken -> Egg -> Chicken", expected.getMessage());
+        }
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStart_MissingDependencyIsRefused() {
+        startup.start(context, new WarmUp());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResult_NeverStarted() {
+        startup.result(Database.class);
+    }
+
+    // ===== FAILURES =====
+
+    @Test
+    public void testStart_FailedDependencySkipsDependents() throws Exception {
+        // Arrange
+        failDatabase = true;
+
+        // Act
+        startup.start(context, new Database(), new WarmUp());
+
+        // Assert
+        assertEquals(Collections.singletonList("database"), ran);
+        try {
+            startup.result(WarmUp.class).get();
+            fail("A dependent of a failed initializer should fail too");
+        } catch (ExecutionException expected) {
+            assertEquals("disk full", expected.getCause().getCause().getMessage());
+        }
+        assertNull("A failed initializer should not be reported", report.getInitializer("Database"));
+    }
+
+    // ===== REPORT =====
+
+    @Test
+    public void testReport_RecordsPhasesAndInitializers() {
+        // Arrange
+        report.mark(StartupReport.Phase.APPLICATION_CREATED);
+        startup.start(context, new Database());
+        report.mark(StartupReport.Phase.FIRST_FRAME);
+
+        // Act
+        report.mark(StartupReport.Phase.APPLICATION_CREATED);
+        String json = report.toJson();
+
+        // Assert
+        assertEquals("A phase should keep its first time", 10, report.getPhase(StartupReport.Phase.APPLICATION_CREATED).getStartMillis());
+        assertNull(report.getPhase(StartupReport.Phase.ACTIVITY_CREATED));
+        StartupReport.Step database = report.getInitializer("Database");
+        assertEquals(20, database.getStartMillis());
+        assertEquals(30, database.getEndMillis());
+        assertEquals("{\"phases\":[" +
+                "{\"phase\":\"application_created\",\"at_ms\":10,\"thread\":\"" + Thread.currentThread().getName() + "\"}," +
+                "{\"phase\":\"first_frame\",\"at_ms\":40,\"thread\":\"" + Thread.currentThread().getName() + "\"}]," +
+                "\"initializers\":[" +
+                "{\"name\":\"Database\",\"start_ms\":20,\"end_ms\":30,\"thread\":\"" + Thread.currentThread().getName() + "\"}]}",
+                json);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.myreminder.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/*
+ * Unit tests for DateCodec; its timings against SimpleDateFormat are in the instrumented DateCodecBenchmarkTest
+ */
+public class DateCodecTest {
+
+    private TimeZone originalZone;
+
+    @Before
+    public void setUp() {
+        originalZone = TimeZone.getDefault();
+        // a zone with daylight saving, so both transitions are exercised
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        DateCodec.onTimeZoneChanged();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(originalZone);
+        DateCodec.onTimeZoneChanged();
+    }
+
+    // ===== TEST PARSE =====
+
+    @Test
+    public void testParse_MatchesSimpleDateFormat() throws ParseException {
+        // Arrange
+        SimpleDateFormat format = new SimpleDateFormat(DateCodec.STORAGE_PATTERN, Locale.US);
+        String text = "2025-10-27 15:00:00";
+
+        // Act
+        long millis = DateCodec.parse(text);
+
+        // Assert
+        assertEquals("Parsed millis should match SimpleDateFormat", format.parse(text).getTime(), millis);
+    }
+
+    @Test
+    public void testParse_InvalidInputReturnsZero() {
+        assertEquals("Null should parse to 0", 0, DateCodec.parse(null));
+        assertEquals("Empty text should parse to 0", 0, DateCodec.parse(""));
+        assertEquals("Wrong layout should parse to 0", 0, DateCodec.parse("27/10/2025 15:00"));
+        assertEquals("Letters should parse to 0", 0, DateCodec.parse("2025-1O-27 15:00:00"));
+        assertEquals("Month 13 should parse to 0", 0, DateCodec.parse("2025-13-01 00:00:00"));
+        assertEquals("February 30th should parse to 0", 0, DateCodec.parse("2025-02-30 00:00:00"));
+        assertEquals("Hour 24 should parse to 0", 0, DateCodec.parse("2025-10-27 24:00:00"));
+    }
+
+    @Test
+    public void testParse_SingleDigitFieldsMatchTheStorageLayout() {
+        assertEquals("Single-digit month, day and hour should parse",
+                DateCodec.parse("2025-01-05 09:00:00"), DateCodec.parse("2025-1-5 9:00:00"));
+        assertEquals("Single-digit minute and second should parse",
+                DateCodec.parse("2025-10-27 15:05:07"), DateCodec.parse("2025-10-27 15:5:7"));
+        assertEquals("A single-digit field in a daylight-saving gap should match java.time",
+                LocalDateTime.of(2025, 3, 9, 2, 30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                DateCodec.parse("2025-3-9 2:30:00"));
+    }
+
+    @Test
+    public void testParse_SingleDigitFieldsStillValidated() {
+        assertEquals("February 30th should parse to 0", 0, DateCodec.parse("2025-2-30 9:00:00"));
+        assertEquals("Hour 24 should parse to 0", 0, DateCodec.parse("2025-1-5 24:00:00"));
+        assertEquals("Missing seconds should parse to 0", 0, DateCodec.parse("2025-1-5 9:00"));
+        assertEquals("Trailing text should parse to 0", 0, DateCodec.parse("2025-1-5 9:00:00 pm"));
+        assertEquals("A huge field should parse to 0", 0, DateCodec.parse("2025-1-99999999999 9:00:00"));
+    }
+
+    @Test
+    public void testParse_LeapDay() {
+        assertNotEquals("Leap day should parse", 0, DateCodec.parse("2024-02-29 12:00:00"));
+        assertEquals("Non-leap year has no February 29th", 0, DateCodec.parse("2023-02-29 12:00:00"));
+    }
+
+    @Test
+    public void testParse_DaylightSavingTransitionsMatchJavaTime() {
+        // Arrange - 02:30 is skipped in March and repeated in November
+        String[] texts = {
+                "2025-03-09 01:59:59", "2025-03-09 02:30:00", "2025-03-09 03:00:00",
+                "2025-11-02 00:59:59", "2025-11-02 01:30:00", "2025-11-02 02:00:00"
+        };
+
+        for (String text : texts) {
+            // Act
+            long millis = DateCodec.parse(text);
+
+            // Assert
+            long expected = LocalDateTime.parse(text.replace(' ', 'T'))
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            assertEquals("Offset for " + text + " should match java.time", expected, millis);
+        }
+    }
+
+    // ===== TEST FORMAT =====
+
+    @Test
+    public void testFormat_ZeroReturnsNull() {
+        assertNull("0 means no date", DateCodec.format(0));
+    }
+
+    @Test
+    public void testFormat_RoundTripsRandomInstants() {
+        // Arrange
+        SimpleDateFormat format = new SimpleDateFormat(DateCodec.STORAGE_PATTERN, Locale.US);
+        Random random = new Random(42);
+        long from = DateCodec.parse("1971-01-01 00:00:00");
+        long to = DateCodec.parse("2099-12-31 23:59:59");
+
+        for (int i = 0; i < 10_000; i++) {
+            long millis = (from + (long) (random.nextDouble() * (to - from))) / 1000 * 1000;
+
+            // Act
+            String text = DateCodec.format(millis);
+
+            // Assert
+            assertEquals("Formatted text should match SimpleDateFormat", format.format(new Date(millis)), text);
+            assertEquals("Formatted text should parse back to itself",
+                    format.format(new Date(DateCodec.parse(text))), text);
+        }
+    }
+
+    @Test
+    public void testFormatForDisplay_ZeroReturnsFallback() {
+        assertEquals("Fallback should be returned for 0", "raw",
+                DateCodec.formatForDisplay(0, DateCodec.DISPLAY_DATE_TIME, "raw"));
+    }
+
+    @Test
+    public void testFormatForDisplay_MatchesSimpleDateFormat() {
+        // Arrange
+        long millis = DateCodec.parse("2024-10-27 14:30:00");
+        SimpleDateFormat format = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
+
+        // Act
+        String text = DateCodec.formatForDisplay(millis, DateCodec.DISPLAY_DATE_TIME, null);
+
+        // Assert
+        assertEquals("Display text should match the previous formatter", format.format(new Date(millis)), text);
+    }
+
+    // ===== TEST DAY BOUNDS =====
+
+    @Test
+    public void testStartOfDay_MatchesJavaTime() {
+        // Arrange - ordinary days and both daylight-saving days of 2025 in New York
+        String[] times = {"2025-06-15 13:45:00", "2025-03-09 12:00:00", "2025-11-02 23:59:59", "2025-01-01 00:00:00"};
+        ZoneId zone = ZoneId.of("America/New_York");
+
+        for (String time : times) {
+            // Act
+            long millis = DateCodec.parse(time);
+            long today = DateCodec.startOfDay(millis, 0);
+            long tomorrow = DateCodec.startOfDay(millis, 1);
+
+            // Assert
+            LocalDateTime local = LocalDateTime.parse(time.replace(' ', 'T'));
+            assertEquals("Start of " + time, local.toLocalDate().atStartOfDay(zone).toInstant().toEpochMilli(), today);
+            assertEquals("Start of the day after " + time,
+                    local.toLocalDate().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli(), tomorrow);
+        }
+    }
+}